@@ -0,0 +1,174 @@
+-- =============================================================================
+-- 접근 범위 목록 쿼리 회귀 벤치마크
+-- =============================================================================
+-- 목적: 사용자/조직 목록의 접근 범위(ltree 하위 트리) 조건, 정렬, 페이지를 SQL로 처리하는
+--       쿼리(UserRepository, OrganizationRepository)가 조직 약 11만 개, 사용자 10만 명에서도
+--       한 페이지와 건수를 기준 시간 안에 반환하는지 확인
+--
+-- 사용법:
+--   docker exec -i postgres-18 psql -U postgres -d billpay -v max_ms=50 \
+--     < scripts/benchmark-access-scope.sql
+--
+-- 또는 실행 스크립트:
+--   ./scripts/run-access-scope-benchmark.sh [max_ms]
+--
+-- 전제조건: tenant_001 스키마에 V25까지 마이그레이션이 적용되어 있어야 함
+--           (테이블 구조와 인덱스를 tenant_001에서 복사하며, 실제 데이터는 건드리지 않음)
+--
+-- 결과: 케이스별 평균 응답 시간(ms)을 출력하고, max_ms(기본 50)를 넘는 케이스가 있으면 실패
+-- =============================================================================
+
+\set ON_ERROR_STOP on
+\if :{?max_ms}
+\else
+  \set max_ms 50
+\endif
+SELECT set_config('bench.max_ms', :'max_ms', false);
+
+-- 벤치마크 전용 스키마 (매 실행마다 새로 생성)
+DROP SCHEMA IF EXISTS bench_access_scope CASCADE;
+CREATE SCHEMA bench_access_scope;
+SET search_path TO bench_access_scope, public;
+
+CREATE TABLE bench_access_scope.business_entities (LIKE tenant_001.business_entities INCLUDING ALL);
+CREATE TABLE bench_access_scope.organizations (LIKE tenant_001.organizations INCLUDING ALL);
+CREATE TABLE bench_access_scope.users (LIKE tenant_001.users INCLUDING ALL);
+
+-- =========================================================================
+-- 1. 조직 트리: 총판 10 → 대리점 100 → 딜러 1,000 → 셀러 10,000 → 벤더 100,000
+-- =========================================================================
+INSERT INTO bench_access_scope.organizations (org_code, name, org_type, path, parent_id, level, created_at)
+SELECT 'd' || lpad(n::text, 2, '0'), '총판 ' || n, 'DISTRIBUTOR',
+       CAST('d' || lpad(n::text, 2, '0') AS ltree), NULL, 1,
+       now() - make_interval(secs => n * 37)
+FROM generate_series(1, 10) n;
+
+INSERT INTO bench_access_scope.organizations (org_code, name, org_type, path, parent_id, level, created_at)
+SELECT replace(CAST(p.path AS text), '.', '_') || '_' || c.label, p.name || '-' || c.n, c.org_type,
+       p.path || CAST(c.label AS ltree), p.id, p.level + 1,
+       now() - make_interval(secs => (random() * 86400 * 365)::int)
+FROM bench_access_scope.organizations p
+CROSS JOIN LATERAL (
+    SELECT n, 'a' || lpad(n::text, 2, '0') AS label, 'AGENCY' AS org_type FROM generate_series(1, 10) n
+) c
+WHERE p.level = 1;
+
+INSERT INTO bench_access_scope.organizations (org_code, name, org_type, path, parent_id, level, created_at)
+SELECT replace(CAST(p.path AS text), '.', '_') || '_' || c.label, p.name || '-' || c.n, c.org_type,
+       p.path || CAST(c.label AS ltree), p.id, p.level + 1,
+       now() - make_interval(secs => (random() * 86400 * 365)::int)
+FROM bench_access_scope.organizations p
+CROSS JOIN LATERAL (
+    SELECT n, 'e' || lpad(n::text, 2, '0') AS label, 'DEALER' AS org_type FROM generate_series(1, 10) n
+) c
+WHERE p.level = 2;
+
+INSERT INTO bench_access_scope.organizations (org_code, name, org_type, path, parent_id, level, created_at)
+SELECT replace(CAST(p.path AS text), '.', '_') || '_' || c.label, p.name || '-' || c.n, c.org_type,
+       p.path || CAST(c.label AS ltree), p.id, p.level + 1,
+       now() - make_interval(secs => (random() * 86400 * 365)::int)
+FROM bench_access_scope.organizations p
+CROSS JOIN LATERAL (
+    SELECT n, 's' || lpad(n::text, 2, '0') AS label, 'SELLER' AS org_type FROM generate_series(1, 10) n
+) c
+WHERE p.level = 3;
+
+INSERT INTO bench_access_scope.organizations (org_code, name, org_type, path, parent_id, level, created_at)
+SELECT replace(CAST(p.path AS text), '.', '_') || '_' || c.label, p.name || '-' || c.n, c.org_type,
+       p.path || CAST(c.label AS ltree), p.id, p.level + 1,
+       now() - make_interval(secs => (random() * 86400 * 365)::int)
+FROM bench_access_scope.organizations p
+CROSS JOIN LATERAL (
+    SELECT n, 'v' || lpad(n::text, 2, '0') AS label, 'VENDOR' AS org_type FROM generate_series(1, 10) n
+) c
+WHERE p.level = 4;
+
+-- =========================================================================
+-- 2. 사용자 100,000명: 벤더마다 1명, 1%는 삭제 상태
+-- =========================================================================
+INSERT INTO bench_access_scope.users (username, email, password_hash, org_id, org_path, full_name, role,
+                                      created_at, deleted_at)
+SELECT 'user_' || o.org_code, o.org_code || '@bench.local', 'x', o.id, o.path, '사용자 ' || o.org_code,
+       'VENDOR_ADMIN',
+       now() - make_interval(secs => (random() * 86400 * 365)::int),
+       CASE WHEN random() < 0.01 THEN now() END
+FROM bench_access_scope.organizations o
+WHERE o.level = 5;
+
+ANALYZE bench_access_scope.organizations;
+ANALYZE bench_access_scope.users;
+
+SELECT
+    (SELECT COUNT(*) FROM bench_access_scope.organizations) AS organizations,
+    (SELECT COUNT(*) FROM bench_access_scope.users) AS users;
+
+-- =========================================================================
+-- 3. 측정: 리포지토리 쿼리와 같은 SQL (:accessPath → $1, 나머지 필터는 NULL)
+-- =========================================================================
+DO $$
+DECLARE
+  v_max_ms NUMERIC := current_setting('bench.max_ms')::numeric;
+  v_runs INT := 5;
+  v_case RECORD;
+  v_started TIMESTAMPTZ;
+  v_elapsed NUMERIC;
+  v_failed INT := 0;
+  v_users_from TEXT := $sql$
+      FROM users u WHERE ($1 = '' OR org_path <@ CAST($1 AS ltree))
+        AND u.deleted_at IS NULL
+        AND (CAST(NULL AS UUID) IS NULL OR u.org_id = CAST(NULL AS UUID))
+  $sql$;
+  v_organizations_from TEXT := $sql$
+      FROM organizations o WHERE ($1 = '' OR path <@ CAST($1 AS ltree))
+        AND (CAST(NULL AS TEXT) IS NULL OR o.org_type = CAST(NULL AS TEXT))
+        AND (CAST(NULL AS TEXT) IS NULL OR o.status = CAST(NULL AS TEXT))
+        AND o.created_at >= COALESCE(CAST(NULL AS TIMESTAMP) AT TIME ZONE 'Asia/Seoul', '-infinity')
+        AND o.created_at < COALESCE((CAST(NULL AS TIMESTAMP) + INTERVAL '1 day') AT TIME ZONE 'Asia/Seoul', 'infinity')
+  $sql$;
+  v_page TEXT := ' ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 0';
+  v_deep_page TEXT := ' ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 2000';
+BEGIN
+  FOR v_case IN
+    SELECT * FROM (VALUES
+      ('users page (master)',             'SELECT u.*' || v_users_from || v_page,                 ''),
+      ('users count (master)',            'SELECT COUNT(*)' || v_users_from,                      ''),
+      ('users page (distributor)',        'SELECT u.*' || v_users_from || v_page,                 'd01'),
+      ('users count (distributor)',       'SELECT COUNT(*)' || v_users_from,                      'd01'),
+      ('users page 101 (distributor)',    'SELECT u.*' || v_users_from || v_deep_page,            'd01'),
+      ('users page (dealer)',             'SELECT u.*' || v_users_from || v_page,                 'd01.a01.e01'),
+      ('organizations page (master)',     'SELECT o.*' || v_organizations_from || v_page,         ''),
+      ('organizations count (master)',    'SELECT COUNT(*)' || v_organizations_from,              ''),
+      ('organizations page (distributor)', 'SELECT o.*' || v_organizations_from || v_page,        'd01'),
+      ('organizations count (distributor)', 'SELECT COUNT(*)' || v_organizations_from,           'd01'),
+      ('organization list (agency)',      'SELECT * FROM organizations WHERE ($1 = '''' OR path <@ CAST($1 AS ltree)) ORDER BY path',
+                                                                                                  'd01.a01')
+    ) AS c(name, query, access_path)
+  LOOP
+    EXECUTE v_case.query USING v_case.access_path;
+
+    v_started := clock_timestamp();
+    FOR i IN 1..v_runs LOOP
+      EXECUTE v_case.query USING v_case.access_path;
+    END LOOP;
+    v_elapsed := extract(epoch FROM clock_timestamp() - v_started) * 1000 / v_runs;
+
+    RAISE NOTICE '% % ms', rpad(v_case.name, 36), round(v_elapsed, 2);
+    IF v_elapsed > v_max_ms THEN
+      v_failed := v_failed + 1;
+    END IF;
+  END LOOP;
+
+  IF v_failed > 0 THEN
+    RAISE EXCEPTION '% case(s) exceeded % ms', v_failed, v_max_ms;
+  END IF;
+END $$;
+
+-- 하위 트리 사용자 첫 페이지 실행 계획 (GiST 또는 created_at 인덱스 사용 확인용)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT u.* FROM users u
+WHERE ('d01' = '' OR org_path <@ CAST('d01' AS ltree))
+  AND u.deleted_at IS NULL
+ORDER BY created_at DESC, id DESC
+LIMIT 20;
+
+DROP SCHEMA bench_access_scope CASCADE;
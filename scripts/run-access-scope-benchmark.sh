@@ -0,0 +1,21 @@
+#!/bin/bash
+# =============================================================================
+# 접근 범위 목록 쿼리 회귀 벤치마크 실행 스크립트
+# =============================================================================
+# 사용법: ./scripts/run-access-scope-benchmark.sh [max_ms]
+#   max_ms: 케이스별 평균 응답 시간 기준 (기본 50ms, 초과 시 실패)
+# =============================================================================
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+SQL_FILE="$SCRIPT_DIR/benchmark-access-scope.sql"
+MAX_MS="${1:-50}"
+
+echo "⏱️  접근 범위 목록 쿼리 벤치마크 실행 중 (기준: ${MAX_MS}ms)..."
+echo ""
+
+docker exec -i postgres-18 psql -U postgres -d billpay -v max_ms="$MAX_MS" < "$SQL_FILE"
+
+echo ""
+echo "✅ 완료!"
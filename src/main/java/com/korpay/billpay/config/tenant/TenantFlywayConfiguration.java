@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.datasource.DriverManagerDataSource;
 
 import javax.sql.DataSource;
+import java.util.Map;
 
 @Configuration
 @ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "true", matchIfMissing = true)
@@ -37,6 +38,8 @@ public class TenantFlywayConfiguration {
                     .schemas(schemaName)
                     .locations("classpath:db/migration/tenant")
                     .baselineOnMigrate(true)
+                    // 트랜잭션 advisory lock을 잡은 세션에서는 CREATE INDEX CONCURRENTLY가 자기 자신을 기다리며 멈춤
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
                     .load();
             
             flyway.migrate();
@@ -0,0 +1,74 @@
+package com.korpay.billpay.controller.api;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.enums.ExportFormat;
+import com.korpay.billpay.service.export.DataExportService;
+import com.korpay.billpay.service.export.ExportPermit;
+import com.korpay.billpay.service.export.ExportQuery;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.Callable;
+
+/**
+ * 목록 내보내기 응답. 실행 권한을 얻은 뒤 DB 커서에서 바로 스트리밍하는 첨부 파일 응답을 만든다.
+ */
+final class ExportDownloads {
+
+    private static final String PERMIT_INTERCEPTOR = ExportDownloads.class.getName() + ".permit";
+
+    private ExportDownloads() {
+    }
+
+    /**
+     * @param prefix 파일 이름 앞부분 (예: transactions)
+     * @throws com.korpay.billpay.exception.ExportBusyException 동시 실행 한도를 넘은 경우
+     */
+    static ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request,
+                                                        DataExportService dataExportService,
+                                                        ExportQuery query, ExportFormat format, boolean gzip,
+                                                        String prefix) {
+        ExportPermit permit = dataExportService.acquire();
+        try {
+            // 본문이 실행되지 못하고 비동기 요청이 끝나도 (연결 끊김, 타임아웃, 실행 거부) 권한을 반납
+            WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(PERMIT_INTERCEPTOR,
+                    new CallableProcessingInterceptor() {
+                        @Override
+                        public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                            permit.release();
+                        }
+                    });
+
+            // 응답 본문은 비동기 스레드에서 기록되므로 테넌트 컨텍스트를 다시 설정
+            String tenantId = TenantContextHolder.getCurrentTenant();
+            StreamingResponseBody body = out -> TenantContextHolder.runInTenant(tenantId, () -> {
+                try {
+                    dataExportService.export(query, format, gzip, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } finally {
+                    permit.release();
+                }
+            });
+
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                            .filename(DataExportService.fileName(prefix, format, gzip))
+                            .build()
+                            .toString())
+                    .contentType(DataExportService.contentType(format, gzip))
+                    .body(body);
+        } catch (RuntimeException e) {
+            permit.release();
+            throw e;
+        }
+    }
+}
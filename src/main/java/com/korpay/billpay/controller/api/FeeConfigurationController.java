@@ -4,10 +4,13 @@ import com.korpay.billpay.domain.entity.FeeConfigHistory;
 import com.korpay.billpay.domain.entity.FeeConfiguration;
 import com.korpay.billpay.dto.request.FeeConfigurationCreateRequest;
 import com.korpay.billpay.dto.request.FeeConfigurationUpdateRequest;
+import com.korpay.billpay.dto.request.FeeSimulationRequest;
 import com.korpay.billpay.dto.response.ApiResponse;
 import com.korpay.billpay.dto.response.FeeConfigHistoryResponse;
 import com.korpay.billpay.dto.response.FeeConfigurationResponse;
+import com.korpay.billpay.dto.response.FeeSimulationResultDto;
 import com.korpay.billpay.service.FeeConfigurationService;
+import com.korpay.billpay.service.settlement.simulation.FeeSimulationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -27,6 +30,7 @@ import java.util.UUID;
 public class FeeConfigurationController {
 
     private final FeeConfigurationService feeConfigurationService;
+    private final FeeSimulationService feeSimulationService;
 
     @GetMapping("/merchant/{merchantId}")
     public ResponseEntity<ApiResponse<List<FeeConfigurationResponse>>> listByMerchant(
@@ -103,4 +107,19 @@ public class FeeConfigurationController {
         return ResponseEntity.ok(ApiResponse.success(responses));
     }
 
+    /**
+     * 수수료 설정 변경안을 과거 거래에 적용했을 때의 엔티티별 정산액 변화 (DB 변경 없음)
+     */
+    @PostMapping("/simulations")
+    public ResponseEntity<ApiResponse<FeeSimulationResultDto>> simulate(
+            @Valid @RequestBody FeeSimulationRequest request) {
+        log.info("Fee simulation requested: range=[{}, {}), changes={}",
+                request.getFrom(), request.getTo(), request.getChanges().size());
+        try {
+            return ResponseEntity.ok(ApiResponse.success(feeSimulationService.simulate(request)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("INVALID_SIMULATION", e.getMessage()));
+        }
+    }
 }
@@ -0,0 +1,37 @@
+package com.korpay.billpay.controller.api;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.User;
+import com.korpay.billpay.service.auth.AccessControlService;
+import com.korpay.billpay.service.auth.UserContextHolder;
+import com.korpay.billpay.service.live.LiveUpdateHub;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/live")
+@RequiredArgsConstructor
+public class LiveController {
+
+    private final LiveUpdateHub liveUpdateHub;
+    private final UserContextHolder userContextHolder;
+    private final AccessControlService accessControlService;
+
+    /**
+     * 접근 범위 안에서 커밋된 거래, 정산 잔액, 대시보드 카운터 변경을 SSE(update 이벤트)로 받는다.
+     * 연결 직후 REST로 현재 상태를 한 번 조회하고 이후 변화량을 반영하며, 연결이 끊기면 재연결 후 다시 조회한다.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        User currentUser = userContextHolder.getCurrentUser();
+        String accessPath = accessControlService.accessPath(currentUser);
+
+        return liveUpdateHub.subscribe(TenantContextHolder.getCurrentTenant(), accessPath);
+    }
+}
@@ -21,11 +21,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -71,10 +73,13 @@ public class MerchantController {
     }
 
     @GetMapping("/{id}/statistics")
-    public ResponseEntity<ApiResponse<MerchantStatisticsDto>> getMerchantStatistics(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<MerchantStatisticsDto>> getMerchantStatistics(
+            @PathVariable UUID id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         User currentUser = userContextHolder.getCurrentUser();
         
-        MerchantStatisticsDto statistics = merchantService.getStatistics(id, currentUser);
+        MerchantStatisticsDto statistics = merchantService.getStatistics(id, currentUser, startDate, endDate);
         
         return ResponseEntity.ok(ApiResponse.success(statistics));
     }
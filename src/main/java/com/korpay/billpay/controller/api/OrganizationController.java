@@ -39,6 +39,9 @@ import com.korpay.billpay.domain.enums.OrganizationType;
 @Validated
 public class OrganizationController {
 
+    /** 가맹점 수 조회 1회당 조직 ID 수 (하위 조직 전체 조회 시 바인드 파라미터 한도 방지) */
+    private static final int MERCHANT_COUNT_CHUNK_SIZE = 1_000;
+
     private final OrganizationService organizationService;
     private final MerchantRepository merchantRepository;
     private final UserContextHolder userContextHolder;
@@ -111,17 +114,22 @@ public class OrganizationController {
     }
     
     private Map<String, Long> calculateMerchantCounts(List<Organization> organizations) {
-        List<Object[]> rawCounts = merchantRepository.countMerchantsByOrgPath();
-        Map<String, Long> directCounts = new HashMap<>();
-        for (Object[] row : rawCounts) {
-            String path = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
-            directCounts.put(path, count);
+        Map<String, Long> result = new HashMap<>();
+        if (organizations.isEmpty()) {
+            return result;
+        }
+        
+        Map<UUID, Long> directCounts = new HashMap<>();
+        List<UUID> orgIds = organizations.stream().map(Organization::getId).toList();
+        for (int from = 0; from < orgIds.size(); from += MERCHANT_COUNT_CHUNK_SIZE) {
+            List<UUID> chunk = orgIds.subList(from, Math.min(from + MERCHANT_COUNT_CHUNK_SIZE, orgIds.size()));
+            for (Object[] row : merchantRepository.countMerchantsByOrgIds(chunk)) {
+                directCounts.put((UUID) row[0], ((Number) row[1]).longValue());
+            }
         }
         
-        Map<String, Long> result = new HashMap<>();
         for (Organization org : organizations) {
-            result.put(org.getPath(), directCounts.getOrDefault(org.getPath(), 0L));
+            result.put(org.getPath(), directCounts.getOrDefault(org.getId(), 0L));
         }
         
         return result;
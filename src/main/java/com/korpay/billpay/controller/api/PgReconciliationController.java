@@ -0,0 +1,94 @@
+package com.korpay.billpay.controller.api;
+
+import com.korpay.billpay.domain.enums.PgFileFormat;
+import com.korpay.billpay.domain.enums.PgReconciliationResultType;
+import com.korpay.billpay.dto.response.ApiResponse;
+import com.korpay.billpay.dto.response.PgReconciliationItemDto;
+import com.korpay.billpay.dto.response.PgReconciliationRunDto;
+import com.korpay.billpay.service.settlement.reconciliation.PgReconciliationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@RestController
+@RequestMapping("/v1/pg-reconciliations")
+@RequiredArgsConstructor
+@Validated
+public class PgReconciliationController {
+
+    private final PgReconciliationService pgReconciliationService;
+
+    @PostMapping(consumes = "multipart/form-data")
+    public ResponseEntity<ApiResponse<PgReconciliationRunDto>> reconcile(
+            @RequestParam Long pgConnectionId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fileDate,
+            @RequestParam(defaultValue = "CSV") PgFileFormat format,
+            @RequestParam("file") MultipartFile file) {
+
+        log.info("PG reconciliation requested: pgConnectionId={}, fileDate={}, format={}, file={} ({} bytes)",
+                pgConnectionId, fileDate, format, file.getOriginalFilename(), file.getSize());
+
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile("pg-reconciliation-", ".dat");
+            file.transferTo(tempFile);
+
+            String fileName = file.getOriginalFilename() != null ? file.getOriginalFilename() : tempFile.getFileName().toString();
+            PgReconciliationRunDto run = pgReconciliationService.reconcile(pgConnectionId, fileDate, format, fileName, tempFile);
+            return ResponseEntity.ok(ApiResponse.success(run));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("PG 대사 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("RECONCILIATION_FAILED", e.getMessage()));
+        } catch (IOException e) {
+            log.warn("PG 대사 파일 저장 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("RECONCILIATION_FILE_ERROR", "대사 파일을 저장할 수 없습니다"));
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete reconciliation temp file {}: {}", tempFile, e.getMessage());
+                }
+            }
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PgReconciliationRunDto>>> listRuns(
+            @RequestParam(required = false) Long pgConnectionId,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        List<PgReconciliationRunDto> runs = pgReconciliationService.findRuns(pgConnectionId, Math.min(Math.max(limit, 1), 200));
+        return ResponseEntity.ok(ApiResponse.success(runs));
+    }
+
+    @GetMapping("/{runId}")
+    public ResponseEntity<ApiResponse<PgReconciliationRunDto>> getRun(@PathVariable UUID runId) {
+        return ResponseEntity.ok(ApiResponse.success(pgReconciliationService.findRun(runId)));
+    }
+
+    @GetMapping("/{runId}/items")
+    public ResponseEntity<ApiResponse<List<PgReconciliationItemDto>>> listItems(
+            @PathVariable UUID runId,
+            @RequestParam(required = false) PgReconciliationResultType resultType,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        List<PgReconciliationItemDto> items =
+                pgReconciliationService.findItems(runId, resultType, Math.min(Math.max(limit, 1), 1000));
+        return ResponseEntity.ok(ApiResponse.success(items));
+    }
+}
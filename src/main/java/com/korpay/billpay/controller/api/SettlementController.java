@@ -1,12 +1,17 @@
 package com.korpay.billpay.controller.api;
 
+import com.korpay.billpay.config.tenant.TenantContextHolder;
 import com.korpay.billpay.domain.entity.Settlement;
+import com.korpay.billpay.domain.entity.SettlementBackfillJob;
 import com.korpay.billpay.domain.entity.SettlementBatch;
 import com.korpay.billpay.domain.entity.User;
+import com.korpay.billpay.domain.enums.ExportFormat;
 import com.korpay.billpay.domain.enums.OrganizationType;
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import com.korpay.billpay.domain.enums.SettlementCycle;
 import com.korpay.billpay.domain.enums.SettlementStatus;
+import com.korpay.billpay.dto.request.BulkResettleRequest;
 import com.korpay.billpay.dto.request.ResettleRequest;
 import com.korpay.billpay.dto.response.ApiResponse;
 import com.korpay.billpay.dto.response.DailySettlementDetailDto;
@@ -18,18 +23,34 @@ import com.korpay.billpay.dto.response.OrgStatementDto;
 import com.korpay.billpay.dto.response.OrganizationSettlementDetailDto;
 import com.korpay.billpay.dto.response.OrganizationSettlementSummaryDto;
 import com.korpay.billpay.dto.response.PagedResponse;
+import com.korpay.billpay.dto.response.PayoutFileSummary;
+import com.korpay.billpay.dto.response.ResettlementFailureDto;
+import com.korpay.billpay.dto.response.ResettlementJobDto;
+import com.korpay.billpay.dto.response.SettlementAuditViolationDto;
 import com.korpay.billpay.dto.response.SettlementBatchDto;
 import com.korpay.billpay.dto.response.SettlementDto;
 import com.korpay.billpay.dto.response.SettlementSummaryDto;
+import com.korpay.billpay.exception.AccessDeniedException;
+import com.korpay.billpay.exception.settlement.PayoutFileException;
+import com.korpay.billpay.service.auth.AccessControlService;
 import com.korpay.billpay.service.auth.UserContextHolder;
+import com.korpay.billpay.service.export.DataExportService;
+import com.korpay.billpay.service.export.ExportQuery;
 import com.korpay.billpay.service.settlement.DailySettlementService;
+import com.korpay.billpay.service.settlement.SettlementBackfillService;
 import com.korpay.billpay.service.settlement.SettlementBatchService;
+import com.korpay.billpay.service.settlement.SettlementBulkResettlementService;
 import com.korpay.billpay.service.settlement.SettlementQueryService;
 import com.korpay.billpay.service.settlement.SettlementResettlementService;
 import com.korpay.billpay.service.settlement.SettlementService;
+import com.korpay.billpay.service.settlement.archive.PartitionArchiveService;
+import com.korpay.billpay.service.settlement.audit.SettlementLedgerAuditService;
+import com.korpay.billpay.service.settlement.payout.PayoutFileService;
+import com.korpay.billpay.service.settlement.payout.PayoutFileWriter;
 import com.korpay.billpay.repository.TransactionEventRepository;
 import com.korpay.billpay.repository.SettlementRepository;
 import com.korpay.billpay.domain.entity.TransactionEvent;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -37,10 +58,16 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -57,12 +84,19 @@ public class SettlementController {
 
     private final SettlementQueryService settlementQueryService;
     private final SettlementBatchService settlementBatchService;
+    private final SettlementBackfillService settlementBackfillService;
     private final SettlementResettlementService settlementResettlementService;
+    private final SettlementBulkResettlementService settlementBulkResettlementService;
     private final DailySettlementService dailySettlementService;
     private final SettlementService settlementService;
+    private final SettlementLedgerAuditService settlementLedgerAuditService;
+    private final PayoutFileService payoutFileService;
+    private final DataExportService dataExportService;
+    private final PartitionArchiveService partitionArchiveService;
     private final TransactionEventRepository transactionEventRepository;
     private final SettlementRepository settlementRepository;
     private final UserContextHolder userContextHolder;
+    private final AccessControlService accessControlService;
 
     @GetMapping
     public ResponseEntity<ApiResponse<PagedResponse<SettlementDto>>> listSettlements(
@@ -103,6 +137,28 @@ public class SettlementController {
         return ResponseEntity.ok(ApiResponse.success(pagedResponse));
     }
 
+    /**
+     * 조건에 맞는 정산 전체를 최신순 CSV 또는 NDJSON 파일로 내려받는다 (gzip=true이면 압축).
+     * 응답은 DB 커서에서 바로 스트리밍되며, 마지막 줄의 rowCount trailer가 없으면 중간에 끊긴 파일이다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSettlements(
+            HttpServletRequest request,
+            @RequestParam(required = false) OrganizationType entityType,
+            @RequestParam(required = false) SettlementStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "false") boolean merchantOnly,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        User currentUser = userContextHolder.getCurrentUser();
+        ExportQuery query = settlementQueryService.settlementExportQuery(
+                currentUser, entityType, status, startDate, endDate, merchantOnly);
+
+        return ExportDownloads.stream(request, dataExportService, query, format, gzip, "settlements");
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<ApiResponse<SettlementSummaryDto>> getSettlementSummary(
             @RequestParam(required = false) OrganizationType entityType,
@@ -137,14 +193,66 @@ public class SettlementController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
             @RequestParam(required = false) SettlementBatchStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         
         PagedResponse<SettlementBatchDto> result = settlementQueryService.findBatches(
-                startDate, endDate, status, page, size);
+                startDate, endDate, status, page, size, cursor);
         
         return ResponseEntity.ok(ApiResponse.success(result));
     }
 
+    /**
+     * 배치 지급 파일 다운로드. 응답은 DB 커서에서 바로 스트리밍되며, 최초 생성 결과(건수, 총액, 체크섬)는 배치에 기록된다.
+     * 파일에 테넌트 전체 지급 계좌가 담기므로 마스터 관리자만 받을 수 있다.
+     */
+    @GetMapping("/batches/{batchId}/payout-file")
+    public ResponseEntity<StreamingResponseBody> downloadPayoutFile(
+            @PathVariable UUID batchId,
+            @RequestParam(defaultValue = "FIXED_WIDTH") PayoutFileFormat format) {
+
+        requireMasterAdmin("payout file");
+
+        SettlementBatch batch;
+        try {
+            batch = payoutFileService.findCompletedBatch(batchId);
+        } catch (IllegalStateException e) {
+            throw new PayoutFileException(e.getMessage(), e);
+        }
+
+        // 응답 본문은 비동기 스레드에서 기록되므로 테넌트 컨텍스트를 다시 설정
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        StreamingResponseBody body = out -> TenantContextHolder.runInTenant(tenantId, () -> {
+            try {
+                payoutFileService.write(batchId, format, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(PayoutFileService.fileName(batch, format))
+                        .build()
+                        .toString())
+                .contentType(new MediaType("text", format == PayoutFileFormat.CSV ? "csv" : "plain",
+                        PayoutFileWriter.CHARSET))
+                .body(body);
+    }
+
+    @GetMapping("/batches/{batchId}/payout-file/verify")
+    public ResponseEntity<ApiResponse<PayoutFileSummary>> verifyPayoutFile(@PathVariable UUID batchId) {
+        requireMasterAdmin("payout file verification");
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(payoutFileService.verify(batchId)));
+        } catch (IllegalStateException e) {
+            log.warn("지급 파일 검증 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("PAYOUT_FILE_FAILED", e.getMessage()));
+        }
+    }
+
     @GetMapping("/by-organization")
     public ResponseEntity<ApiResponse<List<OrganizationSettlementSummaryDto>>> getSettlementsByOrganization(
             @RequestParam(required = false) OrganizationType orgType,
@@ -201,6 +309,48 @@ public class SettlementController {
         }
     }
 
+    /**
+     * 필터에 해당하는 FAILED/PENDING_REVIEW 정산의 일괄 재정산 작업을 등록하고 작업을 즉시 반환한다 (202).
+     * 진행 상황은 /resettle/jobs/{jobId}로 조회하며, 실패 이벤트는 작업의 실패 목록에 남는다.
+     * 같은 필터로 다시 요청하면 아직 재정산되지 않은 이벤트만 처리한다.
+     */
+    @PostMapping("/resettle/bulk")
+    public ResponseEntity<ApiResponse<ResettlementJobDto>> bulkResettle(@RequestBody BulkResettleRequest request) {
+        User currentUser = userContextHolder.getCurrentUser();
+        log.info("대량 재정산 요청: filter={}, user={}", request, currentUser.getUsername());
+
+        try {
+            ResettlementJobDto job = settlementBulkResettlementService.submit(request);
+            return ResponseEntity.accepted().body(ApiResponse.success(job));
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            log.warn("대량 재정산 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("RESETTLE_FAILED", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/resettle/jobs")
+    public ResponseEntity<ApiResponse<List<ResettlementJobDto>>> listResettlementJobs(
+            @RequestParam(defaultValue = "20") int limit) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                settlementBulkResettlementService.findJobs(Math.min(Math.max(limit, 1), 100))));
+    }
+
+    @GetMapping("/resettle/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<ResettlementJobDto>> getResettlementJob(@PathVariable UUID jobId) {
+        return ResponseEntity.ok(ApiResponse.success(settlementBulkResettlementService.findJob(jobId)));
+    }
+
+    @GetMapping("/resettle/jobs/{jobId}/failures")
+    public ResponseEntity<ApiResponse<List<ResettlementFailureDto>>> listResettlementFailures(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        return ResponseEntity.ok(ApiResponse.success(
+                settlementBulkResettlementService.findFailures(jobId, Math.min(Math.max(limit, 1), 1000))));
+    }
+
     @PostMapping("/batches")
     public ResponseEntity<ApiResponse<SettlementBatchDto>> createBatch(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
@@ -233,13 +383,58 @@ public class SettlementController {
     public ResponseEntity<ApiResponse<Map<String, Object>>> backfillBatches() {
         log.info("Backfill unbatched settlements requested");
 
-        int batchesCreated = settlementBatchService.backfillUnbatchedSettlements();
+        SettlementBackfillJob job = settlementBackfillService.backfillCurrentTenant();
 
         return ResponseEntity.ok(ApiResponse.success(Map.of(
-                "batchesCreated", batchesCreated
+                "jobId", job.getId(),
+                "status", job.getStatus(),
+                "processedPairs", job.getProcessedPairs(),
+                "batchesCreated", job.getCreatedBatches(),
+                "failedPairs", job.getFailedPairs()
         )));
     }
 
+    @PostMapping("/audit")
+    public ResponseEntity<ApiResponse<SettlementLedgerAuditService.AuditRun>> auditLedger() {
+        log.info("Settlement ledger audit requested");
+
+        try {
+            return ResponseEntity.ok(ApiResponse.success(settlementLedgerAuditService.auditCurrentTenant()));
+        } catch (IllegalStateException e) {
+            log.warn("원장 감사 실패: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error("AUDIT_FAILED", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/audit/violations")
+    public ResponseEntity<ApiResponse<List<SettlementAuditViolationDto>>> listAuditViolations(
+            @RequestParam(defaultValue = "OPEN") String status,
+            @RequestParam(defaultValue = "100") int limit) {
+
+        List<SettlementAuditViolationDto> violations =
+                settlementLedgerAuditService.findViolations(status, Math.min(Math.max(limit, 1), 1000));
+        return ResponseEntity.ok(ApiResponse.success(violations));
+    }
+
+    /**
+     * 보존 기간이 지나 파일로 아카이브된 원장 조회 (table: transaction_events, settlements).
+     * 목록 조회와 같이 사용자 접근 경로 하위의 행만 반환한다.
+     */
+    @GetMapping("/archive/{table}")
+    public ResponseEntity<ApiResponse<PartitionArchiveService.ArchivedRows>> findArchivedRows(
+            @PathVariable String table,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) UUID merchantId,
+            @RequestParam(defaultValue = "1000") int limit) {
+
+        User currentUser = userContextHolder.getCurrentUser();
+        var result = partitionArchiveService.findArchivedRows(table, accessControlService.accessPath(currentUser),
+                merchantId, startDate, endDate, Math.min(Math.max(limit, 1), 10000));
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     @PostMapping("/process-unsettled")
     public ResponseEntity<ApiResponse<Map<String, Object>>> processUnsettledEvents(
             @RequestParam(defaultValue = "false") boolean force) {
@@ -330,4 +525,12 @@ public class SettlementController {
         var result = dailySettlementService.getOrgStatement(orgId, startDate, endDate);
         return ResponseEntity.ok(ApiResponse.success(result));
     }
+
+    private void requireMasterAdmin(String resource) {
+        User currentUser = userContextHolder.getCurrentUser();
+        if (!accessControlService.isMasterAdmin(currentUser)) {
+            log.warn("Access denied: user={}, resource={}", currentUser.getUsername(), resource);
+            throw new AccessDeniedException("Access denied to " + resource + ": master admin only");
+        }
+    }
 }
@@ -3,13 +3,19 @@ package com.korpay.billpay.controller.api;
 import com.korpay.billpay.domain.entity.Transaction;
 import com.korpay.billpay.domain.entity.TransactionEvent;
 import com.korpay.billpay.domain.entity.User;
+import com.korpay.billpay.domain.enums.ExportFormat;
 import com.korpay.billpay.domain.enums.TransactionStatus;
 import com.korpay.billpay.dto.response.ApiResponse;
+import com.korpay.billpay.dto.response.CursorPagedResponse;
 import com.korpay.billpay.dto.response.PagedResponse;
 import com.korpay.billpay.dto.response.TransactionDto;
 import com.korpay.billpay.dto.response.TransactionEventDto;
 import com.korpay.billpay.service.auth.UserContextHolder;
+import com.korpay.billpay.service.export.DataExportService;
+import com.korpay.billpay.service.export.ExportQuery;
 import com.korpay.billpay.service.transaction.TransactionQueryService;
+import com.korpay.billpay.service.transaction.TransactionSearchCriteria;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -20,6 +26,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -34,6 +41,7 @@ import java.util.stream.Collectors;
 public class TransactionController {
 
     private final TransactionQueryService transactionQueryService;
+    private final DataExportService dataExportService;
     private final UserContextHolder userContextHolder;
 
     @GetMapping
@@ -61,19 +69,118 @@ public class TransactionController {
             size = 100;
         }
         
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        Page<Transaction> transactionsPage = transactionQueryService.findAccessibleTransactions(
-                currentUser, merchantId, status, startDate, endDate,
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                merchantId, status, startDate, endDate,
                 approvedAtStart, approvedAtEnd, cancelledAtStart, cancelledAtEnd,
-                dateFilterType, transactionId, pgConnectionId, approvalNumber, pageable);
-        
-        List<TransactionDto> dtos = transactionsPage.getContent().stream()
-                .map(TransactionDto::from)
-                .collect(Collectors.toList());
-        
-        PagedResponse<TransactionDto> pagedResponse = PagedResponse.of(transactionsPage, dtos);
+                dateFilterType, transactionId, pgConnectionId, approvalNumber);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Page<TransactionDto> transactionsPage = transactionQueryService.findAccessibleTransactions(
+                currentUser, criteria, pageable);
         
-        return ResponseEntity.ok(ApiResponse.success(pagedResponse));
+        return ResponseEntity.ok(ApiResponse.success(PagedResponse.of(transactionsPage)));
+    }
+
+    /**
+     * 커서(keyset) 방식 거래 목록. 첫 요청은 cursor 없이 보내고, 이후에는 응답의 nextCursor를 같은 정렬 조건과 함께 넘긴다.
+     * 전체 건수를 세지 않으며 페이지 깊이와 관계없이 일정한 비용으로 조회한다.
+     */
+    @GetMapping("/scroll")
+    public ResponseEntity<ApiResponse<CursorPagedResponse<TransactionDto>>> scrollTransactions(
+            @RequestParam(required = false) UUID merchantId,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime approvedAtStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime approvedAtEnd,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cancelledAtStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cancelledAtEnd,
+            @RequestParam(required = false) String dateFilterType,
+            @RequestParam(required = false) String transactionId,
+            @RequestParam(required = false) Long pgConnectionId,
+            @RequestParam(required = false) String approvalNumber,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+
+        User currentUser = userContextHolder.getCurrentUser();
+
+        size = Math.clamp(size, 1, 100);
+
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                merchantId, status, startDate, endDate,
+                approvedAtStart, approvedAtEnd, cancelledAtStart, cancelledAtEnd,
+                dateFilterType, transactionId, pgConnectionId, approvalNumber);
+        CursorPagedResponse<TransactionDto> response = transactionQueryService.scrollAccessibleTransactions(
+                currentUser, criteria, sortBy, direction, cursor, size);
+
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * 거래 ID / PG 거래 ID / 승인번호 / CAT ID 부분 일치 통합 검색 (관련도순). q는 3자 이상이어야 한다.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<PagedResponse<TransactionDto>>> searchTransactions(
+            @RequestParam String q,
+            @RequestParam(required = false) UUID merchantId,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String dateFilterType,
+            @RequestParam(required = false) Long pgConnectionId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        User currentUser = userContextHolder.getCurrentUser();
+
+        if (size > 100) {
+            size = 100;
+        }
+
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                merchantId, status, startDate, endDate,
+                null, null, null, null,
+                dateFilterType, null, pgConnectionId, null);
+        Page<TransactionDto> transactionsPage = transactionQueryService.searchAccessibleTransactions(
+                currentUser, criteria, q, PageRequest.of(page, size));
+
+        return ResponseEntity.ok(ApiResponse.success(PagedResponse.of(transactionsPage)));
+    }
+
+    /**
+     * 조건에 맞는 거래 전체를 CSV 또는 NDJSON 파일로 내려받는다 (gzip=true이면 압축).
+     * 응답은 DB 커서에서 바로 스트리밍되며, 마지막 줄의 rowCount trailer가 없으면 중간에 끊긴 파일이다.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            HttpServletRequest request,
+            @RequestParam(required = false) UUID merchantId,
+            @RequestParam(required = false) TransactionStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime approvedAtStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime approvedAtEnd,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cancelledAtStart,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime cancelledAtEnd,
+            @RequestParam(required = false) String dateFilterType,
+            @RequestParam(required = false) String transactionId,
+            @RequestParam(required = false) Long pgConnectionId,
+            @RequestParam(required = false) String approvalNumber,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+
+        User currentUser = userContextHolder.getCurrentUser();
+
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                merchantId, status, startDate, endDate,
+                approvedAtStart, approvedAtEnd, cancelledAtStart, cancelledAtEnd,
+                dateFilterType, transactionId, pgConnectionId, approvalNumber);
+        ExportQuery query = transactionQueryService.transactionExportQuery(currentUser, criteria, sortBy, direction);
+
+        return ExportDownloads.stream(request, dataExportService, query, format, gzip, "transactions");
     }
 
     @GetMapping("/{id}")
@@ -12,6 +12,7 @@ import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.Map;
@@ -25,12 +26,22 @@ import java.util.UUID;
 @AllArgsConstructor
 @Builder
 @EntityListeners(AuditingEntityListener.class)
+@IdClass(Settlement.SettlementId.class)
 public class Settlement {
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
+    /**
+     * 파티션 키 (월별 범위 파티션). 새 정산에는 미리 설정하지 않는다 — id 구성 값이 하나라도 있으면
+     * Spring Data가 기존 엔티티로 보고 save를 merge(행마다 SELECT)로 처리하므로, persist 시 auditing이 채운다.
+     */
+    @Id
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "settlement_batch_id")
     private SettlementBatch settlementBatch;
@@ -93,11 +104,15 @@ public class Settlement {
     @Column(name = "metadata", columnDefinition = "jsonb")
     private Map<String, Object> metadata;
 
-    @CreatedDate
-    @Column(name = "created_at", nullable = false, updatable = false)
-    private OffsetDateTime createdAt;
-
     @LastModifiedDate
     @Column(name = "updated_at", nullable = false)
     private OffsetDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SettlementId implements Serializable {
+        private UUID id;
+        private OffsetDateTime createdAt;
+    }
 }
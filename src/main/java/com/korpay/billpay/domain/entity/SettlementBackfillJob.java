@@ -0,0 +1,80 @@
+package com.korpay.billpay.domain.entity;
+
+import com.korpay.billpay.domain.enums.BackfillJobStatus;
+import com.korpay.billpay.domain.enums.SettlementCycle;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "settlement_backfill_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementBackfillJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private BackfillJobStatus status = BackfillJobStatus.RUNNING;
+
+    @Column(name = "last_transaction_date")
+    private LocalDate lastTransactionDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "last_cycle", length = 20)
+    private SettlementCycle lastCycle;
+
+    @Column(name = "processed_pairs", nullable = false)
+    @Builder.Default
+    private Integer processedPairs = 0;
+
+    @Column(name = "created_batches", nullable = false)
+    @Builder.Default
+    private Integer createdBatches = 0;
+
+    @Column(name = "failed_pairs", nullable = false)
+    @Builder.Default
+    private Integer failedPairs = 0;
+
+    @Column(name = "error_message", columnDefinition = "TEXT")
+    private String errorMessage;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    @Builder.Default
+    private OffsetDateTime startedAt = OffsetDateTime.now();
+
+    @Column(name = "completed_at")
+    private OffsetDateTime completedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    @Builder.Default
+    private OffsetDateTime updatedAt = OffsetDateTime.now();
+
+    public void markCompleted() {
+        this.status = BackfillJobStatus.COMPLETED;
+        this.completedAt = OffsetDateTime.now();
+        this.updatedAt = this.completedAt;
+    }
+
+    public void markFailed(String errorMessage) {
+        this.status = BackfillJobStatus.FAILED;
+        this.errorMessage = errorMessage;
+        this.updatedAt = OffsetDateTime.now();
+    }
+
+    public void resume() {
+        this.status = BackfillJobStatus.RUNNING;
+        this.errorMessage = null;
+        this.updatedAt = OffsetDateTime.now();
+    }
+}
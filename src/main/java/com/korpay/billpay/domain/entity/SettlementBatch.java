@@ -1,5 +1,6 @@
 package com.korpay.billpay.domain.entity;
 
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
@@ -63,6 +64,22 @@ public class SettlementBatch {
     @Column(name = "metadata", columnDefinition = "jsonb")
     private Map<String, Object> metadata;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payout_file_format", length = 20)
+    private PayoutFileFormat payoutFileFormat;
+
+    @Column(name = "payout_row_count")
+    private Integer payoutRowCount;
+
+    @Column(name = "payout_total_amount")
+    private Long payoutTotalAmount;
+
+    @Column(name = "payout_checksum", length = 64)
+    private String payoutChecksum;
+
+    @Column(name = "payout_generated_at")
+    private OffsetDateTime payoutGeneratedAt;
+
     @CreatedDate
     @Column(name = "created_at", nullable = false, updatable = false)
     private OffsetDateTime createdAt;
@@ -0,0 +1,50 @@
+package com.korpay.billpay.domain.entity;
+
+import com.korpay.billpay.domain.enums.SettlementOutboxStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "settlement_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SettlementOutbox {
+
+    @Id
+    @Column(name = "transaction_event_id", nullable = false)
+    private UUID transactionEventId;
+
+    @Column(name = "event_created_at", nullable = false)
+    private OffsetDateTime eventCreatedAt;
+
+    @Column(name = "transaction_id", nullable = false)
+    private UUID transactionId;
+
+    @Column(name = "event_sequence", nullable = false)
+    private Integer eventSequence;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private SettlementOutboxStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "available_at", nullable = false)
+    private OffsetDateTime availableAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private OffsetDateTime createdAt;
+
+    @Column(name = "processed_at")
+    private OffsetDateTime processedAt;
+}
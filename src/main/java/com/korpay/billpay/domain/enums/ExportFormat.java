@@ -0,0 +1,6 @@
+package com.korpay.billpay.domain.enums;
+
+public enum ExportFormat {
+    CSV,
+    NDJSON
+}
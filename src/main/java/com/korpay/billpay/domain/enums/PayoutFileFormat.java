@@ -0,0 +1,6 @@
+package com.korpay.billpay.domain.enums;
+
+public enum PayoutFileFormat {
+    CSV,
+    FIXED_WIDTH
+}
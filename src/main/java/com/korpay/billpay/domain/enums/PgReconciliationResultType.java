@@ -0,0 +1,8 @@
+package com.korpay.billpay.domain.enums;
+
+public enum PgReconciliationResultType {
+    MISSING_IN_LEDGER,
+    MISSING_IN_FILE,
+    AMOUNT_MISMATCH,
+    UNSETTLED
+}
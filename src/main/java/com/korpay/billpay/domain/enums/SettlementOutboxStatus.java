@@ -0,0 +1,7 @@
+package com.korpay.billpay.domain.enums;
+
+public enum SettlementOutboxStatus {
+    PENDING,
+    COMPLETED,
+    FAILED
+}
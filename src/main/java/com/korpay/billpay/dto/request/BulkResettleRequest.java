@@ -0,0 +1,33 @@
+package com.korpay.billpay.dto.request;
+
+import com.korpay.billpay.domain.enums.SettlementStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 대량 재정산 대상 필터. 지정한 조건은 모두 AND로 결합되며 기간은 정산 생성일시 기준 [from, to) 이다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkResettleRequest {
+
+    private OffsetDateTime from;
+
+    private OffsetDateTime to;
+
+    private UUID merchantId;
+
+    /** 조직 경로 (하위 조직 포함) */
+    private String orgPath;
+
+    /** 대상 정산 상태 (FAILED, PENDING_REVIEW 중 선택, 비어 있으면 둘 다) */
+    private List<SettlementStatus> statuses;
+}
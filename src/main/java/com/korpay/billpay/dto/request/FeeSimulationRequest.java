@@ -0,0 +1,58 @@
+package com.korpay.billpay.dto.request;
+
+import com.korpay.billpay.domain.enums.OrganizationType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FeeSimulationRequest {
+
+    @NotNull(message = "시뮬레이션 시작일시는 필수입니다")
+    private OffsetDateTime from;
+
+    @NotNull(message = "시뮬레이션 종료일시는 필수입니다")
+    private OffsetDateTime to;
+
+    @NotEmpty(message = "변경할 수수료 설정이 없습니다")
+    @Valid
+    private List<FeeChange> changes;
+
+    /**
+     * 가정할 수수료 요율 변경 (해당 엔티티/결제수단의 현재 적용 요율을 대체)
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FeeChange {
+
+        @NotNull(message = "entityId는 필수입니다")
+        private UUID entityId;
+
+        @NotNull(message = "entityType은 필수입니다")
+        private OrganizationType entityType;
+
+        @NotNull(message = "paymentMethodId는 필수입니다")
+        private UUID paymentMethodId;
+
+        @NotNull(message = "feeRate는 필수입니다")
+        @DecimalMin(value = "0.0", message = "feeRate는 0 이상이어야 합니다")
+        @DecimalMax(value = "1.0", message = "feeRate는 1 이하여야 합니다")
+        private BigDecimal feeRate;
+    }
+}
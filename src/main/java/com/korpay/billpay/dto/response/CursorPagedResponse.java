@@ -0,0 +1,14 @@
+package com.korpay.billpay.dto.response;
+
+import java.util.List;
+
+/**
+ * 커서(keyset) 페이지 응답. nextCursor를 다음 요청의 cursor로 넘기면 이어서 조회하며, 마지막 페이지면 null이다.
+ */
+public record CursorPagedResponse<T>(
+        List<T> content,
+        int size,
+        boolean hasNext,
+        String nextCursor
+) {
+}
@@ -0,0 +1,12 @@
+package com.korpay.billpay.dto.response;
+
+import java.util.UUID;
+
+public record FeeSimulationEntityDeltaDto(
+    UUID entityId,
+    String entityType,
+    String entityName,
+    long baselineAmount,
+    long simulatedAmount,
+    long deltaAmount
+) {}
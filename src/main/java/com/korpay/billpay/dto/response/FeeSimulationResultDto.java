@@ -0,0 +1,13 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record FeeSimulationResultDto(
+    OffsetDateTime from,
+    OffsetDateTime to,
+    long eventCount,
+    long skippedEventCount,
+    long elapsedMillis,
+    List<FeeSimulationEntityDeltaDto> deltas
+) {}
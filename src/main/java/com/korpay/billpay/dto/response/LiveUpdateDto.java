@@ -0,0 +1,38 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 실시간 스트림(SSE update 이벤트) 한 건. 직전 이벤트 이후 구독 경로 하위에서 커밋된 변경을 모은 것이다.
+ *
+ * @param transactions          생성/변경된 거래 (같은 거래는 마지막 상태 하나)
+ * @param transactionsTruncated 거래가 한도를 넘어 일부 생략됨 (목록을 다시 조회해야 함)
+ * @param dashboard             거래일(KST)별 대시보드 카운터 변화량
+ * @param settlements           정산 잔액 변화량 합계 (변화가 없으면 null)
+ */
+public record LiveUpdateDto(
+        List<TransactionDto> transactions,
+        boolean transactionsTruncated,
+        List<DashboardDelta> dashboard,
+        SettlementDelta settlements
+) {
+
+    public record DashboardDelta(
+            LocalDate date,
+            long approvedAmount,
+            long approvedCount,
+            long transactionCount
+    ) {
+    }
+
+    public record SettlementDelta(
+            long pendingAmount,
+            long pendingCount,
+            long completedAmount,
+            long completedCount,
+            long failedAmount,
+            long failedCount
+    ) {
+    }
+}
@@ -1,5 +1,6 @@
 package com.korpay.billpay.dto.response;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -21,6 +22,10 @@ public class PagedResponse<T> {
     private int totalPages;
     private boolean hasNext;
     private boolean hasPrevious;
+
+    /** keyset 페이지를 지원하는 목록에서 다음 페이지 조회용 커서 (마지막 페이지이거나 미지원이면 생략) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
     
     public static <T> PagedResponse<T> of(Page<T> page) {
         return PagedResponse.<T>builder()
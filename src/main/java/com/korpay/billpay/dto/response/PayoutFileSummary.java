@@ -0,0 +1,19 @@
+package com.korpay.billpay.dto.response;
+
+import java.util.UUID;
+
+/**
+ * @param skippedCount    대표 계좌가 없어 파일에서 제외된 지급 대상 수
+ * @param matchesRecorded 배치에 기록된 최초 생성 결과와 일치 여부 (최초 생성이면 true, 형식이 달라 체크섬을 비교할 수 없으면 건수/금액만 비교)
+ */
+public record PayoutFileSummary(
+    UUID batchId,
+    String batchNumber,
+    String format,
+    int rowCount,
+    long totalAmount,
+    int skippedCount,
+    long skippedAmount,
+    String checksum,
+    boolean matchesRecorded
+) {}
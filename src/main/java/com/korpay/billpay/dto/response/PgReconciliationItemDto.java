@@ -0,0 +1,13 @@
+package com.korpay.billpay.dto.response;
+
+import java.util.UUID;
+
+public record PgReconciliationItemDto(
+    UUID id,
+    String pgTransactionId,
+    String resultType,
+    Long fileAmount,
+    Long ledgerAmount,
+    UUID transactionId,
+    Long lineNumber
+) {}
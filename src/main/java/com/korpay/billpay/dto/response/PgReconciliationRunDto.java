@@ -0,0 +1,26 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record PgReconciliationRunDto(
+    UUID id,
+    Long pgConnectionId,
+    String fileName,
+    String fileFormat,
+    LocalDate fileDate,
+    long fileSize,
+    String status,
+    long fileLines,
+    long fileRecords,
+    long ledgerRecords,
+    long matchedCount,
+    long missingInLedgerCount,
+    long missingInFileCount,
+    long amountMismatchCount,
+    long unsettledCount,
+    String errorMessage,
+    OffsetDateTime startedAt,
+    OffsetDateTime completedAt
+) {}
@@ -0,0 +1,10 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ResettlementFailureDto(
+    UUID transactionEventId,
+    String errorMessage,
+    OffsetDateTime createdAt
+) {}
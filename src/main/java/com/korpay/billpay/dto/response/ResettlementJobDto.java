@@ -0,0 +1,19 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record ResettlementJobDto(
+    UUID id,
+    String status,
+    String filter,
+    int totalEvents,
+    int processedEvents,
+    int resettledEvents,
+    int skippedEvents,
+    int failedEvents,
+    String errorMessage,
+    OffsetDateTime startedAt,
+    OffsetDateTime completedAt,
+    OffsetDateTime updatedAt
+) {}
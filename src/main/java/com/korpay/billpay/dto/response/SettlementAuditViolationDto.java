@@ -0,0 +1,18 @@
+package com.korpay.billpay.dto.response;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record SettlementAuditViolationDto(
+    UUID id,
+    UUID transactionEventId,
+    OffsetDateTime eventCreatedAt,
+    UUID settlementId,
+    String violationType,
+    Long expectedAmount,
+    Long actualAmount,
+    String status,
+    OffsetDateTime detectedAt,
+    OffsetDateTime lastDetectedAt,
+    OffsetDateTime resolvedAt
+) {}
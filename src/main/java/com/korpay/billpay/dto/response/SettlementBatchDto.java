@@ -1,6 +1,7 @@
 package com.korpay.billpay.dto.response;
 
 import com.korpay.billpay.domain.entity.SettlementBatch;
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,6 +27,11 @@ public class SettlementBatchDto {
     private Long totalFeeAmount;
     private OffsetDateTime processedAt;
     private OffsetDateTime approvedAt;
+    private PayoutFileFormat payoutFileFormat;
+    private Integer payoutRowCount;
+    private Long payoutTotalAmount;
+    private String payoutChecksum;
+    private OffsetDateTime payoutGeneratedAt;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
     
@@ -40,6 +46,11 @@ public class SettlementBatchDto {
                 .totalFeeAmount(batch.getTotalFeeAmount())
                 .processedAt(batch.getProcessedAt())
                 .approvedAt(batch.getApprovedAt())
+                .payoutFileFormat(batch.getPayoutFileFormat())
+                .payoutRowCount(batch.getPayoutRowCount())
+                .payoutTotalAmount(batch.getPayoutTotalAmount())
+                .payoutChecksum(batch.getPayoutChecksum())
+                .payoutGeneratedAt(batch.getPayoutGeneratedAt())
                 .createdAt(batch.getCreatedAt())
                 .updatedAt(batch.getUpdatedAt())
                 .build();
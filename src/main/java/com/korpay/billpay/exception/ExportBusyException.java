@@ -0,0 +1,8 @@
+package com.korpay.billpay.exception;
+
+public class ExportBusyException extends RuntimeException {
+
+    public ExportBusyException(String message) {
+        super(message);
+    }
+}
@@ -4,8 +4,10 @@ import com.korpay.billpay.dto.response.ApiResponse;
 import com.korpay.billpay.exception.AccessDeniedException;
 import com.korpay.billpay.exception.DuplicateResourceException;
 import com.korpay.billpay.exception.EntityNotFoundException;
+import com.korpay.billpay.exception.ExportBusyException;
 import com.korpay.billpay.exception.TenantNotFoundException;
 import com.korpay.billpay.exception.ValidationException;
+import com.korpay.billpay.exception.settlement.PayoutFileException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -71,6 +73,22 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error("VALIDATION_ERROR", ex.getMessage()));
     }
 
+    @ExceptionHandler(PayoutFileException.class)
+    public ResponseEntity<ApiResponse<Void>> handlePayoutFile(PayoutFileException ex) {
+        log.warn("Payout file failed: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.BAD_REQUEST)
+                .body(ApiResponse.error("PAYOUT_FILE_FAILED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(ExportBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleExportBusy(ExportBusyException ex) {
+        log.warn("Export rejected: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .body(ApiResponse.error("EXPORT_BUSY", ex.getMessage()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleMethodArgumentNotValid(MethodArgumentNotValidException ex) {
         Map<String, Object> errors = new HashMap<>();
@@ -0,0 +1,15 @@
+package com.korpay.billpay.exception.settlement;
+
+/**
+ * Payout file cannot be generated or verified for the requested batch.
+ */
+public class PayoutFileException extends RuntimeException {
+
+    public PayoutFileException(String message) {
+        super(message);
+    }
+
+    public PayoutFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,22 @@
+package com.korpay.billpay.repository;
+
+/**
+ * 접근 범위(ltree 하위 트리) 조건 SQL 조각.
+ *
+ * native 쿼리에 상수로 이어 붙여 쓰며 :accessPath에는 AccessControlService.accessPath(user)를 바인딩한다.
+ * 빈 문자열이면 전체(마스터 관리자), 그 외에는 해당 경로와 하위 경로만 남기며 경로 컬럼의 GiST 인덱스로 처리된다.
+ */
+public final class AccessPathPredicate {
+
+    /** users, merchants, transactions 등 org_path 컬럼 */
+    public static final String ORG_PATH = "(:accessPath = '' OR org_path <@ CAST(:accessPath AS ltree))";
+
+    /** organizations.path 컬럼 */
+    public static final String PATH = "(:accessPath = '' OR path <@ CAST(:accessPath AS ltree))";
+
+    /** 별칭 m으로 조인한 merchants의 org_path 컬럼 */
+    public static final String MERCHANT_ORG_PATH = "(:accessPath = '' OR m.org_path <@ CAST(:accessPath AS ltree))";
+
+    private AccessPathPredicate() {
+    }
+}
@@ -51,6 +51,18 @@ public interface FeeConfigurationRepository extends JpaRepository<FeeConfigurati
     Optional<FeeConfiguration> findByEntityIdAndEntityTypeAndPaymentMethodIdAndStatus(
             UUID entityId, OrganizationType entityType, UUID paymentMethodId, FeeConfigStatus status);
 
+    @Query("""
+            SELECT fc FROM FeeConfiguration fc
+            WHERE fc.status = :status
+            AND fc.paymentMethodId IS NOT NULL
+            AND fc.validFrom <= :now
+            AND (fc.validUntil IS NULL OR fc.validUntil > :now)
+            ORDER BY fc.priority ASC
+            """)
+    List<FeeConfiguration> findAllActive(
+            @Param("status") FeeConfigStatus status,
+            @Param("now") OffsetDateTime now);
+
     List<FeeConfiguration> findByEntityIdAndStatus(UUID entityId, FeeConfigStatus status);
 
     List<FeeConfiguration> findByEntityIdAndEntityTypeOrderByPriorityAsc(UUID entityId, OrganizationType entityType);
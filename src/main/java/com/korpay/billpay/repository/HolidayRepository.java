@@ -2,13 +2,34 @@ package com.korpay.billpay.repository;
 
 import com.korpay.billpay.domain.entity.Holiday;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
 public interface HolidayRepository extends JpaRepository<Holiday, UUID> {
 
     boolean existsByHolidayDateAndCountryCode(LocalDate date, String countryCode);
+
+    @Query("SELECT h.holidayDate FROM Holiday h WHERE h.countryCode = :countryCode AND h.holidayDate BETWEEN :startDate AND :endDate")
+    List<LocalDate> findHolidayDates(
+            @Param("countryCode") String countryCode,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate
+    );
+
+    /**
+     * Cheap change detector for the holidays table (row count + content hash).
+     * Used to decide whether the in-memory business-day calendar must be rebuilt.
+     */
+    @Query(value = """
+        SELECT COUNT(*) || ':' || COALESCE(md5(string_agg(
+            CAST(holiday_date AS TEXT) || country_code, ',' ORDER BY holiday_date, country_code)), '')
+        FROM public.holidays
+        """, nativeQuery = true)
+    String computeFingerprint();
 }
@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -39,6 +40,6 @@ public interface MerchantRepository extends JpaRepository<Merchant, UUID> {
     @Query(value = "SELECT COUNT(*) FROM merchants WHERE org_path <@ CAST(:path AS ltree) AND deleted_at IS NULL", nativeQuery = true)
     long countByOrgPathDescendants(@Param("path") String path);
 
-    @Query(value = "SELECT CAST(org_path AS text) as path, COUNT(*) as cnt FROM merchants GROUP BY org_path", nativeQuery = true)
-    List<Object[]> countMerchantsByOrgPath();
+    @Query(value = "SELECT org_id, COUNT(*) as cnt FROM merchants WHERE org_id IN (:orgIds) GROUP BY org_id", nativeQuery = true)
+    List<Object[]> countMerchantsByOrgIds(@Param("orgIds") Collection<UUID> orgIds);
 }
@@ -0,0 +1,45 @@
+package com.korpay.billpay.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+/**
+ * native 쿼리 페이지 정렬 변환.
+ *
+ * API의 엔티티 속성명 정렬을 허용 목록의 컬럼명으로 바꾸고, 같은 값의 순서가 페이지마다 바뀌지 않도록
+ * id를 마지막 정렬 키로 붙인다. 정렬이 없으면 created_at 내림차순이다.
+ */
+public final class NativeSort {
+
+    private static final Sort DEFAULT_SORT = Sort.by(Sort.Direction.DESC, "created_at");
+
+    private NativeSort() {
+    }
+
+    /**
+     * @param columns 정렬 가능한 속성명 → 컬럼명
+     * @throws IllegalArgumentException 허용 목록에 없는 속성으로 정렬한 경우
+     */
+    public static Pageable toColumns(Pageable pageable, Map<String, String> columns) {
+        Sort sort = pageable.getSort().isSorted()
+                ? Sort.by(pageable.getSort().stream()
+                        .map(order -> order.withProperty(column(columns, order.getProperty())))
+                        .toList())
+                : DEFAULT_SORT;
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by(sort.iterator().next().getDirection(), "id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    private static String column(Map<String, String> columns, String property) {
+        String column = columns.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("정렬할 수 없는 항목입니다: " + property);
+        }
+        return column;
+    }
+}
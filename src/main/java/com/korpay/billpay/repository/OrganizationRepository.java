@@ -2,11 +2,14 @@ package com.korpay.billpay.repository;
 
 import com.korpay.billpay.domain.entity.Organization;
 import com.korpay.billpay.domain.enums.OrganizationType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -14,8 +17,43 @@ import java.util.UUID;
 @Repository
 public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
 
-    @Query("SELECT o FROM Organization o LEFT JOIN FETCH o.businessEntity")
-    List<Organization> findAllWithBusinessEntity();
+    /**
+     * 접근 범위 안의 조직 검색 조건. 기간은 생성일(KST) 기준이며 양 끝을 포함하고,
+     * 검색어는 조직 코드, 조직명, 사업자 상호와 대표자명의 대소문자 무시 부분 일치다.
+     */
+    String ACCESSIBLE_ORGANIZATIONS = "FROM organizations o WHERE " + AccessPathPredicate.PATH + """
+              AND (CAST(:orgType AS TEXT) IS NULL OR o.org_type = CAST(:orgType AS TEXT))
+              AND (CAST(:status AS TEXT) IS NULL OR o.status = CAST(:status AS TEXT))
+              AND o.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP) AT TIME ZONE 'Asia/Seoul', '-infinity')
+              AND o.created_at < COALESCE((CAST(:endDate AS TIMESTAMP) + INTERVAL '1 day') AT TIME ZONE 'Asia/Seoul', 'infinity')
+              AND (CAST(:search AS TEXT) IS NULL
+                   OR POSITION(LOWER(CAST(:search AS TEXT)) IN LOWER(o.org_code)) > 0
+                   OR POSITION(LOWER(CAST(:search AS TEXT)) IN LOWER(o.name)) > 0
+                   OR EXISTS (
+                       SELECT 1 FROM business_entities be
+                       WHERE be.id = o.business_entity_id
+                         AND (POSITION(LOWER(CAST(:search AS TEXT)) IN LOWER(be.business_name)) > 0
+                              OR POSITION(LOWER(CAST(:search AS TEXT)) IN LOWER(be.representative_name)) > 0)))
+            """;
+
+    /**
+     * 정렬은 컬럼명 기준 ({@link NativeSort#toColumns}로 변환한 Pageable)
+     */
+    @Query(value = "SELECT o.* " + ACCESSIBLE_ORGANIZATIONS,
+           countQuery = "SELECT COUNT(*) " + ACCESSIBLE_ORGANIZATIONS,
+           nativeQuery = true)
+    Page<Organization> findAccessibleOrganizations(
+            @Param("accessPath") String accessPath,
+            @Param("orgType") String orgType,
+            @Param("status") String status,
+            @Param("search") String search,
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            Pageable pageable);
+
+    @Query(value = "SELECT * FROM organizations WHERE " + AccessPathPredicate.PATH + " ORDER BY path",
+           nativeQuery = true)
+    List<Organization> findAccessibleOrganizations(@Param("accessPath") String accessPath);
 
     @Query("SELECT o FROM Organization o LEFT JOIN FETCH o.businessEntity WHERE o.id = :id")
     Optional<Organization> findByIdWithBusinessEntity(@Param("id") UUID id);
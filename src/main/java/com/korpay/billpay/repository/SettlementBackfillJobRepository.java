@@ -0,0 +1,42 @@
+package com.korpay.billpay.repository;
+
+import com.korpay.billpay.domain.entity.SettlementBackfillJob;
+import com.korpay.billpay.domain.enums.BackfillJobStatus;
+import com.korpay.billpay.domain.enums.SettlementCycle;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SettlementBackfillJobRepository extends JpaRepository<SettlementBackfillJob, UUID> {
+
+    Optional<SettlementBackfillJob> findFirstByStatusInOrderByStartedAtDesc(List<BackfillJobStatus> statuses);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+        UPDATE SettlementBackfillJob j
+        SET j.lastTransactionDate = :transactionDate,
+            j.lastCycle = :cycle,
+            j.processedPairs = j.processedPairs + 1,
+            j.createdBatches = j.createdBatches + :createdBatches,
+            j.failedPairs = j.failedPairs + :failedPairs,
+            j.errorMessage = COALESCE(:errorMessage, j.errorMessage),
+            j.updatedAt = CURRENT_TIMESTAMP
+        WHERE j.id = :id
+        """)
+    int checkpoint(
+            @Param("id") UUID id,
+            @Param("transactionDate") LocalDate transactionDate,
+            @Param("cycle") SettlementCycle cycle,
+            @Param("createdBatches") int createdBatches,
+            @Param("failedPairs") int failedPairs,
+            @Param("errorMessage") String errorMessage
+    );
+}
@@ -3,6 +3,8 @@ package com.korpay.billpay.repository;
 import com.korpay.billpay.domain.entity.SettlementBatch;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -22,4 +24,41 @@ public interface SettlementBatchRepository extends JpaRepository<SettlementBatch
     List<SettlementBatch> findBySettlementDateBetween(LocalDate startDate, LocalDate endDate);
 
     boolean existsBySettlementDateAndBatchNumberContaining(LocalDate date, String cyclePrefix);
+
+    /**
+     * 정산일 내림차순(같은 정산일은 id 내림차순) 배치 목록.
+     * afterDate/afterId가 있으면 해당 배치 다음부터(keyset), 없으면 offset부터 조회한다.
+     */
+    @Query(value = """
+        SELECT b.* FROM settlement_batches b
+        WHERE b.settlement_date >= COALESCE(CAST(:startDate AS DATE), '-infinity')
+        AND b.settlement_date <= COALESCE(CAST(:endDate AS DATE), 'infinity')
+        AND (CAST(:status AS TEXT) IS NULL OR b.status = CAST(:status AS TEXT))
+        AND (b.settlement_date, b.id) < (
+            COALESCE(CAST(:afterDate AS DATE), 'infinity'),
+            COALESCE(CAST(:afterId AS UUID), 'ffffffff-ffff-ffff-ffff-ffffffffffff'))
+        ORDER BY b.settlement_date DESC, b.id DESC
+        LIMIT :limit OFFSET :offset
+        """, nativeQuery = true)
+    List<SettlementBatch> findBatchPage(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") String status,
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterId") UUID afterId,
+            @Param("limit") int limit,
+            @Param("offset") long offset
+    );
+
+    @Query(value = """
+        SELECT COUNT(*) FROM settlement_batches b
+        WHERE b.settlement_date >= COALESCE(CAST(:startDate AS DATE), '-infinity')
+        AND b.settlement_date <= COALESCE(CAST(:endDate AS DATE), 'infinity')
+        AND (CAST(:status AS TEXT) IS NULL OR b.status = CAST(:status AS TEXT))
+        """, nativeQuery = true)
+    long countBatches(
+            @Param("startDate") LocalDate startDate,
+            @Param("endDate") LocalDate endDate,
+            @Param("status") String status
+    );
 }
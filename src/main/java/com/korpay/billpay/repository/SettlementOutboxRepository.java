@@ -0,0 +1,104 @@
+package com.korpay.billpay.repository;
+
+import com.korpay.billpay.domain.entity.SettlementOutbox;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface SettlementOutboxRepository extends JpaRepository<SettlementOutbox, UUID> {
+
+    /**
+     * Idempotent enqueue: a second insert for the same transaction event is ignored.
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO settlement_outbox (transaction_event_id, event_created_at, transaction_id, event_sequence)
+        VALUES (:transactionEventId, :eventCreatedAt, :transactionId, :eventSequence)
+        ON CONFLICT (transaction_event_id) DO NOTHING
+        """, nativeQuery = true)
+    int enqueue(
+            @Param("transactionEventId") UUID transactionEventId,
+            @Param("eventCreatedAt") OffsetDateTime eventCreatedAt,
+            @Param("transactionId") UUID transactionId,
+            @Param("eventSequence") Integer eventSequence
+    );
+
+    /**
+     * Work items that are due and whose preceding events of the same transaction are already settled.
+     */
+    @Query(value = """
+        SELECT o.transaction_event_id FROM settlement_outbox o
+        WHERE o.status IN ('PENDING', 'FAILED')
+          AND o.attempts < :maxAttempts
+          AND o.available_at <= :now
+          AND NOT EXISTS (
+              SELECT 1 FROM settlement_outbox p
+              WHERE p.transaction_id = o.transaction_id
+                AND p.event_sequence < o.event_sequence
+                AND p.status <> 'COMPLETED'
+          )
+        ORDER BY o.created_at
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UUID> findReadyIds(
+            @Param("now") OffsetDateTime now,
+            @Param("maxAttempts") int maxAttempts,
+            @Param("limit") int limit
+    );
+
+    /**
+     * Lock a ready work item for processing. Rows locked by another worker are skipped,
+     * so each item is processed by exactly one transaction at a time.
+     */
+    @Query(value = """
+        SELECT * FROM settlement_outbox
+        WHERE transaction_event_id = :transactionEventId
+          AND status IN ('PENDING', 'FAILED')
+          AND attempts < :maxAttempts
+        FOR UPDATE SKIP LOCKED
+        """, nativeQuery = true)
+    Optional<SettlementOutbox> lockReady(
+            @Param("transactionEventId") UUID transactionEventId,
+            @Param("maxAttempts") int maxAttempts
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE SettlementOutbox o
+        SET o.status = com.korpay.billpay.domain.enums.SettlementOutboxStatus.COMPLETED,
+            o.attempts = o.attempts + 1,
+            o.lastError = NULL,
+            o.processedAt = :processedAt
+        WHERE o.transactionEventId = :transactionEventId
+        """)
+    int markCompleted(
+            @Param("transactionEventId") UUID transactionEventId,
+            @Param("processedAt") OffsetDateTime processedAt
+    );
+
+    @Modifying
+    @Query("""
+        UPDATE SettlementOutbox o
+        SET o.status = com.korpay.billpay.domain.enums.SettlementOutboxStatus.FAILED,
+            o.attempts = o.attempts + 1,
+            o.lastError = :lastError,
+            o.availableAt = :availableAt
+        WHERE o.transactionEventId = :transactionEventId
+        """)
+    int markFailed(
+            @Param("transactionEventId") UUID transactionEventId,
+            @Param("lastError") String lastError,
+            @Param("availableAt") OffsetDateTime availableAt
+    );
+
+    @Query(value = "SELECT COUNT(*) FROM settlement_outbox WHERE status IN ('PENDING', 'FAILED')", nativeQuery = true)
+    long countUnprocessed();
+}
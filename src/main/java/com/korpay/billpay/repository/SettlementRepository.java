@@ -5,17 +5,26 @@ import com.korpay.billpay.domain.enums.SettlementStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+/**
+ * settlements는 created_at 기준 월별 범위 파티션 테이블이다.
+ * 기간 조건은 파티션 프루닝이 가능하도록 created_at에 대한 단순 비교로 작성한다
+ * ("파라미터 IS NULL OR ..." 형태는 프루닝을 막으므로 선택 조건은 COALESCE(파라미터, ±infinity)로 표현).
+ * 배치에 귀속된 정산은 항상 배치 기간 [period_start, period_end) 안에 생성되므로 배치 조회에도 해당 범위를 함께 건다.
+ */
 @Repository
-public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
+public interface SettlementRepository extends JpaRepository<Settlement, Settlement.SettlementId> {
 
     interface OrganizationSettlementAggregation {
         UUID getOrganizationId();
@@ -57,6 +66,26 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
         BigDecimal getFeeRate();
     }
 
+    interface UnbatchedDateCycle {
+        LocalDate getTransactionDate();
+        String getCycle();
+    }
+
+    interface BatchTotals {
+        Long getTotalTransactions();
+        Long getTotalAmount();
+        Long getTotalFeeAmount();
+    }
+
+    interface SettlementSummaryTotals {
+        Long getSettlementCount();
+        Long getTotalAmount();
+        Long getTotalFeeAmount();
+        Long getTotalNetAmount();
+        Long getCreditAmount();
+        Long getDebitAmount();
+    }
+
     interface HierarchyFeeAggregation {
         String getEntityType();
         String getEntityName();
@@ -80,6 +109,87 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
             @Param("end") OffsetDateTime end,
             @Param("cycle") String cycle);
 
+    @Query(value = """
+        SELECT EXISTS(
+            SELECT 1 FROM settlements s
+            JOIN merchants m ON s.merchant_id = m.id
+            WHERE s.settlement_batch_id IS NULL
+              AND CAST(s.status AS TEXT) = 'PENDING'
+              AND s.created_at >= CAST(:start AS TIMESTAMP WITH TIME ZONE)
+              AND s.created_at < CAST(:end AS TIMESTAMP WITH TIME ZONE)
+              AND CAST(m.settlement_cycle AS TEXT) = :cycle
+        )
+        """, nativeQuery = true)
+    boolean existsUnbatchedSettlementsByCycle(
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end,
+            @Param("cycle") String cycle);
+
+    /**
+     * Attach every unbatched PENDING settlement of the period/cycle to the batch in one statement.
+     * Rows are never hydrated, so memory use does not depend on the day's volume.
+     */
+    @Modifying
+    @Query(value = """
+        UPDATE settlements s
+        SET settlement_batch_id = :batchId,
+            status = 'COMPLETED',
+            settled_at = :settledAt,
+            updated_at = :settledAt
+        FROM merchants m
+        WHERE s.merchant_id = m.id
+          AND s.settlement_batch_id IS NULL
+          AND CAST(s.status AS TEXT) = 'PENDING'
+          AND s.created_at >= CAST(:start AS TIMESTAMP WITH TIME ZONE)
+          AND s.created_at < CAST(:end AS TIMESTAMP WITH TIME ZONE)
+          AND CAST(m.settlement_cycle AS TEXT) = :cycle
+        """, nativeQuery = true)
+    int assignUnbatchedSettlementsToBatch(
+            @Param("batchId") UUID batchId,
+            @Param("settledAt") OffsetDateTime settledAt,
+            @Param("start") OffsetDateTime start,
+            @Param("end") OffsetDateTime end,
+            @Param("cycle") String cycle);
+
+    @Query(value = """
+        SELECT
+            COUNT(*) as totalTransactions,
+            COALESCE(SUM(s.amount), 0) as totalAmount,
+            COALESCE(SUM(s.fee_amount), 0) as totalFeeAmount
+        FROM settlements s
+        WHERE s.settlement_batch_id = :batchId
+          AND s.created_at >= (SELECT sb.period_start FROM settlement_batches sb WHERE sb.id = :batchId)
+          AND s.created_at < (SELECT sb.period_end FROM settlement_batches sb WHERE sb.id = :batchId)
+        """, nativeQuery = true)
+    BatchTotals sumBatchTotals(@Param("batchId") UUID batchId);
+
+    /**
+     * Distinct (KST transaction date, merchant settlement cycle) pairs that still have unbatched
+     * PENDING settlements, in keyset order after the given checkpoint.
+     * Pass null afterDate to start from the beginning.
+     */
+    @Query(value = """
+        SELECT p.transactionDate, p.cycle
+        FROM (
+            SELECT
+                CAST(s.created_at AT TIME ZONE 'Asia/Seoul' AS DATE) as transactionDate,
+                CAST(m.settlement_cycle AS TEXT) as cycle
+            FROM settlements s
+            JOIN merchants m ON s.merchant_id = m.id
+            WHERE s.settlement_batch_id IS NULL
+              AND CAST(s.status AS TEXT) = 'PENDING'
+            GROUP BY 1, 2
+        ) p
+        WHERE CAST(:afterDate AS DATE) IS NULL
+           OR (p.transactionDate, p.cycle) > (CAST(:afterDate AS DATE), CAST(:afterCycle AS TEXT))
+        ORDER BY p.transactionDate, p.cycle
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<UnbatchedDateCycle> findUnbatchedDateCyclePairs(
+            @Param("afterDate") LocalDate afterDate,
+            @Param("afterCycle") String afterCycle,
+            @Param("limit") int limit);
+
     List<Settlement> findByTransactionEventId(UUID transactionEventId);
 
     boolean existsByTransactionEventId(UUID transactionEventId);
@@ -127,8 +237,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
         WHERE (:userPath = '' OR s.entity_path <@ CAST(:userPath AS ltree))
         AND (:entityType IS NULL OR CAST(s.entity_type AS TEXT) = :entityType)
         AND (:status IS NULL OR CAST(s.status AS TEXT) = :status)
-        AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-        AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+        AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+        AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         AND (:merchantOnly = false OR s.entity_id = s.merchant_id)
         ORDER BY s.created_at DESC
         """,
@@ -137,8 +247,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
         WHERE (:userPath = '' OR s.entity_path <@ CAST(:userPath AS ltree))
         AND (:entityType IS NULL OR CAST(s.entity_type AS TEXT) = :entityType)
         AND (:status IS NULL OR CAST(s.status AS TEXT) = :status)
-        AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-        AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+        AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+        AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         AND (:merchantOnly = false OR s.entity_id = s.merchant_id)
         """,
         nativeQuery = true)
@@ -153,17 +263,23 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
     );
 
     /**
-     * Find all accessible settlements for aggregation (no pagination).
-     * Used for summary calculations.
+     * Sum accessible settlements in a single aggregate (summary totals).
      */
     @Query(value = """
-        SELECT s.* FROM settlements s
+        SELECT
+            COUNT(*) as settlementCount,
+            COALESCE(SUM(s.amount), 0) as totalAmount,
+            COALESCE(SUM(s.fee_amount), 0) as totalFeeAmount,
+            COALESCE(SUM(s.net_amount), 0) as totalNetAmount,
+            COALESCE(SUM(s.amount) FILTER (WHERE CAST(s.entry_type AS TEXT) = 'CREDIT'), 0) as creditAmount,
+            COALESCE(SUM(s.amount) FILTER (WHERE CAST(s.entry_type AS TEXT) = 'DEBIT'), 0) as debitAmount
+        FROM settlements s
         WHERE (:userPath = '' OR s.entity_path <@ CAST(:userPath AS ltree))
         AND (:entityType IS NULL OR CAST(s.entity_type AS TEXT) = :entityType)
-        AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-        AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+        AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+        AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         """, nativeQuery = true)
-    List<Settlement> findAccessibleSettlementsForSummary(
+    SettlementSummaryTotals sumAccessibleSettlements(
             @Param("userPath") String userPath,
             @Param("entityType") String entityType,
             @Param("startDate") OffsetDateTime startDate,
@@ -216,8 +332,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
             GROUP BY org_id
         ) mc ON mc.org_id = o.id
         LEFT JOIN settlements s ON s.entity_id = o.id
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+            AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+            AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         WHERE (:userPath = '' OR o.path <@ CAST(:userPath AS ltree))
             AND (:orgType IS NULL OR CAST(o.org_type AS TEXT) = :orgType)
             AND (:search IS NULL OR o.name ILIKE '%' || :search || '%' OR o.org_code ILIKE '%' || :search || '%')
@@ -233,6 +349,52 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
             @Param("endDate") OffsetDateTime endDate
     );
 
+    /**
+     * 단일 조직 정산 집계 (aggregateSettlementsByOrganization의 한 행과 같은 값).
+     * 조직 id로 바로 찾고 settlements는 entity_id 인덱스로 해당 조직 행만 읽는다.
+     * 조직이 없거나 userPath 범위 밖이면 빈 결과.
+     */
+    @Query(value = """
+        SELECT 
+            o.id as organizationId,
+            o.org_code as orgCode,
+            o.name as orgName,
+            CAST(o.org_type AS TEXT) as orgType,
+            CAST(o.path AS TEXT) as orgPath,
+            o.level as level,
+            be.id as businessEntityId,
+            be.representative_name as representativeName,
+            be.main_phone as mainPhone,
+            (SELECT COUNT(*) FROM merchants mc WHERE mc.org_id = o.id AND mc.deleted_at IS NULL) as merchantCount,
+            COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE 0 END), 0) as approvalAmount,
+            COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN 1 ELSE 0 END), 0) as approvalCount,
+            COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN ABS(s.amount) ELSE 0 END), 0) as cancelAmount,
+            COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN 1 ELSE 0 END), 0) as cancelCount,
+            COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE -ABS(s.amount) END), 0) as netPaymentAmount,
+            COUNT(s.id) as totalTransactionCount,
+            COALESCE(SUM(CASE WHEN s.entity_type = 'VENDOR' THEN s.fee_amount ELSE 0 END), 0) as merchantFeeAmount,
+            COALESCE(SUM(s.net_amount), 0) as orgFeeAmount,
+            COALESCE(AVG(s.fee_rate), 0) as avgFeeRate,
+            COALESCE(SUM(CASE WHEN CAST(s.status AS TEXT) = 'COMPLETED' THEN 1 ELSE 0 END), 0) as completedCount,
+            COALESCE(SUM(CASE WHEN CAST(s.status AS TEXT) = 'PENDING' THEN 1 ELSE 0 END), 0) as pendingCount,
+            COALESCE(SUM(CASE WHEN CAST(s.status AS TEXT) = 'FAILED' THEN 1 ELSE 0 END), 0) as failedCount
+        FROM organizations o
+        LEFT JOIN business_entities be ON o.business_entity_id = be.id
+        LEFT JOIN settlements s ON s.entity_id = o.id
+            AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+            AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
+        WHERE o.id = :organizationId
+            AND (:userPath = '' OR o.path <@ CAST(:userPath AS ltree))
+            AND o.deleted_at IS NULL
+        GROUP BY o.id, o.org_code, o.name, o.org_type, o.path, o.level, be.id, be.representative_name, be.main_phone
+        """, nativeQuery = true)
+    Optional<OrganizationSettlementAggregation> aggregateSettlementsForOrganization(
+            @Param("organizationId") UUID organizationId,
+            @Param("userPath") String userPath,
+            @Param("startDate") OffsetDateTime startDate,
+            @Param("endDate") OffsetDateTime endDate
+    );
+
     @Query(value = """
         SELECT 
             m.id as merchantId,
@@ -251,8 +413,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
         JOIN merchants m ON s.merchant_id = m.id
         JOIN organizations o ON m.org_id = o.id
         WHERE s.org_path <@ CAST(:orgPath AS ltree)
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+            AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+            AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         GROUP BY m.id, m.merchant_code, m.name, DATE(s.created_at), o.name
         ORDER BY DATE(s.created_at) DESC, m.name
         """, nativeQuery = true)
@@ -273,8 +435,8 @@ public interface SettlementRepository extends JpaRepository<Settlement, UUID> {
         FROM settlements s
         JOIN organizations o ON s.entity_id = o.id
         WHERE s.org_path <@ CAST(:orgPath AS ltree)
-            AND (CAST(:startDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at >= CAST(:startDate AS TIMESTAMP WITH TIME ZONE))
-            AND (CAST(:endDate AS TIMESTAMP WITH TIME ZONE) IS NULL OR s.created_at <= CAST(:endDate AS TIMESTAMP WITH TIME ZONE))
+            AND s.created_at >= COALESCE(CAST(:startDate AS TIMESTAMP WITH TIME ZONE), '-infinity')
+            AND s.created_at <= COALESCE(CAST(:endDate AS TIMESTAMP WITH TIME ZONE), 'infinity')
         GROUP BY s.entity_type, o.name, o.org_code
         ORDER BY 
             CASE CAST(s.entity_type AS TEXT)
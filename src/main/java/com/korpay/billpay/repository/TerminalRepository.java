@@ -29,15 +29,33 @@ public interface TerminalRepository extends JpaRepository<Terminal, UUID> {
 
     Page<Terminal> findByMerchantId(UUID merchantId, Pageable pageable);
 
-    @Query("SELECT t FROM Terminal t WHERE " +
-           "(:status IS NULL OR t.status = :status) AND " +
-           "(:terminalType IS NULL OR t.terminalType = :terminalType) AND " +
-           "(:merchantId IS NULL OR t.merchant.id = :merchantId) AND " +
-           "(:organizationId IS NULL OR t.organization.id = :organizationId) AND " +
-           "(:search IS NULL OR t.catId LIKE %:search% OR t.merchant.name LIKE %:search%)")
-    Page<Terminal> findByFilters(
-            @Param("status") TerminalStatus status,
-            @Param("terminalType") TerminalType terminalType,
+    /**
+     * 접근 범위(가맹점 경로) 안의 단말기 검색 조건. 검색어는 CAT ID 또는 가맹점명 부분 일치다.
+     */
+    String ACCESSIBLE_TERMINALS = """
+            FROM terminals t
+            WHERE (CAST(:status AS TEXT) IS NULL OR t.status = CAST(:status AS TEXT))
+              AND (CAST(:terminalType AS TEXT) IS NULL OR t.terminal_type = CAST(:terminalType AS TEXT))
+              AND (CAST(:merchantId AS UUID) IS NULL OR t.merchant_id = CAST(:merchantId AS UUID))
+              AND (CAST(:organizationId AS UUID) IS NULL OR t.organization_id = CAST(:organizationId AS UUID))
+              AND EXISTS (
+                  SELECT 1 FROM merchants m
+                  WHERE m.id = t.merchant_id
+                    AND (CAST(:search AS TEXT) IS NULL
+                         OR POSITION(CAST(:search AS TEXT) IN t.cat_id) > 0
+                         OR POSITION(CAST(:search AS TEXT) IN m.name) > 0)
+                    AND\s""" + AccessPathPredicate.MERCHANT_ORG_PATH + ")";
+
+    /**
+     * 정렬은 컬럼명 기준 ({@link NativeSort#toColumns}로 변환한 Pageable)
+     */
+    @Query(value = "SELECT t.* " + ACCESSIBLE_TERMINALS,
+           countQuery = "SELECT COUNT(*) " + ACCESSIBLE_TERMINALS,
+           nativeQuery = true)
+    Page<Terminal> findAccessibleTerminals(
+            @Param("accessPath") String accessPath,
+            @Param("status") String status,
+            @Param("terminalType") String terminalType,
             @Param("merchantId") UUID merchantId,
             @Param("organizationId") UUID organizationId,
             @Param("search") String search,
@@ -1,24 +1,36 @@
 package com.korpay.billpay.repository;
 
 import com.korpay.billpay.domain.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
 
+    /** 접근 범위 안의 삭제되지 않은 사용자 (orgId가 null이면 전체 조직) */
+    String ACCESSIBLE_USERS = "FROM users u WHERE " + AccessPathPredicate.ORG_PATH + """
+              AND u.deleted_at IS NULL
+              AND (CAST(:orgId AS UUID) IS NULL OR u.org_id = CAST(:orgId AS UUID))
+            """;
+
     Optional<User> findByUsername(String username);
 
     Optional<User> findByEmail(String email);
 
-    List<User> findByOrganizationId(UUID organizationId);
-
-    @Query(value = "SELECT * FROM users WHERE org_path <@ CAST(:path AS ltree)", nativeQuery = true)
-    List<User> findByOrgPathDescendants(@Param("path") String path);
+    /**
+     * 정렬은 컬럼명 기준 ({@link NativeSort#toColumns}로 변환한 Pageable)
+     */
+    @Query(value = "SELECT u.* " + ACCESSIBLE_USERS,
+           countQuery = "SELECT COUNT(*) " + ACCESSIBLE_USERS,
+           nativeQuery = true)
+    Page<User> findAccessibleUsers(@Param("accessPath") String accessPath,
+                                   @Param("orgId") UUID orgId,
+                                   Pageable pageable);
 }
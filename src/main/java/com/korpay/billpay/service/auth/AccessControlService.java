@@ -147,6 +147,27 @@ public class AccessControlService {
         return MASTER_ROLE.equals(user.getRole());
     }
 
+    /**
+     * Returns the path bounding the user's accessible subtree, bound as {@code :accessPath}
+     * in the {@link com.korpay.billpay.repository.AccessPathPredicate} query predicates.
+     *
+     * @param user The current authenticated user
+     * @return Empty string for master admin (no restriction), otherwise the user's org path
+     * @throws AccessDeniedException if a regular user has no org path
+     */
+    public String accessPath(User user) {
+        if (isMasterAdmin(user)) {
+            return "";
+        }
+
+        String userOrgPath = user.getOrgPath();
+        if (userOrgPath == null || userOrgPath.isEmpty()) {
+            log.warn("Access denied: user={} has no organization path", user.getUsername());
+            throw new AccessDeniedException("User has no organization path: " + user.getUsername());
+        }
+        return userOrgPath;
+    }
+
     /**
      * Core access control logic using ltree path hierarchy.
      * 
@@ -0,0 +1,67 @@
+package com.korpay.billpay.service.dashboard;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.function.Supplier;
+
+/**
+ * 대시보드 카운터 보존 작업.
+ *
+ * 대시보드는 이번 달(KST) 행만 읽으므로, 전월 이전의 org_dashboard_counters / org_merchant_monthly_sales 행을 삭제한다.
+ * 전월 행은 월 경계 직후의 늦은 취소 반영분이 남아 있도록 한 달 더 보존한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounterMaintainer {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${dashboard.counters.retention.enabled:false}")
+    private boolean enabled;
+
+    @Scheduled(cron = "${dashboard.counters.retention.cron:0 15 3 1 * *}")
+    public void purgeAllTenants() {
+        if (!enabled) {
+            log.debug("Dashboard counter retention disabled");
+            return;
+        }
+
+        LocalDate cutoff = LocalDate.now(KST).withDayOfMonth(1).minusMonths(1);
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                int deleted = TenantContextHolder.runInTenant(tenantId,
+                        (Supplier<Integer>) () -> purgeCurrentTenant(cutoff));
+                log.info("Dashboard counter retention for tenant {}: {} rows before {} deleted",
+                        tenantId, deleted, cutoff);
+            } catch (Exception e) {
+                log.error("Dashboard counter retention failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @param cutoff 이 날짜(월 1일) 이전의 행을 삭제
+     * @return 삭제한 행 수
+     */
+    public int purgeCurrentTenant(LocalDate cutoff) {
+        int counters = jdbcTemplate.update(
+                "DELETE FROM org_dashboard_counters WHERE stat_date < ?", Date.valueOf(cutoff));
+        int merchantSales = jdbcTemplate.update(
+                "DELETE FROM org_merchant_monthly_sales WHERE sales_month < ?", Date.valueOf(cutoff));
+        return counters + merchantSales;
+    }
+}
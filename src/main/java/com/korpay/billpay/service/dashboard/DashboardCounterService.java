@@ -0,0 +1,181 @@
+package com.korpay.billpay.service.dashboard;
+
+import com.korpay.billpay.domain.entity.Transaction;
+import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.response.MerchantRankingDto;
+import com.korpay.billpay.service.live.LiveUpdateHub;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 조직 노드별 대시보드 카운터(org_dashboard_counters, org_merchant_monthly_sales) 유지 및 조회 서비스.
+ *
+ * 거래 생성/취소와 같은 트랜잭션에서 거래 경로의 모든 상위 경로(자신 포함)에 변화량을 가산하므로,
+ * 대시보드는 사용자 조직 노드 한 곳의 행만 읽는다. 상위 경로는 루트부터 순서대로 갱신해 교착 상태를 피하고,
+ * 모든 거래가 몰리는 상위 노드의 일 카운터는 stripe 행으로 나누어 잠금 경합을 분산한다.
+ */
+@Slf4j
+@Service
+public class DashboardCounterService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 파라미터: 경로, 일자, stripe, 승인 금액, 승인 건수, 거래 건수, 경로 */
+    private static final String UPSERT_COUNTERS = """
+        INSERT INTO org_dashboard_counters AS c (
+            org_path, stat_date, stripe, approved_amount, approved_count, transaction_count
+        )
+        SELECT subpath(CAST(? AS ltree), 0, n), ?, ?, ?, ?, ?
+        FROM generate_series(1, nlevel(CAST(? AS ltree))) n
+        ORDER BY n
+        ON CONFLICT (org_path, stat_date, stripe) DO UPDATE SET
+            approved_amount = c.approved_amount + EXCLUDED.approved_amount,
+            approved_count = c.approved_count + EXCLUDED.approved_count,
+            transaction_count = c.transaction_count + EXCLUDED.transaction_count,
+            updated_at = CURRENT_TIMESTAMP
+        """;
+
+    /** 파라미터: 경로, 월, 가맹점 ID, 승인 금액, 승인 건수, 경로 */
+    private static final String UPSERT_MERCHANT_SALES = """
+        INSERT INTO org_merchant_monthly_sales AS s (
+            org_path, sales_month, merchant_id, approved_amount, approved_count
+        )
+        SELECT subpath(CAST(? AS ltree), 0, n), ?, ?, ?, ?
+        FROM generate_series(1, nlevel(CAST(? AS ltree))) n
+        ORDER BY n
+        ON CONFLICT (org_path, sales_month, merchant_id) DO UPDATE SET
+            approved_amount = s.approved_amount + EXCLUDED.approved_amount,
+            approved_count = s.approved_count + EXCLUDED.approved_count,
+            updated_at = CURRENT_TIMESTAMP
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveUpdateHub liveUpdateHub;
+
+    /** 노드·일자당 분할 카운터 행 수 (줄여도 기존 행은 조회 합계에 계속 포함됨) */
+    private final int stripes;
+
+    public DashboardCounterService(JdbcTemplate jdbcTemplate,
+                                   LiveUpdateHub liveUpdateHub,
+                                   @Value("${dashboard.counters.stripes:8}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveUpdateHub = liveUpdateHub;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * 새 거래를 카운터에 가산한다. 거래 저장(flush) 이후 같은 트랜잭션에서 호출해야 한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        boolean approved = transaction.getStatus() == TransactionStatus.APPROVED;
+        apply(transaction, approved ? transaction.getAmount() : 0, approved ? 1 : 0, 1);
+    }
+
+    /**
+     * 거래의 상태나 금액 변경을 카운터에 반영한다. 거래일은 바뀌지 않으므로 승인 매출 변화량만 가산한다.
+     * 변경 전 상태와 금액은 거래 행을 잠그고 읽은 값이어야 한다 (동시 취소가 같은 승인 매출을 두 번 차감하지 않도록).
+     *
+     * @param previousStatus 변경 전 상태
+     * @param previousAmount 변경 전 금액
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Transaction transaction, TransactionStatus previousStatus, long previousAmount) {
+        long amountDelta = 0;
+        long countDelta = 0;
+        if (previousStatus == TransactionStatus.APPROVED) {
+            amountDelta -= previousAmount;
+            countDelta--;
+        }
+        if (transaction.getStatus() == TransactionStatus.APPROVED) {
+            amountDelta += transaction.getAmount();
+            countDelta++;
+        }
+        if (amountDelta == 0 && countDelta == 0) {
+            return;
+        }
+        apply(transaction, amountDelta, countDelta, 0);
+    }
+
+    /**
+     * 조직 노드(하위 조직 포함)의 오늘/이번 달 승인 매출과 이번 달 거래 건수 (KST 기준).
+     */
+    @Transactional(readOnly = true)
+    public NodeCounters getCounters(String orgPath, LocalDate today) {
+        LocalDate startOfMonth = today.withDayOfMonth(1);
+        return jdbcTemplate.queryForObject("""
+                SELECT
+                    COALESCE(SUM(approved_amount) FILTER (WHERE stat_date = ?), 0) as today_sales,
+                    COALESCE(SUM(approved_amount), 0) as month_sales,
+                    COALESCE(SUM(transaction_count), 0) as transaction_count
+                FROM org_dashboard_counters
+                WHERE org_path = CAST(? AS ltree)
+                  AND stat_date >= ?
+                  AND stat_date <= ?
+                """, (rs, rowNum) -> new NodeCounters(
+                rs.getLong("today_sales"),
+                rs.getLong("month_sales"),
+                rs.getLong("transaction_count")
+        ), Date.valueOf(today), orgPath, Date.valueOf(startOfMonth), Date.valueOf(today));
+    }
+
+    /**
+     * 조직 노드(하위 조직 포함)의 월 승인 매출 상위 가맹점. 순위 인덱스를 앞에서부터 limit건만 읽는다.
+     */
+    @Transactional(readOnly = true)
+    public List<MerchantRankingDto> getTopMerchants(String orgPath, LocalDate month, int limit) {
+        return jdbcTemplate.query("""
+                SELECT s.merchant_id, m.name as merchant_name, s.approved_amount, s.approved_count
+                FROM org_merchant_monthly_sales s
+                JOIN merchants m ON m.id = s.merchant_id
+                WHERE s.org_path = CAST(? AS ltree)
+                  AND s.sales_month = ?
+                  AND s.approved_count > 0
+                ORDER BY s.approved_amount DESC
+                LIMIT ?
+                """, (rs, rowNum) -> MerchantRankingDto.builder()
+                .merchantId(rs.getObject("merchant_id", UUID.class))
+                .merchantName(rs.getString("merchant_name"))
+                .totalAmount(rs.getLong("approved_amount"))
+                .transactionCount(rs.getLong("approved_count"))
+                .build(), orgPath, Date.valueOf(month.withDayOfMonth(1)), limit);
+    }
+
+    private void apply(Transaction transaction, long approvedAmount, long approvedCount, long transactionCount) {
+        String orgPath = transaction.getOrgPath();
+        LocalDate statDate = statDate(transaction.getCreatedAt());
+
+        jdbcTemplate.update(UPSERT_COUNTERS, orgPath, Date.valueOf(statDate), nextStripe(),
+                approvedAmount, approvedCount, transactionCount, orgPath);
+        if (approvedCount != 0 || approvedAmount != 0) {
+            jdbcTemplate.update(UPSERT_MERCHANT_SALES, orgPath, Date.valueOf(statDate.withDayOfMonth(1)),
+                    transaction.getMerchant().getId(), approvedAmount, approvedCount, orgPath);
+        }
+        liveUpdateHub.publishDashboardDelta(orgPath, statDate, approvedAmount, approvedCount, transactionCount);
+        log.debug("Applied dashboard counter delta: path={}, date={}, approvedAmount={}, approvedCount={}, count={}",
+                orgPath, statDate, approvedAmount, approvedCount, transactionCount);
+    }
+
+    private int nextStripe() {
+        return stripes == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes);
+    }
+
+    private static LocalDate statDate(OffsetDateTime createdAt) {
+        return createdAt.atZoneSameInstant(KST).toLocalDate();
+    }
+
+    public record NodeCounters(long todaySales, long monthSales, long transactionCount) {
+    }
+}
@@ -1,23 +1,17 @@
 package com.korpay.billpay.service.dashboard;
 
 import com.korpay.billpay.domain.entity.User;
-import com.korpay.billpay.domain.enums.SettlementStatus;
-import com.korpay.billpay.domain.enums.TransactionStatus;
 import com.korpay.billpay.dto.response.DashboardMetricsDto;
 import com.korpay.billpay.dto.response.MerchantRankingDto;
-import com.korpay.billpay.repository.MerchantRepository;
-import com.korpay.billpay.repository.SettlementRepository;
-import com.korpay.billpay.repository.TransactionRepository;
+import com.korpay.billpay.service.settlement.balance.SettlementBalanceService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -25,66 +19,31 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
-    private final SettlementRepository settlementRepository;
-    private final MerchantRepository merchantRepository;
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final DashboardCounterService dashboardCounterService;
+    private final SettlementBalanceService settlementBalanceService;
 
     public DashboardMetricsDto getMetrics(User currentUser) {
         String orgPath = currentUser.getOrganization().getPath();
-        
-        OffsetDateTime now = OffsetDateTime.now(ZoneId.of("Asia/Seoul"));
-        OffsetDateTime startOfToday = now.truncatedTo(ChronoUnit.DAYS);
-        OffsetDateTime startOfMonth = now.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
-        
-        Long todaySales = transactionRepository
-                .sumAmountByOrgPathAndStatusAndDateRange(
-                        orgPath, 
-                        TransactionStatus.APPROVED, 
-                        startOfToday, 
-                        now);
-        
-        Long monthSales = transactionRepository
-                .sumAmountByOrgPathAndStatusAndDateRange(
-                        orgPath, 
-                        TransactionStatus.APPROVED, 
-                        startOfMonth, 
-                        now);
-        
-        Long pendingSettlements = settlementRepository
-                .countByEntityPathStartingWithAndStatus(
-                        orgPath, 
-                        SettlementStatus.PENDING);
-        
-        Long transactionCount = transactionRepository
-                .countByOrgPathStartingWithAndCreatedAtBetween(
-                        orgPath, 
-                        startOfMonth, 
-                        now);
-        
+
+        // 거래 테이블 대신 조직 노드 카운터에서 오늘/이번 달 매출과 거래 건수 조회
+        DashboardCounterService.NodeCounters counters =
+                dashboardCounterService.getCounters(orgPath, LocalDate.now(KST));
+
+        // 정산 원장 대신 대상별 잔액의 대기 건수 합계로 조회
+        Long pendingSettlements = settlementBalanceService.countPendingUnderPath(orgPath);
+
         return DashboardMetricsDto.builder()
-                .todaySales(todaySales != null ? todaySales : 0L)
-                .monthSales(monthSales != null ? monthSales : 0L)
+                .todaySales(counters.todaySales())
+                .monthSales(counters.monthSales())
                 .pendingSettlements(pendingSettlements != null ? pendingSettlements : 0L)
-                .transactionCount(transactionCount != null ? transactionCount : 0L)
+                .transactionCount(counters.transactionCount())
                 .build();
     }
 
     public List<MerchantRankingDto> getTopMerchants(User currentUser, int limit) {
         String orgPath = currentUser.getOrganization().getPath();
-        
-        OffsetDateTime now = OffsetDateTime.now(ZoneId.of("Asia/Seoul"));
-        OffsetDateTime startOfMonth = now.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
-        
-        List<Object[]> results = transactionRepository
-                .findTopMerchantsByAmountAndOrgPath(orgPath, startOfMonth, now, limit);
-        
-        return results.stream()
-                .map(row -> MerchantRankingDto.builder()
-                        .merchantId(row[0] != null ? (java.util.UUID) row[0] : null)
-                        .merchantName(row[1] != null ? (String) row[1] : "Unknown")
-                        .totalAmount(row[2] != null ? ((Number) row[2]).longValue() : 0L)
-                        .transactionCount(row[3] != null ? ((Number) row[3]).longValue() : 0L)
-                        .build())
-                .collect(Collectors.toList());
+        return dashboardCounterService.getTopMerchants(orgPath, LocalDate.now(KST), limit);
     }
 }
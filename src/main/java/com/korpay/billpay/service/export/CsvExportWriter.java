@@ -0,0 +1,77 @@
+package com.korpay.billpay.service.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * RFC 4180 CSV: 컬럼명 헤더 1행, 데이터 행, 마지막에 "#rowCount,N" 행. 줄 끝은 CRLF이다.
+ * 엑셀에서 한글이 깨지지 않도록 UTF-8 BOM으로 시작한다.
+ */
+final class CsvExportWriter implements ExportWriter {
+
+    private static final String CRLF = "\r\n";
+
+    private final Writer out;
+
+    CsvExportWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) throws IOException {
+        out.write('\uFEFF');
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(escape(columns.get(i)));
+        }
+        out.write(CRLF);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(format(values[i]));
+        }
+        out.write(CRLF);
+    }
+
+    @Override
+    public void writeTrailer(long rowCount) throws IOException {
+        out.write("#rowCount," + rowCount + CRLF);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    private static String format(Object value) {
+        return switch (value) {
+            case null -> "";
+            case OffsetDateTime dateTime -> dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+            case BigDecimal decimal -> decimal.toPlainString();
+            case String text -> escape(text);
+            default -> value.toString();
+        };
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,185 @@
+package com.korpay.billpay.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.domain.enums.ExportFormat;
+import com.korpay.billpay.exception.ExportBusyException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 목록 내보내기 서비스.
+ *
+ * 읽기 전용 트랜잭션 안에서 fetch size 단위의 forward-only 커서로 행을 읽어 바로 writer에 넘기므로,
+ * 행 수와 관계없이 메모리 사용량은 fetch size 만큼으로 일정하다. 컬럼 이름과 값 형식은 쿼리 결과의
+ * 메타데이터(컬럼 별칭, SQL 타입)를 따르며, 일시는 KST로 기록한다.
+ *
+ * 내보내기는 끝날 때까지 DB 연결을 하나 점유하므로 동시 실행 수를 export.max-concurrent로 제한한다.
+ */
+@Slf4j
+@Service
+public class DataExportService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final MediaType CSV = new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private enum ValueType { LONG, DECIMAL, BOOLEAN, TIMESTAMP, TEXT }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+
+    public DataExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:2000}") int fetchSize,
+                             @Value("${export.max-concurrent:2}") int maxConcurrent) {
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent));
+    }
+
+    /**
+     * 내보내기 실행 권한을 얻는다. 받은 권한은 내보내기가 끝나거나 실행되지 못한 경우 모두 반납해야 한다.
+     *
+     * @throws ExportBusyException 동시 실행 한도를 넘은 경우
+     */
+    public ExportPermit acquire() {
+        if (!permits.tryAcquire()) {
+            throw new ExportBusyException("진행 중인 내보내기가 많습니다. 잠시 후 다시 시도해 주세요");
+        }
+        return new ExportPermit(permits);
+    }
+
+    /**
+     * 쿼리 결과를 out에 기록한다. out은 flush만 하고 닫지 않는다 (gzip이면 압축 스트림을 마무리한다).
+     *
+     * @return 기록한 행 수
+     */
+    public long export(ExportQuery query, ExportFormat format, boolean gzip, OutputStream out) throws IOException {
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : null;
+        BufferedOutputStream buffered = new BufferedOutputStream(compressed != null ? compressed : out, BUFFER_SIZE);
+        ExportWriter writer = ExportWriter.of(format, buffered, objectMapper.getFactory());
+
+        long started = System.currentTimeMillis();
+        Long rowCount;
+        try {
+            rowCount = readOnlyTransactionTemplate.execute(status ->
+                    streamingJdbcTemplate.query(query.sql(), (ResultSetExtractor<Long>) rs -> writeRows(rs, writer),
+                            query.args()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        long rows = rowCount != null ? rowCount : 0L;
+
+        writer.writeTrailer(rows);
+        writer.flush();
+        buffered.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        out.flush();
+
+        log.info("Exported {} rows as {}{} in {} ms", rows, format, gzip ? " (gzip)" : "",
+                System.currentTimeMillis() - started);
+        return rows;
+    }
+
+    /**
+     * @param prefix 파일 이름 앞부분 (예: transactions)
+     */
+    public static String fileName(String prefix, ExportFormat format, boolean gzip) {
+        String extension = format == ExportFormat.CSV ? ".csv" : ".ndjson";
+        return prefix + "-" + OffsetDateTime.now(KST).format(FILE_TIMESTAMP) + extension + (gzip ? ".gz" : "");
+    }
+
+    public static MediaType contentType(ExportFormat format, boolean gzip) {
+        if (gzip) {
+            return GZIP;
+        }
+        return format == ExportFormat.CSV ? CSV : NDJSON;
+    }
+
+    private static long writeRows(ResultSet rs, ExportWriter writer) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        ValueType[] types = new ValueType[columnCount];
+        for (int i = 0; i < columnCount; i++) {
+            columns.add(metaData.getColumnLabel(i + 1));
+            types[i] = valueType(metaData.getColumnType(i + 1));
+        }
+
+        Object[] values = new Object[columnCount];
+        long rows = 0;
+        try {
+            writer.writeHeader(columns);
+            while (rs.next()) {
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = readValue(rs, i + 1, types[i]);
+                }
+                writer.writeRow(values);
+                rows++;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rows;
+    }
+
+    private static ValueType valueType(int sqlType) {
+        return switch (sqlType) {
+            case Types.BIGINT, Types.INTEGER, Types.SMALLINT, Types.TINYINT -> ValueType.LONG;
+            case Types.NUMERIC, Types.DECIMAL -> ValueType.DECIMAL;
+            case Types.BOOLEAN, Types.BIT -> ValueType.BOOLEAN;
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> ValueType.TIMESTAMP;
+            default -> ValueType.TEXT;
+        };
+    }
+
+    private static Object readValue(ResultSet rs, int column, ValueType type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(column);
+            case DECIMAL -> rs.getBigDecimal(column);
+            case BOOLEAN -> rs.getBoolean(column);
+            case TIMESTAMP -> {
+                OffsetDateTime dateTime = rs.getObject(column, OffsetDateTime.class);
+                yield dateTime != null ? dateTime.atZoneSameInstant(KST).toOffsetDateTime() : null;
+            }
+            case TEXT -> rs.getString(column);
+        };
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,24 @@
+package com.korpay.billpay.service.export;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 내보내기 동시 실행 권한 하나. {@link #release()}는 여러 번 호출해도 한 번만 반납하므로,
+ * 본문 실행 종료와 비동기 요청 종료 양쪽에서 호출해도 된다.
+ */
+public final class ExportPermit {
+
+    private final Semaphore permits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    ExportPermit(Semaphore permits) {
+        this.permits = permits;
+    }
+
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            permits.release();
+        }
+    }
+}
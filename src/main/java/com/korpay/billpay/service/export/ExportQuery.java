@@ -0,0 +1,7 @@
+package com.korpay.billpay.service.export;
+
+/**
+ * 내보낼 SELECT 문과 바인딩 인자. 접근 범위와 정렬 검증은 만들 때 끝내고, 스트리밍 응답에서는 실행만 한다.
+ */
+public record ExportQuery(String sql, Object[] args) {
+}
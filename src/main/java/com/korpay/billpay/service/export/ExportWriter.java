@@ -0,0 +1,39 @@
+package com.korpay.billpay.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.korpay.billpay.domain.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * 목록 내보내기 writer.
+ *
+ * 행을 받는 즉시 출력 스트림에 기록하고 내부에 행을 보관하지 않는다. 값은 String, Long, BigDecimal, Boolean,
+ * OffsetDateTime 또는 null이며, 마지막 줄은 기록한 행 수(trailer)로 끝나므로 trailer가 없는 파일은 중간에
+ * 끊긴 것이다. 문자셋은 UTF-8이다.
+ */
+public interface ExportWriter {
+
+    /**
+     * @param columns 컬럼 이름 (행 값의 순서와 같음)
+     */
+    void writeHeader(List<String> columns) throws IOException;
+
+    void writeRow(Object[] values) throws IOException;
+
+    void writeTrailer(long rowCount) throws IOException;
+
+    /**
+     * 버퍼를 비운다. 출력 스트림은 닫지 않는다.
+     */
+    void flush() throws IOException;
+
+    static ExportWriter of(ExportFormat format, OutputStream out, JsonFactory jsonFactory) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(out);
+            case NDJSON -> new NdjsonExportWriter(out, jsonFactory);
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package com.korpay.billpay.service.export;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * NDJSON: 행마다 컬럼명을 키로 하는 JSON 객체 한 줄, 마지막에 {"rowCount":N} 한 줄. 헤더 행은 없다.
+ * 숫자는 JSON 숫자, 일시는 ISO-8601 문자열로 기록한다.
+ */
+final class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private String[] columns = new String[0];
+
+    NdjsonExportWriter(OutputStream out, JsonFactory jsonFactory) throws IOException {
+        this.generator = jsonFactory.createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // 최상위 값 사이의 기본 구분자(공백) 대신 줄바꿈을 직접 기록
+        this.generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    public void writeHeader(List<String> columns) {
+        this.columns = columns.toArray(String[]::new);
+    }
+
+    @Override
+    public void writeRow(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeFieldName(columns[i]);
+            switch (values[i]) {
+                case null -> generator.writeNull();
+                case Long number -> generator.writeNumber(number);
+                case BigDecimal decimal -> generator.writeNumber(decimal);
+                case Boolean bool -> generator.writeBoolean(bool);
+                case OffsetDateTime dateTime ->
+                        generator.writeString(dateTime.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME));
+                default -> generator.writeString(values[i].toString());
+            }
+        }
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void writeTrailer(long rowCount) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("rowCount", rowCount);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+}
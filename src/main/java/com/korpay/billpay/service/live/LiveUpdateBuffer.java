@@ -0,0 +1,90 @@
+package com.korpay.billpay.service.live;
+
+import com.korpay.billpay.dto.response.LiveUpdateDto;
+import com.korpay.billpay.dto.response.TransactionDto;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 토픽 하나에 쌓인 변경을 다음 전송까지 병합하는 버퍼. 동기화는 호출자(토픽)가 담당한다.
+ *
+ * 같은 거래는 마지막 상태 하나만 남기고, 대시보드와 정산 변화량은 합산하므로 전송 크기는 유입량이 아니라
+ * 한도(maxTransactions)에 비례한다.
+ */
+final class LiveUpdateBuffer {
+
+    private final int maxTransactions;
+
+    private final Map<UUID, TransactionDto> transactions = new LinkedHashMap<>();
+    private boolean transactionsTruncated;
+    private final Map<LocalDate, long[]> dashboard = new TreeMap<>();
+    private long[] settlements;
+
+    LiveUpdateBuffer(int maxTransactions) {
+        this.maxTransactions = Math.max(0, maxTransactions);
+    }
+
+    void addTransaction(TransactionDto transaction) {
+        if (transactions.containsKey(transaction.getId()) || transactions.size() < maxTransactions) {
+            transactions.put(transaction.getId(), transaction);
+        } else {
+            transactionsTruncated = true;
+        }
+    }
+
+    void addDashboard(LocalDate date, long approvedAmount, long approvedCount, long transactionCount) {
+        long[] sum = dashboard.computeIfAbsent(date, d -> new long[3]);
+        sum[0] += approvedAmount;
+        sum[1] += approvedCount;
+        sum[2] += transactionCount;
+    }
+
+    void addSettlements(long pendingAmount, long pendingCount, long completedAmount, long completedCount,
+                        long failedAmount, long failedCount) {
+        if (settlements == null) {
+            settlements = new long[6];
+        }
+        settlements[0] += pendingAmount;
+        settlements[1] += pendingCount;
+        settlements[2] += completedAmount;
+        settlements[3] += completedCount;
+        settlements[4] += failedAmount;
+        settlements[5] += failedCount;
+    }
+
+    boolean isEmpty() {
+        return transactions.isEmpty() && !transactionsTruncated && dashboard.isEmpty() && settlements == null;
+    }
+
+    /**
+     * 쌓인 변경을 꺼내고 버퍼를 비운다.
+     *
+     * @return 변경이 없으면 null
+     */
+    LiveUpdateDto drain() {
+        if (isEmpty()) {
+            return null;
+        }
+
+        List<LiveUpdateDto.DashboardDelta> dashboardDeltas = new ArrayList<>(dashboard.size());
+        dashboard.forEach((date, sum) ->
+                dashboardDeltas.add(new LiveUpdateDto.DashboardDelta(date, sum[0], sum[1], sum[2])));
+        LiveUpdateDto.SettlementDelta settlementDelta = settlements == null ? null
+                : new LiveUpdateDto.SettlementDelta(settlements[0], settlements[1], settlements[2],
+                        settlements[3], settlements[4], settlements[5]);
+        LiveUpdateDto update = new LiveUpdateDto(
+                List.copyOf(transactions.values()), transactionsTruncated, dashboardDeltas, settlementDelta);
+
+        transactions.clear();
+        transactionsTruncated = false;
+        dashboard.clear();
+        settlements = null;
+        return update;
+    }
+}
@@ -0,0 +1,314 @@
+package com.korpay.billpay.service.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.Transaction;
+import com.korpay.billpay.dto.response.LiveUpdateDto;
+import com.korpay.billpay.dto.response.TransactionDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 거래/정산/대시보드 변경을 SSE 구독자에게 전달하는 허브.
+ *
+ * 구독은 (테넌트, 접근 경로) 토픽으로 묶이며, 같은 경로의 구독자는 토픽 하나를 공유한다. 커밋된 변경은 경로의
+ * 모든 상위 토픽(마스터 관리자의 빈 경로 포함)의 버퍼에 병합되고, 전송 주기마다 토픽별로 한 번만 직렬화하여
+ * 구독자 전원에게 같은 프레임을 넘긴다. 변경 발생 비용은 구독자 수가 아니라 경로 깊이에 비례한다.
+ *
+ * 구독자마다 크기가 제한된 큐와 전송 전용 가상 스레드를 두며, 큐가 가득 찬 느린 구독자는 연결을 끊는다
+ * (클라이언트는 재연결 후 REST로 현재 상태를 다시 조회). 인스턴스 내 구독자에게만 전달한다.
+ */
+@Slf4j
+@Component
+public class LiveUpdateHub {
+
+    private static final String UPDATE_EVENT = "update";
+
+    private final ConcurrentHashMap<TopicKey, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ObjectMapper objectMapper;
+    private final long emitterTimeoutMs;
+    private final int subscriberBufferSize;
+    private final int maxTransactionsPerUpdate;
+    private final Counter dropped;
+
+    public LiveUpdateHub(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${live.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                         @Value("${live.subscriber-buffer-size:32}") int subscriberBufferSize,
+                         @Value("${live.max-transactions-per-update:100}") int maxTransactionsPerUpdate) {
+        this.objectMapper = objectMapper;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.subscriberBufferSize = Math.max(1, subscriberBufferSize);
+        this.maxTransactionsPerUpdate = maxTransactionsPerUpdate;
+        this.dropped = meterRegistry.counter("live.subscribers.dropped");
+        meterRegistry.gauge("live.subscribers", subscribers, Set::size);
+        meterRegistry.gauge("live.topics", topics, ConcurrentHashMap::size);
+    }
+
+    /**
+     * 접근 경로 하위의 변경을 받는 구독을 연다.
+     *
+     * @param accessPath {@link com.korpay.billpay.service.auth.AccessControlService#accessPath} (마스터 관리자는 빈 문자열)
+     */
+    public SseEmitter subscribe(String tenantId, String accessPath) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(new TopicKey(tenantId, accessPath), emitter);
+
+        topics.compute(subscriber.topicKey, (key, topic) -> {
+            Topic target = topic != null ? topic : new Topic(maxTransactionsPerUpdate);
+            target.subscribers.add(subscriber);
+            return target;
+        });
+        subscribers.add(subscriber);
+
+        emitter.onCompletion(() -> close(subscriber));
+        emitter.onTimeout(() -> close(subscriber));
+        emitter.onError(e -> close(subscriber));
+
+        // 응답 헤더를 바로 내보내도록 첫 프레임으로 주석을 보냄
+        subscriber.offer(SseEmitter.event().comment("connected").build());
+        subscriber.writer = writers.submit(subscriber::drain);
+        if (subscriber.closed.get()) {
+            subscriber.writer.cancel(true);
+        }
+
+        log.debug("Live subscriber opened: tenant={}, path='{}'", tenantId, accessPath);
+        return emitter;
+    }
+
+    /**
+     * 거래 생성/변경을 알린다. 거래 저장과 같은 트랜잭션에서 호출하면 커밋 후 전달된다.
+     */
+    public void publishTransaction(Transaction transaction) {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId == null || topics.isEmpty()) {
+            return;
+        }
+        TransactionDto dto = TransactionDto.from(transaction);
+        afterCommit(tenantId, dto.getOrgPath(), buffer -> buffer.addTransaction(dto));
+    }
+
+    /**
+     * 대시보드 카운터 변화량을 알린다. 카운터 갱신과 같은 트랜잭션에서 호출하면 커밋 후 전달된다.
+     */
+    public void publishDashboardDelta(String orgPath, LocalDate statDate,
+                                      long approvedAmount, long approvedCount, long transactionCount) {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId == null || topics.isEmpty()) {
+            return;
+        }
+        afterCommit(tenantId, orgPath,
+                buffer -> buffer.addDashboard(statDate, approvedAmount, approvedCount, transactionCount));
+    }
+
+    /**
+     * 정산 잔액 변화량을 알린다. 잔액 갱신과 같은 트랜잭션에서 호출하면 커밋 후 전달된다.
+     */
+    public void publishSettlementDelta(String entityPath,
+                                       long pendingAmount, long pendingCount,
+                                       long completedAmount, long completedCount,
+                                       long failedAmount, long failedCount) {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId == null || topics.isEmpty()) {
+            return;
+        }
+        afterCommit(tenantId, entityPath, buffer -> buffer.addSettlements(
+                pendingAmount, pendingCount, completedAmount, completedCount, failedAmount, failedCount));
+    }
+
+    /**
+     * 토픽별로 쌓인 변경을 한 번 직렬화하여 구독자 큐에 넣는다.
+     */
+    @Scheduled(fixedDelayString = "${live.flush-interval-ms:500}")
+    public void flush() {
+        for (Topic topic : topics.values()) {
+            LiveUpdateDto update = topic.drain();
+            if (update == null) {
+                continue;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frame;
+            try {
+                frame = SseEmitter.event()
+                        .name(UPDATE_EVENT)
+                        .data(objectMapper.writeValueAsString(update))
+                        .build();
+            } catch (JsonProcessingException e) {
+                log.error("Failed to serialize live update: {}", e.getMessage(), e);
+                continue;
+            }
+            for (Subscriber subscriber : topic.subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    /**
+     * 변경이 없어도 연결이 끊기지 않도록 주석 프레임을 보낸다. 끊긴 연결은 이때 전송 실패로 정리된다.
+     */
+    @Scheduled(fixedDelayString = "${live.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> frame = SseEmitter.event().comment("ping").build();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(frame);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : new ArrayList<>(subscribers)) {
+            subscriber.emitter.complete();
+            close(subscriber);
+        }
+        writers.shutdownNow();
+    }
+
+    /**
+     * 경로 자신과 모든 상위 경로, 그리고 마스터 관리자 토픽(빈 문자열). 예: "a.b" → ["", "a", "a.b"]
+     */
+    static List<String> topicPaths(String path) {
+        List<String> paths = new ArrayList<>();
+        paths.add("");
+        if (path == null || path.isEmpty()) {
+            return paths;
+        }
+        int dot = path.indexOf('.');
+        while (dot >= 0) {
+            paths.add(path.substring(0, dot));
+            dot = path.indexOf('.', dot + 1);
+        }
+        paths.add(path);
+        return paths;
+    }
+
+    private void afterCommit(String tenantId, String path, Consumer<LiveUpdateBuffer> change) {
+        Runnable publish = () -> {
+            try {
+                for (String topicPath : topicPaths(path)) {
+                    Topic topic = topics.get(new TopicKey(tenantId, topicPath));
+                    if (topic != null) {
+                        topic.apply(change);
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to publish live update: tenant={}, path={}: {}", tenantId, path, e.getMessage());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscriber.closed.get()) {
+            return;
+        }
+        dropped.increment();
+        log.debug("Dropping slow live subscriber: tenant={}, path='{}'",
+                subscriber.topicKey.tenantId(), subscriber.topicKey.path());
+        subscriber.emitter.complete();
+        close(subscriber);
+    }
+
+    private void close(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        topics.computeIfPresent(subscriber.topicKey, (key, topic) -> {
+            topic.subscribers.remove(subscriber);
+            return topic.subscribers.isEmpty() ? null : topic;
+        });
+        Future<?> writer = subscriber.writer;
+        if (writer != null) {
+            writer.cancel(true);
+        }
+    }
+
+    private record TopicKey(String tenantId, String path) {
+    }
+
+    private static final class Topic {
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final LiveUpdateBuffer buffer;
+
+        private Topic(int maxTransactions) {
+            this.buffer = new LiveUpdateBuffer(maxTransactions);
+        }
+
+        private synchronized void apply(Consumer<LiveUpdateBuffer> change) {
+            change.accept(buffer);
+        }
+
+        private synchronized LiveUpdateDto drain() {
+            return buffer.drain();
+        }
+    }
+
+    private final class Subscriber {
+        private final TopicKey topicKey;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Future<?> writer;
+
+        private Subscriber(TopicKey topicKey, SseEmitter emitter) {
+            this.topicKey = topicKey;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(subscriberBufferSize);
+        }
+
+        private void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (!closed.get() && !queue.offer(frame)) {
+                drop(this);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (!closed.get()) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Live subscriber disconnected: {}", e.getMessage());
+                close(this);
+            }
+        }
+    }
+}
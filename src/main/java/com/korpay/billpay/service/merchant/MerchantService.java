@@ -7,7 +7,6 @@ import com.korpay.billpay.domain.entity.User;
 import com.korpay.billpay.domain.enums.ContactEntityType;
 import com.korpay.billpay.domain.enums.ContactRole;
 import com.korpay.billpay.domain.enums.MerchantStatus;
-import com.korpay.billpay.domain.enums.TransactionStatus;
 import com.korpay.billpay.dto.request.MerchantCreateRequest;
 import com.korpay.billpay.dto.request.MerchantUpdateRequest;
 import com.korpay.billpay.dto.response.BlacklistCheckResponse;
@@ -22,8 +21,8 @@ import com.korpay.billpay.repository.ContactRepository;
 import com.korpay.billpay.repository.MerchantOrgHistoryRepository;
 import com.korpay.billpay.repository.MerchantRepository;
 import com.korpay.billpay.repository.OrganizationRepository;
-import com.korpay.billpay.repository.TransactionRepository;
 import com.korpay.billpay.service.auth.AccessControlService;
+import com.korpay.billpay.service.transaction.MerchantTransactionStatsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -32,6 +31,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
@@ -48,11 +48,11 @@ public class MerchantService {
 
     private final MerchantRepository merchantRepository;
     private final OrganizationRepository organizationRepository;
-    private final TransactionRepository transactionRepository;
     private final MerchantOrgHistoryRepository merchantOrgHistoryRepository;
     private final ContactRepository contactRepository;
     private final AccessControlService accessControlService;
     private final BlacklistCheckService blacklistCheckService;
+    private final MerchantTransactionStatsService merchantTransactionStatsService;
 
     public Page<Merchant> findAccessibleMerchants(User user, Pageable pageable) {
         if (accessControlService.isMasterAdmin(user)) {
@@ -218,51 +218,12 @@ public class MerchantService {
         }
     }
 
-    public MerchantStatisticsDto getStatistics(UUID id, User user) {
+    /**
+     * 가맹점 거래 통계. 기간은 KST 거래일 기준(양 끝 포함)이며 null이면 전체 기간이다.
+     */
+    public MerchantStatisticsDto getStatistics(UUID id, User user, LocalDate startDate, LocalDate endDate) {
         Merchant merchant = findById(id, user);
-        
-        List<com.korpay.billpay.domain.entity.Transaction> transactions = 
-                transactionRepository.findByMerchantId(merchant.getId(), Pageable.unpaged()).getContent();
-        
-        long totalTransactions = transactions.size();
-        long totalAmount = transactions.stream()
-                .mapToLong(com.korpay.billpay.domain.entity.Transaction::getAmount)
-                .sum();
-        
-        long approvedTransactions = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.APPROVED)
-                .count();
-        long approvedAmount = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.APPROVED)
-                .mapToLong(com.korpay.billpay.domain.entity.Transaction::getAmount)
-                .sum();
-        
-        long cancelledTransactions = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.CANCELLED)
-                .count();
-        long cancelledAmount = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.CANCELLED)
-                .mapToLong(com.korpay.billpay.domain.entity.Transaction::getAmount)
-                .sum();
-        
-        long pendingTransactions = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.PENDING)
-                .count();
-        long pendingAmount = transactions.stream()
-                .filter(t -> t.getStatus() == TransactionStatus.PENDING)
-                .mapToLong(com.korpay.billpay.domain.entity.Transaction::getAmount)
-                .sum();
-        
-        return MerchantStatisticsDto.builder()
-                .totalTransactions(totalTransactions)
-                .totalAmount(totalAmount)
-                .approvedTransactions(approvedTransactions)
-                .approvedAmount(approvedAmount)
-                .cancelledTransactions(cancelledTransactions)
-                .cancelledAmount(cancelledAmount)
-                .pendingTransactions(pendingTransactions)
-                .pendingAmount(pendingAmount)
-                .build();
+        return merchantTransactionStatsService.getStatistics(merchant.getId(), startDate, endDate);
     }
 
     @Transactional
@@ -305,10 +266,7 @@ public class MerchantService {
     }
 
     public List<OrganizationDto> getAccessibleOrganizations(User user) {
-        List<Organization> allOrgs = organizationRepository.findAll();
-        
-        return allOrgs.stream()
-                .filter(org -> accessControlService.hasAccessToOrganization(user, org.getPath()))
+        return organizationRepository.findAccessibleOrganizations(accessControlService.accessPath(user)).stream()
                 .map(OrganizationDto::from)
                 .collect(Collectors.toList());
     }
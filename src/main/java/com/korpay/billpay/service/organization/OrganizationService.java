@@ -11,22 +11,20 @@ import com.korpay.billpay.dto.request.OrganizationUpdateRequest;
 import com.korpay.billpay.exception.EntityNotFoundException;
 import com.korpay.billpay.exception.ValidationException;
 import com.korpay.billpay.repository.BusinessEntityRepository;
+import com.korpay.billpay.repository.NativeSort;
 import com.korpay.billpay.repository.OrganizationRepository;
 import com.korpay.billpay.service.auth.AccessControlService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -34,6 +32,17 @@ import java.util.stream.Stream;
 @Transactional(readOnly = true)
 public class OrganizationService {
 
+    /** 정렬 가능한 조직 속성 → 컬럼 */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "name", "name",
+            "orgCode", "org_code",
+            "orgType", "org_type",
+            "level", "level",
+            "path", "path",
+            "status", "status");
+
     private final OrganizationRepository organizationRepository;
     private final BusinessEntityRepository businessEntityRepository;
     private final AccessControlService accessControlService;
@@ -42,6 +51,9 @@ public class OrganizationService {
         return findAccessibleOrganizations(user, pageable, null, null, null, null, null);
     }
 
+    /**
+     * 접근 가능한 조직을 검색한다. 접근 범위, 조건, 정렬과 페이지를 모두 SQL로 처리한다.
+     */
     public Page<Organization> findAccessibleOrganizations(
             User user, 
             Pageable pageable,
@@ -51,60 +63,14 @@ public class OrganizationService {
             LocalDate startDate,
             LocalDate endDate) {
         
-        List<Organization> allOrgs = organizationRepository.findAllWithBusinessEntity();
-        
-        Stream<Organization> stream = allOrgs.stream()
-                .filter(org -> accessControlService.hasAccessToOrganization(user, org.getPath()));
-        
-        if (type != null) {
-            stream = stream.filter(org -> org.getOrgType() == type);
-        }
-        
-        if (status != null) {
-            stream = stream.filter(org -> org.getStatus() == status);
-        }
-        
-        if (search != null && !search.isBlank()) {
-            String searchLower = search.toLowerCase().trim();
-            stream = stream.filter(org -> {
-                boolean matchOrgCode = org.getOrgCode() != null && 
-                        org.getOrgCode().toLowerCase().contains(searchLower);
-                boolean matchName = org.getName() != null && 
-                        org.getName().toLowerCase().contains(searchLower);
-                boolean matchBusinessName = org.getBusinessEntity() != null && 
-                        org.getBusinessEntity().getBusinessName() != null &&
-                        org.getBusinessEntity().getBusinessName().toLowerCase().contains(searchLower);
-                boolean matchRepresentative = org.getBusinessEntity() != null && 
-                        org.getBusinessEntity().getRepresentativeName() != null &&
-                        org.getBusinessEntity().getRepresentativeName().toLowerCase().contains(searchLower);
-                return matchOrgCode || matchName || matchBusinessName || matchRepresentative;
-            });
-        }
-        
-        if (startDate != null) {
-            stream = stream.filter(org -> org.getCreatedAt() != null && 
-                    !org.getCreatedAt().toLocalDate().isBefore(startDate));
-        }
-        if (endDate != null) {
-            stream = stream.filter(org -> org.getCreatedAt() != null && 
-                    !org.getCreatedAt().toLocalDate().isAfter(endDate));
-        }
-        
-        List<Organization> accessibleOrgs = stream
-                .sorted(Comparator.comparing(Organization::getCreatedAt, 
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), accessibleOrgs.size());
-        
-        if (start > accessibleOrgs.size()) {
-            return new PageImpl<>(List.of(), pageable, accessibleOrgs.size());
-        }
-        
-        List<Organization> pageContent = accessibleOrgs.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, accessibleOrgs.size());
+        return organizationRepository.findAccessibleOrganizations(
+                accessControlService.accessPath(user),
+                type != null ? type.name() : null,
+                status != null ? status.name() : null,
+                search != null && !search.isBlank() ? search.trim() : null,
+                startDate,
+                endDate,
+                NativeSort.toColumns(pageable, SORT_COLUMNS));
     }
 
     public Organization findById(UUID id, User user) {
@@ -2,17 +2,30 @@ package com.korpay.billpay.service.settlement;
 
 import com.korpay.billpay.domain.enums.SettlementCycle;
 import com.korpay.billpay.repository.HolidayRepository;
+import com.korpay.billpay.service.settlement.calendar.BusinessDayCalendar;
+import com.korpay.billpay.service.settlement.calendar.HolidayCalendarProvider;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 
+/**
+ * 영업일 계산기.
+ *
+ * 메모리에 로딩된 {@link BusinessDayCalendar}로 O(1) 계산하며,
+ * 달력 로딩 범위를 벗어난 날짜만 holidays 테이블을 하루씩 조회하는 기존 방식으로 계산한다.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class BusinessDayCalculator {
 
+    private static final String COUNTRY_CODE = "KR";
+
     private final HolidayRepository holidayRepository;
+    private final HolidayCalendarProvider holidayCalendarProvider;
 
     public LocalDate calculateSettlementDate(LocalDate eventDate, SettlementCycle cycle) {
         if (cycle == SettlementCycle.REALTIME) {
@@ -22,22 +35,40 @@ public class BusinessDayCalculator {
     }
 
     public LocalDate addBusinessDays(LocalDate from, int days) {
+        BusinessDayCalendar calendar = holidayCalendarProvider.getCalendar(COUNTRY_CODE);
+        return calendar.addBusinessDays(from, days)
+                .orElseGet(() -> {
+                    log.debug("Date {} (+{} business days) is outside the loaded calendar {}-{}, using holiday lookups",
+                            from, days, calendar.getFirstYear(), calendar.getLastYear());
+                    return addBusinessDaysByLookup(from, days);
+                });
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        BusinessDayCalendar calendar = holidayCalendarProvider.getCalendar(COUNTRY_CODE);
+        if (calendar.covers(date)) {
+            return calendar.isBusinessDay(date);
+        }
+        return isBusinessDayByLookup(date);
+    }
+
+    private LocalDate addBusinessDaysByLookup(LocalDate from, int days) {
         LocalDate date = from;
         int added = 0;
         while (added < days) {
             date = date.plusDays(1);
-            if (isBusinessDay(date)) {
+            if (isBusinessDayByLookup(date)) {
                 added++;
             }
         }
         return date;
     }
 
-    public boolean isBusinessDay(LocalDate date) {
+    private boolean isBusinessDayByLookup(LocalDate date) {
         DayOfWeek dow = date.getDayOfWeek();
         if (dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY) {
             return false;
         }
-        return !holidayRepository.existsByHolidayDateAndCountryCode(date, "KR");
+        return !holidayRepository.existsByHolidayDateAndCountryCode(date, COUNTRY_CODE);
     }
 }
@@ -9,6 +9,7 @@ import com.korpay.billpay.dto.response.*;
 import com.korpay.billpay.repository.MerchantRepository;
 import com.korpay.billpay.repository.OrganizationRepository;
 import com.korpay.billpay.repository.SettlementAccountRepository;
+import com.korpay.billpay.service.settlement.report.SettlementReportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -31,32 +32,60 @@ import java.util.UUID;
 @Transactional(readOnly = true)
 public class DailySettlementService {
 
+    /**
+     * 일별 정산 집계(settlement_daily_rollups) 기준 합계 컬럼.
+     * DEBIT 금액은 원장에서 항상 음수이므로 집계 행의 ABS는 건별 ABS 합계와 같다.
+     */
+    private static final String ROLLUP_AGGREGATE_COLUMNS = """
+                COALESCE(SUM(r.entry_count), 0) as transaction_count,
+                COALESCE(SUM(CASE WHEN r.entry_type = 'CREDIT' THEN r.entry_count ELSE 0 END), 0) as approval_count,
+                COALESCE(SUM(CASE WHEN r.entry_type = 'CREDIT' THEN r.amount ELSE 0 END), 0) as approval_amount,
+                COALESCE(SUM(CASE WHEN r.entry_type = 'DEBIT' THEN r.entry_count ELSE 0 END), 0) as cancel_count,
+                COALESCE(SUM(CASE WHEN r.entry_type = 'DEBIT' THEN ABS(r.amount) ELSE 0 END), 0) as cancel_amount,
+                COALESCE(SUM(r.fee_amount), 0) as fee_amount,
+                COALESCE(SUM(r.net_amount), 0) as net_amount
+            """;
+
+    /** 정산일별 배치 기간/상태 (배치 테이블은 정산일당 수 건이므로 원장 조인 없이 조회) */
+    private static final String BATCH_PERIOD_JOIN = """
+            JOIN LATERAL (
+                SELECT
+                    MIN(sb.period_start) as period_start,
+                    MAX(sb.period_end) as period_end,
+                    CASE WHEN bool_and(sb.status = 'COMPLETED') THEN 'COMPLETED' ELSE 'SCHEDULED' END as status
+                FROM settlement_batches sb
+                WHERE sb.settlement_date = d.settlement_date
+            ) b ON true
+            """;
+
+    /** 정산일 배치들의 거래 기간으로 원장 범위 한정 (월 파티션 프루닝, 파라미터: 정산일 2회) */
+    private static final String SETTLEMENT_DATE_BOUNDS = """
+              AND s.created_at >= (SELECT MIN(b.period_start) FROM settlement_batches b WHERE b.settlement_date = ?)
+              AND s.created_at < (SELECT MAX(b.period_end) FROM settlement_batches b WHERE b.settlement_date = ?)
+            """;
+
     private final JdbcTemplate jdbcTemplate;
     private final MerchantRepository merchantRepository;
     private final OrganizationRepository organizationRepository;
     private final SettlementAccountRepository settlementAccountRepository;
+    private final SettlementReportService settlementReportService;
 
     public List<DailySettlementSummaryDto> getDailySettlementSummary(LocalDate startDate, LocalDate endDate) {
         String sql = """
-            SELECT
-                sb.settlement_date,
-                MIN(sb.period_start) as period_start,
-                MAX(sb.period_end) as period_end,
-                COUNT(DISTINCT s.merchant_id) as merchant_count,
-                COUNT(s.id) as transaction_count,
-                COUNT(CASE WHEN s.entry_type = 'CREDIT' THEN 1 END) as approval_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE 0 END), 0) as approval_amount,
-                COUNT(CASE WHEN s.entry_type = 'DEBIT' THEN 1 END) as cancel_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN ABS(s.amount) ELSE 0 END), 0) as cancel_amount,
-                COALESCE(SUM(s.fee_amount), 0) as fee_amount,
-                COALESCE(SUM(s.net_amount), 0) as net_amount,
-                CASE WHEN bool_and(sb.status = 'COMPLETED') THEN 'COMPLETED' ELSE 'SCHEDULED' END as status
-            FROM settlement_batches sb
-            JOIN settlements s ON s.settlement_batch_id = sb.id
-            WHERE s.entity_id = s.merchant_id
-              AND sb.settlement_date BETWEEN ? AND ?
-            GROUP BY sb.settlement_date
-            ORDER BY sb.settlement_date DESC
+            WITH daily AS (
+                SELECT
+                    r.settlement_date,
+                    COUNT(DISTINCT r.entity_id) as merchant_count,
+            """ + ROLLUP_AGGREGATE_COLUMNS + """
+                FROM settlement_daily_rollups r
+                WHERE r.merchant_entry
+                  AND r.settlement_date BETWEEN ? AND ?
+                GROUP BY r.settlement_date
+            )
+            SELECT d.*, b.period_start, b.period_end, b.status
+            FROM daily d
+            """ + BATCH_PERIOD_JOIN + """
+            ORDER BY d.settlement_date DESC
             """;
 
         return jdbcTemplate.query(sql, (rs, rowNum) -> new DailySettlementSummaryDto(
@@ -139,6 +168,7 @@ public class DailySettlementService {
             LEFT JOIN terminals term ON t.cat_id = term.cat_id
             WHERE s.entity_id = s.merchant_id
               AND sb.settlement_date = ?
+            """ + SETTLEMENT_DATE_BOUNDS + """
             GROUP BY s.merchant_id, m.name, m.merchant_code, m.settlement_cycle,
                      o.org_code, sa.bank_name, sa.account_number, sa.account_holder
             ORDER BY approval_amount DESC
@@ -164,7 +194,7 @@ public class DailySettlementService {
                         rs.getString("account_number"),
                         rs.getString("account_holder"),
                         rs.getString("status")
-                ), date);
+                ), date, date, date);
 
         String settlementsSql = """
             SELECT s.*, m.name as merchant_name FROM settlements s
@@ -172,6 +202,7 @@ public class DailySettlementService {
             LEFT JOIN merchants m ON s.merchant_id = m.id
             WHERE s.entity_id = s.merchant_id
               AND sb.settlement_date = ?
+            """ + SETTLEMENT_DATE_BOUNDS + """
             ORDER BY s.created_at DESC
             """;
 
@@ -204,7 +235,7 @@ public class DailySettlementService {
                         .updatedAt(toOffsetDateTime(rs.getTimestamp("updated_at")))
                         .merchantName(rs.getString("merchant_name"))
                         .build(),
-                date);
+                date, date, date);
 
         long totalTransactionCount = merchantBreakdown.stream().mapToLong(MerchantSettlementBreakdownDto::transactionCount).sum();
         long totalApprovalAmount = merchantBreakdown.stream().mapToLong(MerchantSettlementBreakdownDto::approvalAmount).sum();
@@ -266,36 +297,32 @@ public class DailySettlementService {
 
         String dailySql = """
             SELECT
-                sb.settlement_date,
-                DATE(sb.period_start AT TIME ZONE 'Asia/Seoul') as transaction_date,
-                COUNT(s.id) as transaction_count,
-                COUNT(CASE WHEN s.entry_type = 'CREDIT' THEN 1 END) as approval_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE 0 END), 0) as approval_amount,
-                COUNT(CASE WHEN s.entry_type = 'DEBIT' THEN 1 END) as cancel_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN ABS(s.amount) ELSE 0 END), 0) as cancel_amount,
-                COALESCE(SUM(s.fee_amount), 0) as fee_amount,
-                COALESCE(SUM(s.net_amount), 0) as net_amount
-            FROM settlements s
-            JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
-            WHERE s.merchant_id = ?
-              AND s.entity_id = s.merchant_id
-              AND sb.settlement_date BETWEEN ? AND ?
-            GROUP BY sb.settlement_date, DATE(sb.period_start AT TIME ZONE 'Asia/Seoul')
-            ORDER BY sb.settlement_date
+                r.settlement_date,
+                r.transaction_date,
+            """ + ROLLUP_AGGREGATE_COLUMNS + """
+            FROM settlement_daily_rollups r
+            WHERE r.entity_id = ?
+              AND r.merchant_entry
+              AND r.settlement_date BETWEEN ? AND ?
+            GROUP BY r.settlement_date, r.transaction_date
+            ORDER BY r.settlement_date
             """;
 
-        List<DailyStatementRowDto> dailyDetails = jdbcTemplate.query(dailySql, (rs, rowNum) ->
-                new DailyStatementRowDto(
-                        rs.getObject("settlement_date", LocalDate.class),
-                        rs.getObject("transaction_date", LocalDate.class),
-                        rs.getLong("transaction_count"),
-                        rs.getLong("approval_count"),
-                        rs.getLong("approval_amount"),
-                        rs.getLong("cancel_count"),
-                        rs.getLong("cancel_amount"),
-                        rs.getLong("fee_amount"),
-                        rs.getLong("net_amount")
-                ), merchantId, startDate, endDate);
+        // 일/주/월 기간과 정확히 일치하면 미리 계산된 리포트를 사용
+        List<DailyStatementRowDto> dailyDetails = settlementReportService
+                .findDailyRows(merchantId, true, startDate, endDate)
+                .orElseGet(() -> jdbcTemplate.query(dailySql, (rs, rowNum) ->
+                        new DailyStatementRowDto(
+                                rs.getObject("settlement_date", LocalDate.class),
+                                rs.getObject("transaction_date", LocalDate.class),
+                                rs.getLong("transaction_count"),
+                                rs.getLong("approval_count"),
+                                rs.getLong("approval_amount"),
+                                rs.getLong("cancel_count"),
+                                rs.getLong("cancel_amount"),
+                                rs.getLong("fee_amount"),
+                                rs.getLong("net_amount")
+                        ), merchantId, startDate, endDate));
 
         long totalApprovalAmount = dailyDetails.stream().mapToLong(DailyStatementRowDto::approvalAmount).sum();
         long totalApprovalCount = dailyDetails.stream().mapToLong(DailyStatementRowDto::approvalCount).sum();
@@ -346,25 +373,20 @@ public class DailySettlementService {
 
     public List<OrgDailySettlementSummaryDto> getOrgDailySettlementSummary(LocalDate startDate, LocalDate endDate) {
         String sql = """
-            SELECT
-                sb.settlement_date,
-                MIN(sb.period_start) as period_start,
-                MAX(sb.period_end) as period_end,
-                COUNT(DISTINCT s.entity_id) as org_count,
-                COUNT(s.id) as transaction_count,
-                COUNT(CASE WHEN s.entry_type = 'CREDIT' THEN 1 END) as approval_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE 0 END), 0) as approval_amount,
-                COUNT(CASE WHEN s.entry_type = 'DEBIT' THEN 1 END) as cancel_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN ABS(s.amount) ELSE 0 END), 0) as cancel_amount,
-                COALESCE(SUM(s.fee_amount), 0) as fee_amount,
-                COALESCE(SUM(s.net_amount), 0) as net_amount,
-                CASE WHEN bool_and(sb.status = 'COMPLETED') THEN 'COMPLETED' ELSE 'SCHEDULED' END as status
-            FROM settlement_batches sb
-            JOIN settlements s ON s.settlement_batch_id = sb.id
-            WHERE s.entity_type IN ('DISTRIBUTOR', 'AGENCY', 'DEALER', 'SELLER')
-              AND sb.settlement_date BETWEEN ? AND ?
-            GROUP BY sb.settlement_date
-            ORDER BY sb.settlement_date DESC
+            WITH daily AS (
+                SELECT
+                    r.settlement_date,
+                    COUNT(DISTINCT r.entity_id) as org_count,
+            """ + ROLLUP_AGGREGATE_COLUMNS + """
+                FROM settlement_daily_rollups r
+                WHERE r.entity_type IN ('DISTRIBUTOR', 'AGENCY', 'DEALER', 'SELLER')
+                  AND r.settlement_date BETWEEN ? AND ?
+                GROUP BY r.settlement_date
+            )
+            SELECT d.*, b.period_start, b.period_end, b.status
+            FROM daily d
+            """ + BATCH_PERIOD_JOIN + """
+            ORDER BY d.settlement_date DESC
             """;
 
         return jdbcTemplate.query(sql, (rs, rowNum) -> new OrgDailySettlementSummaryDto(
@@ -427,6 +449,7 @@ public class DailySettlementService {
             LEFT JOIN organizations o ON s.entity_id = o.id
             WHERE s.entity_type IN ('DISTRIBUTOR', 'AGENCY', 'DEALER', 'SELLER')
               AND sb.settlement_date = ?
+            """ + SETTLEMENT_DATE_BOUNDS + """
             GROUP BY s.entity_id, o.name, s.entity_type, o.org_code
             ORDER BY s.entity_type, net_amount DESC
             """;
@@ -445,7 +468,7 @@ public class DailySettlementService {
                         rs.getBigDecimal("fee_rate"),
                         rs.getLong("fee_amount"),
                         rs.getLong("net_amount")
-                ), date);
+                ), date, date, date);
 
         String settlementsSql = """
             SELECT s.*, m.name as merchant_name FROM settlements s
@@ -453,6 +476,7 @@ public class DailySettlementService {
             LEFT JOIN merchants m ON s.merchant_id = m.id
             WHERE s.entity_type IN ('DISTRIBUTOR', 'AGENCY', 'DEALER', 'SELLER')
               AND sb.settlement_date = ?
+            """ + SETTLEMENT_DATE_BOUNDS + """
             ORDER BY s.entity_type, s.created_at DESC
             """;
 
@@ -485,7 +509,7 @@ public class DailySettlementService {
                         .updatedAt(toOffsetDateTime(rs.getTimestamp("updated_at")))
                         .merchantName(rs.getString("merchant_name"))
                         .build(),
-                date);
+                date, date, date);
 
         long totalTransactionCount = orgBreakdown.stream().mapToLong(OrgSettlementBreakdownDto::transactionCount).sum();
         long totalApprovalAmount = orgBreakdown.stream().mapToLong(OrgSettlementBreakdownDto::approvalAmount).sum();
@@ -544,35 +568,43 @@ public class DailySettlementService {
 
         String dailySql = """
             SELECT
-                sb.settlement_date,
-                DATE(sb.period_start AT TIME ZONE 'Asia/Seoul') as transaction_date,
-                COUNT(s.id) as transaction_count,
-                COUNT(CASE WHEN s.entry_type = 'CREDIT' THEN 1 END) as approval_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'CREDIT' THEN s.amount ELSE 0 END), 0) as approval_amount,
-                COUNT(CASE WHEN s.entry_type = 'DEBIT' THEN 1 END) as cancel_count,
-                COALESCE(SUM(CASE WHEN s.entry_type = 'DEBIT' THEN ABS(s.amount) ELSE 0 END), 0) as cancel_amount,
-                COALESCE(SUM(s.fee_amount), 0) as fee_amount,
-                COALESCE(SUM(s.net_amount), 0) as net_amount
-            FROM settlements s
-            JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
-            WHERE s.entity_id = ?
-              AND sb.settlement_date BETWEEN ? AND ?
-            GROUP BY sb.settlement_date, DATE(sb.period_start AT TIME ZONE 'Asia/Seoul')
-            ORDER BY sb.settlement_date
+                r.settlement_date,
+                r.transaction_date,
+            """ + ROLLUP_AGGREGATE_COLUMNS + """
+            FROM settlement_daily_rollups r
+            WHERE r.entity_id = ?
+              AND r.settlement_date BETWEEN ? AND ?
+            GROUP BY r.settlement_date, r.transaction_date
+            ORDER BY r.settlement_date
             """;
 
-        List<DailyOrgStatementRowDto> dailyDetails = jdbcTemplate.query(dailySql, (rs, rowNum) ->
-                new DailyOrgStatementRowDto(
-                        rs.getObject("settlement_date", LocalDate.class),
-                        rs.getObject("transaction_date", LocalDate.class),
-                        rs.getLong("transaction_count"),
-                        rs.getLong("approval_count"),
-                        rs.getLong("approval_amount"),
-                        rs.getLong("cancel_count"),
-                        rs.getLong("cancel_amount"),
-                        rs.getLong("fee_amount"),
-                        rs.getLong("net_amount")
-                ), orgId, startDate, endDate);
+        // 일/주/월 기간과 정확히 일치하면 미리 계산된 리포트를 사용
+        List<DailyOrgStatementRowDto> dailyDetails = settlementReportService
+                .findDailyRows(orgId, false, startDate, endDate)
+                .map(rows -> rows.stream()
+                        .map(row -> new DailyOrgStatementRowDto(
+                                row.settlementDate(),
+                                row.transactionDate(),
+                                row.transactionCount(),
+                                row.approvalCount(),
+                                row.approvalAmount(),
+                                row.cancelCount(),
+                                row.cancelAmount(),
+                                row.feeAmount(),
+                                row.netAmount()))
+                        .toList())
+                .orElseGet(() -> jdbcTemplate.query(dailySql, (rs, rowNum) ->
+                        new DailyOrgStatementRowDto(
+                                rs.getObject("settlement_date", LocalDate.class),
+                                rs.getObject("transaction_date", LocalDate.class),
+                                rs.getLong("transaction_count"),
+                                rs.getLong("approval_count"),
+                                rs.getLong("approval_amount"),
+                                rs.getLong("cancel_count"),
+                                rs.getLong("cancel_amount"),
+                                rs.getLong("fee_amount"),
+                                rs.getLong("net_amount")
+                        ), orgId, startDate, endDate));
 
         long totalApprovalAmount = dailyDetails.stream().mapToLong(DailyOrgStatementRowDto::approvalAmount).sum();
         long totalApprovalCount = dailyDetails.stream().mapToLong(DailyOrgStatementRowDto::approvalCount).sum();
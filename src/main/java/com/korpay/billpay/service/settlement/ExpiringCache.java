@@ -0,0 +1,44 @@
+package com.korpay.billpay.service.settlement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 조회 결과를 짧은 시간 보관하는 캐시.
+ *
+ * 항목 수가 maxEntries에 이르면 만료된 항목을 정리하고, 그래도 가득 차 있으면 새 결과는 캐시하지 않는다.
+ * ttlMs가 0 이하이면 캐시하지 않고 매번 loader를 호출한다. 동시에 같은 키를 조회하면 loader가 중복 실행될 수 있다.
+ */
+final class ExpiringCache<K, V> {
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    ExpiringCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    V get(K key, long ttlMs, Supplier<V> loader) {
+        if (ttlMs <= 0) {
+            return loader.get();
+        }
+        long now = System.currentTimeMillis();
+        Entry<V> cached = entries.get(key);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.value();
+        }
+
+        V value = loader.get();
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+        if (entries.size() < maxEntries) {
+            entries.put(key, new Entry<>(value, now + ttlMs));
+        }
+        return value;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
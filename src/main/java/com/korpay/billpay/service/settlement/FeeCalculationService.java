@@ -9,12 +9,12 @@ import com.korpay.billpay.domain.enums.OrganizationType;
 import com.korpay.billpay.domain.enums.SettlementStatus;
 import com.korpay.billpay.dto.settlement.FeeBreakdown;
 import com.korpay.billpay.repository.OrganizationRepository;
+import com.korpay.billpay.service.settlement.calculator.FeeHierarchy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -36,110 +36,100 @@ public class FeeCalculationService {
         boolean isCredit = event.getAmount() > 0;
         EntryType entryType = isCredit ? EntryType.CREDIT : EntryType.DEBIT;
 
-        log.info("Calculating fees for event {}: amount={}, type={}, merchant={}",
-                event.getId(), event.getAmount(), event.getEventType(), merchant.getId());
+        // 이벤트마다 호출되는 경로: 비활성 레벨에서는 인자 배열/박싱/내역 객체를 만들지 않음
+        boolean debug = log.isDebugEnabled();
+        if (debug) {
+            log.debug("Calculating fees for event {}: amount={}, type={}, merchant={}",
+                    event.getId(), event.getAmount(), event.getEventType(), merchant.getId());
+        }
 
         List<Settlement> settlements = new ArrayList<>();
-        List<FeeBreakdown> breakdowns = new ArrayList<>();
+        List<FeeBreakdown> breakdowns = debug ? new ArrayList<>() : List.of();
 
         BigDecimal merchantFeeRate = feeConfigResolver.resolveMerchantFeeRate(merchant, paymentMethodCode);
-        long merchantFeeAmount = calculateFeeAmount(eventAbsAmount, merchantFeeRate);
-        long merchantSettlementAmount = eventAbsAmount - merchantFeeAmount;
 
+        List<Organization> ancestors = organizationRepository.findAncestors(merchant.getOrgPath());
+        ancestors.sort((a, b) -> Integer.compare(b.getLevel(), a.getLevel()));
+
+        FeeHierarchy hierarchy = FeeHierarchy.build(merchantFeeRate, ancestors,
+                org -> feeConfigResolver.resolveOrganizationFeeRate(org, paymentMethodCode));
+
+        long[] allocation = new long[hierarchy.allocationSize()];
+        hierarchy.allocate(eventAbsAmount, allocation);
+
+        long merchantSettlementAmount = allocation[0];
         long signedMerchantSettlement = isCredit ? merchantSettlementAmount : -merchantSettlementAmount;
         // fee_amount는 항상 양수 (DB 제약조건 fee_amount >= 0)
-        long absMerchantFee = merchantFeeAmount;
+        long absMerchantFee = allocation[1];
 
         Settlement merchantSettlement = buildMerchantSettlement(
                 event, merchant, entryType, signedMerchantSettlement, absMerchantFee, merchantFeeRate);
         settlements.add(merchantSettlement);
 
-        breakdowns.add(FeeBreakdown.builder()
-                .entityId(merchant.getId())
-                .entityType(merchant.getOrganization().getOrgType())
-                .feeRate(merchantFeeRate)
-                .settlementAmount(signedMerchantSettlement)
-                .description("Merchant settlement (fee=" + absMerchantFee + ")")
-                .build());
-
-        List<Organization> ancestors = organizationRepository.findAncestors(merchant.getOrgPath());
-        ancestors.sort((a, b) -> Integer.compare(b.getLevel(), a.getLevel()));
-
-        BigDecimal previousFeeRate = merchantFeeRate;
-        for (Organization org : ancestors) {
-            BigDecimal orgFeeRate = feeConfigResolver.resolveOrganizationFeeRate(org, paymentMethodCode);
-
-            // DISTRIBUTOR는 마스터 잔여금(residual)으로 일괄 처리
-            if (org.getOrgType() == OrganizationType.DISTRIBUTOR) {
-                previousFeeRate = orgFeeRate;
-                continue;
-            }
-
-            BigDecimal marginRate = previousFeeRate.subtract(orgFeeRate);
+        if (debug) {
+            breakdowns.add(FeeBreakdown.builder()
+                    .entityId(merchant.getId())
+                    .entityType(merchant.getOrganization().getOrgType())
+                    .feeRate(merchantFeeRate)
+                    .settlementAmount(signedMerchantSettlement)
+                    .description("Merchant settlement (fee=" + absMerchantFee + ")")
+                    .build());
+        }
 
-            if (marginRate.compareTo(BigDecimal.ZERO) > 0) {
-                long marginAmount = calculateFeeAmount(eventAbsAmount, marginRate);
-                long signedMargin = isCredit ? marginAmount : -marginAmount;
+        List<FeeHierarchy.Level> levels = hierarchy.getMarginLevels();
+        for (int i = 0; i < levels.size(); i++) {
+            FeeHierarchy.Level level = levels.get(i);
+            Organization org = level.organization();
+            long signedMargin = isCredit ? allocation[2 + i] : -allocation[2 + i];
 
-                Settlement orgSettlement = buildOrganizationSettlement(
-                        event, org, entryType, signedMargin, marginRate);
-                settlements.add(orgSettlement);
+            Settlement orgSettlement = buildOrganizationSettlement(
+                    event, org, entryType, signedMargin, level.marginRate());
+            settlements.add(orgSettlement);
 
+            if (debug) {
                 breakdowns.add(FeeBreakdown.builder()
                         .entityId(org.getId())
                         .entityType(org.getOrgType())
                         .entityPath(org.getPath())
-                        .feeRate(orgFeeRate)
-                        .marginRate(marginRate)
+                        .feeRate(level.feeRate())
+                        .marginRate(level.marginRate())
                         .marginAmount(signedMargin)
                         .settlementAmount(signedMargin)
                         .description(org.getOrgType() + " margin")
                         .build());
             }
-
-            previousFeeRate = orgFeeRate;
         }
 
-        long totalAllocatedAbs = settlements.stream()
-                .mapToLong(s -> Math.abs(s.getAmount()))
-                .sum();
-        long masterResidualAbs = eventAbsAmount - totalAllocatedAbs;
+        long masterResidualAbs = allocation[2 + levels.size()];
 
         if (masterResidualAbs > 0) {
             long signedResidual = isCredit ? masterResidualAbs : -masterResidualAbs;
-
-            Organization distributor = ancestors.stream()
-                    .filter(org -> org.getOrgType() == OrganizationType.DISTRIBUTOR)
-                    .findFirst()
-                    .orElse(null);
+            Organization distributor = hierarchy.getDistributor();
 
             Settlement masterSettlement = buildMasterSettlement(
-                    event, distributor, entryType, signedResidual, previousFeeRate);
+                    event, distributor, entryType, signedResidual, hierarchy.getResidualRate());
             settlements.add(masterSettlement);
 
-            breakdowns.add(FeeBreakdown.builder()
-                    .entityId(distributor != null ? distributor.getId() : null)
-                    .entityType(OrganizationType.DISTRIBUTOR)
-                    .entityPath(distributor != null ? distributor.getPath() : null)
-                    .marginRate(previousFeeRate)
-                    .marginAmount(signedResidual)
-                    .settlementAmount(signedResidual)
-                    .description("Master residual")
-                    .build());
+            if (debug) {
+                breakdowns.add(FeeBreakdown.builder()
+                        .entityId(distributor != null ? distributor.getId() : null)
+                        .entityType(OrganizationType.DISTRIBUTOR)
+                        .entityPath(distributor != null ? distributor.getPath() : null)
+                        .marginRate(hierarchy.getResidualRate())
+                        .marginAmount(signedResidual)
+                        .settlementAmount(signedResidual)
+                        .description("Master residual")
+                        .build());
+            }
         }
 
-        logFeeBreakdown(event.getId(), breakdowns, isCredit ? eventAbsAmount : -eventAbsAmount);
+        if (debug) {
+            logFeeBreakdown(event.getId(), breakdowns, isCredit ? eventAbsAmount : -eventAbsAmount);
+        }
 
         return settlements;
     }
 
-    private long calculateFeeAmount(long amount, BigDecimal feeRate) {
-        return BigDecimal.valueOf(amount)
-                .multiply(feeRate)
-                .setScale(0, RoundingMode.FLOOR)
-                .longValue();
-    }
-
     private Settlement buildMerchantSettlement(
             TransactionEvent event,
             Merchant merchant,
@@ -171,7 +161,6 @@ public class FeeCalculationService {
                 .currency(event.getCurrency())
                 .feeRate(feeRate)
                 .status(SettlementStatus.PENDING)
-                .createdAt(OffsetDateTime.now())
                 .updatedAt(OffsetDateTime.now())
                 .build();
     }
@@ -198,7 +187,6 @@ public class FeeCalculationService {
                 .currency(event.getCurrency())
                 .feeRate(marginRate)
                 .status(SettlementStatus.PENDING)
-                .createdAt(OffsetDateTime.now())
                 .updatedAt(OffsetDateTime.now())
                 .build();
     }
@@ -225,21 +213,24 @@ public class FeeCalculationService {
                 .currency(event.getCurrency())
                 .feeRate(feeRate)
                 .status(SettlementStatus.PENDING)
-                .createdAt(OffsetDateTime.now())
                 .updatedAt(OffsetDateTime.now())
                 .build();
     }
 
+    /**
+     * 계층별 수수료 내역을 한 줄로 남긴다 (DEBUG). 운영 감사 기록은 SettlementAuditTrail이 담당한다.
+     */
     private void logFeeBreakdown(Object eventId, List<FeeBreakdown> breakdowns, long total) {
-        log.info("Fee breakdown for event {}:", eventId);
-        breakdowns.forEach(b ->
-                log.info("  {} {}: rate={}, margin={}, amount={}",
-                        b.getEntityType() != null ? b.getEntityType() : "MERCHANT",
-                        b.getEntityId() != null ? b.getEntityId() : "MASTER",
-                        b.getFeeRate(),
-                        b.getMarginRate(),
-                        b.getSettlementAmount())
-        );
-        log.info("  Total: {}", total);
+        StringBuilder line = new StringBuilder(64 + breakdowns.size() * 96);
+        for (FeeBreakdown b : breakdowns) {
+            line.append(" [")
+                    .append(b.getEntityType() != null ? b.getEntityType() : "MERCHANT").append(' ')
+                    .append(b.getEntityId() != null ? b.getEntityId() : "MASTER")
+                    .append(": rate=").append(b.getFeeRate())
+                    .append(", margin=").append(b.getMarginRate())
+                    .append(", amount=").append(b.getSettlementAmount())
+                    .append(']');
+        }
+        log.debug("Fee breakdown for event {}:{} total={}", eventId, line, total);
     }
 }
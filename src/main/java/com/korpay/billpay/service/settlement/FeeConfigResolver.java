@@ -5,6 +5,7 @@ import com.korpay.billpay.domain.entity.Merchant;
 import com.korpay.billpay.domain.entity.Organization;
 import com.korpay.billpay.domain.entity.PaymentMethod;
 import com.korpay.billpay.domain.enums.FeeConfigStatus;
+import com.korpay.billpay.domain.enums.OrganizationType;
 import com.korpay.billpay.exception.settlement.FeeConfigNotFoundException;
 import com.korpay.billpay.repository.FeeConfigurationRepository;
 import com.korpay.billpay.repository.PaymentMethodRepository;
@@ -14,18 +15,56 @@ import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class FeeConfigResolver {
 
+    /** 대량 작업에서 이벤트마다 수수료 설정을 조회하지 않도록 바인딩하는 스냅샷 */
+    private static final ScopedValue<FeeRateSnapshot> SNAPSHOT = ScopedValue.newInstance();
+
     private final FeeConfigurationRepository feeConfigurationRepository;
     private final PaymentMethodRepository paymentMethodRepository;
 
+    /**
+     * 현재 유효한 수수료 설정 전체를 한 번에 읽어 스냅샷을 만든다.
+     * 키별로 priority가 가장 높은(값이 작은) 설정을 사용하므로 개별 조회와 같은 요율이 선택된다.
+     */
+    public FeeRateSnapshot loadSnapshot() {
+        Map<String, UUID> paymentMethodIds = new HashMap<>();
+        for (PaymentMethod paymentMethod : paymentMethodRepository.findAll()) {
+            paymentMethodIds.put(paymentMethod.getMethodCode(), paymentMethod.getId());
+        }
+
+        Map<FeeRateSnapshot.Key, BigDecimal> rates = new HashMap<>();
+        for (FeeConfiguration config : feeConfigurationRepository.findAllActive(FeeConfigStatus.ACTIVE, OffsetDateTime.now())) {
+            if (config.getFeeRate() != null) {
+                rates.putIfAbsent(new FeeRateSnapshot.Key(
+                        config.getEntityId(), config.getEntityType(), config.getPaymentMethodId()), config.getFeeRate());
+            }
+        }
+        return new FeeRateSnapshot(paymentMethodIds, rates);
+    }
+
+    /**
+     * operation 실행 중 현재 스레드의 요율 조회를 스냅샷에서 수행한다.
+     */
+    public <R> R withSnapshot(FeeRateSnapshot snapshot, Supplier<R> operation) {
+        return ScopedValue.where(SNAPSHOT, snapshot).call(operation::get);
+    }
+
     public BigDecimal resolveMerchantFeeRate(Merchant merchant, String paymentMethodCode) {
         Organization vendorOrg = merchant.getOrganization();
+
+        if (SNAPSHOT.isBound()) {
+            return resolveFromSnapshot(vendorOrg.getId(), vendorOrg.getOrgType(), paymentMethodCode, merchant.getId(), "MERCHANT");
+        }
         
         PaymentMethod paymentMethod = paymentMethodRepository.findByMethodCode(paymentMethodCode)
                 .orElseThrow(() -> new FeeConfigNotFoundException(
@@ -60,6 +99,11 @@ public class FeeConfigResolver {
     }
 
     public BigDecimal resolveOrganizationFeeRate(Organization organization, String paymentMethodCode) {
+        if (SNAPSHOT.isBound()) {
+            return resolveFromSnapshot(organization.getId(), organization.getOrgType(), paymentMethodCode,
+                    organization.getId(), organization.getOrgType().name());
+        }
+
         PaymentMethod paymentMethod = paymentMethodRepository.findByMethodCode(paymentMethodCode)
                 .orElseThrow(() -> new FeeConfigNotFoundException(
                         organization.getId(),
@@ -91,4 +135,18 @@ public class FeeConfigResolver {
         
         return config.getFeeRate();
     }
+
+    private BigDecimal resolveFromSnapshot(UUID entityId, OrganizationType entityType, String paymentMethodCode,
+                                           UUID notFoundEntityId, String notFoundEntityType) {
+        FeeRateSnapshot snapshot = SNAPSHOT.get();
+        UUID paymentMethodId = snapshot.paymentMethodId(paymentMethodCode);
+        if (paymentMethodId == null) {
+            throw new FeeConfigNotFoundException(notFoundEntityId, notFoundEntityType, paymentMethodCode);
+        }
+        BigDecimal rate = snapshot.rate(entityId, entityType, paymentMethodId);
+        if (rate == null) {
+            throw new FeeConfigNotFoundException(entityId, entityType.name(), paymentMethodCode);
+        }
+        return rate;
+    }
 }
@@ -0,0 +1,38 @@
+package com.korpay.billpay.service.settlement;
+
+import com.korpay.billpay.domain.enums.OrganizationType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 특정 시점에 유효한 수수료 요율의 불변 스냅샷. 여러 스레드에서 동시에 읽을 수 있다.
+ *
+ * @see FeeConfigResolver#loadSnapshot()
+ */
+public final class FeeRateSnapshot {
+
+    record Key(UUID entityId, OrganizationType entityType, UUID paymentMethodId) {
+    }
+
+    private final Map<String, UUID> paymentMethodIds;
+    private final Map<Key, BigDecimal> rates;
+
+    FeeRateSnapshot(Map<String, UUID> paymentMethodIds, Map<Key, BigDecimal> rates) {
+        this.paymentMethodIds = Map.copyOf(paymentMethodIds);
+        this.rates = Map.copyOf(rates);
+    }
+
+    UUID paymentMethodId(String methodCode) {
+        return paymentMethodIds.get(methodCode);
+    }
+
+    BigDecimal rate(UUID entityId, OrganizationType entityType, UUID paymentMethodId) {
+        return rates.get(new Key(entityId, entityType, paymentMethodId));
+    }
+
+    public int size() {
+        return rates.size();
+    }
+}
@@ -0,0 +1,209 @@
+package com.korpay.billpay.service.settlement;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import com.korpay.billpay.domain.entity.SettlementBackfillJob;
+import com.korpay.billpay.domain.entity.SettlementBatch;
+import com.korpay.billpay.domain.enums.BackfillJobStatus;
+import com.korpay.billpay.domain.enums.SettlementCycle;
+import com.korpay.billpay.repository.SettlementBackfillJobRepository;
+import com.korpay.billpay.repository.SettlementRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 미배치 정산 백필 작업.
+ *
+ * 미배치 PENDING 정산을 (거래일, 정산주기) 단위로 그룹 조회하여 한 쌍씩 별도 트랜잭션으로 배치를 생성한다.
+ * 각 쌍의 처리 결과는 settlement_backfill_jobs 체크포인트에 같은 트랜잭션으로 기록되므로,
+ * 중단되더라도 다음 실행 시 마지막 체크포인트 이후부터 재개한다.
+ * 정산 행을 애플리케이션으로 로딩하지 않으므로 원장 이력 규모와 무관하게 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@Service
+public class SettlementBackfillService {
+
+    private static final List<BackfillJobStatus> RESUMABLE_STATUSES = List.of(
+            BackfillJobStatus.RUNNING,
+            BackfillJobStatus.FAILED
+    );
+
+    private final SettlementBatchService settlementBatchService;
+    private final SettlementRepository settlementRepository;
+    private final SettlementBackfillJobRepository backfillJobRepository;
+    private final TenantService tenantService;
+    private final TransactionTemplate transactionTemplate;
+
+    /** 진행 중인 테넌트 (동일 테넌트 중복 실행 방지) */
+    private final Set<String> runningTenants = ConcurrentHashMap.newKeySet();
+
+    /** 한 번에 조회할 (거래일, 정산주기) 쌍의 수 */
+    @Value("${settlement.backfill.page-size:100}")
+    private int pageSize;
+
+    /** 전체 테넌트 백필 시 동시에 처리할 테넌트 수 */
+    @Value("${settlement.backfill.tenant-parallelism:4}")
+    private int tenantParallelism;
+
+    public SettlementBackfillService(SettlementBatchService settlementBatchService,
+                                     SettlementRepository settlementRepository,
+                                     SettlementBackfillJobRepository backfillJobRepository,
+                                     TenantService tenantService,
+                                     PlatformTransactionManager transactionManager) {
+        this.settlementBatchService = settlementBatchService;
+        this.settlementRepository = settlementRepository;
+        this.backfillJobRepository = backfillJobRepository;
+        this.tenantService = tenantService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 현재 테넌트의 미배치 정산을 백필한다.
+     * RUNNING 또는 FAILED 상태의 이전 작업이 있으면 해당 체크포인트부터 재개한다.
+     */
+    public SettlementBackfillJob backfillCurrentTenant() {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId != null && !runningTenants.add(tenantId)) {
+            throw new IllegalStateException("이미 백필 작업이 진행 중입니다: " + tenantId);
+        }
+
+        try {
+            SettlementBackfillJob job = transactionTemplate.execute(status -> startOrResumeJob());
+            log.info("Backfill job {} started: checkpoint=({}, {})",
+                    job.getId(), job.getLastTransactionDate(), job.getLastCycle());
+
+            try {
+                runJob(job);
+            } catch (Exception e) {
+                log.error("Backfill job {} failed: {}", job.getId(), e.getMessage(), e);
+                return transactionTemplate.execute(status -> {
+                    SettlementBackfillJob current = backfillJobRepository.findById(job.getId()).orElseThrow();
+                    current.markFailed(e.getMessage());
+                    return backfillJobRepository.save(current);
+                });
+            }
+
+            SettlementBackfillJob completed = transactionTemplate.execute(status -> {
+                SettlementBackfillJob current = backfillJobRepository.findById(job.getId()).orElseThrow();
+                current.markCompleted();
+                return backfillJobRepository.save(current);
+            });
+
+            log.info("Backfill job {} completed: {} pairs processed, {} batches created, {} pairs failed",
+                    completed.getId(), completed.getProcessedPairs(),
+                    completed.getCreatedBatches(), completed.getFailedPairs());
+            return completed;
+        } finally {
+            if (tenantId != null) {
+                runningTenants.remove(tenantId);
+            }
+        }
+    }
+
+    /**
+     * 모든 활성 테넌트의 미배치 정산을 크기가 제한된 스레드 풀에서 병렬로 백필한다.
+     *
+     * @return 테넌트별 생성된 배치 수 (실패한 테넌트는 -1)
+     */
+    public Map<String, Integer> backfillAllTenants() {
+        List<String> tenants = tenantService.getAllActiveTenants();
+        Map<String, Integer> results = new LinkedHashMap<>();
+        if (tenants.isEmpty()) {
+            return results;
+        }
+
+        int parallelism = Math.max(1, Math.min(tenantParallelism, tenants.size()));
+        log.info("Starting settlement backfill for {} tenants (parallelism={})", tenants.size(), parallelism);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            List<Future<SettlementBackfillJob>> futures = new ArrayList<>(tenants.size());
+            for (String tenantId : tenants) {
+                futures.add(executor.submit(() ->
+                        TenantContextHolder.runInTenant(tenantId,
+                                (Supplier<SettlementBackfillJob>) this::backfillCurrentTenant)));
+            }
+
+            for (int i = 0; i < tenants.size(); i++) {
+                String tenantId = tenants.get(i);
+                try {
+                    SettlementBackfillJob job = futures.get(i).get();
+                    results.put(tenantId, job.getCreatedBatches());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    results.put(tenantId, -1);
+                } catch (Exception e) {
+                    log.error("Backfill failed for tenant {}: {}", tenantId, e.getMessage(), e);
+                    results.put(tenantId, -1);
+                }
+            }
+        }
+
+        log.info("Settlement backfill completed for {} tenants", tenants.size());
+        return results;
+    }
+
+    private SettlementBackfillJob startOrResumeJob() {
+        return backfillJobRepository.findFirstByStatusInOrderByStartedAtDesc(RESUMABLE_STATUSES)
+                .map(job -> {
+                    job.resume();
+                    return backfillJobRepository.save(job);
+                })
+                .orElseGet(() -> backfillJobRepository.saveAndFlush(SettlementBackfillJob.builder().build()));
+    }
+
+    private void runJob(SettlementBackfillJob job) {
+        LocalDate afterDate = job.getLastTransactionDate();
+        String afterCycle = job.getLastCycle() != null ? job.getLastCycle().name() : null;
+
+        while (true) {
+            List<SettlementRepository.UnbatchedDateCycle> pairs =
+                    settlementRepository.findUnbatchedDateCyclePairs(afterDate, afterCycle, pageSize);
+            if (pairs.isEmpty()) {
+                return;
+            }
+
+            for (SettlementRepository.UnbatchedDateCycle pair : pairs) {
+                processPair(job, pair.getTransactionDate(), SettlementCycle.valueOf(pair.getCycle()));
+                afterDate = pair.getTransactionDate();
+                afterCycle = pair.getCycle();
+            }
+        }
+    }
+
+    /**
+     * 한 (거래일, 정산주기) 쌍을 처리하고 같은 트랜잭션에서 체크포인트를 갱신한다.
+     * 배치 생성이 실패하면 해당 트랜잭션을 롤백한 뒤 실패 건으로 체크포인트를 넘긴다.
+     */
+    private void processPair(SettlementBackfillJob job, LocalDate transactionDate, SettlementCycle cycle) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                SettlementBatch batch = settlementBatchService.createDailyBatch(transactionDate, cycle);
+                backfillJobRepository.checkpoint(job.getId(), transactionDate, cycle, batch != null ? 1 : 0, 0, null);
+                if (batch != null) {
+                    log.info("Backfill: created batch {} for date={}, cycle={}",
+                            batch.getBatchNumber(), transactionDate, cycle);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Backfill: failed for date={}, cycle={}: {}", transactionDate, cycle, e.getMessage());
+            transactionTemplate.executeWithoutResult(status ->
+                    backfillJobRepository.checkpoint(job.getId(), transactionDate, cycle, 0, 1,
+                            transactionDate + "/" + cycle + ": " + e.getMessage()));
+        }
+    }
+}
@@ -2,16 +2,22 @@ package com.korpay.billpay.service.settlement;
 
 import com.korpay.billpay.config.tenant.TenantContextHolder;
 import com.korpay.billpay.config.tenant.TenantService;
+import com.korpay.billpay.domain.entity.SettlementBatch;
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
 import com.korpay.billpay.domain.enums.SettlementCycle;
+import com.korpay.billpay.dto.response.PayoutFileSummary;
+import com.korpay.billpay.service.settlement.payout.PayoutFileService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -19,11 +25,23 @@ import java.util.List;
 public class SettlementBatchScheduler {
 
     private final SettlementBatchService settlementBatchService;
+    private final SettlementBackfillService settlementBackfillService;
     private final TenantService tenantService;
+    private final PayoutFileService payoutFileService;
 
     @Value("${settlement.batch.enabled:false}")
     private boolean batchEnabled;
 
+    @Value("${settlement.backfill.enabled:false}")
+    private boolean backfillEnabled;
+
+    /** 지급 파일 자동 생성 디렉토리 (비어 있으면 생성하지 않음) */
+    @Value("${settlement.payout.output-dir:}")
+    private String payoutOutputDir;
+
+    @Value("${settlement.payout.default-format:FIXED_WIDTH}")
+    private PayoutFileFormat payoutFormat;
+
     @Scheduled(cron = "${settlement.batch.cron:0 0 1 * * *}")
     public void createDailyBatches() {
         if (!batchEnabled) {
@@ -41,8 +59,8 @@ public class SettlementBatchScheduler {
                 TenantContextHolder.runInTenant(tenantId, () -> {
                     log.info("Processing batches for tenant: {}", tenantId);
 
-                    settlementBatchService.createDailyBatch(targetDate, SettlementCycle.D_PLUS_1);
-                    settlementBatchService.createDailyBatch(targetDate, SettlementCycle.D_PLUS_3);
+                    writePayoutFile(tenantId, settlementBatchService.createDailyBatch(targetDate, SettlementCycle.D_PLUS_1));
+                    writePayoutFile(tenantId, settlementBatchService.createDailyBatch(targetDate, SettlementCycle.D_PLUS_3));
                 });
             } catch (Exception e) {
                 log.error("Failed to create batches for tenant {}: {}", tenantId, e.getMessage(), e);
@@ -51,4 +69,37 @@ public class SettlementBatchScheduler {
 
         log.info("Daily batch creation completed");
     }
+
+    /**
+     * 일일 배치 이후 누락된 미배치 정산을 전체 테넌트에 대해 백필한다.
+     * 테넌트별 체크포인트에서 재개하므로 중간에 중단되어도 다음 실행에서 이어서 처리한다.
+     */
+    @Scheduled(cron = "${settlement.backfill.cron:0 30 1 * * *}")
+    public void backfillUnbatchedSettlements() {
+        if (!backfillEnabled) {
+            log.debug("Settlement backfill scheduler disabled");
+            return;
+        }
+
+        Map<String, Integer> results = settlementBackfillService.backfillAllTenants();
+        log.info("Scheduled settlement backfill completed: {}", results);
+    }
+
+    /**
+     * 배치 생성이 커밋된 뒤 지급 파일을 {output-dir}/{tenantId}/ 아래에 생성한다.
+     * 실패해도 배치는 유지되며 API로 다시 생성할 수 있다.
+     */
+    private void writePayoutFile(String tenantId, SettlementBatch batch) {
+        if (batch == null || payoutOutputDir.isBlank()) {
+            return;
+        }
+        try {
+            Path target = Path.of(payoutOutputDir, tenantId, PayoutFileService.fileName(batch, payoutFormat));
+            PayoutFileSummary summary = payoutFileService.writeToFile(batch.getId(), payoutFormat, target);
+            log.info("Payout file written for batch {}: {} ({} rows, total={})",
+                    batch.getBatchNumber(), target, summary.rowCount(), summary.totalAmount());
+        } catch (Exception e) {
+            log.error("Failed to write payout file for batch {}: {}", batch.getBatchNumber(), e.getMessage(), e);
+        }
+    }
 }
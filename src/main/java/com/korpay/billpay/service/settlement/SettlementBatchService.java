@@ -1,12 +1,12 @@
 package com.korpay.billpay.service.settlement;
 
-import com.korpay.billpay.domain.entity.Settlement;
 import com.korpay.billpay.domain.entity.SettlementBatch;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import com.korpay.billpay.domain.enums.SettlementCycle;
-import com.korpay.billpay.domain.enums.SettlementStatus;
 import com.korpay.billpay.repository.SettlementBatchRepository;
 import com.korpay.billpay.repository.SettlementRepository;
+import com.korpay.billpay.service.settlement.balance.SettlementBalanceService;
+import com.korpay.billpay.service.settlement.rollup.SettlementRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,9 +16,7 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -33,6 +31,8 @@ public class SettlementBatchService {
     private final SettlementBatchRepository settlementBatchRepository;
     private final SettlementRepository settlementRepository;
     private final BusinessDayCalculator businessDayCalculator;
+    private final SettlementRollupService settlementRollupService;
+    private final SettlementBalanceService settlementBalanceService;
 
     @Transactional
     public SettlementBatch createDailyBatch(LocalDate transactionDate, SettlementCycle cycle) {
@@ -47,28 +47,22 @@ public class SettlementBatchService {
         OffsetDateTime periodStart = transactionDate.atStartOfDay(KST).toOffsetDateTime();
         OffsetDateTime periodEnd = transactionDate.atTime(LocalTime.MAX).atZone(KST).toOffsetDateTime();
 
-        List<Settlement> unbatched = settlementRepository.findUnbatchedSettlementsByCycle(
-                periodStart, periodEnd, cycle.name());
-
-        if (unbatched.isEmpty()) {
+        if (!settlementRepository.existsUnbatchedSettlementsByCycle(periodStart, periodEnd, cycle.name())) {
             log.info("No unbatched settlements for date={}, cycle={}", transactionDate, cycle);
             return null;
         }
 
         String batchNumber = generateBatchNumber(settlementDate, cycle);
 
-        long totalAmount = unbatched.stream().mapToLong(Settlement::getAmount).sum();
-        long totalFeeAmount = unbatched.stream().mapToLong(Settlement::getFeeAmount).sum();
-
         SettlementBatch batch = SettlementBatch.builder()
                 .batchNumber(batchNumber)
                 .settlementDate(settlementDate)
                 .periodStart(periodStart)
                 .periodEnd(periodEnd)
                 .status(SettlementBatchStatus.PROCESSING)
-                .totalTransactions(unbatched.size())
-                .totalAmount(totalAmount)
-                .totalFeeAmount(totalFeeAmount)
+                .totalTransactions(0)
+                .totalAmount(0L)
+                .totalFeeAmount(0L)
                 .metadata(Map.of(
                         "cycle", cycle.name(),
                         "transactionDate", transactionDate.toString()))
@@ -76,23 +70,35 @@ public class SettlementBatchService {
                 .updatedAt(OffsetDateTime.now())
                 .build();
 
-        batch = settlementBatchRepository.save(batch);
+        batch = settlementBatchRepository.saveAndFlush(batch);
 
-        for (Settlement settlement : unbatched) {
-            settlement.setSettlementBatch(batch);
-            settlement.setStatus(SettlementStatus.COMPLETED);
-            settlement.setSettledAt(OffsetDateTime.now());
-            settlement.setUpdatedAt(OffsetDateTime.now());
+        // 정산 건을 엔티티로 로딩하지 않고 단일 UPDATE로 배치에 귀속 (메모리 사용량 일정)
+        int assigned = settlementRepository.assignUnbatchedSettlementsToBatch(
+                batch.getId(), OffsetDateTime.now(), periodStart, periodEnd, cycle.name());
+
+        if (assigned == 0) {
+            log.info("Unbatched settlements were claimed concurrently for date={}, cycle={}", transactionDate, cycle);
+            settlementBatchRepository.delete(batch);
+            return null;
         }
-        settlementRepository.saveAll(unbatched);
 
+        // 합계는 실제로 귀속된 행 기준으로 집계 (존재 확인과 UPDATE 사이에 유입된 건 포함)
+        SettlementRepository.BatchTotals totals = settlementRepository.sumBatchTotals(batch.getId());
+
+        batch.setTotalTransactions(totals.getTotalTransactions().intValue());
+        batch.setTotalAmount(totals.getTotalAmount());
+        batch.setTotalFeeAmount(totals.getTotalFeeAmount());
         batch.setStatus(SettlementBatchStatus.COMPLETED);
         batch.setProcessedAt(OffsetDateTime.now());
         batch.setUpdatedAt(OffsetDateTime.now());
         settlementBatchRepository.save(batch);
 
+        // 일별 정산 집계 가산 및 대상별 잔액 대기 → 완료 이동 (배치 생성과 같은 트랜잭션)
+        settlementRollupService.applyBatch(batch.getId());
+        settlementBalanceService.recordBatchCompleted(batch.getId());
+
         log.info("Created batch {}: {} settlements, amount={}, fee={}",
-                batchNumber, unbatched.size(), totalAmount, totalFeeAmount);
+                batchNumber, batch.getTotalTransactions(), batch.getTotalAmount(), batch.getTotalFeeAmount());
 
         return batch;
     }
@@ -102,44 +108,6 @@ public class SettlementBatchService {
         return createDailyBatch(today, SettlementCycle.REALTIME);
     }
 
-    @Transactional
-    public int backfillUnbatchedSettlements() {
-        List<Settlement> unbatched = settlementRepository.findAll().stream()
-                .filter(s -> s.getSettlementBatch() == null && s.getStatus() == SettlementStatus.PENDING)
-                .toList();
-
-        if (unbatched.isEmpty()) {
-            log.info("No unbatched settlements found for backfill");
-            return 0;
-        }
-
-        Map<LocalDate, List<Settlement>> byDate = new java.util.LinkedHashMap<>();
-        for (Settlement s : unbatched) {
-            LocalDate date = s.getCreatedAt().atZoneSameInstant(KST).toLocalDate();
-            byDate.computeIfAbsent(date, k -> new ArrayList<>()).add(s);
-        }
-
-        int totalBatches = 0;
-        SettlementCycle[] cycles = { SettlementCycle.D_PLUS_1, SettlementCycle.D_PLUS_3 };
-
-        for (LocalDate transactionDate : byDate.keySet()) {
-            for (SettlementCycle cycle : cycles) {
-                try {
-                    SettlementBatch batch = createDailyBatch(transactionDate, cycle);
-                    if (batch != null) {
-                        totalBatches++;
-                        log.info("Backfill: created batch for date={}, cycle={}", transactionDate, cycle);
-                    }
-                } catch (Exception e) {
-                    log.warn("Backfill: failed for date={}, cycle={}: {}", transactionDate, cycle, e.getMessage());
-                }
-            }
-        }
-
-        log.info("Backfill completed: {} batches created from {} dates", totalBatches, byDate.size());
-        return totalBatches;
-    }
-
     private String generateBatchNumber(LocalDate date, SettlementCycle cycle) {
         String prefix = cycleToBatchPrefix(cycle);
         String dateStr = date.format(DATE_FORMAT);
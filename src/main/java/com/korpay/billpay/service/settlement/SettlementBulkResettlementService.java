@@ -0,0 +1,490 @@
+package com.korpay.billpay.service.settlement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.enums.SettlementStatus;
+import com.korpay.billpay.dto.request.BulkResettleRequest;
+import com.korpay.billpay.dto.response.ResettlementFailureDto;
+import com.korpay.billpay.dto.response.ResettlementJobDto;
+import com.korpay.billpay.exception.EntityNotFoundException;
+import com.korpay.billpay.service.settlement.rollup.SettlementRollupService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * 대량 재정산 작업.
+ *
+ * 요청 스레드는 작업을 등록하고 바로 반환하며, 작업은 백그라운드에서 진행된다.
+ * 필터에 해당하는 FAILED/PENDING_REVIEW 정산의 거래 이벤트 ID를 forward-only 커서로 읽어 청크로 나누고,
+ * 크기가 제한된 스레드 풀에서 청크마다 하나의 트랜잭션으로 재정산한다. 수수료 요율은 작업 시작 시 한 번 읽은
+ * {@link FeeRateSnapshot}을 모든 청크가 공유하며, 진행 건수는 청크와 같은 트랜잭션으로 작업 행에 누적된다.
+ *
+ * 청크 중 한 이벤트라도 실패하면 해당 청크를 이벤트별 트랜잭션으로 다시 처리하여 실패 이벤트만 기록한다.
+ * 재정산된 기존 정산은 CANCELLED가 되어 다시 대상에 포함되지 않으므로 같은 필터로 재실행하면 남은 이벤트만 처리한다.
+ *
+ * 일별 집계는 병렬 청크가 같은 정산일을 동시에 재계산하지 않도록 작업 행에 정산일만 모아 두었다가
+ * 작업 종료 시 한 번에 재계산한다. 작업이 중단되면 남은 정산일은 다음 작업 시작 시 재계산한다.
+ *
+ * 스키마당 한 작업만 실행되도록 작업 동안 전용 연결에서 세션 advisory lock을 잡는다. 실행 중이던 인스턴스가
+ * 죽으면 연결이 끊기며 잠금도 풀리므로, 잠금을 얻은 쪽만 남아 있는 RUNNING 작업을 중단된 것으로 정리한다.
+ */
+@Slf4j
+@Service
+public class SettlementBulkResettlementService {
+
+    private static final String JOB_COLUMNS = """
+        id, status, CAST(filter AS TEXT) as filter, total_events, processed_events, resettled_events,
+        skipped_events, failed_events, error_message, started_at, completed_at, updated_at
+        """;
+
+    private static final String JOB_LOCK_KEY = "hashtext(current_schema() || '.settlement_resettlement')";
+
+    private static final RowMapper<ResettlementJobDto> JOB_ROW_MAPPER = (rs, rowNum) -> new ResettlementJobDto(
+            rs.getObject("id", UUID.class),
+            rs.getString("status"),
+            rs.getString("filter"),
+            rs.getInt("total_events"),
+            rs.getInt("processed_events"),
+            rs.getInt("resettled_events"),
+            rs.getInt("skipped_events"),
+            rs.getInt("failed_events"),
+            rs.getString("error_message"),
+            rs.getObject("started_at", OffsetDateTime.class),
+            rs.getObject("completed_at", OffsetDateTime.class),
+            rs.getObject("updated_at", OffsetDateTime.class));
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final SettlementResettlementService settlementResettlementService;
+    private final SettlementRollupService settlementRollupService;
+    private final FeeConfigResolver feeConfigResolver;
+    private final ObjectMapper objectMapper;
+
+    /** 작업 본체 실행 (스키마당 한 작업이므로 별도 제한 없음, 청크는 작업마다 만드는 풀에서 처리) */
+    private final ExecutorService jobRunner = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** 동시에 재정산할 청크 수 */
+    @Value("${settlement.resettlement.parallelism:4}")
+    private int parallelism;
+
+    /** 한 트랜잭션에서 재정산할 거래 이벤트 수 */
+    @Value("${settlement.resettlement.chunk-size:100}")
+    private int chunkSize;
+
+    public SettlementBulkResettlementService(JdbcTemplate jdbcTemplate,
+                                             DataSource dataSource,
+                                             PlatformTransactionManager transactionManager,
+                                             SettlementResettlementService settlementResettlementService,
+                                             SettlementRollupService settlementRollupService,
+                                             FeeConfigResolver feeConfigResolver,
+                                             ObjectMapper objectMapper,
+                                             @Value("${settlement.resettlement.fetch-size:1000}") int fetchSize) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.settlementResettlementService = settlementResettlementService;
+        this.settlementRollupService = settlementRollupService;
+        this.feeConfigResolver = feeConfigResolver;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 현재 테넌트에서 필터에 해당하는 정산의 재정산 작업을 등록하고 RUNNING 상태로 즉시 반환한다.
+     * 재정산은 백그라운드에서 진행되며 진행 상황과 결과는 {@link #findJob(UUID)}로 조회한다.
+     *
+     * @throws IllegalArgumentException 필터가 올바르지 않은 경우
+     * @throws IllegalStateException    이미 대량 재정산 작업이 진행 중인 경우
+     */
+    public ResettlementJobDto submit(BulkResettleRequest request) {
+        Target target = Target.of(request);
+        String filter = toJson(request);
+
+        String tenantId = TenantContextHolder.getCurrentTenant();
+
+        JobLock lock = JobLock.tryAcquire(dataSource);
+        UUID jobId;
+        try {
+            jobId = transactionTemplate.execute(status -> startJob(target, filter));
+            jobRunner.execute(() -> {
+                try (lock) {
+                    TenantContextHolder.runInTenant(tenantId, () -> runJob(jobId, target, tenantId));
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.close();
+            throw e;
+        }
+        return findJob(jobId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // 실행 중인 작업은 중단되어 FAILED로 기록되고, 남은 일별 집계는 다음 작업 시작 시 재계산된다
+        jobRunner.shutdownNow();
+    }
+
+    private void runJob(UUID jobId, Target target, String tenantId) {
+        long startedAt = System.nanoTime();
+        try {
+            run(jobId, target, tenantId);
+            transactionTemplate.executeWithoutResult(status -> {
+                rebuildPendingRollups(jobId);
+                jdbcTemplate.update("""
+                        UPDATE settlement_resettlement_jobs
+                        SET status = 'COMPLETED', completed_at = now(), updated_at = now()
+                        WHERE id = ?
+                        """, jobId);
+            });
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("Bulk resettlement job {} failed: {}", jobId, e.getMessage(), e);
+            jdbcTemplate.update("""
+                    UPDATE settlement_resettlement_jobs
+                    SET status = 'FAILED', error_message = ?, completed_at = now(), updated_at = now()
+                    WHERE id = ?
+                    """, e.getMessage(), jobId);
+            return;
+        }
+
+        ResettlementJobDto job = findJob(jobId);
+        log.info("Bulk resettlement job {} completed in {} ms: total={}, resettled={}, skipped={}, failed={}",
+                jobId, (System.nanoTime() - startedAt) / 1_000_000, job.totalEvents(), job.resettledEvents(),
+                job.skippedEvents(), job.failedEvents());
+    }
+
+    public ResettlementJobDto findJob(UUID jobId) {
+        List<ResettlementJobDto> jobs = jdbcTemplate.query(
+                "SELECT " + JOB_COLUMNS + " FROM settlement_resettlement_jobs WHERE id = ?", JOB_ROW_MAPPER, jobId);
+        if (jobs.isEmpty()) {
+            throw new EntityNotFoundException("재정산 작업을 찾을 수 없습니다: " + jobId);
+        }
+        return jobs.getFirst();
+    }
+
+    public List<ResettlementJobDto> findJobs(int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + JOB_COLUMNS + " FROM settlement_resettlement_jobs ORDER BY started_at DESC LIMIT ?",
+                JOB_ROW_MAPPER, limit);
+    }
+
+    public List<ResettlementFailureDto> findFailures(UUID jobId, int limit) {
+        findJob(jobId);
+        return jdbcTemplate.query("""
+                SELECT transaction_event_id, error_message, created_at
+                FROM settlement_resettlement_failures
+                WHERE job_id = ?
+                ORDER BY created_at
+                LIMIT ?
+                """, (rs, rowNum) -> new ResettlementFailureDto(
+                        rs.getObject("transaction_event_id", UUID.class),
+                        rs.getString("error_message"),
+                        rs.getObject("created_at", OffsetDateTime.class)),
+                jobId, limit);
+    }
+
+    /**
+     * 중단된 이전 작업을 FAILED로 정리하고 남은 일별 집계를 재계산한 뒤 새 작업을 등록한다.
+     * {@link JobLock}을 잡은 상태에서만 호출하므로 RUNNING으로 남은 작업은 모두 실행 주체가 사라진 작업이다.
+     */
+    private UUID startJob(Target target, String filter) {
+        List<LocalDate> leftover = jdbcTemplate.queryForList("""
+                SELECT DISTINCT d
+                FROM settlement_resettlement_jobs j, unnest(j.pending_rollup_dates) d
+                """, LocalDate.class);
+        if (!leftover.isEmpty()) {
+            log.info("Rebuilding settlement rollups left by interrupted resettlement jobs: {}", leftover);
+            settlementRollupService.rebuildSettlementDates(leftover);
+        }
+        jdbcTemplate.update("""
+                UPDATE settlement_resettlement_jobs
+                SET status = CASE WHEN status = 'RUNNING' THEN 'FAILED' ELSE status END,
+                    error_message = CASE WHEN status = 'RUNNING' THEN '작업이 중단되었습니다' ELSE error_message END,
+                    pending_rollup_dates = '{}',
+                    updated_at = now()
+                WHERE status = 'RUNNING' OR cardinality(pending_rollup_dates) > 0
+                """);
+
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(DISTINCT s.transaction_event_id) FROM settlements s WHERE " + target.where(),
+                Integer.class, target.args());
+
+        UUID jobId = jdbcTemplate.queryForObject("""
+                INSERT INTO settlement_resettlement_jobs (status, filter, total_events)
+                VALUES ('RUNNING', CAST(? AS jsonb), ?)
+                RETURNING id
+                """, UUID.class, filter, total);
+        log.info("Bulk resettlement job {} started: filter={}, events={}", jobId, filter, total);
+        return jobId;
+    }
+
+    private void run(UUID jobId, Target target, String tenantId) throws Exception {
+        FeeRateSnapshot snapshot = feeConfigResolver.loadSnapshot();
+        int threads = Math.max(1, parallelism);
+        int size = Math.max(1, chunkSize);
+        // 커서가 작업보다 앞서 나가지 않도록 대기 중인 청크 수를 제한 (메모리 사용량 일정)
+        Semaphore inFlight = new Semaphore(threads * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<List<UUID>> pending = new ArrayList<>(1);
+            pending.add(new ArrayList<>(size));
+
+            readOnlyTransactionTemplate.executeWithoutResult(status -> streamingJdbcTemplate.query(
+                    "SELECT DISTINCT s.transaction_event_id FROM settlements s WHERE " + target.where()
+                            + " ORDER BY s.transaction_event_id",
+                    rs -> {
+                        if (failure.get() != null) {
+                            return;
+                        }
+                        List<UUID> chunk = pending.getFirst();
+                        chunk.add(rs.getObject(1, UUID.class));
+                        if (chunk.size() >= size) {
+                            submit(executor, inFlight, failure, jobId, chunk, snapshot, tenantId);
+                            pending.set(0, new ArrayList<>(size));
+                        }
+                    }, target.args()));
+
+            if (!pending.getFirst().isEmpty() && failure.get() == null) {
+                submit(executor, inFlight, failure, jobId, pending.getFirst(), snapshot, tenantId);
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    private void submit(ExecutorService executor, Semaphore inFlight, AtomicReference<Exception> failure,
+                        UUID jobId, List<UUID> chunk, FeeRateSnapshot snapshot, String tenantId) {
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                TenantContextHolder.runInTenant(tenantId, () -> processChunk(jobId, chunk, snapshot));
+            } catch (Exception e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    void processChunk(UUID jobId, List<UUID> chunk, FeeRateSnapshot snapshot) {
+        try {
+            resettleInTransaction(jobId, chunk, snapshot);
+            return;
+        } catch (Exception e) {
+            log.warn("Resettlement chunk of {} events failed, retrying per event: {}", chunk.size(), e.getMessage());
+        }
+
+        for (UUID transactionEventId : chunk) {
+            try {
+                resettleInTransaction(jobId, List.of(transactionEventId), snapshot);
+            } catch (Exception e) {
+                log.warn("Resettlement failed for transaction event {}: {}", transactionEventId, e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.update("""
+                            INSERT INTO settlement_resettlement_failures (job_id, transaction_event_id, error_message)
+                            VALUES (?, ?, ?)
+                            """, jobId, transactionEventId, String.valueOf(e.getMessage()));
+                    recordProgress(jobId, 1, 0, 0, 1, Set.of());
+                });
+            }
+        }
+    }
+
+    private void resettleInTransaction(UUID jobId, List<UUID> transactionEventIds, FeeRateSnapshot snapshot) {
+        transactionTemplate.executeWithoutResult(status -> {
+            SettlementResettlementService.ChunkResult result = feeConfigResolver.withSnapshot(snapshot,
+                    () -> settlementResettlementService.resettleChunk(transactionEventIds));
+            recordProgress(jobId, transactionEventIds.size(), result.resettled(),
+                    transactionEventIds.size() - result.resettled(), 0, result.settlementDates());
+        });
+    }
+
+    private void recordProgress(UUID jobId, int processed, int resettled, int skipped, int failed,
+                                Set<LocalDate> settlementDates) {
+        String dates = settlementDates.stream().map(LocalDate::toString).collect(Collectors.joining(",", "{", "}"));
+        jdbcTemplate.update("""
+                UPDATE settlement_resettlement_jobs
+                SET processed_events = processed_events + ?,
+                    resettled_events = resettled_events + ?,
+                    skipped_events = skipped_events + ?,
+                    failed_events = failed_events + ?,
+                    pending_rollup_dates = ARRAY(
+                        SELECT DISTINCT d FROM unnest(pending_rollup_dates || CAST(? AS DATE[])) d ORDER BY d),
+                    updated_at = now()
+                WHERE id = ?
+                """, processed, resettled, skipped, failed, dates, jobId);
+    }
+
+    private void rebuildPendingRollups(UUID jobId) {
+        List<LocalDate> dates = jdbcTemplate.queryForList("""
+                SELECT DISTINCT d
+                FROM settlement_resettlement_jobs j, unnest(j.pending_rollup_dates) d
+                WHERE j.id = ?
+                """, LocalDate.class, jobId);
+        if (!dates.isEmpty()) {
+            settlementRollupService.rebuildSettlementDates(dates);
+        }
+        jdbcTemplate.update("UPDATE settlement_resettlement_jobs SET pending_rollup_dates = '{}' WHERE id = ?", jobId);
+    }
+
+    private String toJson(BulkResettleRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("재정산 필터를 기록할 수 없습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 스키마 단위 대량 재정산 실행권. 작업이 끝날 때까지 잠금을 잡은 연결을 풀에 돌려주지 않는다.
+     */
+    private static final class JobLock implements AutoCloseable {
+
+        private final Connection connection;
+
+        private JobLock(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * @throws IllegalStateException 다른 인스턴스(또는 요청)가 이미 작업을 실행 중인 경우
+         */
+        static JobLock tryAcquire(DataSource dataSource) {
+            Connection connection = null;
+            try {
+                connection = dataSource.getConnection();
+                connection.setAutoCommit(true);
+                boolean locked;
+                try (PreparedStatement stmt = connection.prepareStatement(
+                        "SELECT pg_try_advisory_lock(" + JOB_LOCK_KEY + ")");
+                     ResultSet rs = stmt.executeQuery()) {
+                    locked = rs.next() && rs.getBoolean(1);
+                }
+                if (!locked) {
+                    connection.close();
+                    throw new IllegalStateException("이미 대량 재정산 작업이 진행 중입니다");
+                }
+                return new JobLock(connection);
+            } catch (SQLException e) {
+                closeQuietly(connection);
+                throw new DataAccessResourceFailureException("Failed to acquire resettlement job lock", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "SELECT pg_advisory_unlock(" + JOB_LOCK_KEY + ")")) {
+                stmt.execute();
+            } catch (SQLException e) {
+                // 잠금이 남은 연결이 풀로 돌아가면 이 인스턴스에서 다음 작업을 시작할 수 없으므로 연결을 폐기
+                log.warn("Failed to release resettlement job lock, discarding connection: {}", e.getMessage());
+                try {
+                    connection.abort(Runnable::run);
+                } catch (SQLException abortFailure) {
+                    log.warn("Failed to abort resettlement lock connection: {}", abortFailure.getMessage());
+                }
+            } finally {
+                closeQuietly(connection);
+            }
+        }
+
+        private static void closeQuietly(Connection connection) {
+            if (connection == null) {
+                return;
+            }
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.warn("Failed to close resettlement lock connection: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * settlements s 기준 대상 조건과 바인딩 값.
+     */
+    private record Target(String where, Object[] args) {
+
+        static Target of(BulkResettleRequest request) {
+            List<SettlementStatus> statuses = request.getStatuses() == null || request.getStatuses().isEmpty()
+                    ? SettlementResettlementService.RESETTLEABLE_STATUSES
+                    : request.getStatuses();
+            for (SettlementStatus status : statuses) {
+                if (!SettlementResettlementService.RESETTLEABLE_STATUSES.contains(status)) {
+                    throw new IllegalArgumentException("재정산할 수 없는 정산 상태입니다: " + status);
+                }
+            }
+            if (request.getFrom() != null && request.getTo() != null && !request.getFrom().isBefore(request.getTo())) {
+                throw new IllegalArgumentException("재정산 종료일시는 시작일시 이후여야 합니다");
+            }
+
+            StringBuilder where = new StringBuilder("s.status IN (")
+                    .append(statuses.stream().map(s -> "?").collect(Collectors.joining(", ")))
+                    .append(")");
+            List<Object> args = new ArrayList<>();
+            statuses.forEach(status -> args.add(status.name()));
+
+            if (request.getFrom() != null) {
+                where.append(" AND s.created_at >= ?");
+                args.add(Timestamp.from(request.getFrom().toInstant()));
+            }
+            if (request.getTo() != null) {
+                where.append(" AND s.created_at < ?");
+                args.add(Timestamp.from(request.getTo().toInstant()));
+            }
+            if (request.getMerchantId() != null) {
+                where.append(" AND s.merchant_id = ?");
+                args.add(request.getMerchantId());
+            }
+            if (request.getOrgPath() != null && !request.getOrgPath().isBlank()) {
+                where.append(" AND s.org_path <@ CAST(? AS ltree)");
+                args.add(request.getOrgPath());
+            }
+            return new Target(where.toString(), args.toArray());
+        }
+    }
+}
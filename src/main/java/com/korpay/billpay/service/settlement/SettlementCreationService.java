@@ -10,6 +10,8 @@ import com.korpay.billpay.exception.settlement.SettlementCalculationException;
 import com.korpay.billpay.exception.settlement.ZeroSumViolationException;
 import com.korpay.billpay.repository.SettlementRepository;
 import com.korpay.billpay.repository.TransactionEventRepository;
+import com.korpay.billpay.service.settlement.audit.SettlementAuditTrail;
+import com.korpay.billpay.service.settlement.balance.SettlementBalanceService;
 import com.korpay.billpay.service.settlement.calculator.PartialCancelCalculator;
 import com.korpay.billpay.service.settlement.validator.ZeroSumValidator;
 import lombok.RequiredArgsConstructor;
@@ -29,6 +31,8 @@ public class SettlementCreationService {
     private final ZeroSumValidator zeroSumValidator;
     private final SettlementRepository settlementRepository;
     private final TransactionEventRepository transactionEventRepository;
+    private final SettlementBalanceService settlementBalanceService;
+    private final SettlementAuditTrail settlementAuditTrail;
 
     @Transactional
     public List<Settlement> createSettlements(
@@ -36,8 +40,10 @@ public class SettlementCreationService {
             Merchant merchant,
             String paymentMethodCode) {
 
-        log.info("Creating settlements for event {}: type={}, amount={}",
-                event.getId(), event.getEventType(), event.getAmount());
+        if (log.isDebugEnabled()) {
+            log.debug("Creating settlements for event {}: type={}, amount={}",
+                    event.getId(), event.getEventType(), event.getAmount());
+        }
 
         List<Settlement> settlements;
 
@@ -60,6 +66,8 @@ public class SettlementCreationService {
             // 정산 전체를 PENDING_REVIEW 상태로 저장 (데이터 유실 방지)
             settlements.forEach(s -> s.setStatus(SettlementStatus.PENDING_REVIEW));
             List<Settlement> savedSettlements = settlementRepository.saveAll(settlements);
+            settlementBalanceService.recordCreated(savedSettlements);
+            settlementAuditTrail.record(event, savedSettlements, true);
 
             log.warn("Zero-Sum 검증 실패 정산 {} 건을 PENDING_REVIEW로 저장: eventId={}",
                 savedSettlements.size(), event.getId());
@@ -68,8 +76,10 @@ public class SettlementCreationService {
         }
 
         List<Settlement> savedSettlements = settlementRepository.saveAll(settlements);
+        settlementBalanceService.recordCreated(savedSettlements);
+        settlementAuditTrail.record(event, savedSettlements, false);
 
-        log.info("Created {} settlements for event {}", savedSettlements.size(), event.getId());
+        log.debug("Created {} settlements for event {}", savedSettlements.size(), event.getId());
 
         return savedSettlements;
     }
@@ -116,7 +126,6 @@ public class SettlementCreationService {
                     .feeRate(original.getFeeRate())
                     .feeConfig(original.getFeeConfig())
                     .status(SettlementStatus.PENDING)
-                    .createdAt(java.time.OffsetDateTime.now())
                     .updatedAt(java.time.OffsetDateTime.now())
                     .build();
             cancelSettlements.add(cancelSettlement);
@@ -1,9 +1,9 @@
 package com.korpay.billpay.service.settlement;
 
+import com.korpay.billpay.config.tenant.TenantContextHolder;
 import com.korpay.billpay.domain.entity.Settlement;
 import com.korpay.billpay.domain.entity.SettlementBatch;
 import com.korpay.billpay.domain.entity.User;
-import com.korpay.billpay.domain.enums.EntryType;
 import com.korpay.billpay.domain.enums.OrganizationType;
 import com.korpay.billpay.domain.enums.SettlementBatchStatus;
 import com.korpay.billpay.domain.enums.SettlementStatus;
@@ -22,18 +22,35 @@ import com.korpay.billpay.repository.SettlementRepository;
 import com.korpay.billpay.repository.SettlementRepository.HierarchyFeeAggregation;
 import com.korpay.billpay.repository.SettlementRepository.MerchantSettlementAggregation;
 import com.korpay.billpay.repository.SettlementRepository.OrganizationSettlementAggregation;
+import com.korpay.billpay.repository.SettlementRepository.SettlementSummaryTotals;
 import com.korpay.billpay.service.auth.AccessControlService;
+import com.korpay.billpay.service.export.ExportQuery;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -42,10 +59,51 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class SettlementQueryService {
 
+    /** pg_export_snapshot() 결과 형식 (SET TRANSACTION SNAPSHOT에 리터럴로 넣기 전 검증) */
+    private static final Pattern SNAPSHOT_ID = Pattern.compile("[0-9A-Fa-f]+(-[0-9A-Fa-f]+)+");
+
+    /** 조회 결과 캐시별 최대 항목 수 */
+    private static final int MAX_CACHE_ENTRIES = 1_000;
+
+    private static final String EXPORT_SETTLEMENTS = """
+        SELECT s.id, s.settlement_batch_id, s.transaction_event_id, s.transaction_id,
+               s.merchant_id, m.name as merchant_name, s.entity_id, CAST(s.entity_type AS TEXT) as entity_type,
+               CAST(s.entity_path AS TEXT) as entity_path, CAST(s.entry_type AS TEXT) as entry_type,
+               s.amount, s.fee_amount, s.net_amount, s.currency, s.fee_rate,
+               CAST(s.status AS TEXT) as status, s.settled_at, s.created_at
+        FROM settlements s
+        LEFT JOIN merchants m ON m.id = s.merchant_id
+        """;
+
     private final SettlementRepository settlementRepository;
     private final SettlementBatchRepository settlementBatchRepository;
     private final MerchantRepository merchantRepository;
     private final AccessControlService accessControlService;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 배치 목록 전체 건수 (테넌트 + 필터별) */
+    private final ExpiringCache<BatchCountKey, Long> batchCounts = new ExpiringCache<>(MAX_CACHE_ENTRIES);
+
+    /** 정산 요약 합계 (테넌트 + 접근 경로 + 필터별) */
+    private final ExpiringCache<SummaryKey, SummaryTotals> summaryTotals = new ExpiringCache<>(MAX_CACHE_ENTRIES);
+
+    @Value("${settlement.batch.count-cache-ttl-ms:60000}")
+    private long batchCountTtlMs;
+
+    @Value("${settlement.summary.cache-ttl-ms:30000}")
+    private long summaryCacheTtlMs;
+
+    /** 조직 정산 상세에서 동시에 두 번째 커넥션을 쓰는 요청 수. 테넌트 풀 크기보다 작아야 한다 */
+    @Value("${settlement.detail.parallel-limit:4}")
+    private int detailParallelLimit;
+
+    private Semaphore detailWorkers;
+
+    @PostConstruct
+    void initDetailWorkers() {
+        detailWorkers = new Semaphore(Math.max(0, detailParallelLimit));
+    }
 
     public Page<Settlement> findAccessibleSettlements(
             User user,
@@ -56,7 +114,7 @@ public class SettlementQueryService {
             boolean merchantOnly,
             Pageable pageable) {
         
-        String userPath = accessControlService.isMasterAdmin(user) ? "" : user.getOrgPath();
+        String userPath = accessControlService.accessPath(user);
         String entityTypeStr = entityType != null ? entityType.name() : null;
         String statusStr = status != null ? status.name() : null;
         
@@ -71,6 +129,50 @@ public class SettlementQueryService {
         );
     }
 
+    /**
+     * {@link #findAccessibleSettlements}와 같은 조건의 정산 전체를 최신순으로 내보내는 쿼리.
+     * 지정하지 않은 조건은 SQL에서 빼므로 접근 경로/기간 인덱스를 그대로 탄다.
+     */
+    public ExportQuery settlementExportQuery(
+            User user,
+            OrganizationType entityType,
+            SettlementStatus status,
+            OffsetDateTime startDate,
+            OffsetDateTime endDate,
+            boolean merchantOnly) {
+
+        String userPath = accessControlService.accessPath(user);
+        StringBuilder where = new StringBuilder("TRUE");
+        List<Object> args = new ArrayList<>();
+        if (!userPath.isEmpty()) {
+            where.append(" AND s.entity_path <@ CAST(? AS ltree)");
+            args.add(userPath);
+        }
+        if (entityType != null) {
+            where.append(" AND CAST(s.entity_type AS TEXT) = ?");
+            args.add(entityType.name());
+        }
+        if (status != null) {
+            where.append(" AND CAST(s.status AS TEXT) = ?");
+            args.add(status.name());
+        }
+        if (startDate != null) {
+            where.append(" AND s.created_at >= ?");
+            args.add(startDate);
+        }
+        if (endDate != null) {
+            where.append(" AND s.created_at <= ?");
+            args.add(endDate);
+        }
+        if (merchantOnly) {
+            where.append(" AND s.entity_id = s.merchant_id");
+        }
+
+        return new ExportQuery(
+                EXPORT_SETTLEMENTS + "WHERE " + where + " ORDER BY s.created_at DESC, s.id DESC",
+                args.toArray());
+    }
+
     public Map<UUID, String> getMerchantNamesByIds(List<UUID> merchantIds) {
         if (merchantIds == null || merchantIds.isEmpty()) {
             return Collections.emptyMap();
@@ -80,63 +182,54 @@ public class SettlementQueryService {
                 .collect(Collectors.toMap(Merchant::getId, Merchant::getName, (a, b) -> a));
     }
 
+    /**
+     * 접근 가능한 정산의 합계. 합계는 DB에서 한 번의 집계 쿼리로 계산하며,
+     * 같은 테넌트/접근 경로/조건의 결과는 settlement.summary.cache-ttl-ms 동안 재사용한다 (0이면 캐시하지 않음).
+     */
     public SettlementSummaryDto getSummary(
             User user,
             OrganizationType entityType,
             OffsetDateTime startDate,
             OffsetDateTime endDate) {
         
-        String userPath = accessControlService.isMasterAdmin(user) ? "" : user.getOrgPath();
+        String userPath = accessControlService.accessPath(user);
         String entityTypeStr = entityType != null ? entityType.name() : null;
         
-        List<Settlement> filteredSettlements = settlementRepository.findAccessibleSettlementsForSummary(
-                userPath,
-                entityTypeStr,
-                startDate,
-                endDate
-        );
-        
-        long totalAmount = filteredSettlements.stream()
-                .mapToLong(Settlement::getAmount)
-                .sum();
-        
-        long totalFeeAmount = filteredSettlements.stream()
-                .mapToLong(Settlement::getFeeAmount)
-                .sum();
-        
-        long totalNetAmount = filteredSettlements.stream()
-                .mapToLong(Settlement::getNetAmount)
-                .sum();
-        
-        long creditAmount = filteredSettlements.stream()
-                .filter(s -> s.getEntryType() == EntryType.CREDIT)
-                .mapToLong(Settlement::getAmount)
-                .sum();
-        
-        long debitAmount = filteredSettlements.stream()
-                .filter(s -> s.getEntryType() == EntryType.DEBIT)
-                .mapToLong(Settlement::getAmount)
-                .sum();
+        SummaryTotals totals = summaryTotals.get(
+                new SummaryKey(TenantContextHolder.getCurrentTenant(), userPath, entityTypeStr, startDate, endDate),
+                summaryCacheTtlMs,
+                () -> SummaryTotals.of(settlementRepository.sumAccessibleSettlements(
+                        userPath, entityTypeStr, startDate, endDate)));
         
         return SettlementSummaryDto.builder()
                 .entityId(user.getOrganization().getId())
                 .entityType(user.getOrganization().getOrgType())
                 .entityPath(user.getOrgPath())
-                .totalAmount(totalAmount)
-                .totalFeeAmount(totalFeeAmount)
-                .totalNetAmount(totalNetAmount)
-                .creditAmount(creditAmount)
-                .debitAmount(debitAmount)
-                .transactionCount((long) filteredSettlements.size())
+                .totalAmount(totals.totalAmount())
+                .totalFeeAmount(totals.totalFeeAmount())
+                .totalNetAmount(totals.totalNetAmount())
+                .creditAmount(totals.creditAmount())
+                .debitAmount(totals.debitAmount())
+                .transactionCount(totals.settlementCount())
                 .currency("KRW")
                 .build();
     }
 
+    /** 캐시용 정산 합계 스냅샷 (projection은 결과 행에 묶여 있으므로 값을 복사해 둔다) */
+    private record SummaryTotals(long totalAmount, long totalFeeAmount, long totalNetAmount,
+                                 long creditAmount, long debitAmount, long settlementCount) {
+
+        static SummaryTotals of(SettlementSummaryTotals totals) {
+            return new SummaryTotals(totals.getTotalAmount(), totals.getTotalFeeAmount(), totals.getTotalNetAmount(),
+                    totals.getCreditAmount(), totals.getDebitAmount(), totals.getSettlementCount());
+        }
+    }
+
     public List<Settlement> getDailyBatchReport(User user, LocalDate date) {
         OffsetDateTime startOfDay = date.atStartOfDay().atOffset(ZoneOffset.UTC);
         OffsetDateTime endOfDay = date.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
         
-        String userPath = accessControlService.isMasterAdmin(user) ? "" : user.getOrgPath();
+        String userPath = accessControlService.accessPath(user);
         
         return settlementRepository.findAccessibleSettlementsInDateRange(
                 userPath,
@@ -152,7 +245,7 @@ public class SettlementQueryService {
             OffsetDateTime startDate,
             OffsetDateTime endDate) {
         
-        String userPath = accessControlService.isMasterAdmin(user) ? "" : user.getOrgPath();
+        String userPath = accessControlService.accessPath(user);
         String orgTypeStr = orgType != null ? orgType.name() : null;
         
         List<OrganizationSettlementAggregation> aggregations = 
@@ -211,22 +304,28 @@ public class SettlementQueryService {
         return null;
     }
 
+    /**
+     * 단일 조직 정산 상세.
+     *
+     * 조직 요약은 해당 조직의 정산만, 가맹점별/계층별 집계는 조직 하위 경로의 정산만 읽으므로 비용이 테넌트 전체가 아닌
+     * 조직 데이터 양에 비례한다. 가맹점별 집계는 별도 커넥션에서 계층별 집계와 동시에 실행하되,
+     * 이 트랜잭션의 스냅샷을 내보내(pg_export_snapshot) 같은 스냅샷으로 읽으므로 세 집계 결과가 서로 일치한다.
+     *
+     * 동시 실행 경로는 요청마다 같은 테넌트 풀의 커넥션을 두 개 쓰므로, 모든 요청이 첫 커넥션을 잡은 채 두 번째를
+     * 기다리며 멈추지 않도록 settlement.detail.parallel-limit(풀 크기보다 작게) 만큼만 허용한다.
+     * 한도를 넘은 요청은 두 집계를 이 트랜잭션에서 차례로 실행한다.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public OrganizationSettlementDetailDto getOrganizationSettlementDetail(
             User user,
             UUID organizationId,
             OffsetDateTime startDate,
             OffsetDateTime endDate) {
         
-        String userPath = accessControlService.isMasterAdmin(user) ? "" : user.getOrgPath();
-        String orgTypeStr = null;
-        
-        List<OrganizationSettlementAggregation> orgAggs = 
-                settlementRepository.aggregateSettlementsByOrganization(
-                        userPath, orgTypeStr, null, startDate, endDate);
+        String userPath = accessControlService.accessPath(user);
         
-        OrganizationSettlementAggregation orgAgg = orgAggs.stream()
-                .filter(agg -> organizationId.equals(agg.getOrganizationId()))
-                .findFirst()
+        OrganizationSettlementAggregation orgAgg = settlementRepository
+                .aggregateSettlementsForOrganization(organizationId, userPath, startDate, endDate)
                 .orElse(null);
         
         if (orgAgg == null) {
@@ -234,23 +333,42 @@ public class SettlementQueryService {
         }
         
         String orgPath = orgAgg.getOrgPath();
-        
-        List<MerchantSettlementAggregation> merchantAggs = 
-                settlementRepository.aggregateMerchantSettlements(orgPath, startDate, endDate);
-        
-        List<HierarchyFeeAggregation> hierarchyAggs = 
-                settlementRepository.aggregateHierarchyFees(orgPath, startDate, endDate);
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        
+        List<MerchantSettlementDto> merchantSettlements;
+        List<HierarchyFeeDto> hierarchyFees;
+        if (!detailWorkers.tryAcquire()) {
+            // 두 번째 커넥션을 쓸 여유가 없으면 이 트랜잭션에서 차례로 집계 (같은 스냅샷)
+            hierarchyFees = aggregateHierarchyFees(orgPath, startDate, endDate);
+            merchantSettlements = aggregateMerchantSettlements(orgPath, startDate, endDate);
+        } else {
+            // 스냅샷 내보내기 실패도 허가를 돌려주도록 획득 직후부터 finally로 감싼다
+            try {
+                String snapshotId = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+                try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                    Future<List<MerchantSettlementDto>> merchants = executor.submit(() ->
+                            TenantContextHolder.runInTenant(tenantId,
+                                    (Supplier<List<MerchantSettlementDto>>) () -> inSnapshot(snapshotId, () ->
+                                            aggregateMerchantSettlements(orgPath, startDate, endDate))));
+
+                    hierarchyFees = aggregateHierarchyFees(orgPath, startDate, endDate);
+                    merchantSettlements = merchants.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("조직 정산 상세 조회가 중단되었습니다", e);
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException("조직 정산 상세 조회에 실패했습니다", e.getCause());
+                }
+            } finally {
+                detailWorkers.release();
+            }
+        }
         
         OrganizationSettlementSummaryDto summary = mapToOrganizationSettlementSummary(orgAgg);
         
-        List<MerchantSettlementDto> merchantSettlements = merchantAggs.stream()
-                .map(this::mapToMerchantSettlement)
-                .collect(Collectors.toList());
-        
-        List<HierarchyFeeDto> hierarchyFees = hierarchyAggs.stream()
-                .map(this::mapToHierarchyFee)
-                .collect(Collectors.toList());
-        
         SettlementCalculationDto calculation = calculateSettlement(summary, hierarchyFees);
         
         return OrganizationSettlementDetailDto.builder()
@@ -266,6 +384,37 @@ public class SettlementQueryService {
                 .build();
     }
 
+    private List<MerchantSettlementDto> aggregateMerchantSettlements(
+            String orgPath, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return settlementRepository.aggregateMerchantSettlements(orgPath, startDate, endDate).stream()
+                .map(this::mapToMerchantSettlement)
+                .collect(Collectors.toList());
+    }
+
+    private List<HierarchyFeeDto> aggregateHierarchyFees(
+            String orgPath, OffsetDateTime startDate, OffsetDateTime endDate) {
+        return settlementRepository.aggregateHierarchyFees(orgPath, startDate, endDate).stream()
+                .map(this::mapToHierarchyFee)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 새 REPEATABLE READ 트랜잭션에서 내보낸 스냅샷을 가져온 뒤 query를 실행한다.
+     * 스냅샷을 내보낸 트랜잭션이 끝나기 전에 호출해야 한다.
+     */
+    private <T> T inSnapshot(String snapshotId, Supplier<T> query) {
+        if (snapshotId == null || !SNAPSHOT_ID.matcher(snapshotId).matches()) {
+            throw new IllegalStateException("Unexpected snapshot id: " + snapshotId);
+        }
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        template.setReadOnly(true);
+        return template.execute(status -> {
+            jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+            return query.get();
+        });
+    }
+
     private MerchantSettlementDto mapToMerchantSettlement(MerchantSettlementAggregation agg) {
         return MerchantSettlementDto.builder()
                 .merchantId(agg.getMerchantId())
@@ -322,64 +471,85 @@ public class SettlementQueryService {
                 .build();
     }
 
+    /**
+     * 정산 배치 목록 (정산일 내림차순).
+     *
+     * cursor가 있으면 이전 페이지 마지막 배치 다음부터 keyset으로 읽고, 없으면 page 오프셋으로 읽는다.
+     * 전체 건수는 테넌트와 필터별로 count-cache-ttl-ms 동안 캐시하므로 다음 페이지 요청마다 COUNT를 다시 하지 않는다.
+     */
     public PagedResponse<SettlementBatchDto> findBatches(
             LocalDate startDate,
             LocalDate endDate,
             SettlementBatchStatus status,
             int page,
-            int size) {
-        
-        // Apply size limit
-        if (size > 100) {
-            size = 100;
-        }
-        
-        // Query all batches
-        List<SettlementBatch> allBatches = settlementBatchRepository.findAll();
-        
-        // Apply filters
-        List<SettlementBatch> filteredBatches = allBatches.stream()
-                .filter(batch -> {
-                    // Filter by date range
-                    if (startDate != null && batch.getSettlementDate().isBefore(startDate)) {
-                        return false;
-                    }
-                    if (endDate != null && batch.getSettlementDate().isAfter(endDate)) {
-                        return false;
-                    }
-                    // Filter by status
-                    if (status != null && batch.getStatus() != status) {
-                        return false;
-                    }
-                    return true;
-                })
-                .sorted(Comparator.comparing(SettlementBatch::getSettlementDate).reversed())
-                .collect(Collectors.toList());
+            int size,
+            String cursor) {
         
-        // Apply pagination
-        int start = page * size;
-        int end = Math.min(start + size, filteredBatches.size());
-        
-        List<SettlementBatch> pageContent = start < filteredBatches.size() 
-                ? filteredBatches.subList(start, end) 
-                : Collections.emptyList();
-        
-        // Convert to DTOs
+        size = Math.clamp(size, 1, 100);
+        String statusStr = status != null ? status.name() : null;
+
+        BatchCursor after = cursor != null && !cursor.isBlank() ? BatchCursor.decode(cursor) : null;
+        List<SettlementBatch> rows = settlementBatchRepository.findBatchPage(
+                startDate, endDate, statusStr,
+                after != null ? after.settlementDate() : null,
+                after != null ? after.id() : null,
+                size + 1,
+                after != null ? 0 : (long) page * size);
+
+        boolean hasNext = rows.size() > size;
+        List<SettlementBatch> pageContent = hasNext ? rows.subList(0, size) : rows;
         List<SettlementBatchDto> dtos = pageContent.stream()
                 .map(SettlementBatchDto::from)
                 .collect(Collectors.toList());
-        
-        // Build paged response
-        int totalPages = (int) Math.ceil((double) filteredBatches.size() / size);
-        
+
+        long total = countBatches(startDate, endDate, statusStr);
+        int totalPages = (int) Math.ceil((double) total / size);
+        String nextCursor = hasNext
+                ? new BatchCursor(pageContent.getLast().getSettlementDate(), pageContent.getLast().getId()).encode()
+                : null;
+
         return PagedResponse.<SettlementBatchDto>builder()
                 .content(dtos)
                 .page(page)
                 .size(size)
-                .totalElements(filteredBatches.size())
+                .totalElements(total)
                 .totalPages(totalPages)
-                .hasNext(page < totalPages - 1)
+                .hasNext(hasNext)
                 .hasPrevious(page > 0)
+                .nextCursor(nextCursor)
                 .build();
     }
+
+    private long countBatches(LocalDate startDate, LocalDate endDate, String status) {
+        return batchCounts.get(
+                new BatchCountKey(TenantContextHolder.getCurrentTenant(), startDate, endDate, status),
+                batchCountTtlMs,
+                () -> settlementBatchRepository.countBatches(startDate, endDate, status));
+    }
+
+    private record BatchCountKey(String tenantId, LocalDate startDate, LocalDate endDate, String status) {
+    }
+
+    private record SummaryKey(String tenantId, String userPath, String entityType,
+                              OffsetDateTime startDate, OffsetDateTime endDate) {
+    }
+
+    /** 배치 목록 keyset 커서 (마지막 배치의 정산일과 id) */
+    private record BatchCursor(LocalDate settlementDate, UUID id) {
+
+        String encode() {
+            String raw = settlementDate + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static BatchCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 2);
+                return new BatchCursor(LocalDate.parse(parts[0]), UUID.fromString(parts[1]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+        }
+    }
 }
@@ -1,16 +1,23 @@
 package com.korpay.billpay.service.settlement;
 
 import com.korpay.billpay.domain.entity.Settlement;
+import com.korpay.billpay.domain.entity.SettlementBatch;
 import com.korpay.billpay.domain.entity.TransactionEvent;
 import com.korpay.billpay.domain.enums.SettlementStatus;
 import com.korpay.billpay.repository.SettlementRepository;
 import com.korpay.billpay.repository.TransactionEventRepository;
+import com.korpay.billpay.service.settlement.balance.SettlementBalanceService;
+import com.korpay.billpay.service.settlement.rollup.SettlementRollupService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -18,7 +25,7 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class SettlementResettlementService {
 
-    private static final List<SettlementStatus> RESETTLEABLE_STATUSES = List.of(
+    static final List<SettlementStatus> RESETTLEABLE_STATUSES = List.of(
             SettlementStatus.FAILED,
             SettlementStatus.PENDING_REVIEW
     );
@@ -26,21 +33,64 @@ public class SettlementResettlementService {
     private final SettlementRepository settlementRepository;
     private final TransactionEventRepository transactionEventRepository;
     private final SettlementService settlementService;
+    private final SettlementRollupService settlementRollupService;
+    private final SettlementBalanceService settlementBalanceService;
 
     @Transactional
     public List<Settlement> resettleByTransactionEventId(UUID transactionEventId) {
         log.info("재정산 시작: transactionEventId={}", transactionEventId);
 
+        Set<LocalDate> settlementDates = new HashSet<>();
+        List<Settlement> newSettlements = resettle(transactionEventId, settlementDates);
+        if (newSettlements == null) {
+            throw new IllegalStateException(
+                    "재정산 가능한 정산이 없습니다. FAILED 또는 PENDING_REVIEW 상태의 정산만 재정산할 수 있습니다.");
+        }
+
+        rebuildRollups(settlementDates);
+        return newSettlements;
+    }
+
+    /**
+     * 여러 거래 이벤트를 한 트랜잭션에서 재정산한다.
+     * 재정산 가능한 정산이 없는 이벤트(이미 재정산된 경우 등)는 건너뛰므로 같은 목록으로 다시 호출해도 안전하다.
+     * 병렬 청크가 같은 정산일 집계를 동시에 재계산하지 않도록 일별 집계는 재계산하지 않으며,
+     * 호출자가 반환된 정산일을 모아 한 번에 재계산해야 한다.
+     */
+    @Transactional
+    public ChunkResult resettleChunk(List<UUID> transactionEventIds) {
+        Set<LocalDate> settlementDates = new HashSet<>();
+        int resettled = 0;
+        for (UUID transactionEventId : transactionEventIds) {
+            if (resettle(transactionEventId, settlementDates) != null) {
+                resettled++;
+            }
+        }
+        return new ChunkResult(resettled, settlementDates);
+    }
+
+    /**
+     * @param resettled       재정산한 이벤트 수
+     * @param settlementDates 집계 재계산이 필요한 배치 정산일
+     */
+    public record ChunkResult(int resettled, Set<LocalDate> settlementDates) {
+    }
+
+    /**
+     * @param settlementDates 기존 정산이 귀속되어 있던 배치 정산일을 추가할 집합
+     * @return 새로 생성된 정산, 재정산 가능한 정산이 없으면 null
+     */
+    private List<Settlement> resettle(UUID transactionEventId, Set<LocalDate> settlementDates) {
         // 1. 기존 정산 조회 (FAILED, PENDING_REVIEW만)
         List<Settlement> existingSettlements = settlementRepository
                 .findByTransactionEventIdAndStatusIn(transactionEventId, RESETTLEABLE_STATUSES);
 
         if (existingSettlements.isEmpty()) {
-            throw new IllegalStateException(
-                    "재정산 가능한 정산이 없습니다. FAILED 또는 PENDING_REVIEW 상태의 정산만 재정산할 수 있습니다.");
+            return null;
         }
 
-        // 2. 기존 정산 전체를 CANCELLED 상태로 변경
+        // 2. 기존 정산 전체를 CANCELLED 상태로 변경 (잔액은 변경 전 상태 기준으로 차감)
+        settlementBalanceService.recordStatusChange(existingSettlements, SettlementStatus.CANCELLED);
         existingSettlements.forEach(s -> s.setStatus(SettlementStatus.CANCELLED));
         settlementRepository.saveAll(existingSettlements);
         log.info("기존 정산 {} 건을 CANCELLED 처리: transactionEventId={}", existingSettlements.size(), transactionEventId);
@@ -53,9 +103,23 @@ public class SettlementResettlementService {
         // 4. SettlementService.processTransactionEvent()로 재생성
         List<Settlement> newSettlements = settlementService.processTransactionEvent(event);
 
+        // 5. 기존 정산이 배치에 귀속되어 있었다면 해당 정산일의 일별 집계를 원장 기준으로 재계산
+        existingSettlements.stream()
+                .map(Settlement::getSettlementBatch)
+                .filter(Objects::nonNull)
+                .map(SettlementBatch::getSettlementDate)
+                .forEach(settlementDates::add);
+
         log.info("재정산 완료: transactionEventId={}, 기존 {} 건 취소, 신규 {} 건 생성",
                 transactionEventId, existingSettlements.size(), newSettlements.size());
 
         return newSettlements;
     }
+
+    private void rebuildRollups(Set<LocalDate> settlementDates) {
+        if (!settlementDates.isEmpty()) {
+            settlementRepository.flush();
+            settlementRollupService.rebuildSettlementDates(settlementDates);
+        }
+    }
 }
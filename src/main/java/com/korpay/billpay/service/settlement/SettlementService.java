@@ -26,8 +26,10 @@ public class SettlementService {
 
     @Transactional
     public List<Settlement> processTransactionEvent(TransactionEvent event) {
-        log.info("Processing settlement for transaction event {}: type={}, amount={}",
-                event.getId(), event.getEventType(), event.getAmount());
+        if (log.isDebugEnabled()) {
+            log.debug("Processing settlement for transaction event {}: type={}, amount={}",
+                    event.getId(), event.getEventType(), event.getAmount());
+        }
 
         Merchant merchant = loadMerchant(event.getMerchantId());
         PaymentMethod paymentMethod = loadPaymentMethod(event.getPaymentMethodId());
@@ -38,8 +40,7 @@ public class SettlementService {
                 paymentMethod.getMethodCode()
         );
 
-        log.info("Successfully processed settlement for event {}: {} settlements created",
-                event.getId(), settlements.size());
+        log.debug("Processed settlement for event {}: {} settlements created", event.getId(), settlements.size());
 
         return settlements;
     }
@@ -50,8 +51,10 @@ public class SettlementService {
             Merchant merchant,
             String paymentMethodCode) {
 
-        log.info("Processing settlement with provided merchant for event {}: type={}, amount={}",
-                event.getId(), event.getEventType(), event.getAmount());
+        if (log.isDebugEnabled()) {
+            log.debug("Processing settlement with provided merchant for event {}: type={}, amount={}",
+                    event.getId(), event.getEventType(), event.getAmount());
+        }
 
         List<Settlement> settlements = settlementCreationService.createSettlements(
                 event,
@@ -59,8 +62,7 @@ public class SettlementService {
                 paymentMethodCode
         );
 
-        log.info("Successfully processed settlement for event {}: {} settlements created",
-                event.getId(), settlements.size());
+        log.debug("Processed settlement for event {}: {} settlements created", event.getId(), settlements.size());
 
         return settlements;
     }
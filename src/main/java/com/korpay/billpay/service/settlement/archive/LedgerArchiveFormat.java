@@ -0,0 +1,144 @@
+package com.korpay.billpay.service.settlement.archive;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * 원장 아카이브 파일 형식 (컬럼형 블록, 자기 기술적).
+ *
+ * <pre>
+ * 파일   := 헤더 블록* 푸터 트레일러
+ * 헤더   := MAGIC(4) 버전(short) 부모 테이블(UTF) 파티션(UTF) 컬럼 수(int) {이름(UTF) 타입(byte) DB 타입(UTF)}*
+ * 블록   := 컬럼별 Deflate 압축 청크 (컬럼 순서대로 연속 기록)
+ * 푸터   := 블록 수(int) {오프셋(long) 행 수(int) {압축 길이(int) 원본 길이(int) CRC32(int) 통계 여부(byte) [min(long) max(long)]}*}*
+ *           총 행 수(long) 행 데이터 SHA-256(32)
+ * 트레일러 := 푸터 오프셋(long) MAGIC(4)
+ * </pre>
+ *
+ * 청크 원본은 NULL 비트맵(행 수/8 올림, 1 = NULL) 뒤에 NULL이 아닌 값만 이어 붙인다.
+ * 정수/시각은 직전 값과의 차이를 zigzag varint로, UUID는 16byte, 문자열은 varint 길이 + UTF-8로 기록한다.
+ * 정수/시각 컬럼은 블록별 min/max를 푸터에 두어 범위 조건에 맞지 않는 블록은 읽지 않는다.
+ *
+ * 행 데이터 체크섬은 인코딩과 무관한 정규 형식(값별 NULL 표시 + 고정 길이 값)으로 계산하므로
+ * 내보낼 때 DB에서 읽은 값과 파일을 다시 해독한 값으로 각각 계산해 비교할 수 있다.
+ */
+public final class LedgerArchiveFormat {
+
+    static final byte[] MAGIC = {'K', 'P', 'L', 'A'};
+    static final short VERSION = 1;
+    static final int TRAILER_SIZE = Long.BYTES + MAGIC.length;
+
+    public static final String FILE_EXTENSION = ".kpla";
+
+    private LedgerArchiveFormat() {
+    }
+
+    public enum ColumnType {
+        /** int2/int4/int8 */
+        LONG,
+        /** timestamptz, epoch 마이크로초로 저장 */
+        TIMESTAMP,
+        BOOLEAN,
+        UUID,
+        /** 그 외 타입은 PostgreSQL 텍스트 표현 그대로 (numeric, jsonb, ltree, date 등) */
+        TEXT;
+
+        public boolean hasStats() {
+            return this == LONG || this == TIMESTAMP;
+        }
+
+        public static ColumnType ofDbType(String dbType) {
+            return switch (dbType) {
+                case "int2", "int4", "int8" -> LONG;
+                case "timestamptz" -> TIMESTAMP;
+                case "bool" -> BOOLEAN;
+                case "uuid" -> UUID;
+                default -> TEXT;
+            };
+        }
+    }
+
+    public record Column(String name, ColumnType type, String dbType) {
+    }
+
+    /**
+     * 정수/시각 컬럼 범위 조건 (양 끝 포함, null이면 제한 없음). 값은 저장 형식(시각은 epoch 마이크로초) 기준이다.
+     */
+    public record Range(String column, Long min, Long max) {
+
+        /** [from, to) 시각 범위 */
+        public static Range between(String column, OffsetDateTime from, OffsetDateTime to) {
+            return new Range(column,
+                    from != null ? toMicros(from) : null,
+                    to != null ? toMicros(to) - 1 : null);
+        }
+
+        boolean overlaps(long blockMin, long blockMax) {
+            return (min == null || blockMax >= min) && (max == null || blockMin <= max);
+        }
+
+        boolean matches(long value) {
+            return (min == null || value >= min) && (max == null || value <= max);
+        }
+    }
+
+    public static long toMicros(OffsetDateTime value) {
+        Instant instant = value.toInstant();
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000L), instant.getNano() / 1_000);
+    }
+
+    public static OffsetDateTime fromMicros(long micros) {
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 값 하나를 정규 형식으로 체크섬에 반영한다. 값은 저장 형식(정수/시각은 Long, 그 외는 해당 Java 타입)이다.
+     */
+    static void digest(MessageDigest digest, ColumnType type, Object value, ByteBuffer scratch) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        digest.update((byte) 1);
+        scratch.clear();
+        switch (type) {
+            case LONG, TIMESTAMP -> scratch.putLong((Long) value);
+            case BOOLEAN -> scratch.put((byte) (((Boolean) value) ? 1 : 0));
+            case UUID -> {
+                UUID uuid = (UUID) value;
+                scratch.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+            }
+            case TEXT -> {
+                byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                scratch.putInt(bytes.length);
+                digest.update(scratch.array(), 0, scratch.position());
+                digest.update(bytes);
+                return;
+            }
+        }
+        digest.update(scratch.array(), 0, scratch.position());
+    }
+
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
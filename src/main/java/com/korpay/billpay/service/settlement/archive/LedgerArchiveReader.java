@@ -0,0 +1,384 @@
+package com.korpay.billpay.service.settlement.archive;
+
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Column;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.ColumnType;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Range;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * 원장 아카이브 파일 판독기 (형식은 {@link LedgerArchiveFormat}).
+ *
+ * 열 때 헤더와 푸터만 읽고, 조회 시 블록 통계(min/max)가 범위 조건과 겹치지 않는 블록은 건너뛴다.
+ * 남은 블록도 조건 컬럼을 먼저 해독해 일치하는 행이 있을 때만 나머지 요청 컬럼을 해독한다.
+ * 청크마다 CRC32를 확인하므로 손상된 파일은 조회 중에도 예외로 드러난다.
+ */
+public final class LedgerArchiveReader implements Closeable {
+
+    private final FileChannel channel;
+    private final String parentTable;
+    private final String partitionName;
+    private final List<Column> columns;
+    private final Block[] blocks;
+    private final long rowCount;
+    private final String checksum;
+
+    @FunctionalInterface
+    public interface RowSink {
+        /**
+         * @param row 요청 컬럼 순서의 값 (시각은 UTC OffsetDateTime)
+         * @return false면 조회 중단
+         */
+        boolean accept(Object[] row);
+    }
+
+    public record ScanStats(int blocksRead, int blocksSkipped, long rowsMatched) {
+    }
+
+    public record VerifyResult(long rows, String checksum) {
+    }
+
+    private LedgerArchiveReader(FileChannel channel) throws IOException {
+        this.channel = channel;
+
+        long size = channel.size();
+        if (size < LedgerArchiveFormat.TRAILER_SIZE) {
+            throw new IOException("아카이브 파일이 너무 짧습니다: " + size);
+        }
+        DataInputStream trailer = input(size - LedgerArchiveFormat.TRAILER_SIZE, LedgerArchiveFormat.TRAILER_SIZE);
+        long footerOffset = trailer.readLong();
+        checkMagic(trailer);
+
+        DataInputStream header = input(0, (int) Math.min(footerOffset, 64 * 1024));
+        checkMagic(header);
+        short version = header.readShort();
+        if (version != LedgerArchiveFormat.VERSION) {
+            throw new IOException("지원하지 않는 아카이브 버전입니다: " + version);
+        }
+        this.parentTable = header.readUTF();
+        this.partitionName = header.readUTF();
+        int columnCount = header.readInt();
+        List<Column> columnList = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            columnList.add(new Column(header.readUTF(), ColumnType.values()[header.readUnsignedByte()], header.readUTF()));
+        }
+        this.columns = List.copyOf(columnList);
+
+        DataInputStream footer = input(footerOffset, (int) (size - LedgerArchiveFormat.TRAILER_SIZE - footerOffset));
+        this.blocks = new Block[footer.readInt()];
+        for (int b = 0; b < blocks.length; b++) {
+            long offset = footer.readLong();
+            int rows = footer.readInt();
+            Chunk[] chunks = new Chunk[columnCount];
+            long chunkOffset = offset;
+            for (int c = 0; c < columnCount; c++) {
+                int compressedLength = footer.readInt();
+                int rawLength = footer.readInt();
+                int crc = footer.readInt();
+                boolean hasStats = footer.readBoolean();
+                long min = hasStats ? footer.readLong() : 0;
+                long max = hasStats ? footer.readLong() : 0;
+                chunks[c] = new Chunk(chunkOffset, compressedLength, rawLength, crc, hasStats, min, max);
+                chunkOffset += compressedLength;
+            }
+            blocks[b] = new Block(rows, chunks);
+        }
+        this.rowCount = footer.readLong();
+        byte[] digest = new byte[32];
+        footer.readFully(digest);
+        this.checksum = HexFormat.of().formatHex(digest);
+    }
+
+    public static LedgerArchiveReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            return new LedgerArchiveReader(channel);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public String parentTable() {
+        return parentTable;
+    }
+
+    public String partitionName() {
+        return partitionName;
+    }
+
+    public List<Column> columns() {
+        return columns;
+    }
+
+    /** 기록 시점의 총 행 수 (푸터) */
+    public long rowCount() {
+        return rowCount;
+    }
+
+    /** 기록 시점에 계산한 행 데이터 SHA-256 (푸터) */
+    public String checksum() {
+        return checksum;
+    }
+
+    /**
+     * @param projection 반환할 컬럼 (null이면 전체)
+     * @param ranges     정수/시각 컬럼 범위 조건 (블록 통계로 건너뛰고 행 단위로 다시 거른다)
+     * @param equalTo    컬럼 값 일치 조건 (행 단위, 값은 조회 결과 타입과 같아야 함)
+     */
+    public ScanStats scan(List<String> projection, List<Range> ranges, Map<String, Object> equalTo, RowSink sink)
+            throws IOException {
+        int[] projected = projection != null
+                ? projection.stream().mapToInt(this::columnIndex).toArray()
+                : IntStream.range(0, columns.size()).toArray();
+        int[] rangeColumns = ranges.stream().mapToInt(r -> statsColumnIndex(r.column())).toArray();
+        int[] equalColumns = equalTo.keySet().stream().mapToInt(this::columnIndex).toArray();
+        Object[] equalValues = equalTo.values().toArray();
+
+        int read = 0;
+        int skipped = 0;
+        long matched = 0;
+        Object[][] decoded = new Object[columns.size()][];
+
+        for (Block block : blocks) {
+            if (!overlaps(block, ranges, rangeColumns)) {
+                skipped++;
+                continue;
+            }
+            read++;
+            Arrays.fill(decoded, null);
+
+            boolean[] keep = new boolean[block.rows];
+            Arrays.fill(keep, true);
+            boolean any = true;
+            for (int i = 0; i < rangeColumns.length && any; i++) {
+                Object[] values = decoded(block, rangeColumns[i], decoded);
+                Range range = ranges.get(i);
+                any = false;
+                for (int row = 0; row < block.rows; row++) {
+                    keep[row] &= values[row] != null && range.matches((Long) values[row]);
+                    any |= keep[row];
+                }
+            }
+            for (int i = 0; i < equalColumns.length && any; i++) {
+                Object[] values = decoded(block, equalColumns[i], decoded);
+                Object expected = equalValues[i];
+                any = false;
+                for (int row = 0; row < block.rows; row++) {
+                    keep[row] &= expected.equals(external(columns.get(equalColumns[i]).type(), values[row]));
+                    any |= keep[row];
+                }
+            }
+            if (!any) {
+                continue;
+            }
+
+            for (int column : projected) {
+                decoded(block, column, decoded);
+            }
+            for (int row = 0; row < block.rows; row++) {
+                if (!keep[row]) {
+                    continue;
+                }
+                Object[] out = new Object[projected.length];
+                for (int i = 0; i < projected.length; i++) {
+                    out[i] = external(columns.get(projected[i]).type(), decoded[projected[i]][row]);
+                }
+                matched++;
+                if (!sink.accept(out)) {
+                    return new ScanStats(read, skipped, matched);
+                }
+            }
+        }
+        return new ScanStats(read, skipped, matched);
+    }
+
+    /**
+     * 모든 청크를 해독해 CRC32를 확인하고 행 데이터 체크섬을 다시 계산한다.
+     */
+    public VerifyResult verify() throws IOException {
+        MessageDigest digest = LedgerArchiveFormat.sha256();
+        ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES * 2);
+        Object[][] decoded = new Object[columns.size()][];
+        long rows = 0;
+        for (Block block : blocks) {
+            for (int c = 0; c < columns.size(); c++) {
+                decoded[c] = decode(block.chunks[c], columns.get(c).type(), block.rows);
+            }
+            for (int row = 0; row < block.rows; row++) {
+                for (int c = 0; c < columns.size(); c++) {
+                    LedgerArchiveFormat.digest(digest, columns.get(c).type(), decoded[c][row], scratch);
+                }
+            }
+            rows += block.rows;
+        }
+        return new VerifyResult(rows, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private Object[] decoded(Block block, int column, Object[][] decoded) throws IOException {
+        if (decoded[column] == null) {
+            decoded[column] = decode(block.chunks[column], columns.get(column).type(), block.rows);
+        }
+        return decoded[column];
+    }
+
+    private boolean overlaps(Block block, List<Range> ranges, int[] rangeColumns) {
+        for (int i = 0; i < rangeColumns.length; i++) {
+            Chunk chunk = block.chunks[rangeColumns[i]];
+            if (!chunk.hasStats || !ranges.get(i).overlaps(chunk.min, chunk.max)) {
+                // 통계가 없으면 NULL만 있는 블록이므로 범위 조건을 만족하는 행이 없다
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Object[] decode(Chunk chunk, ColumnType type, int rows) throws IOException {
+        ByteBuffer compressed = ByteBuffer.allocate(chunk.compressedLength);
+        readFully(chunk.offset, compressed);
+
+        byte[] raw = new byte[chunk.rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.array());
+            int n = 0;
+            while (n < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, n, raw.length - n);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += inflated;
+            }
+            if (n != raw.length) {
+                throw new IOException("압축 해제 길이가 다릅니다: " + n + " != " + raw.length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("아카이브 청크 압축 해제 실패", e);
+        } finally {
+            inflater.end();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(raw);
+        if ((int) crc.getValue() != chunk.crc) {
+            throw new IOException("아카이브 청크 CRC 불일치 (offset=" + chunk.offset + ")");
+        }
+
+        Object[] values = new Object[rows];
+        int pos = (rows + 7) >>> 3;
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            if ((raw[row >>> 3] & (1 << (row & 7))) != 0) {
+                continue;
+            }
+            switch (type) {
+                case LONG, TIMESTAMP -> {
+                    long zigzag = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = raw[pos++];
+                        zigzag |= (long) (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    previous += LedgerArchiveFormat.unzigzag(zigzag);
+                    values[row] = previous;
+                }
+                case BOOLEAN -> values[row] = raw[pos++] != 0;
+                case UUID -> {
+                    ByteBuffer buffer = ByteBuffer.wrap(raw, pos, 16);
+                    values[row] = new UUID(buffer.getLong(), buffer.getLong());
+                    pos += 16;
+                }
+                case TEXT -> {
+                    int length = 0;
+                    int shift = 0;
+                    byte b;
+                    do {
+                        b = raw[pos++];
+                        length |= (b & 0x7F) << shift;
+                        shift += 7;
+                    } while (b < 0);
+                    values[row] = new String(raw, pos, length, StandardCharsets.UTF_8);
+                    pos += length;
+                }
+            }
+        }
+        return values;
+    }
+
+    private static Object external(ColumnType type, Object value) {
+        return type == ColumnType.TIMESTAMP && value != null ? LedgerArchiveFormat.fromMicros((Long) value) : value;
+    }
+
+    private int columnIndex(String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).name().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("아카이브에 없는 컬럼입니다: " + name);
+    }
+
+    private int statsColumnIndex(String name) {
+        int index = columnIndex(name);
+        if (!columns.get(index).type().hasStats()) {
+            throw new IllegalArgumentException("범위 조건은 정수/시각 컬럼만 가능합니다: " + name);
+        }
+        return index;
+    }
+
+    private DataInputStream input(long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        readFully(position, buffer);
+        return new DataInputStream(new ByteArrayInputStream(buffer.array()));
+    }
+
+    private void readFully(long position, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("아카이브 파일이 잘렸습니다");
+            }
+        }
+    }
+
+    private static void checkMagic(DataInputStream in) throws IOException {
+        byte[] magic = new byte[LedgerArchiveFormat.MAGIC.length];
+        in.readFully(magic);
+        if (!Arrays.equals(magic, LedgerArchiveFormat.MAGIC)) {
+            throw new IOException("아카이브 파일 형식이 아닙니다");
+        }
+    }
+
+    private record Block(int rows, Chunk[] chunks) {
+    }
+
+    private record Chunk(long offset, int compressedLength, int rawLength, int crc,
+                         boolean hasStats, long min, long max) {
+    }
+}
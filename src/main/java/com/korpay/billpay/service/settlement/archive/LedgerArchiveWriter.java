@@ -0,0 +1,272 @@
+package com.korpay.billpay.service.settlement.archive;
+
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Column;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.ColumnType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * 원장 아카이브 파일 기록기 (형식은 {@link LedgerArchiveFormat}).
+ *
+ * 행을 받는 대로 컬럼별 버퍼에 인코딩하고 blockRows마다 컬럼 청크를 압축해 내보내므로 메모리 사용량은
+ * 블록 하나 크기로 일정하다. 값은 저장 형식(정수/시각은 Long, 불리언, UUID, 문자열)으로 넘긴다.
+ * out은 finish()에서 flush만 하고 닫지 않는다.
+ */
+final class LedgerArchiveWriter {
+
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final int blockRows;
+    private final CountingOutputStream counting;
+    private final DataOutputStream out;
+    private final ColumnEncoder[] encoders;
+    private final Deflater deflater;
+    private final byte[] deflateBuffer = new byte[OUTPUT_BUFFER_SIZE];
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES * 2);
+    private final MessageDigest digest = LedgerArchiveFormat.sha256();
+    private final CRC32 crc = new CRC32();
+    private final Buffer raw = new Buffer();
+    private final List<BlockMeta> blocks = new ArrayList<>();
+
+    private int blockRowCount;
+    private long totalRows;
+
+    record Result(long rows, int blocks, String checksum) {
+    }
+
+    LedgerArchiveWriter(OutputStream target, String parentTable, String partitionName, List<Column> columns,
+                        int blockRows, int compressionLevel) throws IOException {
+        this.blockRows = Math.max(1, blockRows);
+        this.counting = new CountingOutputStream(new BufferedOutputStream(target, OUTPUT_BUFFER_SIZE));
+        this.out = new DataOutputStream(counting);
+        this.encoders = new ColumnEncoder[columns.size()];
+        for (int i = 0; i < encoders.length; i++) {
+            encoders[i] = new ColumnEncoder(columns.get(i).type());
+        }
+        this.deflater = new Deflater(compressionLevel);
+
+        out.write(LedgerArchiveFormat.MAGIC);
+        out.writeShort(LedgerArchiveFormat.VERSION);
+        out.writeUTF(parentTable);
+        out.writeUTF(partitionName);
+        out.writeInt(columns.size());
+        for (Column column : columns) {
+            out.writeUTF(column.name());
+            out.writeByte(column.type().ordinal());
+            out.writeUTF(column.dbType());
+        }
+    }
+
+    void writeRow(Object[] values) throws IOException {
+        if (values.length != encoders.length) {
+            throw new IllegalArgumentException("컬럼 수가 다릅니다: " + values.length + " != " + encoders.length);
+        }
+        for (int i = 0; i < values.length; i++) {
+            encoders[i].add(blockRowCount, values[i]);
+            LedgerArchiveFormat.digest(digest, encoders[i].type, values[i], scratch);
+        }
+        blockRowCount++;
+        totalRows++;
+        if (blockRowCount == blockRows) {
+            flushBlock();
+        }
+    }
+
+    Result finish() throws IOException {
+        try {
+            if (blockRowCount > 0) {
+                flushBlock();
+            }
+            long footerOffset = counting.count;
+            out.writeInt(blocks.size());
+            for (BlockMeta block : blocks) {
+                out.writeLong(block.offset);
+                out.writeInt(block.rows);
+                for (ChunkMeta chunk : block.chunks) {
+                    out.writeInt(chunk.compressedLength);
+                    out.writeInt(chunk.rawLength);
+                    out.writeInt(chunk.crc);
+                    out.writeBoolean(chunk.hasStats);
+                    if (chunk.hasStats) {
+                        out.writeLong(chunk.min);
+                        out.writeLong(chunk.max);
+                    }
+                }
+            }
+            byte[] checksum = digest.digest();
+            out.writeLong(totalRows);
+            out.write(checksum);
+            out.writeLong(footerOffset);
+            out.write(LedgerArchiveFormat.MAGIC);
+            out.flush();
+            return new Result(totalRows, blocks.size(), HexFormat.of().formatHex(checksum));
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        BlockMeta block = new BlockMeta(counting.count, blockRowCount, new ChunkMeta[encoders.length]);
+        for (int i = 0; i < encoders.length; i++) {
+            ColumnEncoder encoder = encoders[i];
+            raw.size = 0;
+            raw.put(encoder.nulls, 0, (blockRowCount + 7) >>> 3);
+            raw.put(encoder.values.bytes, 0, encoder.values.size);
+
+            crc.reset();
+            crc.update(raw.bytes, 0, raw.size);
+
+            long before = counting.count;
+            deflater.reset();
+            deflater.setInput(raw.bytes, 0, raw.size);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int n = deflater.deflate(deflateBuffer);
+                out.write(deflateBuffer, 0, n);
+            }
+
+            block.chunks[i] = new ChunkMeta((int) (counting.count - before), raw.size, (int) crc.getValue(),
+                    encoder.type.hasStats() && encoder.nonNull > 0, encoder.min, encoder.max);
+            encoder.reset();
+        }
+        blocks.add(block);
+        blockRowCount = 0;
+    }
+
+    private static final class ColumnEncoder {
+
+        final ColumnType type;
+        final Buffer values = new Buffer();
+        byte[] nulls = new byte[128];
+        long previous;
+        long min;
+        long max;
+        int nonNull;
+
+        ColumnEncoder(ColumnType type) {
+            this.type = type;
+            reset();
+        }
+
+        void add(int row, Object value) {
+            int index = row >>> 3;
+            if (index >= nulls.length) {
+                nulls = Arrays.copyOf(nulls, nulls.length << 1);
+            }
+            if (value == null) {
+                nulls[index] |= (byte) (1 << (row & 7));
+                return;
+            }
+            nonNull++;
+            switch (type) {
+                case LONG, TIMESTAMP -> {
+                    long v = (Long) value;
+                    values.putVarLong(LedgerArchiveFormat.zigzag(v - previous));
+                    previous = v;
+                    min = Math.min(min, v);
+                    max = Math.max(max, v);
+                }
+                case BOOLEAN -> values.put((byte) (((Boolean) value) ? 1 : 0));
+                case UUID -> {
+                    UUID uuid = (UUID) value;
+                    values.putLong(uuid.getMostSignificantBits());
+                    values.putLong(uuid.getLeastSignificantBits());
+                }
+                case TEXT -> {
+                    byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+                    values.putVarLong(bytes.length);
+                    values.put(bytes, 0, bytes.length);
+                }
+            }
+        }
+
+        void reset() {
+            Arrays.fill(nulls, (byte) 0);
+            values.size = 0;
+            previous = 0;
+            min = Long.MAX_VALUE;
+            max = Long.MIN_VALUE;
+            nonNull = 0;
+        }
+    }
+
+    private static final class Buffer {
+
+        byte[] bytes = new byte[4096];
+        int size;
+
+        void put(byte b) {
+            ensure(1);
+            bytes[size++] = b;
+        }
+
+        void put(byte[] src, int offset, int length) {
+            ensure(length);
+            System.arraycopy(src, offset, bytes, size, length);
+            size += length;
+        }
+
+        void putLong(long v) {
+            ensure(Long.BYTES);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                bytes[size++] = (byte) (v >>> shift);
+            }
+        }
+
+        void putVarLong(long v) {
+            ensure(10);
+            while ((v & ~0x7FL) != 0) {
+                bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            bytes[size++] = (byte) v;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length << 1, size + extra));
+            }
+        }
+    }
+
+    private record BlockMeta(long offset, int rows, ChunkMeta[] chunks) {
+    }
+
+    private record ChunkMeta(int compressedLength, int rawLength, int crc, boolean hasStats, long min, long max) {
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
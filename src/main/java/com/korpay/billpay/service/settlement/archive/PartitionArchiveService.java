@@ -0,0 +1,373 @@
+package com.korpay.billpay.service.settlement.archive;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Column;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.ColumnType;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Range;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * 분리된 원장 파티션의 콜드 스토리지 아카이브.
+ *
+ * partition_archive의 DETACHED 파티션을 컬럼형 압축 파일({@link LedgerArchiveFormat})로 내보내고,
+ * DB 행 수와 카탈로그 행 수, 파일을 다시 해독해 계산한 행 수/체크섬이 모두 일치할 때만 ARCHIVED로 표시한다.
+ * drop-after-archive가 켜져 있으면 검증된 파티션 테이블을 삭제하고 DROPPED로 표시한다.
+ *
+ * 과거 명세 조회는 기간이 겹치는 아카이브 파일만 열고, 파일 안에서도 created_at 블록 통계로
+ * 범위 밖 블록을 건너뛴다.
+ */
+@Slf4j
+@Service
+public class PartitionArchiveService {
+
+    /** 아카이브 대상 부모 테이블 (파티션 키는 모두 created_at) */
+    public static final Set<String> ARCHIVABLE_TABLES = Set.of("transaction_events", "settlements");
+
+    /** 테이블별 접근 범위 판단 경로 컬럼 (목록 조회와 같은 기준) */
+    private static final Map<String, String> ACCESS_PATH_COLUMNS = Map.of(
+            "transaction_events", "org_path",
+            "settlements", "entity_path");
+
+    private static final String PARTITION_KEY = "created_at";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z][a-z0-9_]*");
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${settlement.archive.dir:archive}")
+    private String archiveDir;
+
+    @Value("${settlement.archive.block-rows:65536}")
+    private int blockRows;
+
+    @Value("${settlement.archive.compression-level:6}")
+    private int compressionLevel;
+
+    @Value("${settlement.archive.drop-after-archive:false}")
+    private boolean dropAfterArchive;
+
+    public PartitionArchiveService(TenantService tenantService,
+                                   JdbcTemplate jdbcTemplate,
+                                   DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${settlement.archive.fetch-size:5000}") int fetchSize) {
+        this.tenantService = tenantService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public record ArchiveCandidate(UUID id, String parentTable, String partitionName,
+                                   OffsetDateTime rangeStart, OffsetDateTime rangeEnd, long rowCount) {
+    }
+
+    public record ArchiveResult(String partitionName, Path file, long rows, long fileBytes, String checksum,
+                                boolean dropped) {
+    }
+
+    public record ArchivedRows(List<Map<String, Object>> rows, int filesRead, int blocksRead, int blocksSkipped,
+                               boolean truncated) {
+    }
+
+    @Scheduled(cron = "${settlement.archive.cron:0 0 5 * * *}")
+    public void archiveAllTenants() {
+        if (!enabled) {
+            return;
+        }
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                TenantContextHolder.runInTenant(tenantId, (Runnable) () -> archiveCurrentTenant(tenantId));
+            } catch (Exception e) {
+                log.error("Partition archive failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 현재 테넌트의 DETACHED 파티션을 모두 아카이브한다. 한 파티션의 실패는 기록만 하고 다음 파티션으로 넘어간다.
+     */
+    public List<ArchiveResult> archiveCurrentTenant(String tenantId) {
+        List<ArchiveCandidate> candidates = jdbcTemplate.query("""
+                SELECT id, parent_table, partition_name, range_start, range_end, row_count
+                FROM partition_archive
+                WHERE status = 'DETACHED'
+                ORDER BY range_start, partition_name
+                """, (rs, rowNum) -> new ArchiveCandidate(
+                rs.getObject("id", UUID.class),
+                rs.getString("parent_table"),
+                rs.getString("partition_name"),
+                rs.getObject("range_start", OffsetDateTime.class),
+                rs.getObject("range_end", OffsetDateTime.class),
+                rs.getLong("row_count")));
+
+        List<ArchiveResult> results = new ArrayList<>(candidates.size());
+        for (ArchiveCandidate candidate : candidates) {
+            try {
+                ArchiveResult result = archive(tenantId, candidate);
+                results.add(result);
+                meterRegistry.counter("partition.archive.archived", "tenant", tenantId,
+                        "table", candidate.parentTable()).increment();
+                log.info("Archived partition {} for tenant {}: rows={}, bytes={}, checksum={}, dropped={}",
+                        candidate.partitionName(), tenantId, result.rows(), result.fileBytes(), result.checksum(),
+                        result.dropped());
+            } catch (Exception e) {
+                meterRegistry.counter("partition.archive.failed", "tenant", tenantId,
+                        "table", candidate.parentTable()).increment();
+                log.error("Archive of partition {} failed for tenant {}: {}",
+                        candidate.partitionName(), tenantId, e.getMessage(), e);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * @throws IllegalStateException 행 수나 체크섬 검증에 실패한 경우 (파티션과 카탈로그는 그대로 둔다)
+     */
+    public ArchiveResult archive(String tenantId, ArchiveCandidate candidate) throws IOException {
+        String partition = checkTableName(candidate.partitionName());
+        checkTableName(candidate.parentTable());
+
+        Path target = Path.of(archiveDir, tenantId, candidate.parentTable(),
+                partition + LedgerArchiveFormat.FILE_EXTENSION).toAbsolutePath();
+        Files.createDirectories(target.getParent());
+
+        LedgerArchiveWriter.Result written;
+        Path temp = Files.createTempFile(target.getParent(), partition, ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                written = export(candidate, out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        // 분리된 테이블은 더 이상 쓰기가 없으므로 DB, 카탈로그, 파일 행 수가 모두 같아야 한다
+        Long dbRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM \"" + partition + "\"", Long.class);
+        LedgerArchiveReader.VerifyResult verified;
+        try (LedgerArchiveReader reader = LedgerArchiveReader.open(target)) {
+            verified = reader.verify();
+            if (!reader.checksum().equals(written.checksum())) {
+                throw new IllegalStateException("아카이브 푸터 체크섬 불일치: " + partition);
+            }
+        }
+        if (dbRows == null || dbRows != written.rows() || candidate.rowCount() != written.rows()
+                || verified.rows() != written.rows()) {
+            throw new IllegalStateException("아카이브 행 수 불일치: " + partition + " (db=" + dbRows
+                    + ", catalog=" + candidate.rowCount() + ", written=" + written.rows()
+                    + ", file=" + verified.rows() + ")");
+        }
+        if (!verified.checksum().equals(written.checksum())) {
+            throw new IllegalStateException("아카이브 체크섬 불일치: " + partition + " (written=" + written.checksum()
+                    + ", file=" + verified.checksum() + ")");
+        }
+
+        long fileBytes = Files.size(target);
+        jdbcTemplate.update("""
+                UPDATE partition_archive
+                SET status = 'ARCHIVED',
+                    file_path = ?,
+                    file_bytes = ?,
+                    content_checksum = ?,
+                    archived_at = now(),
+                    updated_at = now()
+                WHERE id = ? AND status = 'DETACHED'
+                """, target.toString(), fileBytes, written.checksum(), candidate.id());
+
+        boolean dropped = false;
+        if (dropAfterArchive) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS \"" + partition + "\"");
+                jdbcTemplate.update("""
+                        UPDATE partition_archive SET status = 'DROPPED', updated_at = now()
+                        WHERE id = ? AND status = 'ARCHIVED'
+                        """, candidate.id());
+            });
+            dropped = true;
+        }
+        return new ArchiveResult(partition, target, written.rows(), fileBytes, written.checksum(), dropped);
+    }
+
+    /**
+     * 가맹점(선택)의 KST 일자 범위 [startDate, endDate] 아카이브 원장 조회.
+     *
+     * @param accessPath {@link com.korpay.billpay.service.auth.AccessControlService#accessPath} (빈 문자열이면 전체)
+     */
+    public ArchivedRows findArchivedRows(String parentTable, String accessPath, UUID merchantId,
+                                         LocalDate startDate, LocalDate endDate, int limit) {
+        return findArchivedRows(parentTable, accessPath,
+                startDate.atStartOfDay(KST).toOffsetDateTime(),
+                endDate.plusDays(1).atStartOfDay(KST).toOffsetDateTime(),
+                merchantId != null ? Map.of("merchant_id", merchantId) : Map.of(),
+                null, limit);
+    }
+
+    /**
+     * 아카이브된 과거 원장 조회 (드문 과거 명세 요청용).
+     *
+     * @param accessPath 이 경로 하위(자신 포함)의 행만 반환 (빈 문자열이면 전체). 경로 컬럼은 테이블별로
+     *                   transaction_events.org_path, settlements.entity_path
+     * @param from       created_at 하한 (포함)
+     * @param to         created_at 상한 (미포함)
+     * @param equalTo    컬럼 값 일치 조건 (예: merchant_id → UUID)
+     * @param columns    반환 컬럼 (null이면 전체)
+     * @param limit      최대 행 수
+     */
+    public ArchivedRows findArchivedRows(String parentTable, String accessPath, OffsetDateTime from, OffsetDateTime to,
+                                         Map<String, Object> equalTo, List<String> columns, int limit) {
+        if (!ARCHIVABLE_TABLES.contains(parentTable)) {
+            throw new IllegalArgumentException("아카이브 대상 테이블이 아닙니다: " + parentTable);
+        }
+        if (accessPath == null) {
+            throw new IllegalArgumentException("접근 경로가 필요합니다");
+        }
+        String pathColumn = ACCESS_PATH_COLUMNS.get(parentTable);
+        String pathPrefix = accessPath + ".";
+
+        List<String> files = jdbcTemplate.queryForList("""
+                SELECT file_path
+                FROM partition_archive
+                WHERE parent_table = ?
+                  AND status IN ('ARCHIVED', 'DROPPED')
+                  AND range_start < ? AND range_end > ?
+                ORDER BY range_start
+                """, String.class, parentTable, to, from);
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        List<Range> ranges = List.of(Range.between(PARTITION_KEY, from, to));
+        int blocksRead = 0;
+        int blocksSkipped = 0;
+        boolean[] truncated = {false};
+        for (String file : files) {
+            if (truncated[0]) {
+                break;
+            }
+            try (LedgerArchiveReader reader = LedgerArchiveReader.open(Path.of(file))) {
+                List<String> names = columns != null ? columns
+                        : reader.columns().stream().map(Column::name).toList();
+                // 경로 컬럼을 요청하지 않았어도 접근 범위 판단을 위해 함께 읽고 결과에서는 뺀다
+                List<String> scanned = names;
+                if (!accessPath.isEmpty() && !names.contains(pathColumn)) {
+                    scanned = new ArrayList<>(names);
+                    scanned.add(pathColumn);
+                }
+                int pathIndex = scanned.indexOf(pathColumn);
+                LedgerArchiveReader.ScanStats stats = reader.scan(scanned, ranges, equalTo, row -> {
+                    if (!accessPath.isEmpty()) {
+                        String path = (String) row[pathIndex];
+                        if (path == null || !(path.equals(accessPath) || path.startsWith(pathPrefix))) {
+                            return true;
+                        }
+                    }
+                    if (rows.size() >= limit) {
+                        truncated[0] = true;
+                        return false;
+                    }
+                    Map<String, Object> map = new LinkedHashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        map.put(names.get(i), row[i]);
+                    }
+                    rows.add(map);
+                    return true;
+                });
+                blocksRead += stats.blocksRead();
+                blocksSkipped += stats.blocksSkipped();
+            } catch (IOException e) {
+                throw new UncheckedIOException("아카이브 파일을 읽을 수 없습니다: " + file, e);
+            }
+        }
+        return new ArchivedRows(rows, files.size(), blocksRead, blocksSkipped, truncated[0]);
+    }
+
+    private LedgerArchiveWriter.Result export(ArchiveCandidate candidate, OutputStream out) {
+        // 행 순서는 힙 순서(대체로 생성 순)를 그대로 쓴다. 정렬 없이도 블록별 created_at 범위는 좁게 유지된다.
+        String sql = "SELECT * FROM \"" + candidate.partitionName() + "\"";
+        return readOnlyTransactionTemplate.execute(status -> streamingJdbcTemplate.query(sql,
+                (ResultSetExtractor<LedgerArchiveWriter.Result>) rs -> {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    List<Column> columns = new ArrayList<>(meta.getColumnCount());
+                    for (int i = 1; i <= meta.getColumnCount(); i++) {
+                        String dbType = meta.getColumnTypeName(i);
+                        columns.add(new Column(meta.getColumnName(i), ColumnType.ofDbType(dbType), dbType));
+                    }
+                    try {
+                        LedgerArchiveWriter writer = new LedgerArchiveWriter(out, candidate.parentTable(),
+                                candidate.partitionName(), columns, blockRows, compressionLevel);
+                        Object[] values = new Object[columns.size()];
+                        while (rs.next()) {
+                            for (int i = 0; i < values.length; i++) {
+                                values[i] = readValue(rs, i + 1, columns.get(i).type());
+                            }
+                            writer.writeRow(values);
+                        }
+                        return writer.finish();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+    }
+
+    private static Object readValue(ResultSet rs, int index, ColumnType type) throws SQLException {
+        Object value = switch (type) {
+            case LONG -> rs.getLong(index);
+            case TIMESTAMP -> {
+                OffsetDateTime time = rs.getObject(index, OffsetDateTime.class);
+                yield time != null ? LedgerArchiveFormat.toMicros(time) : null;
+            }
+            case BOOLEAN -> rs.getBoolean(index);
+            case UUID -> rs.getObject(index, UUID.class);
+            case TEXT -> rs.getString(index);
+        };
+        return rs.wasNull() ? null : value;
+    }
+
+    private static String checkTableName(String name) {
+        if (name == null || !TABLE_NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("잘못된 테이블 이름입니다: " + name);
+        }
+        return name;
+    }
+}
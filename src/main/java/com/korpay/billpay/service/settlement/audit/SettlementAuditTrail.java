@@ -0,0 +1,211 @@
+package com.korpay.billpay.service.settlement.audit;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.Settlement;
+import com.korpay.billpay.domain.entity.TransactionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 정산 생성 감사 기록(audit trail).
+ *
+ * 이벤트별 정산 결과(대상, 금액, 수수료, 요율)를 한 줄 JSON으로 남긴다. 정산 경로에서는 표본 여부만 판단해
+ * 원시 값만 복사한 항목을 큐에 넣고, 직렬화와 출력은 스케줄러 스레드가 모아서 배치 단위로 수행한다.
+ * 항목은 정산 트랜잭션이 커밋된 뒤에 큐에 들어가므로 롤백 후 재처리된 정산이 중복 기록되지 않는다.
+ *
+ * 표본 추출은 이벤트 ID 해시 기준이라 같은 이벤트는 항상 같은 결과가 되며, Zero-Sum 검증 실패는 표본과
+ * 무관하게 모두 기록한다. 출력은 전용 로거(settlement.audit-trail)의 레벨로도 끌 수 있다(OFF면 큐에 넣지 않음).
+ * 큐가 가득 차면 정산 처리를 지연시키지 않도록 버리고 settlement.audit.trail.dropped 지표로 센다.
+ */
+@Slf4j
+@Component
+public class SettlementAuditTrail {
+
+    private static final Logger TRAIL = LoggerFactory.getLogger("settlement.audit-trail");
+
+    private static final int SAMPLE_SCALE = 10_000;
+
+    private final boolean enabled;
+    private final int sampleThreshold;
+    private final int batchSize;
+    private final BlockingQueue<Entry> queue;
+    private final Counter dropped;
+
+    public SettlementAuditTrail(@Value("${settlement.audit-trail.enabled:false}") boolean enabled,
+                                @Value("${settlement.audit-trail.sample-rate:0.01}") double sampleRate,
+                                @Value("${settlement.audit-trail.queue-capacity:10000}") int queueCapacity,
+                                @Value("${settlement.audit-trail.batch-size:500}") int batchSize,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.sampleThreshold = (int) Math.round(Math.clamp(sampleRate, 0.0, 1.0) * SAMPLE_SCALE);
+        this.batchSize = Math.max(1, batchSize);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.dropped = meterRegistry.counter("settlement.audit.trail.dropped");
+    }
+
+    /**
+     * 정산 경로에서 기록 대상인지 판단한다. false면 기록용 객체를 만들지 않아도 된다.
+     */
+    public boolean isSampled(UUID eventId) {
+        return enabled
+                && TRAIL.isInfoEnabled()
+                && eventId != null
+                && Math.floorMod(eventId.hashCode(), SAMPLE_SCALE) < sampleThreshold;
+    }
+
+    /**
+     * 저장된 이벤트 정산을 기록 큐에 넣는다. 트랜잭션 안에서 호출하면 커밋된 경우에만 커밋 후 넣는다.
+     *
+     * @param zeroSumViolation Zero-Sum 검증 실패로 PENDING_REVIEW 저장된 경우 (표본과 무관하게 기록)
+     */
+    public void record(TransactionEvent event, List<Settlement> settlements, boolean zeroSumViolation) {
+        if (!(zeroSumViolation ? enabled && TRAIL.isInfoEnabled() : isSampled(event.getId()))) {
+            return;
+        }
+
+        Line[] lines = new Line[settlements.size()];
+        for (int i = 0; i < lines.length; i++) {
+            Settlement s = settlements.get(i);
+            lines[i] = new Line(
+                    s.getEntityId(),
+                    s.getEntityType() != null ? s.getEntityType().name() : null,
+                    s.getEntryType() != null ? s.getEntryType().name() : null,
+                    s.getAmount() != null ? s.getAmount() : 0L,
+                    s.getFeeAmount() != null ? s.getFeeAmount() : 0L,
+                    s.getNetAmount() != null ? s.getNetAmount() : 0L,
+                    s.getFeeRate());
+        }
+
+        Entry entry = new Entry(
+                System.currentTimeMillis(),
+                TenantContextHolder.getCurrentTenant(),
+                event.getId(),
+                event.getTransactionId(),
+                event.getMerchantId(),
+                event.getEventType() != null ? event.getEventType().name() : null,
+                event.getAmount() != null ? event.getAmount() : 0L,
+                zeroSumViolation,
+                lines);
+
+        // 롤백된 정산이 기록되지 않도록 커밋 후에 큐에 넣는다 (재처리 시 중복 기록 방지)
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+
+    private void enqueue(Entry entry) {
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${settlement.audit-trail.flush-interval-ms:1000}")
+    public void flush() {
+        List<Entry> batch = new ArrayList<>(Math.min(batchSize, queue.size()));
+        StringBuilder out = new StringBuilder(4096);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            out.setLength(0);
+            for (Entry entry : batch) {
+                if (!out.isEmpty()) {
+                    out.append('\n');
+                }
+                entry.appendJson(out);
+            }
+            TRAIL.info(out.toString());
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to flush settlement audit trail on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @param at 기록 시각 (epoch millis)
+     */
+    record Entry(long at, String tenant, UUID eventId, UUID transactionId, UUID merchantId,
+                 String eventType, long amount, boolean zeroSumViolation, Line[] lines) {
+
+        void appendJson(StringBuilder out) {
+            out.append("{\"at\":").append(at);
+            appendField(out, "tenant", tenant);
+            appendField(out, "event", eventId);
+            appendField(out, "tx", transactionId);
+            appendField(out, "merchant", merchantId);
+            appendField(out, "type", eventType);
+            out.append(",\"amount\":").append(amount);
+            if (zeroSumViolation) {
+                out.append(",\"zeroSumViolation\":true");
+            }
+            out.append(",\"lines\":[");
+            for (int i = 0; i < lines.length; i++) {
+                if (i > 0) {
+                    out.append(',');
+                }
+                lines[i].appendJson(out);
+            }
+            out.append("]}");
+        }
+    }
+
+    record Line(UUID entityId, String entityType, String entryType,
+                long amount, long fee, long net, BigDecimal feeRate) {
+
+        void appendJson(StringBuilder out) {
+            out.append('{');
+            out.append("\"entity\":");
+            appendValue(out, entityId);
+            appendField(out, "entityType", entityType);
+            appendField(out, "entry", entryType);
+            out.append(",\"amount\":").append(amount)
+                    .append(",\"fee\":").append(fee)
+                    .append(",\"net\":").append(net);
+            if (feeRate != null) {
+                out.append(",\"rate\":").append(feeRate.toPlainString());
+            }
+            out.append('}');
+        }
+    }
+
+    /** 값은 UUID, enum 이름, 테넌트 ID뿐이라 JSON 이스케이프가 필요 없다 */
+    private static void appendField(StringBuilder out, String name, Object value) {
+        out.append(",\"").append(name).append("\":");
+        appendValue(out, value);
+    }
+
+    private static void appendValue(StringBuilder out, Object value) {
+        if (value == null) {
+            out.append("null");
+        } else {
+            out.append('"').append(value).append('"');
+        }
+    }
+}
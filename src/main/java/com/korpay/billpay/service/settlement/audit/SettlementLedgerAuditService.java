@@ -0,0 +1,365 @@
+package com.korpay.billpay.service.settlement.audit;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import com.korpay.billpay.dto.response.SettlementAuditViolationDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 정산 원장 Zero-Sum 감사 작업.
+ *
+ * transaction_events 일 파티션(UTC 일자) 단위로 원장을 집합 연산 쿼리 한 번에 검사하여
+ * Zero-Sum(취소 제외 정산 금액 합계 = 이벤트 금액), 수수료, 순액 계산식, 금액 부호 위반을
+ * settlement_audit_violations에 기록한다. 일자별 감사는 크기가 제한된 스레드 풀에서 각자의 트랜잭션으로 병렬 실행되며,
+ * 연속으로 완료된 마지막 일자를 settlement_audit_checkpoint에 남겨 다음 실행은 그 이후 일자만 감사한다.
+ * 이미 감사한 일자라도 직전 실행 이후 정산이 갱신된 이벤트는 재감사하고, 다시 탐지되지 않은 위반은 해소 처리한다.
+ */
+@Slf4j
+@Service
+public class SettlementLedgerAuditService {
+
+    /**
+     * 감사 범위(scoped CTE)의 이벤트에 대한 위반 탐지 및 upsert.
+     * 정산은 이벤트 이후에 생성되므로 가장 이른 이벤트 생성일시 이전의 settlements 월 파티션은 읽지 않는다.
+     */
+    private static final String DETECT_SQL = """
+        WITH scoped AS (
+            %s
+        ),
+        zero_sum AS (
+            SELECT
+                e.id as transaction_event_id,
+                e.created_at as event_created_at,
+                NULL::uuid as settlement_id,
+                'ZERO_SUM_MISMATCH' as violation_type,
+                e.amount as expected_amount,
+                SUM(s.amount) as actual_amount
+            FROM scoped e
+            JOIN settlements s ON s.transaction_event_id = e.id AND s.status <> 'CANCELLED'
+                AND s.created_at >= (SELECT MIN(se.created_at) FROM scoped se)
+            GROUP BY e.id, e.created_at, e.amount
+            HAVING SUM(s.amount) <> e.amount
+        ),
+        row_checks AS (
+            SELECT
+                e.id as transaction_event_id,
+                e.created_at as event_created_at,
+                s.id as settlement_id,
+                v.violation_type,
+                v.expected_amount,
+                v.actual_amount
+            FROM scoped e
+            JOIN settlements s ON s.transaction_event_id = e.id AND s.status <> 'CANCELLED'
+                AND s.created_at >= (SELECT MIN(se.created_at) FROM scoped se)
+            CROSS JOIN LATERAL (VALUES
+                ('FEE_NEGATIVE', 0::bigint, s.fee_amount, s.fee_amount < 0),
+                ('NET_AMOUNT_MISMATCH',
+                    CASE WHEN s.entry_type = 'CREDIT' THEN s.amount - s.fee_amount ELSE s.amount + s.fee_amount END,
+                    s.net_amount,
+                    s.net_amount <> CASE WHEN s.entry_type = 'CREDIT' THEN s.amount - s.fee_amount ELSE s.amount + s.fee_amount END),
+                ('AMOUNT_SIGN_MISMATCH', NULL::bigint, s.amount,
+                    NOT ((s.entry_type = 'CREDIT' AND s.amount > 0) OR (s.entry_type = 'DEBIT' AND s.amount < 0)))
+            ) v(violation_type, expected_amount, actual_amount, violated)
+            WHERE v.violated
+        )
+        INSERT INTO settlement_audit_violations (
+            transaction_event_id, event_created_at, settlement_id, violation_type,
+            expected_amount, actual_amount, detected_at, last_detected_at
+        )
+        SELECT d.transaction_event_id, d.event_created_at, d.settlement_id, d.violation_type,
+               d.expected_amount, d.actual_amount, now(), now()
+        FROM (SELECT * FROM zero_sum UNION ALL SELECT * FROM row_checks) d
+        ON CONFLICT (transaction_event_id, violation_type, COALESCE(settlement_id, '00000000-0000-0000-0000-000000000000'::uuid))
+            WHERE status = 'OPEN'
+        DO UPDATE SET
+            expected_amount = EXCLUDED.expected_amount,
+            actual_amount = EXCLUDED.actual_amount,
+            last_detected_at = EXCLUDED.last_detected_at
+        """;
+
+    /** 같은 트랜잭션에서 다시 탐지되지 않은 감사 범위 내 미해결 위반을 해소 처리 */
+    private static final String RESOLVE_SQL = """
+        UPDATE settlement_audit_violations v
+        SET status = 'RESOLVED', resolved_at = now()
+        WHERE v.status = 'OPEN'
+          AND v.last_detected_at < now()
+          AND %s
+        """;
+
+    private static final String DAY_SCOPE = """
+        SELECT te.id, te.created_at, te.amount
+            FROM transaction_events te
+            WHERE te.created_at >= ? AND te.created_at < ?""";
+
+    private static final String DAY_RESOLVE_SCOPE = "v.event_created_at >= ? AND v.event_created_at < ?";
+
+    private static final String CHANGED_SCOPE = """
+        SELECT te.id, te.created_at, te.amount
+            FROM transaction_events te
+            JOIN (SELECT DISTINCT s.transaction_event_id FROM settlements s WHERE s.updated_at >= ?) c
+              ON c.transaction_event_id = te.id
+            WHERE te.created_at < ?""";
+
+    private static final String CHANGED_RESOLVE_SCOPE = """
+        v.event_created_at < ?
+          AND v.transaction_event_id IN (SELECT s.transaction_event_id FROM settlements s WHERE s.updated_at >= ?)""";
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate transactionTemplate;
+
+    /** 진행 중인 테넌트 (동일 테넌트 중복 실행 방지) */
+    private final Set<String> runningTenants = ConcurrentHashMap.newKeySet();
+
+    @Value("${settlement.audit.enabled:false}")
+    private boolean enabled;
+
+    /** 테넌트별 동시에 감사할 일자 수 */
+    @Value("${settlement.audit.parallelism:4}")
+    private int parallelism;
+
+    public SettlementLedgerAuditService(TenantService tenantService,
+                                        JdbcTemplate jdbcTemplate,
+                                        MeterRegistry meterRegistry,
+                                        PlatformTransactionManager transactionManager) {
+        this.tenantService = tenantService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${settlement.audit.cron:0 0 3 * * *}")
+    public void auditAllTenants() {
+        if (!enabled) {
+            log.debug("Settlement ledger audit disabled");
+            return;
+        }
+
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                AuditRun run = TenantContextHolder.runInTenant(tenantId, (Supplier<AuditRun>) this::auditCurrentTenant);
+                log.info("Settlement ledger audit for tenant {}: {}", tenantId, run);
+            } catch (Exception e) {
+                log.error("Settlement ledger audit failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 현재 테넌트의 원장을 체크포인트 이후 어제(UTC)까지 감사하고, 감사 완료 구간의 변경분을 재감사한다.
+     */
+    public AuditRun auditCurrentTenant() {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        if (tenantId == null) {
+            throw new IllegalStateException("테넌트 컨텍스트가 없습니다");
+        }
+        if (!runningTenants.add(tenantId)) {
+            throw new IllegalStateException("이미 원장 감사가 진행 중입니다: " + tenantId);
+        }
+
+        try {
+            return runAudit(tenantId);
+        } finally {
+            runningTenants.remove(tenantId);
+        }
+    }
+
+    public List<SettlementAuditViolationDto> findViolations(String status, int limit) {
+        return jdbcTemplate.query("""
+                SELECT id, transaction_event_id, event_created_at, settlement_id, violation_type,
+                       expected_amount, actual_amount, status, detected_at, last_detected_at, resolved_at
+                FROM settlement_audit_violations
+                WHERE status = ?
+                ORDER BY detected_at DESC
+                LIMIT ?
+                """,
+                (rs, rowNum) -> new SettlementAuditViolationDto(
+                        rs.getObject("id", UUID.class),
+                        rs.getObject("transaction_event_id", UUID.class),
+                        rs.getObject("event_created_at", OffsetDateTime.class),
+                        rs.getObject("settlement_id", UUID.class),
+                        rs.getString("violation_type"),
+                        rs.getObject("expected_amount", Long.class),
+                        rs.getObject("actual_amount", Long.class),
+                        rs.getString("status"),
+                        rs.getObject("detected_at", OffsetDateTime.class),
+                        rs.getObject("last_detected_at", OffsetDateTime.class),
+                        rs.getObject("resolved_at", OffsetDateTime.class)),
+                status, limit);
+    }
+
+    private AuditRun runAudit(String tenantId) {
+        Instant runStartedAt = Instant.now();
+        jdbcTemplate.update("""
+                INSERT INTO settlement_audit_checkpoint (id) VALUES (1) ON CONFLICT (id) DO NOTHING
+                """);
+        Map<String, Object> checkpoint = jdbcTemplate.queryForMap(
+                "SELECT audited_through, changes_since FROM settlement_audit_checkpoint WHERE id = 1");
+        LocalDate auditedThrough = checkpoint.get("audited_through") != null
+                ? ((Date) checkpoint.get("audited_through")).toLocalDate()
+                : null;
+        Timestamp changesSince = (Timestamp) checkpoint.get("changes_since");
+
+        LocalDate firstDay = auditedThrough != null ? auditedThrough.plusDays(1) : findFirstEventDay();
+        LocalDate lastDay = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+
+        long eventsScanned = 0;
+        long violations = 0;
+        int daysAudited = 0;
+        int daysFailed = 0;
+
+        if (firstDay != null && !firstDay.isAfter(lastDay)) {
+            List<LocalDate> days = firstDay.datesUntil(lastDay.plusDays(1)).toList();
+            int threads = Math.max(1, Math.min(parallelism, days.size()));
+            log.info("Settlement ledger audit for tenant {}: {} day(s) {}..{} (parallelism={})",
+                    tenantId, days.size(), firstDay, lastDay, threads);
+
+            boolean contiguous = true;
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                List<Future<UnitResult>> futures = new ArrayList<>(days.size());
+                for (LocalDate day : days) {
+                    futures.add(executor.submit(() -> TenantContextHolder.runInTenant(tenantId,
+                            (Supplier<UnitResult>) () -> auditDay(day))));
+                }
+
+                for (int i = 0; i < days.size(); i++) {
+                    LocalDate day = days.get(i);
+                    try {
+                        UnitResult result = futures.get(i).get();
+                        eventsScanned += result.eventsScanned();
+                        violations += result.violations();
+                        daysAudited++;
+                        if (contiguous) {
+                            jdbcTemplate.update(
+                                    "UPDATE settlement_audit_checkpoint SET audited_through = ?, updated_at = now() WHERE id = 1",
+                                    Date.valueOf(day));
+                            auditedThrough = day;
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("원장 감사가 중단되었습니다", e);
+                    } catch (Exception e) {
+                        log.error("Settlement ledger audit failed for tenant {} on {}: {}",
+                                tenantId, day, e.getMessage(), e);
+                        daysFailed++;
+                        contiguous = false;
+                    }
+                }
+            }
+        }
+
+        // 이미 감사한 구간 중 직전 실행 이후 정산이 갱신된 이벤트 재감사
+        if (changesSince != null && firstDay != null) {
+            UnitResult changed = auditChangedSince(changesSince, firstDay);
+            eventsScanned += changed.eventsScanned();
+            violations += changed.violations();
+        }
+
+        jdbcTemplate.update("""
+                UPDATE settlement_audit_checkpoint
+                SET changes_since = ?,
+                    last_run_started_at = ?,
+                    last_run_completed_at = now(),
+                    last_events_scanned = ?,
+                    last_violations_found = ?,
+                    updated_at = now()
+                WHERE id = 1
+                """, Timestamp.from(runStartedAt), Timestamp.from(runStartedAt), eventsScanned, violations);
+
+        meterRegistry.counter("settlement.audit.violations", "tenant", tenantId).increment(violations);
+        if (violations > 0) {
+            log.error("Settlement ledger audit for tenant {} found {} open violation(s)", tenantId, violations);
+        }
+
+        return new AuditRun(firstDay, auditedThrough, daysAudited, daysFailed, eventsScanned, violations);
+    }
+
+    private LocalDate findFirstEventDay() {
+        Timestamp first = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM transaction_events", Timestamp.class);
+        return first != null ? first.toInstant().atOffset(ZoneOffset.UTC).toLocalDate() : null;
+    }
+
+    /**
+     * 하루치 이벤트(UTC 일 파티션 경계)를 감사한다.
+     */
+    private UnitResult auditDay(LocalDate day) {
+        Timestamp from = Timestamp.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp to = Timestamp.from(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        return transactionTemplate.execute(status -> {
+            Long events = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM transaction_events te WHERE te.created_at >= ? AND te.created_at < ?",
+                    Long.class, from, to);
+            int detected = jdbcTemplate.update(DETECT_SQL.formatted(DAY_SCOPE), from, to);
+            int resolved = jdbcTemplate.update(RESOLVE_SQL.formatted(DAY_RESOLVE_SCOPE), from, to);
+            if (detected > 0 || resolved > 0) {
+                log.warn("Settlement ledger audit on {}: {} violation(s) detected, {} resolved", day, detected, resolved);
+            }
+            return new UnitResult(events != null ? events : 0, detected);
+        });
+    }
+
+    /**
+     * before 이전에 생성된 이벤트 중 since 이후 정산이 갱신된 이벤트를 재감사한다.
+     */
+    private UnitResult auditChangedSince(Timestamp since, LocalDate before) {
+        Timestamp to = Timestamp.from(before.atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        return transactionTemplate.execute(status -> {
+            Long events = jdbcTemplate.queryForObject("""
+                    SELECT COUNT(DISTINCT s.transaction_event_id)
+                    FROM settlements s
+                    WHERE s.updated_at >= ?
+                    """, Long.class, since);
+            int detected = jdbcTemplate.update(DETECT_SQL.formatted(CHANGED_SCOPE), since, to);
+            int resolved = jdbcTemplate.update(RESOLVE_SQL.formatted(CHANGED_RESOLVE_SCOPE), to, since);
+            log.info("Settlement ledger audit of changes since {}: {} event(s), {} violation(s) detected, {} resolved",
+                    since.toInstant(), events, detected, resolved);
+            return new UnitResult(events != null ? events : 0, detected);
+        });
+    }
+
+    private record UnitResult(long eventsScanned, int violations) {
+    }
+
+    /**
+     * @param fromDay        이번 실행에서 감사를 시작한 일자 (감사할 이벤트가 없으면 null)
+     * @param auditedThrough 연속 감사 완료 일자
+     * @param daysFailed     감사에 실패한 일자 수 (다음 실행에서 재시도)
+     * @param violations     이번 실행에서 탐지된 미해결 위반 수
+     */
+    public record AuditRun(
+            LocalDate fromDay,
+            LocalDate auditedThrough,
+            int daysAudited,
+            int daysFailed,
+            long eventsScanned,
+            long violations
+    ) {
+    }
+}
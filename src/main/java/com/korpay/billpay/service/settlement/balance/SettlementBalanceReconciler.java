@@ -0,0 +1,144 @@
+package com.korpay.billpay.service.settlement.balance;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 정산 대상별 잔액 대사 작업.
+ *
+ * settlements 원장의 엔티티별 상태 합계와 settlement_entity_balances의 stripe 합계를 단일 쿼리로 비교한다.
+ * 잔액은 정산 쓰기와 같은 트랜잭션에서 갱신되므로, 한 문장 스냅샷 안에서는 진행 중인 수신과 무관하게 일치해야 한다.
+ *
+ * 보존 기간이 지나 분리된 파티션의 행은 원장에서 빠지므로, 분리 시점에 이월한 settlement_archived_totals를
+ * 원장 합계에 더해 비교한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementBalanceReconciler {
+
+    private static final String RECONCILE_SQL = """
+        WITH ledger_parts AS (
+            SELECT
+                s.entity_id,
+                COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = 'PENDING'), 0) as pending_amount,
+                COUNT(*) FILTER (WHERE s.status = 'PENDING') as pending_count,
+                COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = 'COMPLETED'), 0) as completed_amount,
+                COUNT(*) FILTER (WHERE s.status = 'COMPLETED') as completed_count,
+                COALESCE(SUM(s.net_amount) FILTER (WHERE s.status IN ('FAILED', 'PENDING_REVIEW')), 0) as failed_amount,
+                COUNT(*) FILTER (WHERE s.status IN ('FAILED', 'PENDING_REVIEW')) as failed_count
+            FROM settlements s
+            GROUP BY s.entity_id
+            UNION ALL
+            SELECT
+                a.entity_id,
+                a.pending_amount,
+                a.pending_count,
+                a.completed_amount,
+                a.completed_count,
+                a.failed_amount,
+                a.failed_count
+            FROM settlement_archived_totals a
+        ),
+        ledger AS (
+            SELECT
+                p.entity_id,
+                SUM(p.pending_amount) as pending_amount,
+                SUM(p.pending_count) as pending_count,
+                SUM(p.completed_amount) as completed_amount,
+                SUM(p.completed_count) as completed_count,
+                SUM(p.failed_amount) as failed_amount,
+                SUM(p.failed_count) as failed_count
+            FROM ledger_parts p
+            GROUP BY p.entity_id
+        ),
+        balance AS (
+            SELECT
+                b.entity_id,
+                SUM(b.pending_amount) as pending_amount,
+                SUM(b.pending_count) as pending_count,
+                SUM(b.completed_amount) as completed_amount,
+                SUM(b.completed_count) as completed_count,
+                SUM(b.failed_amount) as failed_amount,
+                SUM(b.failed_count) as failed_count
+            FROM settlement_entity_balances b
+            GROUP BY b.entity_id
+        )
+        SELECT
+            COALESCE(l.entity_id, b.entity_id) as entity_id,
+            COALESCE(l.pending_amount, 0) as ledger_pending_amount,
+            COALESCE(b.pending_amount, 0) as balance_pending_amount,
+            COALESCE(l.pending_count, 0) as ledger_pending_count,
+            COALESCE(b.pending_count, 0) as balance_pending_count,
+            COALESCE(l.completed_amount, 0) as ledger_completed_amount,
+            COALESCE(b.completed_amount, 0) as balance_completed_amount,
+            COALESCE(l.completed_count, 0) as ledger_completed_count,
+            COALESCE(b.completed_count, 0) as balance_completed_count,
+            COALESCE(l.failed_amount, 0) as ledger_failed_amount,
+            COALESCE(b.failed_amount, 0) as balance_failed_amount,
+            COALESCE(l.failed_count, 0) as ledger_failed_count,
+            COALESCE(b.failed_count, 0) as balance_failed_count
+        FROM ledger l
+        FULL OUTER JOIN balance b ON b.entity_id = l.entity_id
+        WHERE COALESCE(l.pending_amount, 0) <> COALESCE(b.pending_amount, 0)
+           OR COALESCE(l.pending_count, 0) <> COALESCE(b.pending_count, 0)
+           OR COALESCE(l.completed_amount, 0) <> COALESCE(b.completed_amount, 0)
+           OR COALESCE(l.completed_count, 0) <> COALESCE(b.completed_count, 0)
+           OR COALESCE(l.failed_amount, 0) <> COALESCE(b.failed_amount, 0)
+           OR COALESCE(l.failed_count, 0) <> COALESCE(b.failed_count, 0)
+        LIMIT ?
+        """;
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.balance.reconcile.enabled:false}")
+    private boolean enabled;
+
+    /** 테넌트별 보고할 최대 불일치 엔티티 수 */
+    @Value("${settlement.balance.reconcile.max-reported:100}")
+    private int maxReported;
+
+    @Scheduled(cron = "${settlement.balance.reconcile.cron:0 30 4 * * *}")
+    public void reconcileAllTenants() {
+        if (!enabled) {
+            log.debug("Settlement balance reconciliation disabled");
+            return;
+        }
+
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                List<Map<String, Object>> mismatches = TenantContextHolder.runInTenant(tenantId,
+                        (Supplier<List<Map<String, Object>>>) this::reconcileCurrentTenant);
+                meterRegistry.counter("settlement.balance.drift", "tenant", tenantId).increment(mismatches.size());
+                log.info("Settlement balance reconciliation for tenant {}: {} mismatched entities",
+                        tenantId, mismatches.size());
+            } catch (Exception e) {
+                log.error("Settlement balance reconciliation failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return 원장과 잔액이 다른 엔티티 목록 (최대 max-reported 건)
+     */
+    public List<Map<String, Object>> reconcileCurrentTenant() {
+        List<Map<String, Object>> mismatches = jdbcTemplate.queryForList(RECONCILE_SQL, maxReported);
+        for (Map<String, Object> mismatch : mismatches) {
+            log.error("Settlement balance drift: {}", mismatch);
+        }
+        return mismatches;
+    }
+}
@@ -0,0 +1,290 @@
+package com.korpay.billpay.service.settlement.balance;
+
+import com.korpay.billpay.domain.entity.Settlement;
+import com.korpay.billpay.domain.enums.SettlementStatus;
+import com.korpay.billpay.service.live.LiveUpdateHub;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 정산 대상별 잔액(settlement_entity_balances) 유지 및 조회 서비스.
+ *
+ * 정산 생성/상태 변경과 같은 트랜잭션에서 호출되어 엔티티별 stripe 행 하나에 변화량을 가산한다.
+ * 한 트랜잭션이 여러 엔티티 행을 갱신하므로 교착 상태를 피하기 위해 항상 entity_id 순서로 갱신한다.
+ * 자바 쪽 정렬은 DB의 uuid 정렬(바이트 단위 부호 없는 비교)과 같은 {@link #ENTITY_ID_ORDER}를 쓴다.
+ */
+@Slf4j
+@Service
+public class SettlementBalanceService {
+
+    private static final String UPSERT_SQL = """
+        INSERT INTO settlement_entity_balances AS b (
+            entity_id, stripe, entity_type, entity_path,
+            pending_amount, pending_count, completed_amount, completed_count, failed_amount, failed_count
+        )
+        VALUES (?, ?, ?, CAST(? AS ltree), ?, ?, ?, ?, ?, ?)
+        ON CONFLICT (entity_id, stripe) DO UPDATE SET
+            entity_path = EXCLUDED.entity_path,
+            pending_amount = b.pending_amount + EXCLUDED.pending_amount,
+            pending_count = b.pending_count + EXCLUDED.pending_count,
+            completed_amount = b.completed_amount + EXCLUDED.completed_amount,
+            completed_count = b.completed_count + EXCLUDED.completed_count,
+            failed_amount = b.failed_amount + EXCLUDED.failed_amount,
+            failed_count = b.failed_count + EXCLUDED.failed_count,
+            updated_at = CURRENT_TIMESTAMP
+        """;
+
+    /**
+     * PostgreSQL uuid 정렬 순서 (16바이트 부호 없는 비교). UUID.compareTo는 상·하위 64비트를 부호 있는 값으로
+     * 비교하므로 최상위 비트가 1인 UUID의 순서가 DB와 달라, SQL의 ORDER BY entity_id와 잠금 순서가 어긋난다.
+     */
+    static final Comparator<UUID> ENTITY_ID_ORDER = (a, b) -> {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LiveUpdateHub liveUpdateHub;
+
+    /** 엔티티당 분할 카운터 행 수 (줄여도 기존 행은 조회 합계에 계속 포함됨) */
+    private final int stripes;
+
+    public SettlementBalanceService(JdbcTemplate jdbcTemplate,
+                                    LiveUpdateHub liveUpdateHub,
+                                    @Value("${settlement.balance.stripes:8}") int stripes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.liveUpdateHub = liveUpdateHub;
+        this.stripes = Math.max(1, stripes);
+    }
+
+    /**
+     * 새로 저장된 정산을 현재 상태 기준으로 잔액에 가산한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Settlement> settlements) {
+        Map<UUID, Delta> deltas = new TreeMap<>(ENTITY_ID_ORDER);
+        for (Settlement settlement : settlements) {
+            deltaFor(deltas, settlement).add(settlement.getStatus(), settlement.getNetAmount(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 정산 상태 변경을 잔액에 반영한다. 정산 엔티티의 상태를 바꾸기 전에 호출해야 한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStatusChange(Collection<Settlement> settlements, SettlementStatus newStatus) {
+        Map<UUID, Delta> deltas = new TreeMap<>(ENTITY_ID_ORDER);
+        for (Settlement settlement : settlements) {
+            Delta delta = deltaFor(deltas, settlement);
+            delta.add(settlement.getStatus(), -settlement.getNetAmount(), -1);
+            delta.add(newStatus, settlement.getNetAmount(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 배치에 귀속되어 PENDING에서 COMPLETED로 바뀐 정산을 엔티티별로 집계하여 대기에서 완료로 옮긴다.
+     * 배치 귀속 UPDATE와 같은 트랜잭션에서 호출해야 한다.
+     *
+     * @return 잔액을 옮긴 엔티티 수
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int recordBatchCompleted(UUID batchId) {
+        String sql = """
+            WITH completed AS (
+                SELECT
+                    s.entity_id,
+                    MIN(s.entity_type) as entity_type,
+                    (array_agg(s.entity_path))[1] as entity_path,
+                    COALESCE(SUM(s.net_amount), 0) as completed_amount,
+                    COUNT(*) as completed_count
+                FROM settlements s
+                WHERE s.settlement_batch_id = ?
+                  AND s.created_at >= (SELECT sb.period_start FROM settlement_batches sb WHERE sb.id = ?)
+                  AND s.created_at < (SELECT sb.period_end FROM settlement_batches sb WHERE sb.id = ?)
+                GROUP BY s.entity_id
+            ),
+            upserted AS (
+                INSERT INTO settlement_entity_balances AS b (
+                    entity_id, stripe, entity_type, entity_path,
+                    pending_amount, pending_count, completed_amount, completed_count
+                )
+                SELECT
+                    c.entity_id, ?, c.entity_type, c.entity_path,
+                    -c.completed_amount, -c.completed_count, c.completed_amount, c.completed_count
+                FROM completed c
+                ORDER BY c.entity_id
+                ON CONFLICT (entity_id, stripe) DO UPDATE SET
+                    pending_amount = b.pending_amount + EXCLUDED.pending_amount,
+                    pending_count = b.pending_count + EXCLUDED.pending_count,
+                    completed_amount = b.completed_amount + EXCLUDED.completed_amount,
+                    completed_count = b.completed_count + EXCLUDED.completed_count,
+                    updated_at = CURRENT_TIMESTAMP
+            )
+            SELECT CAST(c.entity_path AS TEXT) as entity_path, c.completed_amount, c.completed_count
+            FROM completed c
+            """;
+        List<Delta> completed = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Delta delta = new Delta(null, null, rs.getString("entity_path"));
+            long amount = rs.getLong("completed_amount");
+            long count = rs.getLong("completed_count");
+            delta.add(SettlementStatus.PENDING, -amount, -count);
+            delta.add(SettlementStatus.COMPLETED, amount, count);
+            return delta;
+        }, batchId, batchId, batchId, nextStripe());
+        publish(completed);
+        return completed.size();
+    }
+
+    /**
+     * 엔티티 잔액 (stripe 행 합계). 잔액 행이 없으면 0으로 채운 값을 반환한다.
+     */
+    @Transactional(readOnly = true)
+    public EntityBalance getBalance(UUID entityId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT
+                    COALESCE(SUM(pending_amount), 0) as pending_amount,
+                    COALESCE(SUM(pending_count), 0) as pending_count,
+                    COALESCE(SUM(completed_amount), 0) as completed_amount,
+                    COALESCE(SUM(completed_count), 0) as completed_count,
+                    COALESCE(SUM(failed_amount), 0) as failed_amount,
+                    COALESCE(SUM(failed_count), 0) as failed_count
+                FROM settlement_entity_balances
+                WHERE entity_id = ?
+                """, (rs, rowNum) -> new EntityBalance(
+                entityId,
+                rs.getLong("pending_amount"),
+                rs.getLong("pending_count"),
+                rs.getLong("completed_amount"),
+                rs.getLong("completed_count"),
+                rs.getLong("failed_amount"),
+                rs.getLong("failed_count")
+        ), entityId);
+    }
+
+    /**
+     * 경로 하위(자신 포함) 엔티티의 대기 정산 건수.
+     */
+    @Transactional(readOnly = true)
+    public long countPendingUnderPath(String entityPath) {
+        Long count = jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(pending_count), 0)
+                FROM settlement_entity_balances
+                WHERE entity_path <@ CAST(? AS ltree)
+                """, Long.class, entityPath);
+        return count != null ? count : 0L;
+    }
+
+    private void apply(Map<UUID, Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int stripe = nextStripe();
+        List<Object[]> args = new ArrayList<>(deltas.size());
+        for (Delta delta : deltas.values()) {
+            if (delta.isZero()) {
+                continue;
+            }
+            args.add(new Object[]{
+                    delta.entityId, stripe, delta.entityType, delta.entityPath,
+                    delta.pendingAmount, delta.pendingCount,
+                    delta.completedAmount, delta.completedCount,
+                    delta.failedAmount, delta.failedCount
+            });
+        }
+        if (!args.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, args);
+        }
+        publish(deltas.values());
+    }
+
+    /** 커밋 후 구독 경로로 잔액 변화량 전달 */
+    private void publish(Collection<Delta> deltas) {
+        for (Delta delta : deltas) {
+            if (!delta.isZero()) {
+                liveUpdateHub.publishSettlementDelta(delta.entityPath,
+                        delta.pendingAmount, delta.pendingCount,
+                        delta.completedAmount, delta.completedCount,
+                        delta.failedAmount, delta.failedCount);
+            }
+        }
+    }
+
+    private int nextStripe() {
+        return stripes == 1 ? 0 : ThreadLocalRandom.current().nextInt(stripes);
+    }
+
+    private static Delta deltaFor(Map<UUID, Delta> deltas, Settlement settlement) {
+        return deltas.computeIfAbsent(settlement.getEntityId(), id -> new Delta(
+                id, settlement.getEntityType().name(), settlement.getEntityPath()));
+    }
+
+    public record EntityBalance(
+            UUID entityId,
+            long pendingAmount,
+            long pendingCount,
+            long completedAmount,
+            long completedCount,
+            long failedAmount,
+            long failedCount
+    ) {
+    }
+
+    private static final class Delta {
+        private final UUID entityId;
+        private final String entityType;
+        private final String entityPath;
+        private long pendingAmount;
+        private long pendingCount;
+        private long completedAmount;
+        private long completedCount;
+        private long failedAmount;
+        private long failedCount;
+
+        private Delta(UUID entityId, String entityType, String entityPath) {
+            this.entityId = entityId;
+            this.entityType = entityType;
+            this.entityPath = entityPath;
+        }
+
+        private void add(SettlementStatus status, long amount, long count) {
+            switch (status) {
+                case PENDING -> {
+                    pendingAmount += amount;
+                    pendingCount += count;
+                }
+                case COMPLETED -> {
+                    completedAmount += amount;
+                    completedCount += count;
+                }
+                case FAILED, PENDING_REVIEW -> {
+                    failedAmount += amount;
+                    failedCount += count;
+                }
+                case PROCESSING, CANCELLED -> {
+                    // 잔액 집계 대상 아님
+                }
+            }
+        }
+
+        private boolean isZero() {
+            return pendingAmount == 0 && pendingCount == 0
+                    && completedAmount == 0 && completedCount == 0
+                    && failedAmount == 0 && failedCount == 0;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.korpay.billpay.service.settlement.calculator;
+
+import com.korpay.billpay.domain.entity.Organization;
+import com.korpay.billpay.domain.enums.OrganizationType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 가맹점 한 곳의 수수료 계층 (결제수단별로 고정된 요율 체인).
+ *
+ * 요율 해석과 마진율 계산을 한 번만 수행해 두고, 거래 금액별 분배는 {@link #allocate(long, long[])}로
+ * 계산한다. 실제 정산 생성({@code FeeCalculationService})과 수수료 시뮬레이션이 같은 분배 규칙을 사용한다.
+ *
+ * 분배 규칙:
+ *   - 가맹점: 금액 - floor(금액 x 가맹점 요율)
+ *   - 상위 영업점(DISTRIBUTOR 제외): 하위 요율 - 자신 요율이 양수이면 floor(금액 x 마진율)
+ *   - 마스터 잔여금: 금액 - 위 분배 합계 (양수일 때만, DISTRIBUTOR 귀속)
+ */
+public final class FeeHierarchy {
+
+    private final BigDecimal merchantFeeRate;
+    private final List<Level> marginLevels;
+    private final Organization distributor;
+    private final BigDecimal residualRate;
+
+    private FeeHierarchy(BigDecimal merchantFeeRate, List<Level> marginLevels,
+                         Organization distributor, BigDecimal residualRate) {
+        this.merchantFeeRate = merchantFeeRate;
+        this.marginLevels = List.copyOf(marginLevels);
+        this.distributor = distributor;
+        this.residualRate = residualRate;
+    }
+
+    /**
+     * @param merchantFeeRate       가맹점 요율
+     * @param ancestorsDeepestFirst 가맹점 소속 조직과 상위 조직 (level 내림차순)
+     * @param organizationFeeRate   조직별 요율 해석 함수 (요율이 없으면 예외)
+     */
+    public static FeeHierarchy build(BigDecimal merchantFeeRate,
+                                     List<Organization> ancestorsDeepestFirst,
+                                     Function<Organization, BigDecimal> organizationFeeRate) {
+        List<Level> levels = new ArrayList<>();
+        Organization distributor = null;
+        BigDecimal previousFeeRate = merchantFeeRate;
+
+        for (Organization org : ancestorsDeepestFirst) {
+            BigDecimal orgFeeRate = organizationFeeRate.apply(org);
+
+            // DISTRIBUTOR는 마스터 잔여금(residual)으로 일괄 처리
+            if (org.getOrgType() == OrganizationType.DISTRIBUTOR) {
+                if (distributor == null) {
+                    distributor = org;
+                }
+                previousFeeRate = orgFeeRate;
+                continue;
+            }
+
+            BigDecimal marginRate = previousFeeRate.subtract(orgFeeRate);
+            if (marginRate.compareTo(BigDecimal.ZERO) > 0) {
+                levels.add(new Level(org, orgFeeRate, marginRate));
+            }
+            previousFeeRate = orgFeeRate;
+        }
+
+        return new FeeHierarchy(merchantFeeRate, levels, distributor, previousFeeRate);
+    }
+
+    /**
+     * 금액(절대값)을 계층별로 분배한다.
+     *
+     * @param out 길이 {@link #allocationSize()} 이상. [0] 가맹점 정산액, [1] 가맹점 수수료,
+     *            [2..2+n) 마진 영업점별 금액, [2+n] 마스터 잔여금 (없으면 0)
+     */
+    public void allocate(long absAmount, long[] out) {
+        long merchantFee = floorFee(absAmount, merchantFeeRate);
+        long allocated = absAmount - merchantFee;
+        out[0] = allocated;
+        out[1] = merchantFee;
+
+        for (int i = 0; i < marginLevels.size(); i++) {
+            long margin = floorFee(absAmount, marginLevels.get(i).marginRate());
+            out[2 + i] = margin;
+            allocated += margin;
+        }
+
+        long residual = absAmount - allocated;
+        out[2 + marginLevels.size()] = Math.max(residual, 0L);
+    }
+
+    public int allocationSize() {
+        return marginLevels.size() + 3;
+    }
+
+    public BigDecimal getMerchantFeeRate() {
+        return merchantFeeRate;
+    }
+
+    public List<Level> getMarginLevels() {
+        return marginLevels;
+    }
+
+    /** 마스터 잔여금 귀속 DISTRIBUTOR (없으면 null) */
+    public Organization getDistributor() {
+        return distributor;
+    }
+
+    /** 마스터 잔여금 정산에 기록되는 요율 (마지막으로 처리된 조직의 요율) */
+    public BigDecimal getResidualRate() {
+        return residualRate;
+    }
+
+    public static long floorFee(long amount, BigDecimal feeRate) {
+        return BigDecimal.valueOf(amount)
+                .multiply(feeRate)
+                .setScale(0, RoundingMode.FLOOR)
+                .longValue();
+    }
+
+    public record Level(Organization organization, BigDecimal feeRate, BigDecimal marginRate) {
+    }
+}
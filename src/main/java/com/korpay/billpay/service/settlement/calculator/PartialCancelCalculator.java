@@ -71,7 +71,6 @@ public class PartialCancelCalculator {
                     .feeRate(original.getFeeRate())
                     .feeConfig(original.getFeeConfig())
                     .status(SettlementStatus.PENDING)
-                    .createdAt(OffsetDateTime.now())
                     .updatedAt(OffsetDateTime.now())
                     .build();
 
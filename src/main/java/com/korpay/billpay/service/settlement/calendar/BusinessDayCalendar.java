@@ -0,0 +1,158 @@
+package com.korpay.billpay.service.settlement.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * 특정 국가의 영업일 달력 스냅샷 (불변).
+ *
+ * [firstYear-01-01, lastYear-12-31] 범위를 연도별 BitSet(비트 = 해당 연도의 일차, 1 = 영업일)으로 보관하고,
+ * 범위 전체에 대한 영업일 누적 개수(prefix count)와 영업일 목록을 미리 계산하여
+ * 영업일 판정과 N영업일 후 날짜 계산을 O(1)로 처리한다.
+ *
+ * 로딩 범위 밖의 날짜는 판정할 수 없으므로 {@link #covers(LocalDate)}로 먼저 확인해야 하며,
+ * {@link #addBusinessDays(LocalDate, int)}는 시작일 또는 결과일이 범위를 벗어나면 빈 값을 반환한다.
+ */
+public final class BusinessDayCalendar {
+
+    private final int firstYear;
+    private final int lastYear;
+    private final long startEpochDay;
+    private final long endEpochDay;
+
+    /** 연도별 영업일 비트셋 (인덱스: year - firstYear, 비트: dayOfYear - 1) */
+    private final BitSet[] businessDaysByYear;
+
+    /** businessDayCountThrough[i] = [범위 시작일, 범위 시작일 + i] 구간의 영업일 수 */
+    private final int[] businessDayCountThrough;
+
+    /** k번째(0부터) 영업일의 범위 시작일 기준 오프셋 */
+    private final int[] businessDayOffsets;
+
+    private BusinessDayCalendar(int firstYear, int lastYear, Collection<LocalDate> holidays) {
+        if (firstYear > lastYear) {
+            throw new IllegalArgumentException("firstYear must not be after lastYear: " + firstYear + " > " + lastYear);
+        }
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+
+        LocalDate rangeStart = LocalDate.of(firstYear, 1, 1);
+        LocalDate rangeEnd = LocalDate.of(lastYear, 12, 31);
+        this.startEpochDay = rangeStart.toEpochDay();
+        this.endEpochDay = rangeEnd.toEpochDay();
+
+        int yearCount = lastYear - firstYear + 1;
+        this.businessDaysByYear = new BitSet[yearCount];
+        for (int i = 0; i < yearCount; i++) {
+            LocalDate jan1 = LocalDate.of(firstYear + i, 1, 1);
+            BitSet bits = new BitSet(jan1.lengthOfYear());
+            for (int day = 0; day < jan1.lengthOfYear(); day++) {
+                if (!isWeekend(jan1.plusDays(day))) {
+                    bits.set(day);
+                }
+            }
+            businessDaysByYear[i] = bits;
+        }
+
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() >= firstYear && holiday.getYear() <= lastYear) {
+                businessDaysByYear[holiday.getYear() - firstYear].clear(holiday.getDayOfYear() - 1);
+            }
+        }
+
+        int totalDays = (int) (endEpochDay - startEpochDay + 1);
+        this.businessDayCountThrough = new int[totalDays];
+        int businessDayCount = 0;
+        for (BitSet bits : businessDaysByYear) {
+            businessDayCount += bits.cardinality();
+        }
+        this.businessDayOffsets = new int[businessDayCount];
+
+        int count = 0;
+        for (int offset = 0; offset < totalDays; offset++) {
+            if (isBusinessDayAtOffset(offset)) {
+                businessDayOffsets[count++] = offset;
+            }
+            businessDayCountThrough[offset] = count;
+        }
+    }
+
+    public static BusinessDayCalendar of(int firstYear, int lastYear, Collection<LocalDate> holidays) {
+        return new BusinessDayCalendar(firstYear, lastYear, holidays);
+    }
+
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    public boolean covers(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        return epochDay >= startEpochDay && epochDay <= endEpochDay;
+    }
+
+    /**
+     * @throws IllegalArgumentException 날짜가 로딩 범위 밖인 경우
+     */
+    public boolean isBusinessDay(LocalDate date) {
+        requireCovered(date);
+        return businessDaysByYear[date.getYear() - firstYear].get(date.getDayOfYear() - 1);
+    }
+
+    /**
+     * from 다음 날부터 세어 days번째 영업일을 반환한다 (days <= 0이면 from 그대로).
+     *
+     * @return 시작일이 범위 밖이거나 결과일이 범위를 넘어가면 빈 값
+     */
+    public Optional<LocalDate> addBusinessDays(LocalDate from, int days) {
+        if (!covers(from)) {
+            return Optional.empty();
+        }
+        if (days <= 0) {
+            return Optional.of(from);
+        }
+
+        int fromOffset = (int) (from.toEpochDay() - startEpochDay);
+        int targetIndex = businessDayCountThrough[fromOffset] + days - 1;
+        if (targetIndex >= businessDayOffsets.length) {
+            return Optional.empty();
+        }
+        return Optional.of(LocalDate.ofEpochDay(startEpochDay + businessDayOffsets[targetIndex]));
+    }
+
+    /**
+     * (from, to] 구간의 영업일 수를 반환한다.
+     *
+     * @throws IllegalArgumentException 날짜가 로딩 범위 밖인 경우
+     */
+    public int businessDaysBetween(LocalDate from, LocalDate to) {
+        requireCovered(from);
+        requireCovered(to);
+        int fromOffset = (int) (from.toEpochDay() - startEpochDay);
+        int toOffset = (int) (to.toEpochDay() - startEpochDay);
+        return businessDayCountThrough[toOffset] - businessDayCountThrough[fromOffset];
+    }
+
+    private boolean isBusinessDayAtOffset(int offset) {
+        LocalDate date = LocalDate.ofEpochDay(startEpochDay + offset);
+        return businessDaysByYear[date.getYear() - firstYear].get(date.getDayOfYear() - 1);
+    }
+
+    private void requireCovered(LocalDate date) {
+        if (!covers(date)) {
+            throw new IllegalArgumentException(
+                    "Date " + date + " is outside the loaded calendar range " + firstYear + "-" + lastYear);
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        DayOfWeek dow = date.getDayOfWeek();
+        return dow == DayOfWeek.SATURDAY || dow == DayOfWeek.SUNDAY;
+    }
+}
@@ -0,0 +1,110 @@
+package com.korpay.billpay.service.settlement.calendar;
+
+import com.korpay.billpay.repository.HolidayRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 국가별 {@link BusinessDayCalendar} 스냅샷을 메모리에 보관하는 제공자.
+ *
+ * 최초 요청 시 public.holidays에서 [올해 - yearsBefore, 올해 + yearsAfter] 범위를 로딩하고,
+ * 주기적으로 holidays 테이블의 지문(건수 + 내용 해시)을 비교하여 변경되었거나
+ * 연도가 바뀌어 로딩 범위가 이동한 경우에만 스냅샷을 재생성한다.
+ * 스냅샷은 불변 객체로 교체되므로 조회 경로에는 잠금이 없다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HolidayCalendarProvider {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final HolidayRepository holidayRepository;
+
+    private final Map<String, BusinessDayCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile String loadedFingerprint;
+
+    /** 올해 기준 과거 몇 년까지 로딩할지 */
+    @Value("${settlement.calendar.years-before:2}")
+    private int yearsBefore;
+
+    /** 올해 기준 미래 몇 년까지 로딩할지 */
+    @Value("${settlement.calendar.years-after:2}")
+    private int yearsAfter;
+
+    public BusinessDayCalendar getCalendar(String countryCode) {
+        BusinessDayCalendar calendar = calendars.get(countryCode);
+        if (calendar != null) {
+            return calendar;
+        }
+        return calendars.computeIfAbsent(countryCode, this::load);
+    }
+
+    /**
+     * holidays 테이블 변경 또는 연도 변경을 감지하여 로딩된 달력을 재생성한다.
+     */
+    @Scheduled(fixedDelayString = "${settlement.calendar.refresh-interval-ms:300000}")
+    public void refreshIfChanged() {
+        if (calendars.isEmpty()) {
+            return;
+        }
+
+        String fingerprint;
+        try {
+            fingerprint = holidayRepository.computeFingerprint();
+        } catch (Exception e) {
+            log.warn("Failed to check holiday calendar fingerprint: {}", e.getMessage());
+            return;
+        }
+
+        int currentYear = LocalDate.now(KST).getYear();
+        boolean rangeShifted = calendars.values().stream()
+                .anyMatch(c -> c.getFirstYear() != currentYear - yearsBefore || c.getLastYear() != currentYear + yearsAfter);
+
+        if (Objects.equals(fingerprint, loadedFingerprint) && !rangeShifted) {
+            return;
+        }
+
+        log.info("Holiday calendar changed (fingerprint={}, rangeShifted={}), reloading {} calendar(s)",
+                fingerprint, rangeShifted, calendars.size());
+        refresh();
+    }
+
+    /**
+     * 로딩된 모든 국가의 달력을 즉시 재생성한다.
+     */
+    public void refresh() {
+        for (String countryCode : List.copyOf(calendars.keySet())) {
+            calendars.put(countryCode, load(countryCode));
+        }
+    }
+
+    private BusinessDayCalendar load(String countryCode) {
+        int currentYear = LocalDate.now(KST).getYear();
+        int firstYear = currentYear - yearsBefore;
+        int lastYear = currentYear + yearsAfter;
+
+        String fingerprint = holidayRepository.computeFingerprint();
+        List<LocalDate> holidays = holidayRepository.findHolidayDates(
+                countryCode,
+                LocalDate.of(firstYear, 1, 1),
+                LocalDate.of(lastYear, 12, 31));
+
+        BusinessDayCalendar calendar = BusinessDayCalendar.of(firstYear, lastYear, holidays);
+        loadedFingerprint = fingerprint;
+
+        log.info("Loaded business-day calendar for {}: {}-{}, {} holidays",
+                countryCode, firstYear, lastYear, holidays.size());
+        return calendar;
+    }
+}
@@ -0,0 +1,139 @@
+package com.korpay.billpay.service.settlement.outbox;
+
+import com.korpay.billpay.domain.entity.SettlementOutbox;
+import com.korpay.billpay.domain.entity.TransactionEvent;
+import com.korpay.billpay.repository.SettlementOutboxRepository;
+import com.korpay.billpay.repository.SettlementRepository;
+import com.korpay.billpay.repository.TransactionEventRepository;
+import com.korpay.billpay.service.settlement.SettlementService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 정산 아웃박스 서비스.
+ *
+ * Webhook 수신 트랜잭션은 {@link #enqueue(TransactionEvent)}로 작업 항목만 기록하고,
+ * 정산 워커가 {@link #processOne(UUID)}로 항목별 독립 트랜잭션에서 정산을 생성한다.
+ * 항목 행을 FOR UPDATE SKIP LOCKED로 잠근 상태에서 정산 INSERT와 COMPLETED 표시를 함께 커밋하므로
+ * 동일 거래 이벤트가 두 번 정산되지 않는다.
+ */
+@Slf4j
+@Service
+public class SettlementOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final SettlementOutboxRepository outboxRepository;
+    private final SettlementRepository settlementRepository;
+    private final TransactionEventRepository transactionEventRepository;
+    private final SettlementService settlementService;
+    private final TransactionTemplate transactionTemplate;
+
+    /** 아웃박스 모드 활성화 여부 (false면 수신 트랜잭션에서 동기 정산) */
+    @Value("${settlement.outbox.enabled:false}")
+    private boolean enabled;
+
+    /** 항목별 최대 처리 시도 횟수 */
+    @Value("${settlement.outbox.max-attempts:5}")
+    private int maxAttempts;
+
+    /** 재시도 기본 대기 시간(초), 시도 횟수에 따라 배수로 증가 */
+    @Value("${settlement.outbox.retry-backoff-seconds:30}")
+    private long retryBackoffSeconds;
+
+    public SettlementOutboxService(SettlementOutboxRepository outboxRepository,
+                                   SettlementRepository settlementRepository,
+                                   TransactionEventRepository transactionEventRepository,
+                                   SettlementService settlementService,
+                                   PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.settlementRepository = settlementRepository;
+        this.transactionEventRepository = transactionEventRepository;
+        this.settlementService = settlementService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 호출자의 트랜잭션 안에서 정산 작업 항목을 기록한다 (중복 기록은 무시).
+     */
+    public void enqueue(TransactionEvent event) {
+        outboxRepository.enqueue(event.getId(), event.getCreatedAt(), event.getTransactionId(), event.getEventSequence());
+        log.debug("Enqueued settlement outbox item for event {}", event.getId());
+    }
+
+    public List<UUID> findReadyIds(int limit) {
+        return outboxRepository.findReadyIds(OffsetDateTime.now(), maxAttempts, limit);
+    }
+
+    /**
+     * 작업 항목 하나를 처리한다.
+     *
+     * @return 이번 호출에서 처리(완료)했으면 true, 다른 워커가 처리 중이거나 이미 처리된 경우 false
+     */
+    public boolean processOne(UUID transactionEventId) {
+        try {
+            Boolean processed = transactionTemplate.execute(status -> {
+                Optional<SettlementOutbox> locked = outboxRepository.lockReady(transactionEventId, maxAttempts);
+                if (locked.isEmpty()) {
+                    return false;
+                }
+                SettlementOutbox item = locked.get();
+
+                if (settlementRepository.existsByTransactionEventId(transactionEventId)) {
+                    log.info("Settlements already exist for event {}, marking outbox item completed", transactionEventId);
+                } else {
+                    TransactionEvent event = transactionEventRepository.findById(
+                                    new TransactionEvent.TransactionEventId(transactionEventId, item.getEventCreatedAt()))
+                            .orElseThrow(() -> new IllegalStateException(
+                                    "Transaction event not found: " + transactionEventId));
+                    settlementService.processTransactionEvent(event);
+                }
+
+                outboxRepository.markCompleted(transactionEventId, OffsetDateTime.now());
+                return true;
+            });
+            return Boolean.TRUE.equals(processed);
+        } catch (Exception e) {
+            log.warn("Settlement outbox item {} failed: {}", transactionEventId, e.getMessage());
+            recordFailure(transactionEventId, e);
+            return false;
+        }
+    }
+
+    public long countUnprocessed() {
+        return outboxRepository.countUnprocessed();
+    }
+
+    private void recordFailure(UUID transactionEventId, Exception e) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                int attempts = outboxRepository.findById(transactionEventId)
+                        .map(SettlementOutbox::getAttempts)
+                        .orElse(0);
+                OffsetDateTime availableAt = OffsetDateTime.now().plusSeconds(retryBackoffSeconds * (attempts + 1));
+                outboxRepository.markFailed(transactionEventId, truncate(e.getMessage()), availableAt);
+            });
+        } catch (Exception updateException) {
+            log.error("Failed to record settlement outbox failure for {}", transactionEventId, updateException);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+}
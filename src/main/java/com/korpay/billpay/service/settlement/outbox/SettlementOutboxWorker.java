@@ -0,0 +1,96 @@
+package com.korpay.billpay.service.settlement.outbox;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 정산 아웃박스 워커.
+ *
+ * 주기적으로 모든 활성 테넌트의 처리 가능 항목을 조회하여 전용 스레드 풀에서 처리한다.
+ * Webhook 수신 경로와 스레드 풀을 분리하여 정산 계산 지연이 수신 처리량에 영향을 주지 않도록 한다.
+ */
+@Slf4j
+@Component
+public class SettlementOutboxWorker {
+
+    private final SettlementOutboxService outboxService;
+    private final TenantService tenantService;
+    private final ExecutorService executor;
+
+    /** 한 번의 폴링에서 테넌트별로 처리할 최대 항목 수 */
+    @Value("${settlement.outbox.batch-size:200}")
+    private int batchSize;
+
+    public SettlementOutboxWorker(SettlementOutboxService outboxService,
+                                  TenantService tenantService,
+                                  @Value("${settlement.outbox.worker-threads:4}") int workerThreads) {
+        this.outboxService = outboxService;
+        this.tenantService = tenantService;
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workerThreads));
+    }
+
+    @Scheduled(fixedDelayString = "${settlement.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!outboxService.isEnabled()) {
+            return;
+        }
+
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                drainTenant(tenantId);
+            } catch (Exception e) {
+                log.error("Settlement outbox polling failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * 테넌트의 처리 가능 항목을 워커 풀에 분배하고 모두 끝날 때까지 기다린다.
+     * 동일 거래의 후속 이벤트는 선행 이벤트 완료 후 다음 폴링에서 조회된다.
+     */
+    private void drainTenant(String tenantId) throws InterruptedException {
+        List<UUID> ids = TenantContextHolder.runInTenant(tenantId,
+                (Supplier<List<UUID>>) () -> outboxService.findReadyIds(batchSize));
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        List<Future<Boolean>> futures = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            futures.add(executor.submit(() -> TenantContextHolder.runInTenant(tenantId,
+                    (Supplier<Boolean>) () -> outboxService.processOne(id))));
+        }
+
+        int processed = 0;
+        for (Future<Boolean> future : futures) {
+            try {
+                if (Boolean.TRUE.equals(future.get())) {
+                    processed++;
+                }
+            } catch (ExecutionException e) {
+                log.warn("Settlement outbox task failed for tenant {}: {}", tenantId, e.getCause().getMessage());
+            }
+        }
+
+        log.info("Settlement outbox: tenant={}, fetched={}, processed={}", tenantId, ids.size(), processed);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package com.korpay.billpay.service.settlement.partition;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * settlements 월 파티션 사전 생성 작업.
+ *
+ * 테넌트마다 현재 KST 월부터 months-ahead개월 뒤까지의 월 파티션을 ensure_settlement_partitions()로 만든다.
+ * 기동 직후와 이후 주기적으로 실행되며, 이미 있는 파티션은 건너뛰므로 여러 인스턴스가 동시에 실행해도 안전하다.
+ * 파티션이 없는 월의 정산은 DEFAULT 파티션으로 들어가며, 그 뒤에는 해당 월 파티션을 만들 수 없으므로
+ * months-ahead는 점검 주기보다 충분히 길게 둔다.
+ *
+ * detach-enabled가 켜져 있으면 범위 끝이 retention-months(KST 월)보다 오래된 파티션을 분리해
+ * partition_archive에 기록한다 (이후 PartitionArchiveService가 파일로 내보낸다).
+ * 분리되는 파티션의 엔티티별 상태 합계는 같은 트랜잭션에서 settlement_archived_totals로 이월되어
+ * 잔액 대사가 분리된 행을 불일치로 보지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementPartitionMaintainer {
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 현재 월 이후 미리 만들어 둘 월 파티션 수 */
+    @Value("${settlement.partition.months-ahead:3}")
+    private int monthsAhead;
+
+    /** 보존 기간 (개월), 범위 끝이 이보다 오래된 파티션은 분리 */
+    @Value("${settlement.partition.settlements.retention-months:60}")
+    private int retentionMonths;
+
+    @Value("${settlement.partition.settlements.detach-enabled:false}")
+    private boolean detachEnabled;
+
+    @Scheduled(initialDelayString = "${settlement.partition.initial-delay-ms:60000}",
+            fixedDelayString = "${settlement.partition.check-interval-ms:21600000}")
+    public void ensureAllTenants() {
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                int created = TenantContextHolder.runInTenant(tenantId,
+                        (Supplier<Integer>) this::ensureCurrentTenant);
+                if (created > 0) {
+                    log.info("Created {} settlement partitions for tenant {}", created, tenantId);
+                }
+                if (detachEnabled) {
+                    int detached = TenantContextHolder.runInTenant(tenantId,
+                            (Supplier<Integer>) this::detachExpiredCurrentTenant);
+                    if (detached > 0) {
+                        log.info("Detached {} expired settlement partitions for tenant {}", detached, tenantId);
+                    }
+                }
+            } catch (Exception e) {
+                log.error("Settlement partition maintenance failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return 새로 만든 월 파티션 수
+     */
+    public int ensureCurrentTenant() {
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_settlement_partitions(?)",
+                Integer.class, monthsAhead);
+        return created != null ? created : 0;
+    }
+
+    /**
+     * @return 분리한 파티션 수
+     */
+    public int detachExpiredCurrentTenant() {
+        if (retentionMonths < 1) {
+            throw new IllegalStateException("settlement.partition.settlements.retention-months must be positive");
+        }
+        Integer detached = jdbcTemplate.queryForObject("""
+                SELECT detach_expired_partitions('settlements',
+                    (date_trunc('month', now() AT TIME ZONE 'Asia/Seoul') - make_interval(months => ?))
+                        AT TIME ZONE 'Asia/Seoul')
+                """, Integer.class, retentionMonths);
+        return detached != null ? detached : 0;
+    }
+}
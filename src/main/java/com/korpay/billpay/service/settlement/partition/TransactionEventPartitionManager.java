@@ -0,0 +1,121 @@
+package com.korpay.billpay.service.settlement.partition;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * transaction_events 파티션 수명 주기 관리.
+ *
+ * 테넌트마다 현재 UTC 월부터 months-ahead개월 뒤까지 월 파티션을 만들고(DEFAULT 파티션에 이미 들어온
+ * 구간은 행을 옮겨 분리), retention-months가 지난 파티션은 분리해 partition_archive에 기록한다.
+ * 실제 작업은 V19의 DB 함수가 하며, 여기서는 테넌트 순회와 지표 기록만 한다.
+ *
+ * 지표 (태그: tenant):
+ *   - partition.transaction_events.count: DEFAULT를 제외한 파티션 수
+ *   - partition.transaction_events.default.rows / default.bytes: DEFAULT 파티션 크기 (0이 정상)
+ *   - partition.transaction_events.created / rows.moved / detached: 누적 처리 건수
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEventPartitionManager {
+
+    private static final String STATS_SQL = """
+            SELECT
+                (SELECT COUNT(*) FROM transaction_event_partitions WHERE NOT is_default) as partition_count,
+                (SELECT COUNT(*) FROM transaction_events_default) as default_rows,
+                pg_total_relation_size('transaction_events_default') as default_bytes
+            """;
+
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    /** 테넌트별 게이지 값 (게이지는 값 객체를 약하게 참조하므로 여기서 보관) */
+    private final Map<String, TenantGauges> gauges = new ConcurrentHashMap<>();
+
+    /** 현재 월 이후 미리 만들어 둘 월 파티션 수 */
+    @Value("${settlement.partition.transaction-events.months-ahead:3}")
+    private int monthsAhead;
+
+    /** 보존 기간 (개월), 범위 끝이 이보다 오래된 파티션은 분리 */
+    @Value("${settlement.partition.transaction-events.retention-months:24}")
+    private int retentionMonths;
+
+    @Value("${settlement.partition.transaction-events.detach-enabled:false}")
+    private boolean detachEnabled;
+
+    @Scheduled(initialDelayString = "${settlement.partition.initial-delay-ms:60000}",
+            fixedDelayString = "${settlement.partition.check-interval-ms:21600000}")
+    public void manageAllTenants() {
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                TenantContextHolder.runInTenant(tenantId, (Runnable) () -> manageCurrentTenant(tenantId));
+            } catch (Exception e) {
+                log.error("Transaction event partition maintenance failed for tenant {}: {}",
+                        tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    public void manageCurrentTenant(String tenantId) {
+        Tags tags = Tags.of("tenant", tenantId);
+
+        Map<String, Object> ensured = jdbcTemplate.queryForMap(
+                "SELECT partitions_created, rows_moved FROM ensure_transaction_event_partitions(?)", monthsAhead);
+        int created = ((Number) ensured.get("partitions_created")).intValue();
+        long moved = ((Number) ensured.get("rows_moved")).longValue();
+        if (created > 0) {
+            meterRegistry.counter("partition.transaction_events.created", tags).increment(created);
+            meterRegistry.counter("partition.transaction_events.rows.moved", tags).increment(moved);
+            log.info("Created {} transaction event partitions for tenant {} ({} rows moved from default)",
+                    created, tenantId, moved);
+        }
+
+        if (detachEnabled) {
+            Integer detached = jdbcTemplate.queryForObject(
+                    "SELECT detach_expired_transaction_event_partitions(?)", Integer.class, retentionMonths);
+            if (detached != null && detached > 0) {
+                meterRegistry.counter("partition.transaction_events.detached", tags).increment(detached);
+                log.info("Detached {} expired transaction event partitions for tenant {}", detached, tenantId);
+            }
+        }
+
+        TenantGauges tenantGauges = gauges.computeIfAbsent(tenantId, id -> registerGauges(tags));
+        jdbcTemplate.query(STATS_SQL, rs -> {
+            tenantGauges.partitionCount.set(rs.getLong("partition_count"));
+            tenantGauges.defaultRows.set(rs.getLong("default_rows"));
+            tenantGauges.defaultBytes.set(rs.getLong("default_bytes"));
+        });
+        if (tenantGauges.defaultRows.get() > 0) {
+            log.warn("Transaction event default partition still holds {} rows for tenant {}",
+                    tenantGauges.defaultRows.get(), tenantId);
+        }
+    }
+
+    private TenantGauges registerGauges(Tags tags) {
+        TenantGauges tenantGauges = new TenantGauges();
+        meterRegistry.gauge("partition.transaction_events.count", tags, tenantGauges.partitionCount);
+        meterRegistry.gauge("partition.transaction_events.default.rows", tags, tenantGauges.defaultRows);
+        meterRegistry.gauge("partition.transaction_events.default.bytes", tags, tenantGauges.defaultBytes);
+        return tenantGauges;
+    }
+
+    private static final class TenantGauges {
+        final AtomicLong partitionCount = new AtomicLong();
+        final AtomicLong defaultRows = new AtomicLong();
+        final AtomicLong defaultBytes = new AtomicLong();
+    }
+}
@@ -0,0 +1,52 @@
+package com.korpay.billpay.service.settlement.payout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 인터넷뱅킹 대량이체 업로드용 CSV: 헤더 1행 후 은행코드,계좌번호,예금주,이체금액,적요.
+ * 출금 정보와 합계 행은 두지 않는다 (출금 계좌는 업로드 화면에서 선택).
+ */
+final class CsvPayoutFileWriter implements PayoutFileWriter {
+
+    private static final byte[] CRLF = {'\r', '\n'};
+
+    private final OutputStream out;
+
+    CsvPayoutFileWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(Header header) throws IOException {
+        out.write("은행코드,계좌번호,예금주,이체금액,적요".getBytes(CHARSET));
+        out.write(CRLF);
+    }
+
+    @Override
+    public void writeRecord(int sequence, String bankCode, String accountNumber, String accountHolder, long amount,
+                            String memo) throws IOException {
+        StringBuilder line = new StringBuilder(64)
+                .append(escape(bankCode)).append(',')
+                .append(escape(accountNumber)).append(',')
+                .append(escape(accountHolder)).append(',')
+                .append(amount).append(',')
+                .append(escape(memo));
+        out.write(line.toString().getBytes(CHARSET));
+        out.write(CRLF);
+    }
+
+    @Override
+    public void writeTrailer(int rowCount, long totalAmount) {
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,105 @@
+package com.korpay.billpay.service.settlement.payout;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * 펌뱅킹 대량이체 고정길이 파일: 레코드당 100byte + CRLF, S(헤더)/D(데이터)/E(트레일러).
+ *
+ * <pre>
+ * S: 구분(1) 이체일자(8) 출금은행(3) 출금계좌(16) 의뢰인명(20) 배치번호(30) 공란(22)
+ * D: 구분(1) 순번(6) 입금은행(3) 입금계좌(16) 이체금액(13) 예금주(20) 적요(20) 공란(21)
+ * E: 구분(1) 총건수(6) 총금액(15) 공란(78)
+ * </pre>
+ *
+ * 숫자 필드는 앞을 0으로, 문자 필드는 뒤를 공백으로 채운다. 문자 필드 길이는 MS949 byte 기준이며
+ * 길이를 넘으면 한글 한 글자(2byte)가 잘리지 않도록 글자 단위로 자른다.
+ */
+final class FixedWidthPayoutFileWriter implements PayoutFileWriter {
+
+    static final int RECORD_LENGTH = 100;
+
+    private final OutputStream out;
+    private final byte[] record = new byte[RECORD_LENGTH + 2];
+    private int position;
+
+    FixedWidthPayoutFileWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    @Override
+    public void writeHeader(Header header) throws IOException {
+        begin('S');
+        text(header.transferDate(), 8);
+        text(header.senderBankCode(), 3);
+        text(header.senderAccountNumber(), 16);
+        text(header.senderName(), 20);
+        text(header.batchNumber(), 30);
+        end();
+    }
+
+    @Override
+    public void writeRecord(int sequence, String bankCode, String accountNumber, String accountHolder, long amount,
+                            String memo) throws IOException {
+        begin('D');
+        number(sequence, 6);
+        text(bankCode, 3);
+        text(accountNumber, 16);
+        number(amount, 13);
+        text(accountHolder, 20);
+        text(memo, 20);
+        end();
+    }
+
+    @Override
+    public void writeTrailer(int rowCount, long totalAmount) throws IOException {
+        begin('E');
+        number(rowCount, 6);
+        number(totalAmount, 15);
+        end();
+    }
+
+    private void begin(char type) {
+        Arrays.fill(record, 0, RECORD_LENGTH, (byte) ' ');
+        record[0] = (byte) type;
+        position = 1;
+    }
+
+    private void end() throws IOException {
+        record[RECORD_LENGTH] = '\r';
+        record[RECORD_LENGTH + 1] = '\n';
+        out.write(record);
+    }
+
+    private void number(long value, int width) {
+        String digits = Long.toString(value);
+        if (value < 0 || digits.length() > width) {
+            throw new IllegalStateException("지급 파일 숫자 필드(" + width + "자리)에 기록할 수 없는 값입니다: " + value);
+        }
+        int pad = width - digits.length();
+        Arrays.fill(record, position, position + pad, (byte) '0');
+        for (int i = 0; i < digits.length(); i++) {
+            record[position + pad + i] = (byte) digits.charAt(i);
+        }
+        position += width;
+    }
+
+    private void text(String value, int width) {
+        int written = 0;
+        if (value != null) {
+            int i = 0;
+            while (i < value.length()) {
+                int end = i + Character.charCount(value.codePointAt(i));
+                byte[] encoded = value.substring(i, end).getBytes(CHARSET);
+                if (written + encoded.length > width) {
+                    break;
+                }
+                System.arraycopy(encoded, 0, record, position + written, encoded.length);
+                written += encoded.length;
+                i = end;
+            }
+        }
+        position += width;
+    }
+}
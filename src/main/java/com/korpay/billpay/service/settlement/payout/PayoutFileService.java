@@ -0,0 +1,289 @@
+package com.korpay.billpay.service.settlement.payout;
+
+import com.korpay.billpay.domain.entity.SettlementBatch;
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
+import com.korpay.billpay.domain.enums.SettlementBatchStatus;
+import com.korpay.billpay.dto.response.PayoutFileSummary;
+import com.korpay.billpay.exception.EntityNotFoundException;
+import com.korpay.billpay.repository.SettlementBatchRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 정산 배치 지급(은행 대량이체) 파일 생성.
+ *
+ * 완료된 배치의 정산 원장을 지급 대상(가맹점, 조직)별 순지급액으로 집계하고 대표 계좌와 조인한 결과를
+ * forward-only 커서로 읽으면서 곧바로 출력 스트림에 기록하므로, 지급 대상 수와 무관하게 메모리 사용량이 일정하다.
+ * 정렬 순서가 결정적이므로 원장이 바뀌지 않았다면 몇 번을 다시 생성해도 같은 파일이 나온다.
+ *
+ * 최초 생성 시 파일 형식, 건수, 총액, SHA-256 체크섬을 배치에 기록하고 이후 재생성은 기록값을 덮어쓰지 않고
+ * 비교만 한다. 불일치는 배치 이후 원장 또는 대표 계좌가 변경되었음을 뜻하므로 지급 전에 확인해야 한다.
+ */
+@Slf4j
+@Service
+public class PayoutFileService {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 지급 대상별 순지급액(양수만)과 대표 계좌.
+     * 가맹점 항목(entity_id = merchant_id)은 MERCHANT 계좌, 조직 항목은 조직 사업자의 BUSINESS_ENTITY 계좌를 사용한다.
+     * 배치 정산은 배치 기간 안에 생성된 건이므로 기간 조건으로 해당 월 파티션만 읽는다.
+     */
+    private static final String PAYOUT_SQL = """
+        WITH payees AS (
+            SELECT
+                s.entity_id,
+                s.entity_id = s.merchant_id as merchant_entry,
+                SUM(s.net_amount) as net_amount
+            FROM settlements s
+            WHERE s.settlement_batch_id = ?
+              AND s.created_at >= ? AND s.created_at < ?
+              AND s.status = 'COMPLETED'
+            GROUP BY s.entity_id, s.entity_id = s.merchant_id
+            HAVING SUM(s.net_amount) > 0
+        )
+        SELECT
+            p.entity_id,
+            p.merchant_entry,
+            p.net_amount,
+            a.bank_code,
+            a.account_number,
+            a.account_holder
+        FROM payees p
+        LEFT JOIN organizations o ON NOT p.merchant_entry AND o.id = p.entity_id
+        LEFT JOIN LATERAL (
+            SELECT sa.bank_code, sa.account_number, sa.account_holder
+            FROM settlement_accounts sa
+            WHERE sa.entity_type = CAST(CASE WHEN p.merchant_entry THEN 'MERCHANT' ELSE 'BUSINESS_ENTITY' END
+                                        AS contact_entity_type)
+              AND sa.entity_id = CASE WHEN p.merchant_entry THEN p.entity_id ELSE o.business_entity_id END
+              AND sa.is_primary = TRUE
+              AND sa.status = 'ACTIVE'
+              AND sa.deleted_at IS NULL
+            ORDER BY sa.created_at, sa.id
+            LIMIT 1
+        ) a ON TRUE
+        ORDER BY p.merchant_entry DESC, p.entity_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final SettlementBatchRepository settlementBatchRepository;
+
+    @Value("${settlement.payout.sender-bank-code:}")
+    private String senderBankCode;
+
+    @Value("${settlement.payout.sender-account-number:}")
+    private String senderAccountNumber;
+
+    @Value("${settlement.payout.sender-name:}")
+    private String senderName;
+
+    /** 입금 통장 표시 적요 */
+    @Value("${settlement.payout.memo:정산금}")
+    private String memo;
+
+    public PayoutFileService(JdbcTemplate jdbcTemplate,
+                             DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             SettlementBatchRepository settlementBatchRepository,
+                             @Value("${settlement.payout.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.settlementBatchRepository = settlementBatchRepository;
+    }
+
+    /**
+     * 지급 파일을 out에 기록한다. out은 flush만 하고 닫지 않는다.
+     *
+     * @throws EntityNotFoundException 배치가 없는 경우
+     * @throws IllegalStateException   배치가 완료 상태가 아닌 경우
+     */
+    public PayoutFileSummary write(UUID batchId, PayoutFileFormat format, OutputStream out) throws IOException {
+        SettlementBatch batch = findCompletedBatch(batchId);
+        PayoutFileSummary summary = generate(batch, format, out);
+        return record(batch, summary);
+    }
+
+    /**
+     * 지급 파일을 target 경로에 기록한다. 같은 디렉토리의 임시 파일에 쓴 뒤 원자적으로 교체하므로
+     * 중간에 실패해도 불완전한 파일이 target에 남지 않는다.
+     */
+    public PayoutFileSummary writeToFile(UUID batchId, PayoutFileFormat format, Path target) throws IOException {
+        Path directory = target.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        try {
+            PayoutFileSummary summary;
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                summary = write(batchId, format, out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return summary;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 기록된 형식으로 파일을 다시 생성(출력 없이)하여 최초 생성 결과와 비교한다.
+     *
+     * @throws IllegalStateException 아직 지급 파일을 생성하지 않은 배치인 경우
+     */
+    public PayoutFileSummary verify(UUID batchId) {
+        SettlementBatch batch = findCompletedBatch(batchId);
+        if (batch.getPayoutChecksum() == null) {
+            throw new IllegalStateException("지급 파일이 생성되지 않은 배치입니다: " + batch.getBatchNumber());
+        }
+        try {
+            return compare(batch, generate(batch, batch.getPayoutFileFormat(), OutputStream.nullOutputStream()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String fileName(SettlementBatch batch, PayoutFileFormat format) {
+        return "PAYOUT-" + batch.getBatchNumber() + (format == PayoutFileFormat.CSV ? ".csv" : ".txt");
+    }
+
+    public SettlementBatch findCompletedBatch(UUID batchId) {
+        SettlementBatch batch = settlementBatchRepository.findById(batchId)
+                .orElseThrow(() -> new EntityNotFoundException("정산 배치를 찾을 수 없습니다: " + batchId));
+        if (batch.getStatus() != SettlementBatchStatus.COMPLETED) {
+            throw new IllegalStateException("완료된 배치만 지급 파일을 생성할 수 있습니다: "
+                    + batch.getBatchNumber() + " (" + batch.getStatus() + ")");
+        }
+        return batch;
+    }
+
+    private PayoutFileSummary generate(SettlementBatch batch, PayoutFileFormat format, OutputStream out)
+            throws IOException {
+        MessageDigest digest = sha256();
+        BufferedOutputStream buffered = new BufferedOutputStream(new DigestOutputStream(out, digest), BUFFER_SIZE);
+        PayoutFileWriter writer = PayoutFileWriter.of(format, buffered);
+
+        writer.writeHeader(new PayoutFileWriter.Header(batch.getSettlementDate().format(DATE_FORMAT),
+                senderBankCode, senderAccountNumber, senderName, batch.getBatchNumber()));
+
+        Totals totals = new Totals();
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                    streamingJdbcTemplate.query(PAYOUT_SQL, rs -> {
+                        long amount = rs.getLong("net_amount");
+                        String accountNumber = rs.getString("account_number");
+                        if (accountNumber == null) {
+                            totals.skipped++;
+                            totals.skippedAmount += amount;
+                            log.warn("Payout skipped for batch {}: no primary account for {} {} (amount={})",
+                                    batch.getBatchNumber(), rs.getBoolean("merchant_entry") ? "merchant" : "organization",
+                                    rs.getObject("entity_id", UUID.class), amount);
+                            return;
+                        }
+                        totals.rows++;
+                        totals.amount += amount;
+                        try {
+                            writer.writeRecord(totals.rows, rs.getString("bank_code"), accountNumber,
+                                    rs.getString("account_holder"), amount, memo);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, batch.getId(), batch.getPeriodStart(), batch.getPeriodEnd()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.writeTrailer(totals.rows, totals.amount);
+        buffered.flush();
+
+        return new PayoutFileSummary(batch.getId(), batch.getBatchNumber(), format.name(), totals.rows, totals.amount,
+                totals.skipped, totals.skippedAmount, HexFormat.of().formatHex(digest.digest()), true);
+    }
+
+    /**
+     * 최초 생성이면 결과를 배치에 기록하고, 이미 기록되어 있으면 비교만 한다.
+     */
+    private PayoutFileSummary record(SettlementBatch batch, PayoutFileSummary summary) {
+        int recorded = jdbcTemplate.update("""
+                UPDATE settlement_batches
+                SET payout_file_format = ?,
+                    payout_row_count = ?,
+                    payout_total_amount = ?,
+                    payout_checksum = ?,
+                    payout_generated_at = now(),
+                    updated_at = now()
+                WHERE id = ? AND payout_checksum IS NULL
+                """, summary.format(), summary.rowCount(), summary.totalAmount(), summary.checksum(), batch.getId());
+        if (recorded == 1) {
+            log.info("Payout file generated for batch {}: format={}, rows={}, total={}, skipped={}, checksum={}",
+                    batch.getBatchNumber(), summary.format(), summary.rowCount(), summary.totalAmount(),
+                    summary.skippedCount(), summary.checksum());
+            return summary;
+        }
+
+        // 동시에 먼저 기록된 경우를 포함하여 DB의 기록값과 비교
+        Map<String, Object> stored = jdbcTemplate.queryForMap("""
+                SELECT payout_file_format, payout_row_count, payout_total_amount, payout_checksum
+                FROM settlement_batches WHERE id = ?
+                """, batch.getId());
+        batch.setPayoutFileFormat(PayoutFileFormat.valueOf((String) stored.get("payout_file_format")));
+        batch.setPayoutRowCount(((Number) stored.get("payout_row_count")).intValue());
+        batch.setPayoutTotalAmount(((Number) stored.get("payout_total_amount")).longValue());
+        batch.setPayoutChecksum((String) stored.get("payout_checksum"));
+        return compare(batch, summary);
+    }
+
+    private PayoutFileSummary compare(SettlementBatch batch, PayoutFileSummary summary) {
+        boolean matches = summary.rowCount() == batch.getPayoutRowCount()
+                && summary.totalAmount() == batch.getPayoutTotalAmount()
+                && (!summary.format().equals(batch.getPayoutFileFormat().name())
+                    || summary.checksum().equals(batch.getPayoutChecksum()));
+        if (!matches) {
+            log.warn("Payout file for batch {} differs from recorded generation: rows={}/{}, total={}/{}, checksum={}/{}",
+                    batch.getBatchNumber(), summary.rowCount(), batch.getPayoutRowCount(), summary.totalAmount(),
+                    batch.getPayoutTotalAmount(), summary.checksum(), batch.getPayoutChecksum());
+        }
+        return new PayoutFileSummary(summary.batchId(), summary.batchNumber(), summary.format(), summary.rowCount(),
+                summary.totalAmount(), summary.skippedCount(), summary.skippedAmount(), summary.checksum(), matches);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Totals {
+        int rows;
+        long amount;
+        int skipped;
+        long skippedAmount;
+    }
+}
@@ -0,0 +1,43 @@
+package com.korpay.billpay.service.settlement.payout;
+
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+
+/**
+ * 은행 대량이체 파일 writer.
+ *
+ * 레코드를 받는 즉시 출력 스트림에 기록하고 내부에 레코드를 보관하지 않는다.
+ * 국내 은행 펌뱅킹/대량이체 업로드 관행에 따라 MS949(CP949)로 인코딩하고 줄 끝은 CRLF를 사용한다.
+ */
+public interface PayoutFileWriter {
+
+    Charset CHARSET = Charset.forName("MS949");
+
+    /**
+     * @param transferDate 이체 일자 (yyyyMMdd)
+     * @param batchNumber  정산 배치 번호
+     */
+    record Header(String transferDate, String senderBankCode, String senderAccountNumber, String senderName,
+                  String batchNumber) {
+    }
+
+    void writeHeader(Header header) throws IOException;
+
+    /**
+     * @param sequence 1부터 시작하는 이체 순번
+     */
+    void writeRecord(int sequence, String bankCode, String accountNumber, String accountHolder, long amount,
+                     String memo) throws IOException;
+
+    void writeTrailer(int rowCount, long totalAmount) throws IOException;
+
+    static PayoutFileWriter of(PayoutFileFormat format, OutputStream out) {
+        return switch (format) {
+            case CSV -> new CsvPayoutFileWriter(out);
+            case FIXED_WIDTH -> new FixedWidthPayoutFileWriter(out);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.korpay.billpay.service.settlement.reconciliation;
+
+import com.korpay.billpay.domain.enums.PgFileFormat;
+
+/**
+ * PG 대사 파일의 레코드 레이아웃.
+ *
+ * CSV는 0부터 시작하는 컬럼 번호로, 고정길이는 줄 시작 기준 byte 오프셋과 길이로 필드를 지정한다.
+ * 취소 여부 필드의 첫 글자가 cancelCode이거나 금액이 음수이면 취소 레코드로 보고 음수 금액으로 합산한다.
+ *
+ * @param headerLines      파일 앞에서 건너뛸 줄 수
+ * @param dataRecordPrefix 데이터 레코드 구분자 (0이면 모든 줄을 데이터로 처리, 예: 고정길이의 'D' 레코드)
+ */
+public record PgFileLayout(
+        PgFileFormat format,
+        int headerLines,
+        byte delimiter,
+        byte dataRecordPrefix,
+        Field tid,
+        Field cancelFlag,
+        Field amount,
+        byte cancelCode
+) {
+
+    /** KORPAY 거래 대사 CSV: 헤더 1행, tid,cancelYN,amt,... */
+    public static final PgFileLayout KORPAY_CSV = new PgFileLayout(
+            PgFileFormat.CSV, 1, (byte) ',', (byte) 0,
+            Field.column(0), Field.column(1), Field.column(2), (byte) 'Y');
+
+    /** KORPAY 거래 대사 고정길이: H(헤더)/D(데이터)/T(트레일러), D 레코드의 tid(1-30), cancelYN(31), amt(32-43) */
+    public static final PgFileLayout KORPAY_FIXED_WIDTH = new PgFileLayout(
+            PgFileFormat.FIXED_WIDTH, 0, (byte) 0, (byte) 'D',
+            Field.fixed(1, 30), Field.fixed(31, 1), Field.fixed(32, 12), (byte) 'Y');
+
+    public static PgFileLayout of(String pgCode, PgFileFormat format) {
+        if (!"KORPAY".equals(pgCode)) {
+            throw new IllegalArgumentException("대사 파일 레이아웃이 정의되지 않은 PG입니다: " + pgCode);
+        }
+        return format == PgFileFormat.CSV ? KORPAY_CSV : KORPAY_FIXED_WIDTH;
+    }
+
+    /**
+     * @param column CSV 컬럼 번호 (고정길이면 -1)
+     * @param start  고정길이 시작 오프셋 (CSV면 -1)
+     * @param length 고정길이 byte 길이
+     */
+    public record Field(int column, int start, int length) {
+
+        public static Field column(int column) {
+            return new Field(column, -1, 0);
+        }
+
+        public static Field fixed(int start, int length) {
+            return new Field(-1, start, length);
+        }
+    }
+}
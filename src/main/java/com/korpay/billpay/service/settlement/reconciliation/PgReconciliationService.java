@@ -0,0 +1,440 @@
+package com.korpay.billpay.service.settlement.reconciliation;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.PgConnection;
+import com.korpay.billpay.domain.enums.PgFileFormat;
+import com.korpay.billpay.domain.enums.PgReconciliationResultType;
+import com.korpay.billpay.domain.enums.PgReconciliationStatus;
+import com.korpay.billpay.dto.response.PgReconciliationItemDto;
+import com.korpay.billpay.dto.response.PgReconciliationRunDto;
+import com.korpay.billpay.exception.EntityNotFoundException;
+import com.korpay.billpay.repository.PgConnectionRepository;
+import com.korpay.billpay.service.settlement.reconciliation.PgSettlementFileParser.Segment;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * PG 정산 파일 대사.
+ *
+ * 파일을 {@link PgSettlementFileParser}로 세그먼트별 병렬 파싱하여 TID별 금액을 {@link PgTidTable}에 적재하고(build),
+ * 같은 일자의 거래 이벤트를 PG TID 해시로 나눈 여러 스트림으로 병렬 조회하며 테이블을 조회한다(probe).
+ * 불일치 항목(원장 누락, 파일 누락, 금액 불일치, 정산 미생성)만 pg_reconciliation_items에 배치로 기록하고
+ * 일치 건은 실행 이력의 건수로만 남긴다.
+ *
+ * 파일 레코드 수가 max-records-in-memory를 넘으면 TID 해시로 파일과 원장을 같은 기준으로 나누어
+ * 여러 회차로 대사하므로, 파일 크기와 무관하게 힙 사용량은 회차당 테이블 크기로 제한된다.
+ */
+@Slf4j
+@Service
+public class PgReconciliationService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    /** 파일 일자에 발생한 PG 연결의 거래 이벤트를 TID별로 합산 (worker번째 해시 파티션만) */
+    private static final String LEDGER_SQL = """
+        SELECT
+            e.pg_transaction_id,
+            e.transaction_id,
+            SUM(e.amount) as amount,
+            COUNT(*) FILTER (WHERE NOT e.settled) as unsettled_events
+        FROM (
+            SELECT
+                te.pg_transaction_id,
+                te.transaction_id,
+                te.amount,
+                EXISTS (SELECT 1 FROM settlements s
+                        WHERE s.transaction_event_id = te.id AND s.created_at >= te.created_at) as settled
+            FROM transaction_events te
+            WHERE te.pg_connection_id = ?
+              AND te.pg_transaction_id IS NOT NULL
+              AND te.occurred_at >= ? AND te.occurred_at < ?
+              AND te.created_at >= ? AND te.created_at < ?
+              AND (hashtext(te.pg_transaction_id) & 2147483647) % ? = ?
+        ) e
+        GROUP BY e.pg_transaction_id, e.transaction_id
+        """;
+
+    private static final String INSERT_ITEM_SQL = """
+        INSERT INTO pg_reconciliation_items (
+            run_id, pg_transaction_id, result_type, file_amount, ledger_amount, transaction_id, line_number
+        ) VALUES (?, ?, ?, ?, ?, ?, ?)
+        """;
+
+    private static final String RUN_COLUMNS = """
+        id, pg_connection_id, file_name, file_format, file_date, file_size, status,
+        file_lines, file_records, ledger_records, matched_count, missing_in_ledger_count,
+        missing_in_file_count, amount_mismatch_count, unsettled_count, error_message, started_at, completed_at
+        """;
+
+    private static final RowMapper<PgReconciliationRunDto> RUN_ROW_MAPPER = (rs, rowNum) -> new PgReconciliationRunDto(
+            rs.getObject("id", UUID.class),
+            rs.getLong("pg_connection_id"),
+            rs.getString("file_name"),
+            rs.getString("file_format"),
+            rs.getObject("file_date", LocalDate.class),
+            rs.getLong("file_size"),
+            rs.getString("status"),
+            rs.getLong("file_lines"),
+            rs.getLong("file_records"),
+            rs.getLong("ledger_records"),
+            rs.getLong("matched_count"),
+            rs.getLong("missing_in_ledger_count"),
+            rs.getLong("missing_in_file_count"),
+            rs.getLong("amount_mismatch_count"),
+            rs.getLong("unsettled_count"),
+            rs.getString("error_message"),
+            rs.getObject("started_at", OffsetDateTime.class),
+            rs.getObject("completed_at", OffsetDateTime.class));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PgConnectionRepository pgConnectionRepository;
+
+    /** 파싱 세그먼트 수 및 원장 조회 스트림 수 */
+    @Value("${settlement.reconciliation.parallelism:4}")
+    private int parallelism;
+
+    /** 한 회차에 메모리에 적재할 최대 파일 레코드 수 */
+    @Value("${settlement.reconciliation.max-records-in-memory:2000000}")
+    private long maxRecordsInMemory;
+
+    /** 거래 발생 후 이벤트가 수신되기까지 허용하는 최대 지연 (일) */
+    @Value("${settlement.reconciliation.ingest-lag-days:3}")
+    private int ingestLagDays;
+
+    /** 불일치 항목 배치 INSERT 크기 */
+    @Value("${settlement.reconciliation.item-batch-size:1000}")
+    private int itemBatchSize;
+
+    public PgReconciliationService(JdbcTemplate jdbcTemplate,
+                                   DataSource dataSource,
+                                   PlatformTransactionManager transactionManager,
+                                   PgConnectionRepository pgConnectionRepository,
+                                   @Value("${settlement.reconciliation.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pgConnectionRepository = pgConnectionRepository;
+    }
+
+    /**
+     * PG 파일을 fileDate(KST) 거래 원장과 대사하고 결과를 저장한다.
+     *
+     * @throws IllegalArgumentException PG 연결이 없거나 레이아웃이 정의되지 않은 경우
+     * @throws IllegalStateException    대사 중 오류 (실행 이력은 FAILED로 남는다)
+     */
+    public PgReconciliationRunDto reconcile(Long pgConnectionId, LocalDate fileDate, PgFileFormat format,
+                                            String fileName, Path file) {
+        PgConnection connection = pgConnectionRepository.findById(pgConnectionId)
+                .orElseThrow(() -> new IllegalArgumentException("PG 연결을 찾을 수 없습니다: " + pgConnectionId));
+        PgFileLayout layout = PgFileLayout.of(connection.getPgCode(), format);
+
+        long fileSize;
+        try {
+            fileSize = Files.size(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("대사 파일을 읽을 수 없습니다: " + fileName, e);
+        }
+
+        UUID runId = jdbcTemplate.queryForObject("""
+                INSERT INTO pg_reconciliation_runs (pg_connection_id, file_name, file_format, file_date, file_size, status)
+                VALUES (?, ?, ?, ?, ?, ?)
+                RETURNING id
+                """, UUID.class, pgConnectionId, fileName, format.name(), Date.valueOf(fileDate), fileSize,
+                PgReconciliationStatus.RUNNING.name());
+
+        long startedAt = System.nanoTime();
+        try {
+            Counts counts = execute(runId, pgConnectionId, fileDate, layout, file);
+            jdbcTemplate.update("""
+                    UPDATE pg_reconciliation_runs
+                    SET status = ?,
+                        file_lines = ?,
+                        file_records = ?,
+                        ledger_records = ?,
+                        matched_count = ?,
+                        missing_in_ledger_count = ?,
+                        missing_in_file_count = ?,
+                        amount_mismatch_count = ?,
+                        unsettled_count = ?,
+                        completed_at = now()
+                    WHERE id = ?
+                    """, PgReconciliationStatus.COMPLETED.name(), counts.fileLines, counts.fileRecords,
+                    counts.ledgerRecords, counts.matched, counts.missingInLedger, counts.missingInFile,
+                    counts.amountMismatch, counts.unsettled, runId);
+
+            log.info("PG reconciliation {} completed in {} ms: file={}, fileRecords={}, ledgerRecords={}, matched={}, "
+                            + "missingInLedger={}, missingInFile={}, amountMismatch={}, unsettled={}",
+                    runId, (System.nanoTime() - startedAt) / 1_000_000, fileName, counts.fileRecords,
+                    counts.ledgerRecords, counts.matched, counts.missingInLedger, counts.missingInFile,
+                    counts.amountMismatch, counts.unsettled);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.error("PG reconciliation {} failed for file {}: {}", runId, fileName, e.getMessage(), e);
+            jdbcTemplate.update("""
+                    UPDATE pg_reconciliation_runs
+                    SET status = ?, error_message = ?, completed_at = now()
+                    WHERE id = ?
+                    """, PgReconciliationStatus.FAILED.name(), e.getMessage(), runId);
+            throw new IllegalStateException("PG 파일 대사에 실패했습니다: " + e.getMessage(), e);
+        }
+
+        return findRun(runId);
+    }
+
+    public PgReconciliationRunDto findRun(UUID runId) {
+        List<PgReconciliationRunDto> runs = jdbcTemplate.query(
+                "SELECT " + RUN_COLUMNS + " FROM pg_reconciliation_runs WHERE id = ?", RUN_ROW_MAPPER, runId);
+        if (runs.isEmpty()) {
+            throw new EntityNotFoundException("대사 실행을 찾을 수 없습니다: " + runId);
+        }
+        return runs.getFirst();
+    }
+
+    public List<PgReconciliationRunDto> findRuns(Long pgConnectionId, int limit) {
+        if (pgConnectionId == null) {
+            return jdbcTemplate.query("SELECT " + RUN_COLUMNS + " FROM pg_reconciliation_runs ORDER BY started_at DESC LIMIT ?",
+                    RUN_ROW_MAPPER, limit);
+        }
+        return jdbcTemplate.query("SELECT " + RUN_COLUMNS
+                        + " FROM pg_reconciliation_runs WHERE pg_connection_id = ? ORDER BY file_date DESC, started_at DESC LIMIT ?",
+                RUN_ROW_MAPPER, pgConnectionId, limit);
+    }
+
+    public List<PgReconciliationItemDto> findItems(UUID runId, PgReconciliationResultType resultType, int limit) {
+        RowMapper<PgReconciliationItemDto> mapper = (rs, rowNum) -> new PgReconciliationItemDto(
+                rs.getObject("id", UUID.class),
+                rs.getString("pg_transaction_id"),
+                rs.getString("result_type"),
+                rs.getObject("file_amount", Long.class),
+                rs.getObject("ledger_amount", Long.class),
+                rs.getObject("transaction_id", UUID.class),
+                rs.getObject("line_number", Long.class));
+
+        String sql = """
+                SELECT id, pg_transaction_id, result_type, file_amount, ledger_amount, transaction_id, line_number
+                FROM pg_reconciliation_items
+                WHERE run_id = ?
+                """;
+        if (resultType == null) {
+            return jdbcTemplate.query(sql + " ORDER BY line_number NULLS LAST, pg_transaction_id LIMIT ?", mapper, runId, limit);
+        }
+        return jdbcTemplate.query(sql + " AND result_type = ? ORDER BY line_number NULLS LAST, pg_transaction_id LIMIT ?",
+                mapper, runId, resultType.name(), limit);
+    }
+
+    private Counts execute(UUID runId, Long pgConnectionId, LocalDate fileDate, PgFileLayout layout, Path file)
+            throws IOException, InterruptedException, ExecutionException {
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        ZonedDateTime dayStart = fileDate.atStartOfDay(KST);
+        LedgerWindow window = new LedgerWindow(pgConnectionId,
+                Timestamp.from(dayStart.toInstant()),
+                Timestamp.from(dayStart.plusDays(1).toInstant()),
+                Timestamp.from(dayStart.plusDays(1 + ingestLagDays).toInstant()));
+
+        int threads = Math.max(1, parallelism);
+        Counts counts = new Counts();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Segment> segments = PgSettlementFileParser.map(channel, threads);
+
+            // 세그먼트별 줄 수로 전역 줄 번호 기준값과 대사 회차 수를 정한다
+            List<Future<Integer>> lineCountFutures = new ArrayList<>(segments.size());
+            for (Segment segment : segments) {
+                lineCountFutures.add(executor.submit(() -> PgSettlementFileParser.countLines(segment)));
+            }
+            long[] lineBase = new long[segments.size()];
+            long totalLines = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                lineBase[i] = totalLines;
+                totalLines += lineCountFutures.get(i).get();
+            }
+
+            int passes = (int) Math.max(1, (totalLines + maxRecordsInMemory - 1) / maxRecordsInMemory);
+            if (passes > 1) {
+                log.info("PG reconciliation {}: {} lines exceed {} records in memory, reconciling in {} passes",
+                        runId, totalLines, maxRecordsInMemory, passes);
+            }
+
+            for (int pass = 0; pass < passes; pass++) {
+                PgTidTable table = new PgTidTable(segments, Math.min(totalLines, maxRecordsInMemory));
+                long records = buildTable(executor, segments, layout, table, lineBase, pass, passes);
+                if (pass == 0) {
+                    counts.fileLines = records;
+                }
+                counts.fileRecords += table.size();
+
+                List<Future<Counts>> probes = new ArrayList<>(threads);
+                for (int worker = 0; worker < threads; worker++) {
+                    int currentWorker = worker;
+                    int currentPass = pass;
+                    probes.add(executor.submit(() -> TenantContextHolder.runInTenant(tenantId,
+                            (Supplier<Counts>) () -> transactionTemplate.execute(status -> probeLedger(
+                                    runId, table, window, currentWorker, threads, currentPass, passes)))));
+                }
+                for (Future<Counts> probe : probes) {
+                    counts.merge(probe.get());
+                }
+
+                ItemWriter writer = new ItemWriter(runId);
+                table.forEachUnmatched((tid, amount, line) -> {
+                    writer.add(tid, PgReconciliationResultType.MISSING_IN_LEDGER, amount, null, null, line);
+                    counts.missingInLedger++;
+                });
+                writer.flush();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return 파싱한 전체 데이터 레코드 수 (이번 회차에 적재하지 않은 레코드 포함)
+     */
+    private long buildTable(ExecutorService executor, List<Segment> segments, PgFileLayout layout, PgTidTable table,
+                            long[] lineBase, int pass, int passes) throws InterruptedException, ExecutionException {
+        List<Future<Long>> futures = new ArrayList<>(segments.size());
+        for (Segment segment : segments) {
+            Callable<Long> task = () -> PgSettlementFileParser.parse(segment, layout,
+                    (hash, tidOffset, tidLength, amount, line) -> {
+                        if (passes == 1 || PgTidTable.passOf(hash, passes) == pass) {
+                            table.add(hash, segment.index(), tidOffset, tidLength, amount,
+                                    lineBase[segment.index()] + line + 1);
+                        }
+                    });
+            futures.add(executor.submit(task));
+        }
+
+        long records = 0;
+        for (Future<Long> future : futures) {
+            records += future.get();
+        }
+        return records;
+    }
+
+    private Counts probeLedger(UUID runId, PgTidTable table, LedgerWindow window,
+                               int worker, int workers, int pass, int passes) {
+        Counts counts = new Counts();
+        ItemWriter writer = new ItemWriter(runId);
+
+        streamingJdbcTemplate.query(LEDGER_SQL, rs -> {
+            String tid = rs.getString(1);
+            byte[] tidBytes = PgSettlementFileParser.tidBytes(tid);
+            long hash = PgSettlementFileParser.hash(tidBytes);
+            if (passes > 1 && PgTidTable.passOf(hash, passes) != pass) {
+                return;
+            }
+
+            counts.ledgerRecords++;
+            UUID transactionId = rs.getObject(2, UUID.class);
+            long ledgerAmount = rs.getLong(3);
+            long unsettledEvents = rs.getLong(4);
+
+            long handle = table.find(hash, tidBytes);
+            if (handle < 0) {
+                writer.add(tid, PgReconciliationResultType.MISSING_IN_FILE, null, ledgerAmount, transactionId, null);
+                counts.missingInFile++;
+                return;
+            }
+
+            table.markMatched(handle);
+            long fileAmount = table.amount(handle);
+            if (fileAmount != ledgerAmount) {
+                writer.add(tid, PgReconciliationResultType.AMOUNT_MISMATCH, fileAmount, ledgerAmount,
+                        transactionId, table.line(handle));
+                counts.amountMismatch++;
+            } else if (unsettledEvents > 0) {
+                writer.add(tid, PgReconciliationResultType.UNSETTLED, fileAmount, ledgerAmount,
+                        transactionId, table.line(handle));
+                counts.unsettled++;
+            } else {
+                counts.matched++;
+            }
+        }, window.pgConnectionId(), window.dayStart(), window.dayEnd(), window.dayStart(), window.createdBefore(),
+                workers, worker);
+
+        writer.flush();
+        return counts;
+    }
+
+    private record LedgerWindow(Long pgConnectionId, Timestamp dayStart, Timestamp dayEnd, Timestamp createdBefore) {
+    }
+
+    /**
+     * 불일치 항목을 item-batch-size 단위로 모아 INSERT한다 (스레드별 인스턴스).
+     */
+    private final class ItemWriter {
+
+        private final UUID runId;
+        private final List<Object[]> buffer = new ArrayList<>();
+
+        ItemWriter(UUID runId) {
+            this.runId = runId;
+        }
+
+        void add(String tid, PgReconciliationResultType type, Long fileAmount, Long ledgerAmount,
+                 UUID transactionId, Long line) {
+            buffer.add(new Object[]{runId, tid, type.name(), fileAmount, ledgerAmount, transactionId, line});
+            if (buffer.size() >= itemBatchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!buffer.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_ITEM_SQL, buffer);
+                buffer.clear();
+            }
+        }
+    }
+
+    private static final class Counts {
+        long fileLines;
+        long fileRecords;
+        long ledgerRecords;
+        long matched;
+        long missingInLedger;
+        long missingInFile;
+        long amountMismatch;
+        long unsettled;
+
+        void merge(Counts other) {
+            ledgerRecords += other.ledgerRecords;
+            matched += other.matched;
+            missingInFile += other.missingInFile;
+            amountMismatch += other.amountMismatch;
+            unsettled += other.unsettled;
+        }
+    }
+}
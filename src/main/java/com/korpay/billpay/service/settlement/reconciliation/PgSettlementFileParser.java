@@ -0,0 +1,326 @@
+package com.korpay.billpay.service.settlement.reconciliation;
+
+import com.korpay.billpay.domain.enums.PgFileFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PG 대사 파일 파서.
+ *
+ * 파일을 줄 경계에 맞춘 세그먼트로 나누어 각각 읽기 전용으로 메모리 매핑하고,
+ * 세그먼트별로 독립적으로(병렬로) 레코드를 읽는다. 줄마다 String을 만들지 않고 매핑된 byte에서
+ * 필드 위치를 찾아 TID 해시와 금액만 계산하므로, 파일 내용은 힙이 아닌 페이지 캐시에만 올라간다.
+ */
+public final class PgSettlementFileParser {
+
+    /** 세그먼트 하나의 목표 최대 크기 (MappedByteBuffer는 int 인덱스를 사용) */
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private static final int TID_START = 0;
+    private static final int TID_END = 1;
+    private static final int FLAG_START = 2;
+    private static final int FLAG_END = 3;
+    private static final int AMOUNT_START = 4;
+    private static final int AMOUNT_END = 5;
+
+    private PgSettlementFileParser() {
+    }
+
+    /**
+     * @param index      세그먼트 순번 (0부터)
+     * @param fileOffset 파일 내 시작 위치
+     */
+    public record Segment(int index, long fileOffset, MappedByteBuffer buffer) {
+    }
+
+    @FunctionalInterface
+    public interface RecordSink {
+
+        /**
+         * @param tidOffset 세그먼트 내 TID 시작 위치
+         * @param amount    부호가 반영된 금액 (취소는 음수)
+         * @param line      세그먼트 내 줄 번호 (0부터)
+         */
+        void accept(long tidHash, int tidOffset, int tidLength, long amount, int line);
+    }
+
+    /**
+     * 파일을 최소 targetSegments개(세그먼트당 최대 {@link #MAX_SEGMENT_BYTES})의 줄 경계 세그먼트로 나누어 매핑한다.
+     */
+    public static List<Segment> map(FileChannel channel, int targetSegments) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return List.of();
+        }
+
+        int count = (int) Math.max(Math.max(1, targetSegments), (size + MAX_SEGMENT_BYTES - 1) / MAX_SEGMENT_BYTES);
+        List<Segment> segments = new ArrayList<>(count);
+        long start = 0;
+        for (int i = 1; i <= count && start < size; i++) {
+            long end = i == count ? size : nextLineStart(channel, Math.max(start, size * i / count), size);
+            if (end <= start) {
+                continue;
+            }
+            segments.add(new Segment(segments.size(), start, channel.map(FileChannel.MapMode.READ_ONLY, start, end - start)));
+            start = end;
+        }
+        return segments;
+    }
+
+    /**
+     * 세그먼트의 줄 수 (마지막 줄이 개행 없이 끝나도 한 줄로 센다).
+     */
+    public static int countLines(Segment segment) {
+        ByteBuffer buffer = segment.buffer();
+        int limit = buffer.limit();
+        int lines = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                lines++;
+            }
+        }
+        if (limit > 0 && buffer.get(limit - 1) != '\n') {
+            lines++;
+        }
+        return lines;
+    }
+
+    /**
+     * 세그먼트의 데이터 레코드를 읽어 sink로 전달한다. 헤더 줄은 첫 세그먼트에서만 건너뛰며,
+     * TID가 비어 있는 줄은 무시한다.
+     *
+     * @return 전달한 데이터 레코드 수
+     * @throws IllegalArgumentException 금액 필드 형식이 올바르지 않은 경우
+     */
+    public static long parse(Segment segment, PgFileLayout layout, RecordSink sink) {
+        ByteBuffer buffer = segment.buffer();
+        int limit = buffer.limit();
+        int skipLines = segment.index() == 0 ? layout.headerLines() : 0;
+        int[] fields = new int[6];
+
+        long records = 0;
+        int line = 0;
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int nextLineStart = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            if (line >= skipLines
+                    && lineEnd > lineStart
+                    && (layout.dataRecordPrefix() == 0 || buffer.get(lineStart) == layout.dataRecordPrefix())
+                    && locateFields(buffer, lineStart, lineEnd, layout, fields)) {
+                trimTid(buffer, fields);
+                int tidLength = fields[TID_END] - fields[TID_START];
+                if (tidLength > 0) {
+                    long amount = parseAmount(buffer, fields[AMOUNT_START], fields[AMOUNT_END],
+                            segment.fileOffset() + lineStart);
+                    boolean cancel = amount < 0
+                            || firstNonBlank(buffer, fields[FLAG_START], fields[FLAG_END]) == layout.cancelCode();
+                    sink.accept(hash(buffer, fields[TID_START], tidLength), fields[TID_START], tidLength,
+                            cancel ? -Math.abs(amount) : amount, line);
+                    records++;
+                }
+            }
+
+            line++;
+            lineStart = nextLineStart;
+        }
+        return records;
+    }
+
+    /**
+     * 매핑된 byte 구간의 TID 해시. 원장 쪽 {@link #hash(byte[])}와 같은 값을 낸다.
+     */
+    public static long hash(ByteBuffer buffer, int offset, int length) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = offset; i < offset + length; i++) {
+            h ^= buffer.get(i) & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    public static long hash(byte[] bytes) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    public static byte[] tidBytes(String tid) {
+        return tid.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String readTid(Segment segment, int offset, int length) {
+        byte[] bytes = new byte[length];
+        segment.buffer().get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static boolean tidEquals(Segment segment, int offset, int length, byte[] tid) {
+        if (length != tid.length) {
+            return false;
+        }
+        ByteBuffer buffer = segment.buffer();
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(offset + i) != tid[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean tidEquals(Segment a, int offsetA, Segment b, int offsetB, int length) {
+        ByteBuffer bufferA = a.buffer();
+        ByteBuffer bufferB = b.buffer();
+        for (int i = 0; i < length; i++) {
+            if (bufferA.get(offsetA + i) != bufferB.get(offsetB + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean locateFields(ByteBuffer buffer, int lineStart, int lineEnd, PgFileLayout layout, int[] fields) {
+        if (layout.format() == PgFileFormat.FIXED_WIDTH) {
+            setFixed(fields, TID_START, layout.tid(), lineStart, lineEnd);
+            setFixed(fields, FLAG_START, layout.cancelFlag(), lineStart, lineEnd);
+            setFixed(fields, AMOUNT_START, layout.amount(), lineStart, lineEnd);
+            return fields[TID_END] > fields[TID_START] && fields[AMOUNT_END] > fields[AMOUNT_START];
+        }
+
+        int found = 0;
+        int column = 0;
+        int fieldStart = lineStart;
+        boolean inQuotes = false;
+        for (int i = lineStart; i <= lineEnd; i++) {
+            if (i < lineEnd) {
+                byte c = buffer.get(i);
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                    continue;
+                }
+                if (inQuotes || c != layout.delimiter()) {
+                    continue;
+                }
+            }
+            if (column == layout.tid().column()) {
+                fields[TID_START] = fieldStart;
+                fields[TID_END] = i;
+                found++;
+            }
+            if (column == layout.cancelFlag().column()) {
+                fields[FLAG_START] = fieldStart;
+                fields[FLAG_END] = i;
+                found++;
+            }
+            if (column == layout.amount().column()) {
+                fields[AMOUNT_START] = fieldStart;
+                fields[AMOUNT_END] = i;
+                found++;
+            }
+            if (found == 3) {
+                return true;
+            }
+            column++;
+            fieldStart = i + 1;
+        }
+        return false;
+    }
+
+    private static void setFixed(int[] fields, int index, PgFileLayout.Field field, int lineStart, int lineEnd) {
+        int start = Math.min(lineStart + field.start(), lineEnd);
+        fields[index] = start;
+        fields[index + 1] = Math.min(start + field.length(), lineEnd);
+    }
+
+    private static void trimTid(ByteBuffer buffer, int[] fields) {
+        int start = fields[TID_START];
+        int end = fields[TID_END];
+        while (start < end && isPadding(buffer.get(start))) {
+            start++;
+        }
+        while (end > start && isPadding(buffer.get(end - 1))) {
+            end--;
+        }
+        fields[TID_START] = start;
+        fields[TID_END] = end;
+    }
+
+    private static long parseAmount(ByteBuffer buffer, int start, int end, long lineOffset) {
+        long value = 0;
+        boolean negative = false;
+        boolean digits = false;
+        for (int i = start; i < end; i++) {
+            byte c = buffer.get(i);
+            if (c >= '0' && c <= '9') {
+                value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+                digits = true;
+            } else if (c == '-' && !digits) {
+                negative = true;
+            } else if (c != ',' && c != '+' && !isPadding(c)) {
+                throw new IllegalArgumentException("금액 형식이 올바르지 않습니다 (파일 오프셋 " + lineOffset + ")");
+            }
+        }
+        if (!digits) {
+            throw new IllegalArgumentException("금액이 비어 있습니다 (파일 오프셋 " + lineOffset + ")");
+        }
+        return negative ? -value : value;
+    }
+
+    private static byte firstNonBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte c = buffer.get(i);
+            if (!isPadding(c)) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    private static boolean isPadding(byte c) {
+        return c == ' ' || c == '"' || c == '\t';
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        ByteBuffer chunk = ByteBuffer.allocate(8192);
+        long pos = position;
+        while (pos < size) {
+            chunk.clear();
+            int read = channel.read(chunk, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (chunk.get(i) == '\n') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
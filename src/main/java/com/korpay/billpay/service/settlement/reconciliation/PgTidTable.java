@@ -0,0 +1,208 @@
+package com.korpay.billpay.service.settlement.reconciliation;
+
+import com.korpay.billpay.service.settlement.reconciliation.PgSettlementFileParser.Segment;
+
+import java.util.List;
+
+/**
+ * PG 거래 ID(TID) 해시 조인 테이블.
+ *
+ * 한 대사 실행은 하나의 PG 연결만 다루므로 (pgConnectionId, pgTid) 키는 TID byte의 64bit 해시(long)로 표현한다.
+ * 슬롯은 모두 원시 타입 배열(개방 주소법)이며, TID 원문은 매핑된 파일 위치(세그먼트, 오프셋, 길이)를 long 하나에 담아
+ * 보관하고 해시가 같으면 파일 byte를 직접 비교하므로 해시 충돌이 있어도 정확하다.
+ * 같은 TID의 여러 레코드(승인, 취소)는 한 슬롯에 금액을 합산한다.
+ *
+ * 적재는 해시 상위 비트로 나눈 샤드 단위 잠금으로 여러 파싱 스레드에서 동시에 할 수 있다.
+ * 적재가 끝난 뒤의 조회와 매칭 표시는 TID마다 한 스레드만 같은 슬롯을 건드리므로 잠금 없이 수행한다.
+ */
+final class PgTidTable {
+
+    private static final int SHARD_BITS = 6;
+    private static final int SHARD_COUNT = 1 << SHARD_BITS;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private static final byte EMPTY = 0;
+    private static final byte FILE_ONLY = 1;
+    private static final byte MATCHED = 2;
+
+    private final List<Segment> segments;
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+
+    @FunctionalInterface
+    interface UnmatchedSink {
+        void accept(String tid, long amount, long line);
+    }
+
+    PgTidTable(List<Segment> segments, long expectedRecords) {
+        this.segments = segments;
+        int perShard = (int) Math.min(1 << 24, Math.max(16, expectedRecords / SHARD_COUNT));
+        int capacity = Integer.highestOneBit((int) (perShard / LOAD_FACTOR)) << 1;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard(capacity);
+        }
+    }
+
+    /**
+     * @param line 파일 줄 번호 (1부터), 같은 TID의 첫 레코드 줄만 보관
+     */
+    void add(long hash, int segment, int offset, int length, long amount, long line) {
+        Shard shard = shards[shardOf(hash)];
+        synchronized (shard) {
+            if (shard.size + 1 > shard.hashes.length * LOAD_FACTOR) {
+                shard.grow();
+            }
+            int slot = (int) hash & shard.mask;
+            while (shard.states[slot] != EMPTY) {
+                if (shard.hashes[slot] == hash && sameTid(shard.locations[slot], segment, offset, length)) {
+                    shard.amounts[slot] += amount;
+                    shard.lines[slot] = Math.min(shard.lines[slot], line);
+                    return;
+                }
+                slot = (slot + 1) & shard.mask;
+            }
+            shard.hashes[slot] = hash;
+            shard.locations[slot] = pack(segment, offset, length);
+            shard.amounts[slot] = amount;
+            shard.lines[slot] = line;
+            shard.states[slot] = FILE_ONLY;
+            shard.size++;
+        }
+    }
+
+    /**
+     * @return 조회된 슬롯 핸들, 없으면 -1
+     */
+    long find(long hash, byte[] tid) {
+        int shardIndex = shardOf(hash);
+        Shard shard = shards[shardIndex];
+        int slot = (int) hash & shard.mask;
+        while (shard.states[slot] != EMPTY) {
+            if (shard.hashes[slot] == hash) {
+                long location = shard.locations[slot];
+                if (PgSettlementFileParser.tidEquals(segments.get(segmentOf(location)),
+                        offsetOf(location), lengthOf(location), tid)) {
+                    return ((long) shardIndex << 32) | slot;
+                }
+            }
+            slot = (slot + 1) & shard.mask;
+        }
+        return -1;
+    }
+
+    long amount(long handle) {
+        return shards[(int) (handle >>> 32)].amounts[(int) handle];
+    }
+
+    long line(long handle) {
+        return shards[(int) (handle >>> 32)].lines[(int) handle];
+    }
+
+    void markMatched(long handle) {
+        shards[(int) (handle >>> 32)].states[(int) handle] = MATCHED;
+    }
+
+    long size() {
+        long size = 0;
+        for (Shard shard : shards) {
+            size += shard.size;
+        }
+        return size;
+    }
+
+    void forEachUnmatched(UnmatchedSink sink) {
+        for (Shard shard : shards) {
+            for (int slot = 0; slot < shard.states.length; slot++) {
+                if (shard.states[slot] == FILE_ONLY) {
+                    long location = shard.locations[slot];
+                    sink.accept(PgSettlementFileParser.readTid(segments.get(segmentOf(location)),
+                                    offsetOf(location), lengthOf(location)),
+                            shard.amounts[slot], shard.lines[slot]);
+                }
+            }
+        }
+    }
+
+    private boolean sameTid(long location, int segment, int offset, int length) {
+        return lengthOf(location) == length
+                && PgSettlementFileParser.tidEquals(segments.get(segmentOf(location)), offsetOf(location),
+                segments.get(segment), offset, length);
+    }
+
+    /**
+     * 여러 회차로 나눠 대사할 때 TID가 속하는 회차. 샤드(상위 6bit)와 슬롯(하위 bit) 선택에 쓰지 않는 bit를 사용한다.
+     */
+    static int passOf(long hash, int passes) {
+        return (int) (((hash >>> 32) & 0x3FFFFFFL) % passes);
+    }
+
+    private static int shardOf(long hash) {
+        return (int) (hash >>> (64 - SHARD_BITS));
+    }
+
+    private static long pack(int segment, int offset, int length) {
+        if (segment > 0xFFFF || length > 0xFFFF) {
+            throw new IllegalArgumentException("TID 위치를 표현할 수 없습니다: segment=" + segment + ", length=" + length);
+        }
+        return ((long) segment << 48) | ((offset & 0xFFFFFFFFL) << 16) | length;
+    }
+
+    private static int segmentOf(long location) {
+        return (int) (location >>> 48);
+    }
+
+    private static int offsetOf(long location) {
+        return (int) ((location >>> 16) & 0xFFFFFFFFL);
+    }
+
+    private static int lengthOf(long location) {
+        return (int) (location & 0xFFFF);
+    }
+
+    private static final class Shard {
+
+        long[] hashes;
+        long[] locations;
+        long[] amounts;
+        long[] lines;
+        byte[] states;
+        int mask;
+        int size;
+
+        Shard(int capacity) {
+            allocate(capacity);
+        }
+
+        void grow() {
+            long[] oldHashes = hashes;
+            long[] oldLocations = locations;
+            long[] oldAmounts = amounts;
+            long[] oldLines = lines;
+            byte[] oldStates = states;
+
+            allocate(oldHashes.length << 1);
+            for (int i = 0; i < oldStates.length; i++) {
+                if (oldStates[i] == EMPTY) {
+                    continue;
+                }
+                int slot = (int) oldHashes[i] & mask;
+                while (states[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                hashes[slot] = oldHashes[i];
+                locations[slot] = oldLocations[i];
+                amounts[slot] = oldAmounts[i];
+                lines[slot] = oldLines[i];
+                states[slot] = oldStates[i];
+            }
+        }
+
+        private void allocate(int capacity) {
+            hashes = new long[capacity];
+            locations = new long[capacity];
+            amounts = new long[capacity];
+            lines = new long[capacity];
+            states = new byte[capacity];
+            mask = capacity - 1;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.korpay.billpay.service.settlement.report;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.dto.response.DailyStatementRowDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 정산 리포트(settlement_reports) 구체화 서비스.
+ *
+ * 정산 대상별 일/주/월 정산서의 일자별 행과 합계를 report_data(JSONB)로 미리 계산해 둔다.
+ * 일별 집계가 바뀐 정산일에 대해서만 해당 정산일을 포함하는 기간의 리포트를 재계산하며,
+ * 재계산 대상도 그 정산일에 집계가 있거나 있었던 정산 대상으로 한정한다.
+ *
+ * 조회 기간이 리포트 기간과 정확히 일치하면 (유형, 대상, 기간 시작) 키 조회 한 번으로 응답하고,
+ * 그 외 기간이거나 리포트가 없으면(구체화 이전 기간 등) 호출자가 일별 집계에서 직접 계산한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementReportService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final String DAILY = "DAILY";
+    private static final String WEEKLY = "WEEKLY";
+    private static final String MONTHLY = "MONTHLY";
+
+    /** 정산일 d에 집계가 있거나 있었던(DAILY 리포트 기준) 대상 */
+    private static final String AFFECTED_ENTITIES = """
+        SELECT entity_id FROM settlement_daily_rollups WHERE settlement_date = ?
+        UNION
+        SELECT entity_id FROM settlement_reports WHERE report_type = 'DAILY' AND period_start = ?
+        """;
+
+    /** 영향받은 대상의 일/주/월 리포트를 일별 집계에서 다시 계산 */
+    private static final String UPSERT_SQL = """
+        INSERT INTO settlement_reports (
+            report_type, entity_id, entity_type, entity_path, merchant_entry,
+            period_start, period_end, report_data, status, generated_at
+        )
+        SELECT
+            p.report_type,
+            d.entity_id,
+            MIN(d.entity_type),
+            COALESCE(o.path, m.org_path, CAST('' AS ltree)),
+            bool_or(d.merchant_entry),
+            p.period_start,
+            p.period_end,
+            jsonb_build_object(
+                'transactionCount', SUM(d.transaction_count),
+                'approvalCount', SUM(d.approval_count),
+                'approvalAmount', SUM(d.approval_amount),
+                'cancelCount', SUM(d.cancel_count),
+                'cancelAmount', SUM(d.cancel_amount),
+                'feeAmount', SUM(d.fee_amount),
+                'netAmount', SUM(d.net_amount),
+                'dailyDetails', jsonb_agg(jsonb_build_object(
+                    'settlementDate', d.settlement_date,
+                    'transactionDate', d.transaction_date,
+                    'transactionCount', d.transaction_count,
+                    'approvalCount', d.approval_count,
+                    'approvalAmount', d.approval_amount,
+                    'cancelCount', d.cancel_count,
+                    'cancelAmount', d.cancel_amount,
+                    'feeAmount', d.fee_amount,
+                    'netAmount', d.net_amount
+                ) ORDER BY d.settlement_date, d.transaction_date)
+            ),
+            'GENERATED',
+            now()
+        FROM (VALUES
+            ('DAILY', CAST(? AS TIMESTAMPTZ), CAST(? AS TIMESTAMPTZ), CAST(? AS DATE), CAST(? AS DATE)),
+            ('WEEKLY', CAST(? AS TIMESTAMPTZ), CAST(? AS TIMESTAMPTZ), CAST(? AS DATE), CAST(? AS DATE)),
+            ('MONTHLY', CAST(? AS TIMESTAMPTZ), CAST(? AS TIMESTAMPTZ), CAST(? AS DATE), CAST(? AS DATE))
+        ) p(report_type, period_start, period_end, start_date, end_date)
+        JOIN LATERAL (
+            SELECT
+                r.entity_id,
+                r.settlement_date,
+                r.transaction_date,
+                MIN(r.entity_type) as entity_type,
+                bool_or(r.merchant_entry) as merchant_entry,
+                SUM(r.entry_count) as transaction_count,
+                SUM(CASE WHEN r.entry_type = 'CREDIT' THEN r.entry_count ELSE 0 END) as approval_count,
+                SUM(CASE WHEN r.entry_type = 'CREDIT' THEN r.amount ELSE 0 END) as approval_amount,
+                SUM(CASE WHEN r.entry_type = 'DEBIT' THEN r.entry_count ELSE 0 END) as cancel_count,
+                SUM(CASE WHEN r.entry_type = 'DEBIT' THEN ABS(r.amount) ELSE 0 END) as cancel_amount,
+                SUM(r.fee_amount) as fee_amount,
+                SUM(r.net_amount) as net_amount
+            FROM settlement_daily_rollups r
+            WHERE r.entity_id IN (""" + AFFECTED_ENTITIES + """
+                )
+              AND r.settlement_date >= p.start_date
+              AND r.settlement_date < p.end_date
+            GROUP BY r.entity_id, r.settlement_date, r.transaction_date
+        ) d ON TRUE
+        LEFT JOIN organizations o ON o.id = d.entity_id
+        LEFT JOIN merchants m ON m.id = d.entity_id
+        GROUP BY p.report_type, p.period_start, p.period_end, d.entity_id, o.path, m.org_path
+        ON CONFLICT (report_type, entity_id, period_start) DO UPDATE SET
+            entity_type = EXCLUDED.entity_type,
+            entity_path = EXCLUDED.entity_path,
+            merchant_entry = EXCLUDED.merchant_entry,
+            period_end = EXCLUDED.period_end,
+            report_data = EXCLUDED.report_data,
+            status = EXCLUDED.status,
+            generated_at = EXCLUDED.generated_at
+        """;
+
+    /** 영향받은 대상 중 기간 내 집계가 모두 사라져 다시 계산되지 않은 리포트 삭제 */
+    private static final String DELETE_SQL = """
+        DELETE FROM settlement_reports sr
+        WHERE sr.entity_id IN (""" + AFFECTED_ENTITIES + """
+            )
+          AND ((sr.report_type = 'DAILY' AND sr.period_start = ?)
+            OR (sr.report_type = 'WEEKLY' AND sr.period_start = ?)
+            OR (sr.report_type = 'MONTHLY' AND sr.period_start = ?))
+          AND sr.generated_at < now()
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 일별 집계가 바뀐 정산일을 포함하는 일/주/월 리포트를 재계산한다. 집계를 변경한 트랜잭션 안에서 호출해야 한다.
+     */
+    @Transactional
+    public void refreshSettlementDates(Collection<LocalDate> settlementDates) {
+        // 동시에 다른 트랜잭션이 같은 기간을 재계산하면 서로의 집계 변경을 보지 못하므로 스키마 단위로 직렬화
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext(current_schema() || '.settlement_reports'))");
+
+        for (LocalDate settlementDate : settlementDates) {
+            Period day = Period.of(DAILY, settlementDate);
+            Period week = Period.of(WEEKLY, settlementDate);
+            Period month = Period.of(MONTHLY, settlementDate);
+
+            Object[] args = new Object[14];
+            int i = 0;
+            for (Period period : List.of(day, week, month)) {
+                args[i++] = period.startTimestamp();
+                args[i++] = period.endTimestamp();
+                args[i++] = Date.valueOf(period.start());
+                args[i++] = Date.valueOf(period.end());
+            }
+            args[i++] = Date.valueOf(settlementDate);
+            args[i] = day.startTimestamp();
+            int generated = jdbcTemplate.update(UPSERT_SQL, args);
+
+            int deleted = jdbcTemplate.update(DELETE_SQL, Date.valueOf(settlementDate), day.startTimestamp(),
+                    day.startTimestamp(), week.startTimestamp(), month.startTimestamp());
+
+            log.debug("Refreshed settlement reports for {}: {} generated, {} removed", settlementDate, generated, deleted);
+        }
+    }
+
+    /**
+     * [startDate, endDate]가 일/주/월 리포트 기간과 정확히 일치하고 리포트가 있으면 일자별 행을 반환한다.
+     *
+     * @param merchantEntry 가맹점 정산서 조회 여부 (가맹점 정산이 아닌 리포트는 사용하지 않음)
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<DailyStatementRowDto>> findDailyRows(UUID entityId, boolean merchantEntry,
+                                                              LocalDate startDate, LocalDate endDate) {
+        Optional<Period> period = Period.matching(startDate, endDate);
+        if (period.isEmpty()) {
+            return Optional.empty();
+        }
+
+        List<String> data = jdbcTemplate.queryForList("""
+                SELECT CAST(report_data -> 'dailyDetails' AS TEXT)
+                FROM settlement_reports
+                WHERE report_type = ? AND entity_id = ? AND period_start = ?
+                  AND (merchant_entry OR NOT ?)
+                """, String.class, period.get().type(), entityId, period.get().startTimestamp(), merchantEntry);
+        if (data.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Arrays.asList(objectMapper.readValue(data.getFirst(), DailyStatementRowDto[].class)));
+        } catch (JsonProcessingException e) {
+            log.warn("Unreadable settlement report for entity {} ({} {}): {}",
+                    entityId, period.get().type(), startDate, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 리포트 기간 (KST 정산일 기준, end 미포함).
+     */
+    record Period(String type, LocalDate start, LocalDate end) {
+
+        static Period of(String type, LocalDate settlementDate) {
+            return switch (type) {
+                case DAILY -> new Period(type, settlementDate, settlementDate.plusDays(1));
+                case WEEKLY -> {
+                    LocalDate monday = settlementDate.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                    yield new Period(type, monday, monday.plusWeeks(1));
+                }
+                case MONTHLY -> {
+                    LocalDate first = settlementDate.withDayOfMonth(1);
+                    yield new Period(type, first, first.plusMonths(1));
+                }
+                default -> throw new IllegalArgumentException("지원하지 않는 리포트 유형입니다: " + type);
+            };
+        }
+
+        /**
+         * @param endDate 조회 종료일 (포함)
+         */
+        static Optional<Period> matching(LocalDate startDate, LocalDate endDate) {
+            if (startDate == null || endDate == null) {
+                return Optional.empty();
+            }
+            for (String type : List.of(DAILY, WEEKLY, MONTHLY)) {
+                Period period = of(type, startDate);
+                if (period.start().equals(startDate) && period.end().equals(endDate.plusDays(1))) {
+                    return Optional.of(period);
+                }
+            }
+            return Optional.empty();
+        }
+
+        Timestamp startTimestamp() {
+            return Timestamp.from(start.atStartOfDay(KST).toInstant());
+        }
+
+        Timestamp endTimestamp() {
+            return Timestamp.from(end.atStartOfDay(KST).toInstant());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.korpay.billpay.service.settlement.rollup;
+
+import com.korpay.billpay.service.settlement.report.SettlementReportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 일별 정산 집계(settlement_daily_rollups) 유지 서비스.
+ *
+ * 배치 생성 시 배치에 귀속된 정산만 집계하여 가산하고,
+ * 재정산 등으로 이미 집계된 정산일이 바뀌면 해당 정산일 전체를 원장에서 재계산한다.
+ * 집계가 바뀐 정산일의 일/주/월 정산 리포트도 같은 트랜잭션에서 함께 갱신한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SettlementRollupService {
+
+    /** 원장 집계 SELECT 절 (applyBatch / rebuild / 검증에서 공통 사용) */
+    private static final String SOURCE_AGGREGATE_COLUMNS = """
+            sb.settlement_date,
+            DATE(sb.period_start AT TIME ZONE 'Asia/Seoul') as transaction_date,
+            s.entity_id,
+            s.entity_type,
+            s.entry_type,
+            bool_or(s.entity_id = s.merchant_id) as merchant_entry,
+            COUNT(*) as entry_count,
+            COALESCE(SUM(s.amount), 0) as amount,
+            COALESCE(SUM(s.fee_amount), 0) as fee_amount,
+            COALESCE(SUM(s.net_amount), 0) as net_amount
+            """;
+
+    /**
+     * 정산일 배치들의 거래 기간으로 created_at 범위를 한정 (월 파티션 프루닝, 파라미터: 정산일 2회).
+     * 배치에 귀속된 정산은 항상 배치 기간 안에 생성된 건이다.
+     */
+    private static final String SETTLEMENT_DATE_BOUNDS = """
+              AND s.created_at >= (SELECT MIN(b.period_start) FROM settlement_batches b WHERE b.settlement_date = ?)
+              AND s.created_at < (SELECT MAX(b.period_end) FROM settlement_batches b WHERE b.settlement_date = ?)
+            """;
+
+    private static final String SOURCE_GROUP_BY = """
+            GROUP BY sb.settlement_date, DATE(sb.period_start AT TIME ZONE 'Asia/Seoul'),
+                     s.entity_id, s.entity_type, s.entry_type
+            """;
+
+    private static final RowMapper<RollupRow> ROW_MAPPER = (rs, rowNum) -> new RollupRow(
+            rs.getObject("settlement_date", LocalDate.class),
+            rs.getObject("transaction_date", LocalDate.class),
+            rs.getObject("entity_id", UUID.class),
+            rs.getString("entity_type"),
+            rs.getString("entry_type"),
+            rs.getBoolean("merchant_entry"),
+            rs.getLong("entry_count"),
+            rs.getLong("amount"),
+            rs.getLong("fee_amount"),
+            rs.getLong("net_amount")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SettlementReportService settlementReportService;
+
+    /**
+     * 배치에 귀속된 정산을 집계 테이블에 가산한다. 배치 생성 트랜잭션 안에서 한 번만 호출해야 한다.
+     */
+    @Transactional
+    public int applyBatch(UUID batchId) {
+        String sql = """
+            INSERT INTO settlement_daily_rollups (
+                settlement_date, transaction_date, entity_id, entity_type, entry_type, merchant_entry,
+                entry_count, amount, fee_amount, net_amount
+            )
+            SELECT
+            """ + SOURCE_AGGREGATE_COLUMNS + """
+            FROM settlements s
+            JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
+            WHERE sb.id = ?
+              AND s.created_at >= (SELECT b.period_start FROM settlement_batches b WHERE b.id = ?)
+              AND s.created_at < (SELECT b.period_end FROM settlement_batches b WHERE b.id = ?)
+            """ + SOURCE_GROUP_BY + """
+            ON CONFLICT (settlement_date, transaction_date, entity_id, entity_type, entry_type) DO UPDATE SET
+                merchant_entry = settlement_daily_rollups.merchant_entry OR EXCLUDED.merchant_entry,
+                entry_count = settlement_daily_rollups.entry_count + EXCLUDED.entry_count,
+                amount = settlement_daily_rollups.amount + EXCLUDED.amount,
+                fee_amount = settlement_daily_rollups.fee_amount + EXCLUDED.fee_amount,
+                net_amount = settlement_daily_rollups.net_amount + EXCLUDED.net_amount,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+        int rows = jdbcTemplate.update(sql, batchId, batchId, batchId);
+        log.debug("Applied batch {} to settlement rollups: {} rows", batchId, rows);
+
+        LocalDate settlementDate = jdbcTemplate.queryForObject(
+                "SELECT settlement_date FROM settlement_batches WHERE id = ?", LocalDate.class, batchId);
+        settlementReportService.refreshSettlementDates(List.of(settlementDate));
+        return rows;
+    }
+
+    /**
+     * 정산일 단위로 집계를 원장에서 다시 계산한다.
+     */
+    @Transactional
+    public void rebuildSettlementDates(Collection<LocalDate> settlementDates) {
+        for (LocalDate settlementDate : settlementDates) {
+            jdbcTemplate.update("DELETE FROM settlement_daily_rollups WHERE settlement_date = ?",
+                    Date.valueOf(settlementDate));
+
+            String sql = """
+                INSERT INTO settlement_daily_rollups (
+                    settlement_date, transaction_date, entity_id, entity_type, entry_type, merchant_entry,
+                    entry_count, amount, fee_amount, net_amount
+                )
+                SELECT
+                """ + SOURCE_AGGREGATE_COLUMNS + """
+                FROM settlements s
+                JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
+                WHERE sb.settlement_date = ?
+                """ + SETTLEMENT_DATE_BOUNDS + SOURCE_GROUP_BY;
+
+            Date date = Date.valueOf(settlementDate);
+            int rows = jdbcTemplate.update(sql, date, date, date);
+            log.info("Rebuilt settlement rollups for {}: {} rows", settlementDate, rows);
+        }
+
+        settlementReportService.refreshSettlementDates(settlementDates);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RollupRow> computeFromLedger(LocalDate settlementDate) {
+        String sql = "SELECT " + SOURCE_AGGREGATE_COLUMNS + """
+            FROM settlements s
+            JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
+            WHERE sb.settlement_date = ?
+            """ + SETTLEMENT_DATE_BOUNDS + SOURCE_GROUP_BY;
+        Date date = Date.valueOf(settlementDate);
+        return jdbcTemplate.query(sql, ROW_MAPPER, date, date, date);
+    }
+
+    @Transactional(readOnly = true)
+    public List<RollupRow> loadRollup(LocalDate settlementDate) {
+        return jdbcTemplate.query("""
+                SELECT settlement_date, transaction_date, entity_id, entity_type, entry_type, merchant_entry,
+                       entry_count, amount, fee_amount, net_amount
+                FROM settlement_daily_rollups
+                WHERE settlement_date = ?
+                """, ROW_MAPPER, Date.valueOf(settlementDate));
+    }
+
+    public record RollupRow(
+            LocalDate settlementDate,
+            LocalDate transactionDate,
+            UUID entityId,
+            String entityType,
+            String entryType,
+            boolean merchantEntry,
+            long entryCount,
+            long amount,
+            long feeAmount,
+            long netAmount
+    ) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.korpay.billpay.service.settlement.rollup;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.config.tenant.TenantService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 일별 정산 집계 검증 작업.
+ *
+ * 테넌트별로 최근 정산일 중 임의 표본을 골라 원장에서 재계산한 결과와 집계 테이블을 비교한다.
+ * 불일치가 발견되면 ERROR 로그와 settlement.rollup.drift 지표로 알리고,
+ * repair 설정 시 해당 정산일을 원장 기준으로 재계산한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SettlementRollupVerifier {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final SettlementRollupService rollupService;
+    private final TenantService tenantService;
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${settlement.rollup.verify.enabled:false}")
+    private boolean enabled;
+
+    /** 테넌트별 검증할 정산일 표본 수 */
+    @Value("${settlement.rollup.verify.sample-days:7}")
+    private int sampleDays;
+
+    /** 표본 추출 대상 기간 (오늘 기준 과거 일수) */
+    @Value("${settlement.rollup.verify.lookback-days:90}")
+    private int lookbackDays;
+
+    /** 불일치 시 자동 재계산 여부 */
+    @Value("${settlement.rollup.verify.repair:false}")
+    private boolean repair;
+
+    @Scheduled(cron = "${settlement.rollup.verify.cron:0 0 4 * * *}")
+    public void verifyAllTenants() {
+        if (!enabled) {
+            log.debug("Settlement rollup verification disabled");
+            return;
+        }
+
+        for (String tenantId : tenantService.getAllActiveTenants()) {
+            try {
+                int drifted = TenantContextHolder.runInTenant(tenantId, (Supplier<Integer>) this::verifyCurrentTenant);
+                log.info("Settlement rollup verification for tenant {}: {} drifted day(s)", tenantId, drifted);
+            } catch (Exception e) {
+                log.error("Settlement rollup verification failed for tenant {}: {}", tenantId, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * @return 불일치가 발견된 정산일 수
+     */
+    public int verifyCurrentTenant() {
+        LocalDate today = LocalDate.now(KST);
+        List<LocalDate> sample = jdbcTemplate.queryForList("""
+                SELECT d.settlement_date FROM (
+                    SELECT DISTINCT settlement_date FROM settlement_batches
+                    WHERE settlement_date BETWEEN ? AND ?
+                ) d
+                ORDER BY random()
+                LIMIT ?
+                """, LocalDate.class, Date.valueOf(today.minusDays(lookbackDays)), Date.valueOf(today), sampleDays);
+
+        int drifted = 0;
+        for (LocalDate settlementDate : sample) {
+            if (verifyDate(settlementDate)) {
+                continue;
+            }
+            drifted++;
+            meterRegistry.counter("settlement.rollup.drift",
+                    "tenant", String.valueOf(TenantContextHolder.getCurrentTenant())).increment();
+
+            if (repair) {
+                rollupService.rebuildSettlementDates(List.of(settlementDate));
+            }
+        }
+        return drifted;
+    }
+
+    /**
+     * @return 집계 테이블이 원장과 일치하면 true
+     */
+    public boolean verifyDate(LocalDate settlementDate) {
+        Map<RollupKey, SettlementRollupService.RollupRow> expected = index(rollupService.computeFromLedger(settlementDate));
+        Map<RollupKey, SettlementRollupService.RollupRow> actual = index(rollupService.loadRollup(settlementDate));
+
+        int mismatches = 0;
+        for (var entry : expected.entrySet()) {
+            if (!Objects.equals(entry.getValue(), actual.get(entry.getKey()))) {
+                mismatches++;
+                if (mismatches <= 10) {
+                    log.error("Settlement rollup drift on {}: key={}, ledger={}, rollup={}",
+                            settlementDate, entry.getKey(), entry.getValue(), actual.get(entry.getKey()));
+                }
+            }
+        }
+        for (var key : actual.keySet()) {
+            if (!expected.containsKey(key)) {
+                mismatches++;
+                if (mismatches <= 10) {
+                    log.error("Settlement rollup drift on {}: key={} exists only in rollup", settlementDate, key);
+                }
+            }
+        }
+
+        if (mismatches > 0) {
+            log.error("Settlement rollup drift detected for {}: {} mismatched row(s)", settlementDate, mismatches);
+        }
+        return mismatches == 0;
+    }
+
+    private static Map<RollupKey, SettlementRollupService.RollupRow> index(List<SettlementRollupService.RollupRow> rows) {
+        Map<RollupKey, SettlementRollupService.RollupRow> map = new HashMap<>(rows.size() * 2);
+        for (SettlementRollupService.RollupRow row : rows) {
+            map.put(new RollupKey(row.transactionDate(), row.entityId(), row.entityType(), row.entryType()), row);
+        }
+        return map;
+    }
+
+    private record RollupKey(LocalDate transactionDate, UUID entityId, String entityType, String entryType) {
+    }
+}
@@ -0,0 +1,400 @@
+package com.korpay.billpay.service.settlement.simulation;
+
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.FeeConfiguration;
+import com.korpay.billpay.domain.entity.Organization;
+import com.korpay.billpay.domain.enums.FeeConfigStatus;
+import com.korpay.billpay.domain.enums.OrganizationType;
+import com.korpay.billpay.dto.request.FeeSimulationRequest;
+import com.korpay.billpay.dto.response.FeeSimulationEntityDeltaDto;
+import com.korpay.billpay.dto.response.FeeSimulationResultDto;
+import com.korpay.billpay.repository.FeeConfigurationRepository;
+import com.korpay.billpay.repository.OrganizationRepository;
+import com.korpay.billpay.service.settlement.calculator.FeeHierarchy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+/**
+ * 수수료 변경 시뮬레이션.
+ *
+ * 현재 적용 중인 수수료 설정 스냅샷(기준)과 변경안을 반영한 스냅샷(가정)을 메모리에 만들고,
+ * 기간 내 transaction_events를 일 단위 청크로 나누어 병렬 스트리밍하며
+ * 실제 정산과 같은 {@link FeeHierarchy} 분배 규칙으로 엔티티별 정산액을 두 번 계산한다.
+ * Settlement 엔티티를 만들지 않고 엔티티 인덱스별 long 배열에만 누적하며, DB에는 아무것도 쓰지 않는다.
+ *
+ * CANCEL은 원거래 정산의 부호 반전과 같으므로 동일 규칙으로 계산되고,
+ * PARTIAL_CANCEL은 원거래 비율 분배 대신 취소 금액에 요율을 직접 적용한 근사치로 계산한다.
+ */
+@Slf4j
+@Service
+public class FeeSimulationService {
+
+    private static final String EVENT_STREAM_SQL = """
+        SELECT merchant_id, payment_method_id, amount
+        FROM transaction_events
+        WHERE created_at >= ? AND created_at < ?
+          AND event_type IN ('APPROVAL', 'CANCEL', 'PARTIAL_CANCEL')
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final FeeConfigurationRepository feeConfigurationRepository;
+    private final OrganizationRepository organizationRepository;
+
+    /** 동시에 처리할 일 단위 청크 수 */
+    @Value("${settlement.simulation.parallelism:4}")
+    private int parallelism;
+
+    /** 시뮬레이션 가능한 최대 기간 (일) */
+    @Value("${settlement.simulation.max-days:366}")
+    private int maxDays;
+
+    public FeeSimulationService(JdbcTemplate jdbcTemplate,
+                                DataSource dataSource,
+                                PlatformTransactionManager transactionManager,
+                                FeeConfigurationRepository feeConfigurationRepository,
+                                OrganizationRepository organizationRepository,
+                                @Value("${settlement.simulation.fetch-size:5000}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.feeConfigurationRepository = feeConfigurationRepository;
+        this.organizationRepository = organizationRepository;
+    }
+
+    public FeeSimulationResultDto simulate(FeeSimulationRequest request) {
+        OffsetDateTime from = request.getFrom();
+        OffsetDateTime to = request.getTo();
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("시뮬레이션 종료일시는 시작일시 이후여야 합니다");
+        }
+        if (Duration.between(from, to).toDays() > maxDays) {
+            throw new IllegalArgumentException("시뮬레이션 기간은 최대 " + maxDays + "일입니다");
+        }
+
+        long startedAt = System.nanoTime();
+        String tenantId = TenantContextHolder.getCurrentTenant();
+        Snapshot snapshot = loadSnapshot(request.getChanges());
+
+        List<OffsetDateTime[]> chunks = new ArrayList<>();
+        for (OffsetDateTime chunkStart = from; chunkStart.isBefore(to); chunkStart = chunkStart.plusDays(1)) {
+            OffsetDateTime chunkEnd = chunkStart.plusDays(1).isBefore(to) ? chunkStart.plusDays(1) : to;
+            chunks.add(new OffsetDateTime[]{chunkStart, chunkEnd});
+        }
+
+        ChunkResult total = new ChunkResult(snapshot.slotCount());
+        int threads = Math.max(1, Math.min(parallelism, chunks.size()));
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<ChunkResult>> futures = new ArrayList<>(chunks.size());
+            for (OffsetDateTime[] chunk : chunks) {
+                futures.add(executor.submit(() -> TenantContextHolder.runInTenant(tenantId,
+                        (Supplier<ChunkResult>) () -> readOnlyTransactionTemplate.execute(
+                                status -> simulateChunk(snapshot, chunk[0], chunk[1])))));
+            }
+            for (Future<ChunkResult> future : futures) {
+                total.merge(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("수수료 시뮬레이션이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("수수료 시뮬레이션에 실패했습니다: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        List<FeeSimulationEntityDeltaDto> deltas = new ArrayList<>();
+        for (int slot = 0; slot < snapshot.slotCount(); slot++) {
+            long baseline = total.baseline[slot];
+            long simulated = total.simulated[slot];
+            if (baseline != simulated) {
+                deltas.add(new FeeSimulationEntityDeltaDto(
+                        snapshot.entityIds[slot], snapshot.entityTypes[slot], snapshot.entityNames[slot],
+                        baseline, simulated, simulated - baseline));
+            }
+        }
+        deltas.sort(Comparator.comparingLong((FeeSimulationEntityDeltaDto d) -> Math.abs(d.deltaAmount())).reversed());
+
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - startedAt).toMillis();
+        log.info("Fee simulation completed: range=[{}, {}), events={}, skipped={}, changedEntities={}, elapsed={}ms",
+                from, to, total.events, total.skipped, deltas.size(), elapsedMillis);
+
+        return new FeeSimulationResultDto(from, to, total.events, total.skipped, elapsedMillis, deltas);
+    }
+
+    private ChunkResult simulateChunk(Snapshot snapshot, OffsetDateTime start, OffsetDateTime end) {
+        ChunkResult result = new ChunkResult(snapshot.slotCount());
+        long[] scratch = new long[snapshot.maxAllocationSize];
+
+        streamingJdbcTemplate.query(EVENT_STREAM_SQL, rs -> {
+            UUID merchantId = rs.getObject(1, UUID.class);
+            UUID paymentMethodId = rs.getObject(2, UUID.class);
+            long amount = rs.getLong(3);
+
+            CompiledChain chain = paymentMethodId != null
+                    ? snapshot.chain(merchantId, paymentMethodId)
+                    : CompiledChain.INVALID;
+            if (chain == CompiledChain.INVALID) {
+                result.skipped++;
+                return;
+            }
+            chain.apply(amount, result.baseline, result.simulated, scratch);
+            result.events++;
+        }, Timestamp.from(start.toInstant()), Timestamp.from(end.toInstant()));
+
+        return result;
+    }
+
+    private Snapshot loadSnapshot(List<FeeSimulationRequest.FeeChange> changes) {
+        List<Organization> organizations = organizationRepository.findAll();
+        List<MerchantRef> merchants = jdbcTemplate.query(
+                "SELECT id, name, org_id, CAST(org_path AS TEXT) as org_path FROM merchants",
+                (rs, rowNum) -> new MerchantRef(
+                        rs.getObject("id", UUID.class),
+                        rs.getString("name"),
+                        rs.getObject("org_id", UUID.class),
+                        rs.getString("org_path")));
+
+        Map<RateKey, BigDecimal> baselineRates = new HashMap<>();
+        for (FeeConfiguration config : feeConfigurationRepository.findAllActive(FeeConfigStatus.ACTIVE, OffsetDateTime.now())) {
+            if (config.getFeeRate() != null) {
+                // priority 오름차순이므로 먼저 나온 설정이 FeeConfigResolver와 같은 선택
+                baselineRates.putIfAbsent(
+                        new RateKey(config.getEntityId(), config.getEntityType(), config.getPaymentMethodId()),
+                        config.getFeeRate());
+            }
+        }
+
+        Map<RateKey, BigDecimal> simulatedRates = new HashMap<>(baselineRates);
+        for (FeeSimulationRequest.FeeChange change : changes) {
+            simulatedRates.put(new RateKey(change.getEntityId(), change.getEntityType(), change.getPaymentMethodId()),
+                    change.getFeeRate());
+        }
+
+        return new Snapshot(organizations, merchants, baselineRates, simulatedRates);
+    }
+
+    private record RateKey(UUID entityId, OrganizationType entityType, UUID paymentMethodId) {
+    }
+
+    private record ChainKey(UUID merchantId, UUID paymentMethodId) {
+    }
+
+    private record MerchantRef(UUID id, String name, UUID orgId, String orgPath) {
+    }
+
+    /**
+     * 시뮬레이션 1회 동안 불변인 조직/가맹점/요율 스냅샷과 (가맹점, 결제수단)별 계층 캐시.
+     * 엔티티는 정수 슬롯으로 매핑되며 마지막 슬롯은 DISTRIBUTOR가 없는 마스터 잔여금이다.
+     */
+    private static final class Snapshot {
+        private final Map<UUID, Organization> organizationsById = new HashMap<>();
+        private final Map<String, Organization> organizationsByPath = new HashMap<>();
+        private final Map<UUID, MerchantRef> merchantsById = new HashMap<>();
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private final Map<RateKey, BigDecimal> baselineRates;
+        private final Map<RateKey, BigDecimal> simulatedRates;
+        private final Map<ChainKey, CompiledChain> chains = new ConcurrentHashMap<>();
+        private final UUID[] entityIds;
+        private final String[] entityTypes;
+        private final String[] entityNames;
+        private final int masterSlot;
+
+        /** 계층 분배 결과 배열의 최대 길이 (가맹점 경로 깊이 + 3) */
+        private final int maxAllocationSize;
+
+        private Snapshot(List<Organization> organizations, List<MerchantRef> merchants,
+                         Map<RateKey, BigDecimal> baselineRates, Map<RateKey, BigDecimal> simulatedRates) {
+            this.baselineRates = baselineRates;
+            this.simulatedRates = simulatedRates;
+
+            int size = organizations.size() + merchants.size() + 1;
+            this.entityIds = new UUID[size];
+            this.entityTypes = new String[size];
+            this.entityNames = new String[size];
+
+            int slot = 0;
+            for (Organization org : organizations) {
+                organizationsById.put(org.getId(), org);
+                organizationsByPath.put(org.getPath(), org);
+                slots.put(org.getId(), slot);
+                entityIds[slot] = org.getId();
+                entityTypes[slot] = org.getOrgType().name();
+                entityNames[slot] = org.getName();
+                slot++;
+            }
+            int maxDepth = 0;
+            for (MerchantRef merchant : merchants) {
+                maxDepth = Math.max(maxDepth, merchant.orgPath().split("\\.").length);
+                merchantsById.put(merchant.id(), merchant);
+                slots.put(merchant.id(), slot);
+                Organization vendorOrg = organizationsById.get(merchant.orgId());
+                entityIds[slot] = merchant.id();
+                entityTypes[slot] = vendorOrg != null ? vendorOrg.getOrgType().name() : null;
+                entityNames[slot] = merchant.name();
+                slot++;
+            }
+            this.masterSlot = slot;
+            this.maxAllocationSize = maxDepth + 3;
+            entityTypes[masterSlot] = OrganizationType.DISTRIBUTOR.name();
+            entityNames[masterSlot] = "MASTER";
+        }
+
+        private int slotCount() {
+            return masterSlot + 1;
+        }
+
+        private CompiledChain chain(UUID merchantId, UUID paymentMethodId) {
+            return chains.computeIfAbsent(new ChainKey(merchantId, paymentMethodId), this::compile);
+        }
+
+        private CompiledChain compile(ChainKey key) {
+            MerchantRef merchant = merchantsById.get(key.merchantId());
+            if (merchant == null) {
+                return CompiledChain.INVALID;
+            }
+            Organization vendorOrg = organizationsById.get(merchant.orgId());
+            if (vendorOrg == null) {
+                return CompiledChain.INVALID;
+            }
+
+            // OrganizationRepository.findAncestors(orgPath)와 같은 대상 (자신 포함 상위 경로), level 내림차순
+            List<Organization> ancestors = new ArrayList<>();
+            String[] labels = merchant.orgPath().split("\\.");
+            StringBuilder path = new StringBuilder();
+            for (String label : labels) {
+                if (!path.isEmpty()) {
+                    path.append('.');
+                }
+                path.append(label);
+                Organization org = organizationsByPath.get(path.toString());
+                if (org != null) {
+                    ancestors.add(org);
+                }
+            }
+            ancestors.sort((a, b) -> Integer.compare(b.getLevel(), a.getLevel()));
+
+            try {
+                FeeHierarchy baseline = build(vendorOrg, ancestors, key.paymentMethodId(), baselineRates);
+                FeeHierarchy simulated = build(vendorOrg, ancestors, key.paymentMethodId(), simulatedRates);
+                return new CompiledChain(baseline, slotsOf(merchant.id(), baseline),
+                        simulated, slotsOf(merchant.id(), simulated));
+            } catch (MissingRateException e) {
+                return CompiledChain.INVALID;
+            }
+        }
+
+        private FeeHierarchy build(Organization vendorOrg, List<Organization> ancestors, UUID paymentMethodId,
+                                   Map<RateKey, BigDecimal> rates) {
+            BigDecimal merchantRate = rate(rates, vendorOrg, paymentMethodId);
+            return FeeHierarchy.build(merchantRate, ancestors, org -> rate(rates, org, paymentMethodId));
+        }
+
+        private static BigDecimal rate(Map<RateKey, BigDecimal> rates, Organization org, UUID paymentMethodId) {
+            BigDecimal rate = rates.get(new RateKey(org.getId(), org.getOrgType(), paymentMethodId));
+            if (rate == null) {
+                throw new MissingRateException();
+            }
+            return rate;
+        }
+
+        /** 분배 결과 인덱스별 누적 슬롯: [0] 가맹점, [1..n] 마진 영업점, [n+1] 마스터 잔여금 */
+        private int[] slotsOf(UUID merchantId, FeeHierarchy hierarchy) {
+            List<FeeHierarchy.Level> levels = hierarchy.getMarginLevels();
+            int[] result = new int[levels.size() + 2];
+            result[0] = slots.get(merchantId);
+            for (int i = 0; i < levels.size(); i++) {
+                result[1 + i] = slots.get(levels.get(i).organization().getId());
+            }
+            Organization distributor = hierarchy.getDistributor();
+            result[levels.size() + 1] = distributor != null ? slots.get(distributor.getId()) : masterSlot;
+            return result;
+        }
+    }
+
+    private static final class CompiledChain {
+        private static final CompiledChain INVALID = new CompiledChain(null, null, null, null);
+
+        private final FeeHierarchy baseline;
+        private final int[] baselineSlots;
+        private final FeeHierarchy simulated;
+        private final int[] simulatedSlots;
+
+        private CompiledChain(FeeHierarchy baseline, int[] baselineSlots,
+                              FeeHierarchy simulated, int[] simulatedSlots) {
+            this.baseline = baseline;
+            this.baselineSlots = baselineSlots;
+            this.simulated = simulated;
+            this.simulatedSlots = simulatedSlots;
+        }
+
+        private void apply(long signedAmount, long[] baselineTotals, long[] simulatedTotals, long[] scratch) {
+            accumulate(baseline, baselineSlots, signedAmount, baselineTotals, scratch);
+            accumulate(simulated, simulatedSlots, signedAmount, simulatedTotals, scratch);
+        }
+
+        private static void accumulate(FeeHierarchy hierarchy, int[] slots, long signedAmount,
+                                       long[] totals, long[] scratch) {
+            long sign = signedAmount > 0 ? 1 : -1;
+            hierarchy.allocate(Math.abs(signedAmount), scratch);
+
+            totals[slots[0]] += sign * scratch[0];
+            int margins = slots.length - 2;
+            for (int i = 0; i < margins; i++) {
+                totals[slots[1 + i]] += sign * scratch[2 + i];
+            }
+            totals[slots[margins + 1]] += sign * scratch[2 + margins];
+        }
+    }
+
+    private static final class ChunkResult {
+        private final long[] baseline;
+        private final long[] simulated;
+        private long events;
+        private long skipped;
+
+        private ChunkResult(int slots) {
+            this.baseline = new long[slots];
+            this.simulated = new long[slots];
+        }
+
+        private void merge(ChunkResult other) {
+            for (int i = 0; i < baseline.length; i++) {
+                baseline[i] += other.baseline[i];
+                simulated[i] += other.simulated[i];
+            }
+            events += other.events;
+            skipped += other.skipped;
+        }
+    }
+
+    private static final class MissingRateException extends RuntimeException {
+        private MissingRateException() {
+            super(null, null, false, false);
+        }
+    }
+}
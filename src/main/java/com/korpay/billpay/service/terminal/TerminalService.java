@@ -12,18 +12,19 @@ import com.korpay.billpay.dto.response.TerminalDto;
 import com.korpay.billpay.exception.EntityNotFoundException;
 import com.korpay.billpay.exception.ValidationException;
 import com.korpay.billpay.repository.MerchantRepository;
+import com.korpay.billpay.repository.NativeSort;
 import com.korpay.billpay.repository.OrganizationRepository;
 import com.korpay.billpay.repository.TerminalRepository;
 import com.korpay.billpay.service.auth.AccessControlService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,16 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class TerminalService {
 
+    /** 정렬 가능한 단말기 속성 → 컬럼 */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "catId", "cat_id",
+            "terminalType", "terminal_type",
+            "status", "status",
+            "installDate", "install_date",
+            "lastTransactionAt", "last_transaction_at");
+
     private final TerminalRepository terminalRepository;
     private final MerchantRepository merchantRepository;
     private final OrganizationRepository organizationRepository;
@@ -46,16 +57,15 @@ public class TerminalService {
             UUID organizationId,
             String search,
             Pageable pageable) {
-
-        Page<Terminal> terminalPage = terminalRepository.findByFilters(
-                status, terminalType, merchantId, organizationId, search, pageable);
-
-        List<TerminalDto> accessibleTerminals = terminalPage.getContent().stream()
-                .filter(terminal -> accessControlService.hasAccessToMerchant(user, terminal.getMerchant()))
-                .map(TerminalDto::from)
-                .collect(Collectors.toList());
-
-        return new PageImpl<>(accessibleTerminals, pageable, terminalPage.getTotalElements());
+        return terminalRepository.findAccessibleTerminals(
+                        accessControlService.accessPath(user),
+                        status != null ? status.name() : null,
+                        terminalType != null ? terminalType.name() : null,
+                        merchantId,
+                        organizationId,
+                        search != null && !search.isBlank() ? search.trim() : null,
+                        NativeSort.toColumns(pageable, SORT_COLUMNS))
+                .map(TerminalDto::from);
     }
 
     public TerminalDto findById(UUID id, User user) {
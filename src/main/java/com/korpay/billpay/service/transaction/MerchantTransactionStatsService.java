@@ -0,0 +1,129 @@
+package com.korpay.billpay.service.transaction;
+
+import com.korpay.billpay.domain.entity.Transaction;
+import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.response.MerchantStatisticsDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 가맹점 거래 일별 통계(merchant_transaction_daily_stats) 유지 및 조회 서비스.
+ *
+ * 거래 생성/취소와 같은 트랜잭션에서 (가맹점, 거래일, 상태) 단위 건수와 금액을 증분 갱신하므로,
+ * 통계 조회는 거래 건수와 무관하게 조회 기간의 일수 × 상태 수만큼만 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MerchantTransactionStatsService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private static final String UPSERT_STATS = """
+            INSERT INTO merchant_transaction_daily_stats (merchant_id, stat_date, status, transaction_count, amount)
+            VALUES (?, ?, ?, ?, ?)
+            ON CONFLICT (merchant_id, stat_date, status) DO UPDATE SET
+                transaction_count = merchant_transaction_daily_stats.transaction_count + EXCLUDED.transaction_count,
+                amount = merchant_transaction_daily_stats.amount + EXCLUDED.amount,
+                updated_at = CURRENT_TIMESTAMP
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 새 거래를 통계에 가산한다. 거래 저장(flush) 이후 같은 트랜잭션에서 호출해야 한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Transaction transaction) {
+        apply(transaction.getMerchant().getId(), statDate(transaction.getCreatedAt()),
+                transaction.getStatus(), 1, transaction.getAmount());
+    }
+
+    /**
+     * 거래의 상태나 금액 변경을 통계에 반영한다. 이전 상태에서 차감하고 현재 상태에 가산한다.
+     * 변경 전 상태와 금액은 거래 행을 잠그고 읽은 값이어야 한다 (동시 취소의 이중 차감 방지).
+     *
+     * @param previousStatus 변경 전 상태
+     * @param previousAmount 변경 전 금액
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChanged(Transaction transaction, TransactionStatus previousStatus, long previousAmount) {
+        if (transaction.getStatus() == previousStatus && transaction.getAmount() == previousAmount) {
+            return;
+        }
+        UUID merchantId = transaction.getMerchant().getId();
+        LocalDate statDate = statDate(transaction.getCreatedAt());
+        apply(merchantId, statDate, previousStatus, -1, -previousAmount);
+        apply(merchantId, statDate, transaction.getStatus(), 1, transaction.getAmount());
+    }
+
+    /**
+     * 가맹점 거래 통계를 조회한다. 기간은 KST 거래일 기준이며 양 끝을 포함하고, null이면 제한하지 않는다.
+     */
+    @Transactional(readOnly = true)
+    public MerchantStatisticsDto getStatistics(UUID merchantId, LocalDate startDate, LocalDate endDate) {
+        StringBuilder sql = new StringBuilder("""
+                SELECT status, SUM(transaction_count) as transaction_count, SUM(amount) as amount
+                FROM merchant_transaction_daily_stats
+                WHERE merchant_id = ?
+                """);
+        List<Object> args = new ArrayList<>();
+        args.add(merchantId);
+        if (startDate != null) {
+            sql.append("  AND stat_date >= ?\n");
+            args.add(Date.valueOf(startDate));
+        }
+        if (endDate != null) {
+            sql.append("  AND stat_date <= ?\n");
+            args.add(Date.valueOf(endDate));
+        }
+        sql.append("GROUP BY status");
+
+        Map<TransactionStatus, long[]> byStatus = new EnumMap<>(TransactionStatus.class);
+        jdbcTemplate.query(sql.toString(), rs -> {
+            byStatus.put(TransactionStatus.valueOf(rs.getString("status")),
+                    new long[]{rs.getLong("transaction_count"), rs.getLong("amount")});
+        }, args.toArray());
+
+        long totalTransactions = byStatus.values().stream().mapToLong(totals -> totals[0]).sum();
+        long totalAmount = byStatus.values().stream().mapToLong(totals -> totals[1]).sum();
+        long[] approved = byStatus.getOrDefault(TransactionStatus.APPROVED, new long[2]);
+        long[] cancelled = byStatus.getOrDefault(TransactionStatus.CANCELLED, new long[2]);
+        long[] pending = byStatus.getOrDefault(TransactionStatus.PENDING, new long[2]);
+
+        return MerchantStatisticsDto.builder()
+                .totalTransactions(totalTransactions)
+                .totalAmount(totalAmount)
+                .approvedTransactions(approved[0])
+                .approvedAmount(approved[1])
+                .cancelledTransactions(cancelled[0])
+                .cancelledAmount(cancelled[1])
+                .pendingTransactions(pending[0])
+                .pendingAmount(pending[1])
+                .build();
+    }
+
+    private void apply(UUID merchantId, LocalDate statDate, TransactionStatus status, long count, long amount) {
+        jdbcTemplate.update(UPSERT_STATS, merchantId, Date.valueOf(statDate), status.name(), count, amount);
+        log.debug("Applied merchant stats delta: merchant={}, date={}, status={}, count={}, amount={}",
+                merchantId, statDate, status, count, amount);
+    }
+
+    private static LocalDate statDate(OffsetDateTime createdAt) {
+        return createdAt.atZoneSameInstant(KST).toLocalDate();
+    }
+}
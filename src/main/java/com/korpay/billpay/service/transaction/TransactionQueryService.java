@@ -1,25 +1,38 @@
 package com.korpay.billpay.service.transaction;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.korpay.billpay.domain.entity.Transaction;
 import com.korpay.billpay.domain.entity.TransactionEvent;
 import com.korpay.billpay.domain.entity.User;
 import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.response.CursorPagedResponse;
+import com.korpay.billpay.dto.response.TransactionDto;
 import com.korpay.billpay.exception.EntityNotFoundException;
 import com.korpay.billpay.repository.TransactionEventRepository;
 import com.korpay.billpay.repository.TransactionRepository;
 import com.korpay.billpay.service.auth.AccessControlService;
+import com.korpay.billpay.service.export.ExportQuery;
+import com.korpay.billpay.service.transaction.TransactionSearchQuery.Cursor;
+import com.korpay.billpay.service.transaction.TransactionSearchQuery.SortField;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Service
@@ -27,134 +40,201 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class TransactionQueryService {
 
+    private static final Sort.Order DEFAULT_ORDER = Sort.Order.desc("createdAt");
+
+    private static final String SELECT_TRANSACTIONS = """
+        SELECT t.id, t.transaction_id, t.merchant_id, m.name as merchant_name, CAST(t.org_path AS TEXT) as org_path,
+               t.pg_connection_id, t.payment_method_id, t.card_company_id, t.amount, t.currency, t.status,
+               t.pg_transaction_id, t.approval_number, t.approved_at, t.cancelled_at, t.cat_id,
+               CAST(t.metadata AS TEXT) as metadata, t.created_at, t.updated_at
+        FROM transactions t
+        JOIN merchants m ON m.id = t.merchant_id
+        """;
+
+    private static final String EXPORT_TRANSACTIONS = """
+        SELECT t.id, t.transaction_id, t.merchant_id, m.name as merchant_name, CAST(t.org_path AS TEXT) as org_path,
+               t.pg_connection_id, t.amount, t.currency, t.status, t.pg_transaction_id, t.approval_number,
+               t.approved_at, t.cancelled_at, t.cat_id, t.created_at
+        FROM transactions t
+        JOIN merchants m ON m.id = t.merchant_id
+        """;
+
     private final TransactionRepository transactionRepository;
     private final TransactionEventRepository transactionEventRepository;
     private final AccessControlService accessControlService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
 
-    public Page<Transaction> findAccessibleTransactions(
-            User user,
-            UUID merchantId,
-            TransactionStatus status,
-            OffsetDateTime startDate,
-            OffsetDateTime endDate,
-            OffsetDateTime approvedAtStart,
-            OffsetDateTime approvedAtEnd,
-            OffsetDateTime cancelledAtStart,
-            OffsetDateTime cancelledAtEnd,
-            String dateFilterType,
-            String transactionId,
-            Long pgConnectionId,
-            String approvalNumber,
-            Pageable pageable) {
-        
-        List<Transaction> allTransactions;
-        
-        if (merchantId != null) {
-            allTransactions = transactionRepository.findByMerchantId(merchantId, Pageable.unpaged()).getContent();
-        } else if (status != null && startDate != null && endDate != null) {
-            allTransactions = transactionRepository.findByStatusAndCreatedAtBetween(status, startDate, endDate);
-        } else {
-            allTransactions = transactionRepository.findAllWithMerchant();
+    /**
+     * 접근 가능한 거래를 오프셋 페이지로 조회한다.
+     * 접근 범위, 검색 조건과 정렬을 모두 SQL로 처리하므로 한 번에 한 페이지만 읽는다.
+     */
+    public Page<TransactionDto> findAccessibleTransactions(User user, TransactionSearchCriteria criteria,
+                                                           Pageable pageable) {
+        Sort.Order order = pageable.getSort().stream().findFirst().orElse(DEFAULT_ORDER);
+        SortField field = SortField.of(order.getProperty());
+
+        TransactionSearchQuery query = accessibleQuery(user, criteria);
+        if (query == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
         }
-        
-        List<Transaction> accessibleTransactions = allTransactions.stream()
-                .filter(txn -> accessControlService.hasAccessToOrganization(user, txn.getOrgPath()))
-                .collect(Collectors.toList());
-        
-        if (status != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getStatus() == status)
-                    .collect(Collectors.toList());
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions t WHERE " + query.where(), Long.class, query.args());
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
         }
-        
-        if (startDate != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getCreatedAt().isAfter(startDate) || txn.getCreatedAt().isEqual(startDate))
-                    .collect(Collectors.toList());
+
+        List<TransactionDto> content = jdbcTemplate.query(
+                SELECT_TRANSACTIONS + "WHERE " + query.where()
+                        + " ORDER BY " + TransactionSearchQuery.orderBy(field, order.getDirection())
+                        + " LIMIT ? OFFSET ?",
+                this::mapTransaction,
+                concat(query.args(), pageable.getPageSize(), pageable.getOffset()));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 접근 가능한 거래를 keyset 커서로 조회한다.
+     * 이전 페이지 마지막 행의 (정렬 값, id) 다음부터 읽으므로 깊은 페이지도 OFFSET 없이 인덱스 범위 조회가 되며,
+     * 전체 건수는 세지 않는다. cursor가 없으면 첫 페이지를 반환한다.
+     */
+    public CursorPagedResponse<TransactionDto> scrollAccessibleTransactions(
+            User user, TransactionSearchCriteria criteria, String sortBy, Sort.Direction direction,
+            String cursor, int size) {
+        SortField field = SortField.of(sortBy);
+        if (field.nullable) {
+            throw new IllegalArgumentException("커서 조회는 값이 항상 있는 항목으로만 정렬할 수 있습니다: " + sortBy);
         }
-        
-        if (endDate != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getCreatedAt().isBefore(endDate) || txn.getCreatedAt().isEqual(endDate))
-                    .collect(Collectors.toList());
+
+        TransactionSearchQuery query = accessibleQuery(user, criteria);
+        if (query == null) {
+            return new CursorPagedResponse<>(List.of(), size, false, null);
         }
-        
-        if (approvedAtStart != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getApprovedAt() != null && 
-                            (txn.getApprovedAt().isAfter(approvedAtStart) || txn.getApprovedAt().isEqual(approvedAtStart)))
-                    .collect(Collectors.toList());
+        if (cursor != null && !cursor.isBlank()) {
+            Cursor after = Cursor.decode(cursor);
+            if (after.field() != field || after.direction() != direction) {
+                throw new IllegalArgumentException("커서의 정렬 조건이 요청과 다릅니다");
+            }
+            query.after(after);
         }
-        
-        if (approvedAtEnd != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getApprovedAt() != null && 
-                            (txn.getApprovedAt().isBefore(approvedAtEnd) || txn.getApprovedAt().isEqual(approvedAtEnd)))
-                    .collect(Collectors.toList());
+
+        List<TransactionDto> rows = jdbcTemplate.query(
+                SELECT_TRANSACTIONS + "WHERE " + query.where()
+                        + " ORDER BY " + TransactionSearchQuery.orderBy(field, direction)
+                        + " LIMIT ?",
+                this::mapTransaction,
+                concat(query.args(), size + 1));
+
+        boolean hasNext = rows.size() > size;
+        List<TransactionDto> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? Cursor.after(content.getLast(), field, direction).encode() : null;
+        return new CursorPagedResponse<>(content, size, hasNext, nextCursor);
+    }
+
+    /**
+     * 거래 ID, PG 거래 ID, 승인번호, CAT ID 중 하나라도 keyword를 포함하는 거래를 관련도순으로 조회한다.
+     * 부분 일치는 pg_trgm GIN 인덱스로 처리되며 다른 검색 조건과 함께 적용된다.
+     * 관련도가 같으면 최신 거래가 먼저 온다.
+     */
+    public Page<TransactionDto> searchAccessibleTransactions(User user, TransactionSearchCriteria criteria,
+                                                             String keyword, Pageable pageable) {
+        if (keyword == null || keyword.trim().length() < TransactionSearchQuery.MIN_KEYWORD_LENGTH) {
+            throw new IllegalArgumentException(
+                    "검색어는 " + TransactionSearchQuery.MIN_KEYWORD_LENGTH + "자 이상이어야 합니다");
         }
-        
-        if (cancelledAtStart != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getCancelledAt() != null && 
-                            (txn.getCancelledAt().isAfter(cancelledAtStart) || txn.getCancelledAt().isEqual(cancelledAtStart)))
-                    .collect(Collectors.toList());
+
+        TransactionSearchQuery query = accessibleQuery(user, criteria);
+        if (query == null) {
+            return new PageImpl<>(List.of(), pageable, 0);
         }
-        
-        if (cancelledAtEnd != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getCancelledAt() != null && 
-                            (txn.getCancelledAt().isBefore(cancelledAtEnd) || txn.getCancelledAt().isEqual(cancelledAtEnd)))
-                    .collect(Collectors.toList());
+        query.matching(keyword);
+
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transactions t WHERE " + query.where(), Long.class, query.args());
+        if (total == null || total == 0 || pageable.getOffset() >= total) {
+            return new PageImpl<>(List.of(), pageable, total != null ? total : 0);
         }
-        
-        if (dateFilterType != null && !dateFilterType.isBlank()) {
-            switch (dateFilterType.toUpperCase()) {
-                case "APPROVED":
-                    accessibleTransactions = accessibleTransactions.stream()
-                            .filter(txn -> txn.getApprovedAt() != null)
-                            .collect(Collectors.toList());
-                    break;
-                case "CANCELLED":
-                    accessibleTransactions = accessibleTransactions.stream()
-                            .filter(txn -> txn.getCancelledAt() != null)
-                            .collect(Collectors.toList());
-                    break;
-                // CREATED is default - no additional filtering needed
-            }
+
+        Object[] args = concat(query.args(), TransactionSearchQuery.relevanceArgs(keyword));
+        List<TransactionDto> content = jdbcTemplate.query(
+                SELECT_TRANSACTIONS + "WHERE " + query.where()
+                        + " ORDER BY " + TransactionSearchQuery.relevance() + " DESC, t.created_at DESC, t.id DESC"
+                        + " LIMIT ? OFFSET ?",
+                this::mapTransaction,
+                concat(args, pageable.getPageSize(), pageable.getOffset()));
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    /**
+     * 접근 가능한 거래 전체를 내보내는 쿼리. 목록 조회와 같은 조건과 정렬을 쓰며 페이지 제한이 없다.
+     * 접근 가능한 조직이 없으면 헤더와 0건 trailer만 기록되는 쿼리를 반환한다.
+     */
+    public ExportQuery transactionExportQuery(User user, TransactionSearchCriteria criteria,
+                                              String sortBy, Sort.Direction direction) {
+        SortField field = SortField.of(sortBy);
+        String orderBy = " ORDER BY " + TransactionSearchQuery.orderBy(field, direction);
+
+        TransactionSearchQuery query = accessibleQuery(user, criteria);
+        if (query == null) {
+            return new ExportQuery(EXPORT_TRANSACTIONS + "WHERE FALSE" + orderBy, new Object[0]);
         }
-        
-        if (transactionId != null && !transactionId.isBlank()) {
-            String searchTid = transactionId.trim().toLowerCase();
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getTransactionId() != null && 
-                            txn.getTransactionId().toLowerCase().contains(searchTid))
-                    .collect(Collectors.toList());
+        return new ExportQuery(EXPORT_TRANSACTIONS + "WHERE " + query.where() + orderBy, query.args());
+    }
+
+    /**
+     * @return 사용자의 접근 범위를 포함한 검색 조건, 접근 가능한 조직이 없으면 null
+     */
+    private TransactionSearchQuery accessibleQuery(User user, TransactionSearchCriteria criteria) {
+        if (accessControlService.isMasterAdmin(user)) {
+            return TransactionSearchQuery.of(criteria, null);
         }
-        
-        if (pgConnectionId != null) {
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> pgConnectionId.equals(txn.getPgConnectionId()))
-                    .collect(Collectors.toList());
+        String orgPath = user.getOrgPath();
+        if (orgPath == null || orgPath.isEmpty()) {
+            return null;
         }
-        
-        if (approvalNumber != null && !approvalNumber.isBlank()) {
-            String searchApproval = approvalNumber.trim().toLowerCase();
-            accessibleTransactions = accessibleTransactions.stream()
-                    .filter(txn -> txn.getApprovalNumber() != null && 
-                            txn.getApprovalNumber().toLowerCase().contains(searchApproval))
-                    .collect(Collectors.toList());
+        return TransactionSearchQuery.of(criteria, orgPath);
+    }
+
+    private static Object[] concat(Object[] args, Object... more) {
+        Object[] joined = Arrays.copyOf(args, args.length + more.length);
+        System.arraycopy(more, 0, joined, args.length, more.length);
+        return joined;
+    }
+
+    private TransactionDto mapTransaction(ResultSet rs, int rowNum) throws SQLException {
+        return TransactionDto.builder()
+                .id(rs.getObject("id", UUID.class))
+                .transactionId(rs.getString("transaction_id"))
+                .merchantId(rs.getObject("merchant_id", UUID.class))
+                .merchantName(rs.getString("merchant_name"))
+                .orgPath(rs.getString("org_path"))
+                .pgConnectionId(rs.getLong("pg_connection_id"))
+                .paymentMethodId(rs.getObject("payment_method_id", UUID.class))
+                .cardCompanyId(rs.getObject("card_company_id", UUID.class))
+                .amount(rs.getLong("amount"))
+                .currency(rs.getString("currency"))
+                .status(TransactionStatus.valueOf(rs.getString("status")))
+                .pgTransactionId(rs.getString("pg_transaction_id"))
+                .approvalNumber(rs.getString("approval_number"))
+                .approvedAt(rs.getObject("approved_at", OffsetDateTime.class))
+                .cancelledAt(rs.getObject("cancelled_at", OffsetDateTime.class))
+                .catId(rs.getString("cat_id"))
+                .metadata(readMetadata(rs.getString("metadata")))
+                .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+                .updatedAt(rs.getObject("updated_at", OffsetDateTime.class))
+                .build();
+    }
+
+    private Map<String, Object> readMetadata(String json) {
+        if (json == null) {
+            return null;
         }
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), accessibleTransactions.size());
-        
-        if (start > accessibleTransactions.size()) {
-            return new PageImpl<>(List.of(), pageable, accessibleTransactions.size());
+        try {
+            return objectMapper.readValue(json, new TypeReference<>() {});
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read transaction metadata", e);
         }
-        
-        List<Transaction> pageContent = accessibleTransactions.subList(start, end);
-        
-        return new PageImpl<>(pageContent, pageable, accessibleTransactions.size());
     }
 
     public Transaction findById(UUID id, User user) {
@@ -0,0 +1,28 @@
+package com.korpay.billpay.service.transaction;
+
+import com.korpay.billpay.domain.enums.TransactionStatus;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * 거래 목록 검색 조건. null(문자열은 공백 포함)인 항목은 조건에서 제외된다.
+ *
+ * 일시 범위는 양 끝을 포함하며, dateFilterType이 APPROVED/CANCELLED이면 해당 일시가 있는 거래만 조회한다.
+ * transactionId와 approvalNumber는 대소문자를 구분하지 않는 부분 일치로 검색한다.
+ */
+public record TransactionSearchCriteria(
+        UUID merchantId,
+        TransactionStatus status,
+        OffsetDateTime startDate,
+        OffsetDateTime endDate,
+        OffsetDateTime approvedAtStart,
+        OffsetDateTime approvedAtEnd,
+        OffsetDateTime cancelledAtStart,
+        OffsetDateTime cancelledAtEnd,
+        String dateFilterType,
+        String transactionId,
+        Long pgConnectionId,
+        String approvalNumber
+) {
+}
@@ -0,0 +1,236 @@
+package com.korpay.billpay.service.transaction;
+
+import com.korpay.billpay.dto.response.TransactionDto;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 거래 검색 SQL 조건 생성기.
+ *
+ * 접근 범위(org_path ltree), 검색 조건, 정렬과 keyset 커서를 transactions t 기준의 WHERE/ORDER BY 절과
+ * 바인드 인자로 만든다. 정렬은 항상 t.id를 보조 키로 붙여 같은 값의 순서를 고정한다.
+ */
+final class TransactionSearchQuery {
+
+    enum ValueType { TIMESTAMP, LONG, TEXT }
+
+    /** 정렬 가능한 컬럼 (nullable 컬럼은 NULL을 항상 마지막에 두며 커서 조회에는 쓸 수 없다) */
+    enum SortField {
+        CREATED_AT("createdAt", "t.created_at", ValueType.TIMESTAMP, false, TransactionDto::getCreatedAt),
+        UPDATED_AT("updatedAt", "t.updated_at", ValueType.TIMESTAMP, false, TransactionDto::getUpdatedAt),
+        APPROVED_AT("approvedAt", "t.approved_at", ValueType.TIMESTAMP, true, TransactionDto::getApprovedAt),
+        CANCELLED_AT("cancelledAt", "t.cancelled_at", ValueType.TIMESTAMP, true, TransactionDto::getCancelledAt),
+        AMOUNT("amount", "t.amount", ValueType.LONG, false, TransactionDto::getAmount),
+        TRANSACTION_ID("transactionId", "t.transaction_id", ValueType.TEXT, false, TransactionDto::getTransactionId),
+        STATUS("status", "t.status", ValueType.TEXT, false, dto -> dto.getStatus().name());
+
+        final String property;
+        final String column;
+        final ValueType type;
+        final boolean nullable;
+        private final Function<TransactionDto, Object> accessor;
+
+        SortField(String property, String column, ValueType type, boolean nullable,
+                  Function<TransactionDto, Object> accessor) {
+            this.property = property;
+            this.column = column;
+            this.type = type;
+            this.nullable = nullable;
+            this.accessor = accessor;
+        }
+
+        static SortField of(String property) {
+            return Arrays.stream(values())
+                    .filter(field -> field.property.equals(property))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("정렬할 수 없는 항목입니다: " + property));
+        }
+
+        Object valueOf(TransactionDto dto) {
+            return accessor.apply(dto);
+        }
+    }
+
+    /**
+     * keyset 커서. 마지막 행의 정렬 값과 id를 정렬 조건과 함께 base64url 문자열로 인코딩한다.
+     * 시각은 DB 정밀도와 같은 epoch 마이크로초로 기록해 경계 행이 누락되거나 중복되지 않게 한다.
+     */
+    record Cursor(SortField field, Sort.Direction direction, Object value, UUID id) {
+
+        static Cursor after(TransactionDto last, SortField field, Sort.Direction direction) {
+            return new Cursor(field, direction, field.valueOf(last), last.getId());
+        }
+
+        String encode() {
+            String encodedValue = switch (field.type) {
+                case TIMESTAMP -> Long.toString(ChronoUnit.MICROS.between(Instant.EPOCH,
+                        ((OffsetDateTime) value).toInstant()));
+                case LONG, TEXT -> value.toString();
+            };
+            String raw = field.name() + "|" + direction.name() + "|" + id + "|" + encodedValue;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|", 4);
+                SortField field = SortField.valueOf(parts[0]);
+                Object value = switch (field.type) {
+                    case TIMESTAMP -> Instant.EPOCH.plus(Long.parseLong(parts[3]), ChronoUnit.MICROS)
+                            .atOffset(ZoneOffset.UTC);
+                    case LONG -> Long.parseLong(parts[3]);
+                    case TEXT -> parts[3];
+                };
+                return new Cursor(field, Sort.Direction.valueOf(parts[1]), value, UUID.fromString(parts[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("잘못된 커서입니다");
+            }
+        }
+    }
+
+    /** 통합 검색 최소 길이 (pg_trgm 인덱스는 3자 이상의 패턴에서만 효과가 있다) */
+    static final int MIN_KEYWORD_LENGTH = 3;
+
+    /** 통합 검색 대상 컬럼 (V22 trigram GIN 인덱스) */
+    private static final List<String> KEYWORD_COLUMNS = List.of(
+            "t.transaction_id", "t.pg_transaction_id", "t.approval_number", "t.cat_id");
+
+    private final StringBuilder where = new StringBuilder("TRUE");
+    private final List<Object> args = new ArrayList<>();
+
+    private TransactionSearchQuery() {
+    }
+
+    /**
+     * @param accessPath 접근 가능한 조직 경로 (null이면 전체)
+     */
+    static TransactionSearchQuery of(TransactionSearchCriteria criteria, String accessPath) {
+        TransactionSearchQuery query = new TransactionSearchQuery();
+        if (accessPath != null) {
+            query.and("t.org_path <@ CAST(? AS ltree)", accessPath);
+        }
+        if (criteria.merchantId() != null) {
+            query.and("t.merchant_id = ?", criteria.merchantId());
+        }
+        if (criteria.status() != null) {
+            query.and("t.status = ?", criteria.status().name());
+        }
+        if (criteria.startDate() != null) {
+            query.and("t.created_at >= ?", criteria.startDate());
+        }
+        if (criteria.endDate() != null) {
+            query.and("t.created_at <= ?", criteria.endDate());
+        }
+        if (criteria.approvedAtStart() != null) {
+            query.and("t.approved_at >= ?", criteria.approvedAtStart());
+        }
+        if (criteria.approvedAtEnd() != null) {
+            query.and("t.approved_at <= ?", criteria.approvedAtEnd());
+        }
+        if (criteria.cancelledAtStart() != null) {
+            query.and("t.cancelled_at >= ?", criteria.cancelledAtStart());
+        }
+        if (criteria.cancelledAtEnd() != null) {
+            query.and("t.cancelled_at <= ?", criteria.cancelledAtEnd());
+        }
+        if (criteria.dateFilterType() != null && !criteria.dateFilterType().isBlank()) {
+            switch (criteria.dateFilterType().toUpperCase()) {
+                case "APPROVED" -> query.where.append(" AND t.approved_at IS NOT NULL");
+                case "CANCELLED" -> query.where.append(" AND t.cancelled_at IS NOT NULL");
+                default -> {
+                    // CREATED는 기본값으로 추가 조건 없음
+                }
+            }
+        }
+        if (criteria.transactionId() != null && !criteria.transactionId().isBlank()) {
+            query.and("t.transaction_id ILIKE ? ESCAPE '\\'", containsPattern(criteria.transactionId()));
+        }
+        if (criteria.pgConnectionId() != null) {
+            query.and("t.pg_connection_id = ?", criteria.pgConnectionId());
+        }
+        if (criteria.approvalNumber() != null && !criteria.approvalNumber().isBlank()) {
+            query.and("t.approval_number ILIKE ? ESCAPE '\\'", containsPattern(criteria.approvalNumber()));
+        }
+        return query;
+    }
+
+    /**
+     * 커서 이후의 행만 조회하도록 (정렬 값, id) 행 비교 조건을 추가한다.
+     */
+    TransactionSearchQuery after(Cursor cursor) {
+        String operator = cursor.direction().isDescending() ? "<" : ">";
+        return and("(" + cursor.field().column + ", t.id) " + operator + " (?, ?)", cursor.value(), cursor.id());
+    }
+
+    /**
+     * 검색 대상 컬럼 중 하나라도 keyword를 포함하는 거래만 조회하도록 조건을 추가한다.
+     * 컬럼별 ILIKE는 trigram 인덱스로 처리되어 BitmapOr로 결합된다.
+     */
+    TransactionSearchQuery matching(String keyword) {
+        String pattern = containsPattern(keyword);
+        where.append(" AND (")
+                .append(KEYWORD_COLUMNS.stream()
+                        .map(column -> column + " ILIKE ? ESCAPE '\\'")
+                        .collect(Collectors.joining(" OR ")))
+                .append(")");
+        KEYWORD_COLUMNS.forEach(column -> args.add(pattern));
+        return this;
+    }
+
+    /**
+     * 검색 관련도 식. 검색어와 가장 잘 맞는 컬럼의 word_similarity로, 값 전체나 앞부분이 일치할수록 높다.
+     * 바인드 인자는 {@link #relevanceArgs(String)}.
+     */
+    static String relevance() {
+        return KEYWORD_COLUMNS.stream()
+                .map(column -> "word_similarity(?, " + column + ")")
+                .collect(Collectors.joining(", ", "GREATEST(", ")"));
+    }
+
+    static Object[] relevanceArgs(String keyword) {
+        Object[] values = new Object[KEYWORD_COLUMNS.size()];
+        Arrays.fill(values, keyword.trim());
+        return values;
+    }
+
+    String where() {
+        return where.toString();
+    }
+
+    Object[] args() {
+        return args.toArray();
+    }
+
+    static String orderBy(SortField field, Sort.Direction direction) {
+        String dir = direction.isDescending() ? "DESC" : "ASC";
+        return field.column + " " + dir + (field.nullable ? " NULLS LAST" : "") + ", t.id " + dir;
+    }
+
+    private TransactionSearchQuery and(String condition, Object... values) {
+        where.append(" AND ").append(condition);
+        args.addAll(Arrays.asList(values));
+        return this;
+    }
+
+    /** LIKE 와일드카드를 이스케이프한 부분 일치 패턴 */
+    static String containsPattern(String keyword) {
+        String escaped = keyword.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+}
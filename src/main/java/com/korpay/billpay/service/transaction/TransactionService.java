@@ -7,6 +7,8 @@ import com.korpay.billpay.dto.webhook.TransactionDto;
 import com.korpay.billpay.exception.webhook.DuplicateTransactionException;
 import com.korpay.billpay.exception.webhook.WebhookProcessingException;
 import com.korpay.billpay.repository.*;
+import com.korpay.billpay.service.dashboard.DashboardCounterService;
+import com.korpay.billpay.service.live.LiveUpdateHub;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -24,6 +26,9 @@ public class TransactionService {
     private final TransactionEventRepository transactionEventRepository;
     private final PaymentMethodRepository paymentMethodRepository;
     private final CardCompanyRepository cardCompanyRepository;
+    private final MerchantTransactionStatsService merchantTransactionStatsService;
+    private final DashboardCounterService dashboardCounterService;
+    private final LiveUpdateHub liveUpdateHub;
 
     @Transactional
     public Transaction createOrUpdateFromWebhook(TransactionDto dto, MerchantPgMapping merchantPgMapping) {
@@ -49,8 +54,10 @@ public class TransactionService {
                 throw new WebhookProcessingException("Cancel event requires pgOtid (original transaction ID)");
             }
 
-            Optional<Transaction> originalTransaction = transactionRepository.findByPgConnectionIdAndPgTransactionId(
-                    merchantPgMapping.getPgConnectionId(), originalTid);
+            // 같은 원거래의 취소가 동시에 들어오면 둘 다 같은 변경 전 상태로 통계를 차감하므로 원거래 행을 잠그고 읽는다
+            Optional<Transaction> originalTransaction =
+                    transactionRepository.findByPgConnectionIdAndPgTransactionIdForUpdate(
+                            merchantPgMapping.getPgConnectionId(), originalTid);
 
             if (originalTransaction.isEmpty()) {
                 log.error("Original transaction not found for cancel: pgConnectionId={}, pgOtid={}",
@@ -125,6 +132,9 @@ public class TransactionService {
                 .build();
 
         transaction = transactionRepository.saveAndFlush(transaction);
+        merchantTransactionStatsService.recordCreated(transaction);
+        dashboardCounterService.recordCreated(transaction);
+        liveUpdateHub.publishTransaction(transaction);
         log.info("Created new transaction: {}", transaction.getTransactionId());
 
         return transaction;
@@ -132,6 +142,8 @@ public class TransactionService {
 
     private Transaction updateTransaction(Transaction transaction, TransactionDto dto) {
         log.info("Updating transaction: {}, event type: {}", transaction.getTransactionId(), dto.getEventType());
+        TransactionStatus previousStatus = transaction.getStatus();
+        long previousAmount = transaction.getAmount();
 
         if (dto.getEventType() == EventType.CANCEL) {
             transaction.setStatus(TransactionStatus.CANCELLED);
@@ -144,6 +156,9 @@ public class TransactionService {
         }
 
         transaction = transactionRepository.save(transaction);
+        merchantTransactionStatsService.recordChanged(transaction, previousStatus, previousAmount);
+        dashboardCounterService.recordChanged(transaction, previousStatus, previousAmount);
+        liveUpdateHub.publishTransaction(transaction);
         log.info("Updated transaction status to: {}", transaction.getStatus());
 
         return transaction;
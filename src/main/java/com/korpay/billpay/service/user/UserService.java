@@ -8,28 +8,37 @@ import com.korpay.billpay.dto.request.UserUpdateRequest;
 import com.korpay.billpay.exception.AccessDeniedException;
 import com.korpay.billpay.exception.EntityNotFoundException;
 import com.korpay.billpay.exception.ValidationException;
+import com.korpay.billpay.repository.NativeSort;
 import com.korpay.billpay.repository.OrganizationRepository;
 import com.korpay.billpay.repository.UserRepository;
 import com.korpay.billpay.service.auth.AccessControlService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
-import java.util.Comparator;
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class UserService {
 
+    /** Sortable user properties mapped to columns */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "username", "username",
+            "email", "email",
+            "fullName", "full_name",
+            "role", "role",
+            "status", "status",
+            "lastLoginAt", "last_login_at");
+
     private final UserRepository userRepository;
     private final OrganizationRepository organizationRepository;
     private final PasswordEncoder passwordEncoder;
@@ -157,21 +166,7 @@ public class UserService {
      * @return Page of users
      */
     public Page<User> findByOrganization(UUID orgId, Pageable pageable) {
-        List<User> users = userRepository.findByOrganizationId(orgId)
-                .stream()
-                .filter(u -> u.getDeletedAt() == null)
-                .sorted(Comparator.comparing(User::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), users.size());
-
-        if (start > users.size()) {
-            return new PageImpl<>(List.of(), pageable, users.size());
-        }
-
-        List<User> pageContent = users.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, users.size());
+        return userRepository.findAccessibleUsers("", orgId, NativeSort.toColumns(pageable, SORT_COLUMNS));
     }
 
     /**
@@ -183,21 +178,8 @@ public class UserService {
      * @return Page of accessible users
      */
     public Page<User> findAccessibleUsers(User currentUser, Pageable pageable) {
-        List<User> accessibleUsers = userRepository.findByOrgPathDescendants(currentUser.getOrgPath())
-                .stream()
-                .filter(u -> u.getDeletedAt() == null)
-                .sorted(Comparator.comparing(User::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder())))
-                .collect(Collectors.toList());
-
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), accessibleUsers.size());
-
-        if (start > accessibleUsers.size()) {
-            return new PageImpl<>(List.of(), pageable, accessibleUsers.size());
-        }
-
-        List<User> pageContent = accessibleUsers.subList(start, end);
-        return new PageImpl<>(pageContent, pageable, accessibleUsers.size());
+        return userRepository.findAccessibleUsers(
+                accessControlService.accessPath(currentUser), null, NativeSort.toColumns(pageable, SORT_COLUMNS));
     }
 
     /**
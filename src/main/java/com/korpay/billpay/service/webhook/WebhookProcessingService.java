@@ -13,6 +13,7 @@ import com.korpay.billpay.exception.webhook.MerchantMappingNotFoundException;
 import com.korpay.billpay.exception.webhook.SignatureVerificationFailedException;
 import com.korpay.billpay.exception.webhook.WebhookProcessingException;
 import com.korpay.billpay.service.settlement.SettlementService;
+import com.korpay.billpay.service.settlement.outbox.SettlementOutboxService;
 import com.korpay.billpay.service.transaction.MerchantMappingService;
 import com.korpay.billpay.service.transaction.TransactionService;
 import com.korpay.billpay.service.webhook.adapter.PgWebhookAdapter;
@@ -42,6 +43,7 @@ public class WebhookProcessingService {
     private final TransactionService transactionService;
     private final WebhookLoggingService webhookLoggingService;
     private final SettlementService settlementService;
+    private final SettlementOutboxService settlementOutboxService;
     private final TransactionTemplate transactionTemplate;
     private final WebhookIdempotencyKeyRepository webhookIdempotencyKeyRepository;
     private final UnmappedTransactionRepository unmappedTransactionRepository;
@@ -55,7 +57,7 @@ public class WebhookProcessingService {
             String rawBody,
             Map<String, String> headers) {
 
-        log.info("Processing webhook for PG: {}, Connection ID: {}", pgCode, pgConnectionId);
+        log.debug("Processing webhook for PG: {}, Connection ID: {}", pgCode, pgConnectionId);
 
         PgWebhookAdapter adapter = getAdapter(pgCode);
         String signature = extractSignature(headers, pgCode);
@@ -81,10 +83,12 @@ public class WebhookProcessingService {
             webhookLoggingService.updateToProcessing(webhookLog.getId());
 
             transactionDto = adapter.parse(rawBody, headers);
-            log.info("Parsed webhook data. PG TID: {}, Merchant No: {}, Event Type: {}",
-                    transactionDto.getPgTid(),
-                    transactionDto.getPgMerchantNo(),
-                    transactionDto.getEventType());
+            if (log.isDebugEnabled()) {
+                log.debug("Parsed webhook data. PG TID: {}, Merchant No: {}, Event Type: {}",
+                        transactionDto.getPgTid(),
+                        transactionDto.getPgMerchantNo(),
+                        transactionDto.getEventType());
+            }
 
             // 원자적 멱등성 보장: INSERT 시도 → 중복이면 DataIntegrityViolationException catch
             WebhookIdempotencyKey idempotencyKey = WebhookIdempotencyKey.builder()
@@ -141,7 +145,12 @@ public class WebhookProcessingService {
 
                 TransactionEvent event = transactionService.createTransactionEvent(transaction, finalDto);
 
-                settlementService.processTransactionEvent(event);
+                // 아웃박스 모드: 정산은 작업 항목만 기록하고 정산 워커가 비동기로 처리
+                if (settlementOutboxService.isEnabled()) {
+                    settlementOutboxService.enqueue(event);
+                } else {
+                    settlementService.processTransactionEvent(event);
+                }
 
                 return new TransactionResult(transaction, event);
             });
@@ -151,7 +160,8 @@ public class WebhookProcessingService {
 
             webhookLoggingService.updateToProcessed(webhookLog.getId(), result.transaction().getId(), result.event().getId());
 
-            log.info("Successfully processed webhook. Transaction ID: {}, Event Sequence: {}",
+            // 처리 결과는 webhook_logs에 남으므로 건별 INFO 로그는 두지 않음
+            log.debug("Successfully processed webhook. Transaction ID: {}, Event Sequence: {}",
                     result.transaction().getTransactionId(), result.event().getEventSequence());
 
             return WebhookResponse.success(result.transaction().getTransactionId());
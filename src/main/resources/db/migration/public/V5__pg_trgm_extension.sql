@@ -0,0 +1,7 @@
+-- =============================================================================
+-- Bill&Pay pg_trgm Extension
+-- =============================================================================
+-- 설명: 거래 ID/승인번호 등 부분 일치 검색용 trigram 인덱스 (테넌트 V22에서 public.gin_trgm_ops 사용)
+-- =============================================================================
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,53 @@
+-- =============================================================================
+-- V10: 정산 아웃박스 (Settlement Outbox)
+-- =============================================================================
+-- 목적: Webhook 수신 트랜잭션에서 정산 계산을 분리
+--   - 수신 트랜잭션은 거래/이벤트 저장과 함께 아웃박스 작업 항목만 기록
+--   - 별도 정산 워커 풀이 아웃박스를 비동기로 처리
+--   - transaction_event_id 기본키 + 처리 트랜잭션 내 행 잠금으로 정확히 한 번(exactly-once) 처리
+--
+-- 상태:
+--   - PENDING: 처리 대기
+--   - COMPLETED: 정산 생성 완료 (정산 INSERT와 같은 트랜잭션에서 커밋)
+--   - FAILED: 처리 실패 (available_at 이후 최대 재시도 횟수까지 재처리)
+-- =============================================================================
+
+CREATE TABLE settlement_outbox (
+    transaction_event_id UUID PRIMARY KEY,
+    event_created_at TIMESTAMPTZ NOT NULL,
+    transaction_id UUID NOT NULL,
+    event_sequence INTEGER NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error TEXT,
+    available_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_at TIMESTAMPTZ,
+    CONSTRAINT settlement_outbox_status_check CHECK (status IN ('PENDING', 'COMPLETED', 'FAILED')),
+    CONSTRAINT settlement_outbox_attempts_non_negative CHECK (attempts >= 0),
+    CONSTRAINT settlement_outbox_processed_at_required CHECK (
+        (status = 'COMPLETED' AND processed_at IS NOT NULL) OR status <> 'COMPLETED'
+    )
+);
+
+-- 워커 폴링용 (미완료 항목만)
+CREATE INDEX idx_settlement_outbox_ready
+    ON settlement_outbox (available_at, created_at)
+    WHERE status IN ('PENDING', 'FAILED');
+
+-- 동일 거래 내 선행 이벤트 미완료 여부 확인용 (승인 정산 이전에 취소 정산이 처리되지 않도록)
+CREATE INDEX idx_settlement_outbox_transaction
+    ON settlement_outbox (transaction_id, event_sequence)
+    WHERE status <> 'COMPLETED';
+
+COMMENT ON TABLE settlement_outbox IS '정산 아웃박스 (비동기 정산 작업 항목)';
+COMMENT ON COLUMN settlement_outbox.transaction_event_id IS '거래 이벤트 ID (정확히 한 번 처리 키)';
+COMMENT ON COLUMN settlement_outbox.event_created_at IS '거래 이벤트 생성일시 (파티션 키 조회용)';
+COMMENT ON COLUMN settlement_outbox.transaction_id IS '거래 ID';
+COMMENT ON COLUMN settlement_outbox.event_sequence IS '거래 내 이벤트 순번 (처리 순서 보장)';
+COMMENT ON COLUMN settlement_outbox.status IS '처리 상태 (PENDING, COMPLETED, FAILED)';
+COMMENT ON COLUMN settlement_outbox.attempts IS '처리 시도 횟수';
+COMMENT ON COLUMN settlement_outbox.last_error IS '마지막 오류 메시지';
+COMMENT ON COLUMN settlement_outbox.available_at IS '처리 가능 시각 (재시도 백오프)';
+COMMENT ON COLUMN settlement_outbox.created_at IS '생성일시';
+COMMENT ON COLUMN settlement_outbox.processed_at IS '처리 완료일시';
@@ -0,0 +1,66 @@
+-- =============================================================================
+-- V11: 일별 정산 집계 테이블 (Settlement Daily Rollups)
+-- =============================================================================
+-- 목적: 일별 정산 현황/정산서 조회 시 settlements 원장을 매번 재집계하지 않도록
+--       (정산일, 거래일, 정산 대상, 유형, 분개 유형) 단위 집계를 미리 유지
+--
+-- 유지 방식:
+--   - 배치 생성 시 해당 배치에 귀속된 정산을 집계하여 가산(UPSERT)
+--   - 재정산 시 영향받은 정산일을 원장에서 재계산
+--   - 검증 작업이 임의 표본 일자를 원장에서 재계산하여 불일치를 탐지
+--
+-- 집계 대상은 배치에 귀속된 정산 전체 (상태 무관, 기존 조회 조건과 동일)
+-- =============================================================================
+
+CREATE TABLE settlement_daily_rollups (
+    settlement_date DATE NOT NULL,
+    transaction_date DATE NOT NULL,
+    entity_id UUID NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entry_type VARCHAR(10) NOT NULL,
+    merchant_entry BOOLEAN NOT NULL,
+    entry_count BIGINT NOT NULL DEFAULT 0,
+    amount BIGINT NOT NULL DEFAULT 0,
+    fee_amount BIGINT NOT NULL DEFAULT 0,
+    net_amount BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (settlement_date, transaction_date, entity_id, entity_type, entry_type),
+    CONSTRAINT settlement_daily_rollups_entry_type_check CHECK (entry_type IN ('CREDIT', 'DEBIT'))
+);
+
+-- 정산 대상별 정산서 조회용
+CREATE INDEX idx_settlement_daily_rollups_entity
+    ON settlement_daily_rollups (entity_id, settlement_date);
+
+COMMENT ON TABLE settlement_daily_rollups IS '일별 정산 집계 (배치 생성/재정산 시 증분 유지)';
+COMMENT ON COLUMN settlement_daily_rollups.settlement_date IS '정산일 (settlement_batches.settlement_date)';
+COMMENT ON COLUMN settlement_daily_rollups.transaction_date IS '거래일 (배치 기간 시작일, KST)';
+COMMENT ON COLUMN settlement_daily_rollups.entity_id IS '정산 대상 엔티티 ID';
+COMMENT ON COLUMN settlement_daily_rollups.entity_type IS '정산 대상 유형';
+COMMENT ON COLUMN settlement_daily_rollups.entry_type IS '분개 유형 (CREDIT, DEBIT)';
+COMMENT ON COLUMN settlement_daily_rollups.merchant_entry IS '가맹점 정산 여부 (entity_id = merchant_id)';
+COMMENT ON COLUMN settlement_daily_rollups.entry_count IS '정산 건수';
+COMMENT ON COLUMN settlement_daily_rollups.amount IS '금액 합계 (DEBIT은 음수)';
+COMMENT ON COLUMN settlement_daily_rollups.fee_amount IS '수수료 합계';
+COMMENT ON COLUMN settlement_daily_rollups.net_amount IS '순정산금액 합계';
+
+-- 기존 배치 정산 초기 적재
+INSERT INTO settlement_daily_rollups (
+    settlement_date, transaction_date, entity_id, entity_type, entry_type, merchant_entry,
+    entry_count, amount, fee_amount, net_amount
+)
+SELECT
+    sb.settlement_date,
+    DATE(sb.period_start AT TIME ZONE 'Asia/Seoul'),
+    s.entity_id,
+    s.entity_type,
+    s.entry_type,
+    bool_or(s.entity_id = s.merchant_id),
+    COUNT(*),
+    COALESCE(SUM(s.amount), 0),
+    COALESCE(SUM(s.fee_amount), 0),
+    COALESCE(SUM(s.net_amount), 0)
+FROM settlements s
+JOIN settlement_batches sb ON s.settlement_batch_id = sb.id
+GROUP BY sb.settlement_date, DATE(sb.period_start AT TIME ZONE 'Asia/Seoul'),
+         s.entity_id, s.entity_type, s.entry_type;
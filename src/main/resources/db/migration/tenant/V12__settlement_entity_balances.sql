@@ -0,0 +1,68 @@
+-- =============================================================================
+-- V12: 정산 대상별 잔액 원장 (Settlement Entity Balances)
+-- =============================================================================
+-- 목적: 정산 대상(entity)별 대기/완료/실패 금액과 건수를 settlements 스캔 없이 조회
+--
+-- 분할 카운터(striped counter):
+--   - 엔티티당 stripe 수만큼 행을 두고 쓰기 트랜잭션은 임의 stripe 하나만 갱신
+--   - 상위 영업점(DISTRIBUTOR 등)처럼 모든 거래가 몰리는 엔티티도 행 잠금 경합이 분산됨
+--   - 조회는 엔티티의 stripe 행 합계 (stripe 수 고정이므로 O(1))
+--
+-- 상태 구분:
+--   - pending: PENDING
+--   - completed: COMPLETED
+--   - failed: FAILED, PENDING_REVIEW
+--   - PROCESSING, CANCELLED는 집계하지 않음
+-- 금액은 net_amount 합계 (DEBIT은 음수)
+-- =============================================================================
+
+CREATE TABLE settlement_entity_balances (
+    entity_id UUID NOT NULL,
+    stripe SMALLINT NOT NULL,
+    entity_type VARCHAR(20) NOT NULL,
+    entity_path ltree NOT NULL,
+    pending_amount BIGINT NOT NULL DEFAULT 0,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    completed_amount BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    failed_amount BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (entity_id, stripe),
+    CONSTRAINT settlement_entity_balances_stripe_check CHECK (stripe >= 0)
+);
+
+-- 하위 조직 대기 건수 집계용 (대시보드)
+CREATE INDEX idx_settlement_entity_balances_path
+    ON settlement_entity_balances USING GIST (entity_path);
+
+COMMENT ON TABLE settlement_entity_balances IS '정산 대상별 잔액 (분할 카운터, 정산 쓰기와 같은 트랜잭션에서 갱신)';
+COMMENT ON COLUMN settlement_entity_balances.entity_id IS '정산 대상 엔티티 ID';
+COMMENT ON COLUMN settlement_entity_balances.stripe IS '분할 카운터 번호';
+COMMENT ON COLUMN settlement_entity_balances.entity_type IS '정산 대상 유형';
+COMMENT ON COLUMN settlement_entity_balances.entity_path IS '정산 대상 경로 (ltree)';
+COMMENT ON COLUMN settlement_entity_balances.pending_amount IS '대기 순정산금액 합계';
+COMMENT ON COLUMN settlement_entity_balances.pending_count IS '대기 정산 건수';
+COMMENT ON COLUMN settlement_entity_balances.completed_amount IS '완료 순정산금액 합계';
+COMMENT ON COLUMN settlement_entity_balances.completed_count IS '완료 정산 건수';
+COMMENT ON COLUMN settlement_entity_balances.failed_amount IS '실패/검토대기 순정산금액 합계';
+COMMENT ON COLUMN settlement_entity_balances.failed_count IS '실패/검토대기 정산 건수';
+
+-- 기존 원장 초기 적재 (stripe 0)
+INSERT INTO settlement_entity_balances (
+    entity_id, stripe, entity_type, entity_path,
+    pending_amount, pending_count, completed_amount, completed_count, failed_amount, failed_count
+)
+SELECT
+    s.entity_id,
+    0,
+    MIN(s.entity_type),
+    (array_agg(s.entity_path ORDER BY s.created_at DESC))[1],
+    COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = 'PENDING'), 0),
+    COUNT(*) FILTER (WHERE s.status = 'PENDING'),
+    COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = 'COMPLETED'), 0),
+    COUNT(*) FILTER (WHERE s.status = 'COMPLETED'),
+    COALESCE(SUM(s.net_amount) FILTER (WHERE s.status IN ('FAILED', 'PENDING_REVIEW')), 0),
+    COUNT(*) FILTER (WHERE s.status IN ('FAILED', 'PENDING_REVIEW'))
+FROM settlements s
+GROUP BY s.entity_id;
@@ -0,0 +1,84 @@
+-- =============================================================================
+-- V13: 정산 원장 감사 (Settlement Ledger Audit)
+-- =============================================================================
+-- 목적: 쓰기 시점 Zero-Sum 검증 이후 수기 수정, 재정산, 버그 등으로 발생한 원장 불일치를
+--       야간 일괄 감사로 탐지하여 검토 테이블에 기록
+--
+-- 감사 단위: transaction_events 일 파티션 (UTC 일자)
+--   - Zero-Sum: SUM(정산 금액, CANCELLED 제외) = 이벤트 금액
+--   - 행 단위: fee_amount >= 0, net_amount 계산식, entry_type과 금액 부호 일치
+--
+-- 증분 실행:
+--   - audited_through: 연속으로 감사가 끝난 마지막 일자 (다음 실행은 그 다음 날부터)
+--   - changes_since: 직전 실행 시작 시각 이후 갱신된 정산의 이벤트는 일자와 무관하게 재감사
+-- =============================================================================
+
+-- 이벤트별 정산 조회 / 변경분 재감사용
+CREATE INDEX IF NOT EXISTS idx_settlements_transaction_event_id ON settlements(transaction_event_id);
+CREATE INDEX IF NOT EXISTS idx_settlements_updated_at ON settlements(updated_at);
+
+CREATE TABLE settlement_audit_checkpoint (
+    id SMALLINT PRIMARY KEY DEFAULT 1,
+    audited_through DATE,
+    changes_since TIMESTAMPTZ,
+    last_run_started_at TIMESTAMPTZ,
+    last_run_completed_at TIMESTAMPTZ,
+    last_events_scanned BIGINT NOT NULL DEFAULT 0,
+    last_violations_found BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT settlement_audit_checkpoint_singleton CHECK (id = 1)
+);
+
+COMMENT ON TABLE settlement_audit_checkpoint IS '정산 원장 감사 체크포인트 (단일 행)';
+COMMENT ON COLUMN settlement_audit_checkpoint.audited_through IS '연속 감사 완료 일자 (UTC)';
+COMMENT ON COLUMN settlement_audit_checkpoint.changes_since IS '이 시각 이후 갱신된 정산은 다음 실행에서 재감사';
+COMMENT ON COLUMN settlement_audit_checkpoint.last_run_started_at IS '마지막 실행 시작일시';
+COMMENT ON COLUMN settlement_audit_checkpoint.last_run_completed_at IS '마지막 실행 완료일시';
+COMMENT ON COLUMN settlement_audit_checkpoint.last_events_scanned IS '마지막 실행 감사 이벤트 수';
+COMMENT ON COLUMN settlement_audit_checkpoint.last_violations_found IS '마지막 실행 탐지 위반 수';
+
+CREATE TABLE settlement_audit_violations (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    transaction_event_id UUID NOT NULL,
+    event_created_at TIMESTAMPTZ NOT NULL,
+    settlement_id UUID,
+    violation_type VARCHAR(30) NOT NULL,
+    expected_amount BIGINT,
+    actual_amount BIGINT,
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    detected_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_detected_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    resolved_at TIMESTAMPTZ,
+    CONSTRAINT settlement_audit_violations_type_check CHECK (violation_type IN (
+        'ZERO_SUM_MISMATCH', 'FEE_NEGATIVE', 'NET_AMOUNT_MISMATCH', 'AMOUNT_SIGN_MISMATCH'
+    )),
+    CONSTRAINT settlement_audit_violations_status_check CHECK (status IN ('OPEN', 'RESOLVED'))
+);
+
+-- 동일 위반은 미해결 상태로 한 건만 유지 (재감사 시 갱신)
+CREATE UNIQUE INDEX uq_settlement_audit_violations_open
+    ON settlement_audit_violations (
+        transaction_event_id,
+        violation_type,
+        COALESCE(settlement_id, '00000000-0000-0000-0000-000000000000'::uuid)
+    )
+    WHERE status = 'OPEN';
+
+CREATE INDEX idx_settlement_audit_violations_status
+    ON settlement_audit_violations (status, detected_at DESC);
+
+CREATE INDEX idx_settlement_audit_violations_event_created_at
+    ON settlement_audit_violations (event_created_at)
+    WHERE status = 'OPEN';
+
+COMMENT ON TABLE settlement_audit_violations IS '정산 원장 감사 위반 (검토 대상)';
+COMMENT ON COLUMN settlement_audit_violations.transaction_event_id IS '거래 이벤트 ID';
+COMMENT ON COLUMN settlement_audit_violations.event_created_at IS '거래 이벤트 생성일시';
+COMMENT ON COLUMN settlement_audit_violations.settlement_id IS '정산 ID (행 단위 위반인 경우)';
+COMMENT ON COLUMN settlement_audit_violations.violation_type IS '위반 유형 (ZERO_SUM_MISMATCH, FEE_NEGATIVE, NET_AMOUNT_MISMATCH, AMOUNT_SIGN_MISMATCH)';
+COMMENT ON COLUMN settlement_audit_violations.expected_amount IS '기대 금액';
+COMMENT ON COLUMN settlement_audit_violations.actual_amount IS '실제 금액';
+COMMENT ON COLUMN settlement_audit_violations.status IS '상태 (OPEN, RESOLVED)';
+COMMENT ON COLUMN settlement_audit_violations.detected_at IS '최초 탐지일시';
+COMMENT ON COLUMN settlement_audit_violations.last_detected_at IS '마지막 탐지일시';
+COMMENT ON COLUMN settlement_audit_violations.resolved_at IS '해소일시 (재감사 시 위반이 사라진 경우)';
@@ -0,0 +1,82 @@
+-- =============================================================================
+-- V14: PG 정산 파일 대사 (PG Settlement File Reconciliation)
+-- =============================================================================
+-- 목적: PG사(KORPAY)가 보내는 일별 정산/거래 파일을 거래 원장과 대사한 결과를 보관
+--
+-- 대사 기준: (pg_connection_id, pg_transaction_id) 별 파일 금액 합계와 해당 일자 거래 이벤트 금액 합계
+--   - MISSING_IN_LEDGER: 파일에만 있는 거래
+--   - MISSING_IN_FILE: 원장에만 있는 거래
+--   - AMOUNT_MISMATCH: 양쪽에 있으나 금액 불일치
+--   - UNSETTLED: 금액은 일치하나 정산이 생성되지 않은 이벤트가 있음
+--
+-- 일치한 거래는 건수만 실행 이력에 남기고, 불일치 항목만 pg_reconciliation_items에 저장한다.
+-- =============================================================================
+
+CREATE TABLE pg_reconciliation_runs (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    pg_connection_id BIGINT NOT NULL,
+    file_name VARCHAR(255) NOT NULL,
+    file_format VARCHAR(20) NOT NULL,
+    file_date DATE NOT NULL,
+    file_size BIGINT NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    file_lines BIGINT NOT NULL DEFAULT 0,
+    file_records BIGINT NOT NULL DEFAULT 0,
+    ledger_records BIGINT NOT NULL DEFAULT 0,
+    matched_count BIGINT NOT NULL DEFAULT 0,
+    missing_in_ledger_count BIGINT NOT NULL DEFAULT 0,
+    missing_in_file_count BIGINT NOT NULL DEFAULT 0,
+    amount_mismatch_count BIGINT NOT NULL DEFAULT 0,
+    unsettled_count BIGINT NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMPTZ,
+    CONSTRAINT pg_reconciliation_runs_status_check CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    CONSTRAINT pg_reconciliation_runs_format_check CHECK (file_format IN ('CSV', 'FIXED_WIDTH'))
+);
+
+CREATE INDEX idx_pg_reconciliation_runs_connection_date
+    ON pg_reconciliation_runs (pg_connection_id, file_date DESC);
+
+COMMENT ON TABLE pg_reconciliation_runs IS 'PG 정산 파일 대사 실행 이력';
+COMMENT ON COLUMN pg_reconciliation_runs.pg_connection_id IS 'PG 연결 ID';
+COMMENT ON COLUMN pg_reconciliation_runs.file_name IS '대사 파일명';
+COMMENT ON COLUMN pg_reconciliation_runs.file_format IS '파일 형식 (CSV, FIXED_WIDTH)';
+COMMENT ON COLUMN pg_reconciliation_runs.file_date IS '파일 거래일자';
+COMMENT ON COLUMN pg_reconciliation_runs.file_size IS '파일 크기 (byte)';
+COMMENT ON COLUMN pg_reconciliation_runs.status IS '상태 (RUNNING, COMPLETED, FAILED)';
+COMMENT ON COLUMN pg_reconciliation_runs.file_lines IS '파일 데이터 레코드 수';
+COMMENT ON COLUMN pg_reconciliation_runs.file_records IS '파일 거래(PG TID) 수';
+COMMENT ON COLUMN pg_reconciliation_runs.ledger_records IS '원장 거래(PG TID) 수';
+COMMENT ON COLUMN pg_reconciliation_runs.matched_count IS '일치 건수';
+COMMENT ON COLUMN pg_reconciliation_runs.missing_in_ledger_count IS '파일에만 있는 건수';
+COMMENT ON COLUMN pg_reconciliation_runs.missing_in_file_count IS '원장에만 있는 건수';
+COMMENT ON COLUMN pg_reconciliation_runs.amount_mismatch_count IS '금액 불일치 건수';
+COMMENT ON COLUMN pg_reconciliation_runs.unsettled_count IS '정산 미생성 건수';
+COMMENT ON COLUMN pg_reconciliation_runs.error_message IS '실패 사유';
+
+CREATE TABLE pg_reconciliation_items (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    run_id UUID NOT NULL REFERENCES pg_reconciliation_runs(id) ON DELETE CASCADE,
+    pg_transaction_id VARCHAR(200) NOT NULL,
+    result_type VARCHAR(30) NOT NULL,
+    file_amount BIGINT,
+    ledger_amount BIGINT,
+    transaction_id UUID,
+    line_number BIGINT,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pg_reconciliation_items_result_type_check CHECK (result_type IN (
+        'MISSING_IN_LEDGER', 'MISSING_IN_FILE', 'AMOUNT_MISMATCH', 'UNSETTLED'
+    ))
+);
+
+CREATE INDEX idx_pg_reconciliation_items_run ON pg_reconciliation_items (run_id, result_type);
+
+COMMENT ON TABLE pg_reconciliation_items IS 'PG 정산 파일 대사 불일치 항목';
+COMMENT ON COLUMN pg_reconciliation_items.run_id IS '대사 실행 ID';
+COMMENT ON COLUMN pg_reconciliation_items.pg_transaction_id IS 'PG 거래 ID (TID)';
+COMMENT ON COLUMN pg_reconciliation_items.result_type IS '불일치 유형 (MISSING_IN_LEDGER, MISSING_IN_FILE, AMOUNT_MISMATCH, UNSETTLED)';
+COMMENT ON COLUMN pg_reconciliation_items.file_amount IS '파일 금액 합계';
+COMMENT ON COLUMN pg_reconciliation_items.ledger_amount IS '원장 이벤트 금액 합계';
+COMMENT ON COLUMN pg_reconciliation_items.transaction_id IS '거래 ID (원장에 있는 경우)';
+COMMENT ON COLUMN pg_reconciliation_items.line_number IS '파일 내 첫 레코드 라인 번호 (1부터)';
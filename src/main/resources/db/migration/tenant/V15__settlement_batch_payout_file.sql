@@ -0,0 +1,23 @@
+-- =============================================================================
+-- V15: 정산 배치 지급 파일 (Settlement Batch Payout File)
+-- =============================================================================
+-- 목적: 배치별 은행 대량이체 파일 생성 결과를 기록하여 파일 검증 및 동일 파일 재생성을 보장
+--
+-- 지급 파일 내용은 배치의 정산 원장과 대표 계좌로부터 결정적 순서로 생성되므로,
+-- 원장이 바뀌지 않았다면 재생성한 파일의 체크섬은 최초 생성 시와 같아야 한다.
+-- =============================================================================
+
+ALTER TABLE settlement_batches
+    ADD COLUMN payout_file_format VARCHAR(20),
+    ADD COLUMN payout_row_count INTEGER,
+    ADD COLUMN payout_total_amount BIGINT,
+    ADD COLUMN payout_checksum VARCHAR(64),
+    ADD COLUMN payout_generated_at TIMESTAMPTZ,
+    ADD CONSTRAINT settlement_batches_payout_file_format_check
+        CHECK (payout_file_format IS NULL OR payout_file_format IN ('CSV', 'FIXED_WIDTH'));
+
+COMMENT ON COLUMN settlement_batches.payout_file_format IS '지급 파일 형식 (CSV, FIXED_WIDTH)';
+COMMENT ON COLUMN settlement_batches.payout_row_count IS '지급 파일 이체 건수';
+COMMENT ON COLUMN settlement_batches.payout_total_amount IS '지급 파일 이체 총액';
+COMMENT ON COLUMN settlement_batches.payout_checksum IS '지급 파일 SHA-256 체크섬 (hex)';
+COMMENT ON COLUMN settlement_batches.payout_generated_at IS '지급 파일 최초 생성일시';
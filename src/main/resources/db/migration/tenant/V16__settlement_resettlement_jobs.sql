@@ -0,0 +1,71 @@
+-- =============================================================================
+-- V16: 대량 재정산 작업 (Bulk Resettlement Jobs)
+-- =============================================================================
+-- 목적: 필터(기간, 가맹점, 조직 경로, 상태)에 해당하는 FAILED/PENDING_REVIEW 정산을 청크 단위로 병렬 재정산하고
+--       진행 상황과 실패 이벤트를 기록
+--
+-- 재실행 안전성: 재정산된 기존 정산은 CANCELLED가 되어 다시 대상에 포함되지 않으므로,
+--               실패하거나 중단된 작업은 같은 필터로 다시 실행하면 남은 이벤트만 처리한다.
+-- =============================================================================
+
+-- =============================================================================
+-- 1. settlement_resettlement_jobs 테이블
+-- =============================================================================
+CREATE TABLE settlement_resettlement_jobs (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    filter JSONB NOT NULL,
+    total_events INTEGER NOT NULL DEFAULT 0,
+    processed_events INTEGER NOT NULL DEFAULT 0,
+    resettled_events INTEGER NOT NULL DEFAULT 0,
+    skipped_events INTEGER NOT NULL DEFAULT 0,
+    failed_events INTEGER NOT NULL DEFAULT 0,
+    pending_rollup_dates DATE[] NOT NULL DEFAULT '{}',
+    error_message TEXT,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT settlement_resettlement_jobs_status_check CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
+
+-- 테넌트당 동시에 하나의 RUNNING 작업만 허용
+CREATE UNIQUE INDEX idx_settlement_resettlement_jobs_single_running
+    ON settlement_resettlement_jobs ((status)) WHERE status = 'RUNNING';
+CREATE INDEX idx_settlement_resettlement_jobs_started ON settlement_resettlement_jobs (started_at DESC);
+
+COMMENT ON TABLE settlement_resettlement_jobs IS '대량 재정산 작업';
+COMMENT ON COLUMN settlement_resettlement_jobs.id IS '작업 고유 ID (UUID v7)';
+COMMENT ON COLUMN settlement_resettlement_jobs.status IS '상태 (RUNNING, COMPLETED, FAILED)';
+COMMENT ON COLUMN settlement_resettlement_jobs.filter IS '대상 필터 (from, to, merchantId, orgPath, statuses)';
+COMMENT ON COLUMN settlement_resettlement_jobs.total_events IS '시작 시점 대상 거래 이벤트 수';
+COMMENT ON COLUMN settlement_resettlement_jobs.processed_events IS '처리한 거래 이벤트 수';
+COMMENT ON COLUMN settlement_resettlement_jobs.resettled_events IS '재정산한 거래 이벤트 수';
+COMMENT ON COLUMN settlement_resettlement_jobs.skipped_events IS '이미 재정산되어 건너뛴 거래 이벤트 수';
+COMMENT ON COLUMN settlement_resettlement_jobs.failed_events IS '재정산에 실패한 거래 이벤트 수';
+COMMENT ON COLUMN settlement_resettlement_jobs.pending_rollup_dates IS '일별 집계 재계산이 남은 배치 정산일';
+COMMENT ON COLUMN settlement_resettlement_jobs.error_message IS '작업 실패 사유';
+
+-- =============================================================================
+-- 2. settlement_resettlement_failures 테이블
+-- =============================================================================
+CREATE TABLE settlement_resettlement_failures (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    job_id UUID NOT NULL REFERENCES settlement_resettlement_jobs(id) ON DELETE CASCADE,
+    transaction_event_id UUID NOT NULL,
+    error_message TEXT NOT NULL,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_settlement_resettlement_failures_job ON settlement_resettlement_failures (job_id, created_at);
+
+COMMENT ON TABLE settlement_resettlement_failures IS '대량 재정산 실패 이벤트';
+COMMENT ON COLUMN settlement_resettlement_failures.job_id IS '재정산 작업 ID';
+COMMENT ON COLUMN settlement_resettlement_failures.transaction_event_id IS '거래 이벤트 ID';
+COMMENT ON COLUMN settlement_resettlement_failures.error_message IS '실패 사유';
+
+-- =============================================================================
+-- 3. 재정산 대상 정산 부분 인덱스
+-- =============================================================================
+CREATE INDEX idx_settlements_resettleable
+    ON settlements (created_at, transaction_event_id)
+    WHERE status IN ('FAILED', 'PENDING_REVIEW');
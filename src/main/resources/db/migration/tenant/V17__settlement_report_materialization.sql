@@ -0,0 +1,25 @@
+-- =============================================================================
+-- V17: 정산 리포트 구체화 (Settlement Report Materialization)
+-- =============================================================================
+-- 목적: 정산 대상별 일/주/월 정산서를 settlement_reports에 미리 계산해 두고
+--       기간이 정확히 일치하는 정산서 조회는 키 조회 한 번으로 응답
+--
+-- 유지 방식:
+--   - 일별 집계(settlement_daily_rollups)가 바뀐 정산일(배치 생성, 재정산, 집계 복구)에 대해서만
+--     그 정산일을 포함하는 일/주/월 리포트를 같은 트랜잭션에서 재계산
+--   - 재계산 대상은 해당 정산일에 집계가 있거나 있었던 정산 대상으로 한정
+--
+-- 기간 정의 (KST 정산일 기준, period_end는 미포함):
+--   - DAILY: 정산일 하루
+--   - WEEKLY: 월요일 시작 7일
+--   - MONTHLY: 달력 월
+-- =============================================================================
+
+ALTER TABLE settlement_reports
+    ADD COLUMN merchant_entry BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- 리포트 유형/대상/기간별 1건 (조회 및 재계산 키)
+CREATE UNIQUE INDEX idx_settlement_reports_lookup
+    ON settlement_reports (report_type, entity_id, period_start);
+
+COMMENT ON COLUMN settlement_reports.merchant_entry IS '가맹점 정산서 여부 (entity_id = merchant_id)';
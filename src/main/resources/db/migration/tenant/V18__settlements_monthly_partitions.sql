@@ -0,0 +1,205 @@
+-- =============================================================================
+-- V18: settlements 월별 범위 파티셔닝 (Monthly Range Partitioning)
+-- =============================================================================
+-- 목적: 원장이 커질수록 커지는 GiST(org_path, entity_path) 인덱스 유지와 VACUUM 비용을
+--       월 파티션 단위로 한정하고, created_at 조건 조회에서 파티션 프루닝이 일어나도록 함
+--
+-- 파티션 정의 (KST 월 경계, created_at 기준):
+--   - settlements_legacy: 전환 이전 데이터 전체 (MINVALUE ~ 전환 시점 기준 다다음 달 1일)
+--   - settlements_YYYYMM: 이후 달력 월 단위, ensure_settlement_partitions()로 미리 생성
+--   - settlements_default: 범위 밖 데이터 안전망 (정상 운영 시 비어 있어야 함)
+--
+-- 무중단 전환 (트랜잭션 없이 단계별 실행, V18__settlements_monthly_partitions.sql.conf):
+--   1. 부모 PK와 일치하는 (id, created_at) 고유 인덱스를 CONCURRENTLY로 생성 (쓰기 차단 없음)
+--   2. 기존 테이블에 created_at 상한 CHECK를 NOT VALID로 추가 후 VALIDATE (읽기/쓰기 허용 잠금)
+--   3. 한 트랜잭션(DO 블록)에서 이름 변경 → PK를 1단계 인덱스로 교체 → 파티션 부모 생성
+--      → 기존 테이블을 legacy 파티션으로 ATTACH
+--      검증된 CHECK와 기존 인덱스/FK를 그대로 재사용하므로 전체 스캔이나 인덱스 재생성 없이
+--      짧은 ACCESS EXCLUSIVE 잠금만 잡는다 (잠금 대기는 lock_timeout으로 제한).
+--   상한을 다다음 달 1일로 두어 1~2단계 도중 생성되는 정산이 CHECK에 걸리지 않도록 한다.
+--   3단계는 원자적이므로 실패 시 테이블은 전환 전 상태로 남고, 같은 스크립트를 다시 실행하면 된다.
+--
+-- 주의: 파티션 키(created_at)가 PK에 포함되므로 id만으로 조회하면 모든 파티션의 인덱스를 탐색한다.
+-- =============================================================================
+
+-- =============================================================================
+-- 1. 부모 PK용 고유 인덱스
+-- =============================================================================
+-- 이전 실행의 CONCURRENTLY 생성이 실패하면 INVALID 인덱스가 남고 IF NOT EXISTS가 이를 건너뛰어
+-- 3단계 PK 교체가 무효 인덱스에 의존하게 되므로, 무효 인덱스는 먼저 제거한다
+DO $$
+BEGIN
+  IF EXISTS (SELECT 1 FROM pg_index
+             WHERE indexrelid = to_regclass('idx_settlements_id_created_at') AND NOT indisvalid) THEN
+    DROP INDEX idx_settlements_id_created_at;
+  END IF;
+END $$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS idx_settlements_id_created_at ON settlements (id, created_at);
+
+-- =============================================================================
+-- 2. 기존 데이터 범위 CHECK (legacy 파티션 범위와 동일)
+-- =============================================================================
+DO $$
+DECLARE
+  v_cutoff TIMESTAMPTZ;
+BEGIN
+  IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('settlements')) = 'p' THEN
+    RETURN;
+  END IF;
+  IF EXISTS (SELECT 1 FROM pg_constraint
+             WHERE conrelid = to_regclass('settlements') AND conname = 'settlements_legacy_range') THEN
+    RETURN;
+  END IF;
+
+  v_cutoff := date_trunc('month', (now() AT TIME ZONE 'Asia/Seoul') + INTERVAL '2 months') AT TIME ZONE 'Asia/Seoul';
+  EXECUTE format(
+    'ALTER TABLE settlements ADD CONSTRAINT settlements_legacy_range CHECK (created_at < %L) NOT VALID',
+    v_cutoff
+  );
+END $$;
+
+DO $$
+BEGIN
+  IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('settlements')) = 'r' THEN
+    ALTER TABLE settlements VALIDATE CONSTRAINT settlements_legacy_range;
+  END IF;
+END $$;
+
+-- =============================================================================
+-- 3. 월 파티션 생성 함수
+-- =============================================================================
+-- 현재 KST 월부터 p_months_ahead개월 뒤까지의 월 파티션을 만든다.
+-- legacy 파티션 범위와 겹치는 월은 건너뛰며, 생성한 파티션 수를 반환한다.
+CREATE OR REPLACE FUNCTION ensure_settlement_partitions(p_months_ahead INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_month DATE := date_trunc('month', now() AT TIME ZONE 'Asia/Seoul')::DATE;
+  v_last DATE := (date_trunc('month', now() AT TIME ZONE 'Asia/Seoul') + make_interval(months => p_months_ahead))::DATE;
+  v_name TEXT;
+  v_created INTEGER := 0;
+BEGIN
+  WHILE v_month <= v_last LOOP
+    v_name := 'settlements_' || to_char(v_month, 'YYYYMM');
+    IF to_regclass(v_name) IS NULL THEN
+      BEGIN
+        EXECUTE format(
+          'CREATE TABLE %I PARTITION OF settlements FOR VALUES FROM (%L) TO (%L)',
+          v_name,
+          v_month::TIMESTAMP AT TIME ZONE 'Asia/Seoul',
+          (v_month + INTERVAL '1 month')::TIMESTAMP AT TIME ZONE 'Asia/Seoul'
+        );
+        v_created := v_created + 1;
+      EXCEPTION WHEN invalid_object_definition THEN
+        -- legacy 파티션 범위에 포함된 월
+        NULL;
+      END;
+    END IF;
+    v_month := (v_month + INTERVAL '1 month')::DATE;
+  END LOOP;
+  RETURN v_created;
+END $$;
+
+COMMENT ON FUNCTION ensure_settlement_partitions(INTEGER) IS 'settlements 월 파티션 사전 생성 (현재 KST 월 ~ N개월 후)';
+
+-- =============================================================================
+-- 4. 파티션 테이블로 전환
+-- =============================================================================
+DO $$
+DECLARE
+  v_cutoff TIMESTAMPTZ;
+  v_index TEXT;
+BEGIN
+  IF (SELECT relkind FROM pg_class WHERE oid = to_regclass('settlements')) = 'p' THEN
+    RETURN;
+  END IF;
+
+  SELECT substring(pg_get_constraintdef(oid) FROM '''([^'']+)''')::TIMESTAMPTZ
+  INTO v_cutoff
+  FROM pg_constraint
+  WHERE conrelid = to_regclass('settlements') AND conname = 'settlements_legacy_range';
+
+  -- 진행 중인 트랜잭션 뒤에서 오래 대기하며 다른 요청을 막지 않도록 제한 (초과 시 실패 후 재실행)
+  PERFORM set_config('lock_timeout', '10s', true);
+  LOCK TABLE settlements IN ACCESS EXCLUSIVE MODE;
+
+  -- 기존 테이블과 인덱스 이름을 legacy로 변경 (원래 이름은 부모 테이블이 사용)
+  ALTER TABLE settlements RENAME TO settlements_legacy;
+  FOREACH v_index IN ARRAY ARRAY[
+    'idx_settlements_org_path_gist',
+    'idx_settlements_entity_path_gist',
+    'idx_settlements_transaction_id',
+    'idx_settlements_entity_id',
+    'idx_settlements_status',
+    'idx_settlements_batch_id',
+    'idx_settlements_transaction_event_id',
+    'idx_settlements_updated_at',
+    'idx_settlements_unbatched_pending',
+    'idx_settlements_resettleable'
+  ] LOOP
+    EXECUTE format('ALTER INDEX %I RENAME TO %I', v_index, replace(v_index, 'idx_settlements_', 'idx_settlements_legacy_'));
+  END LOOP;
+  ALTER INDEX idx_settlements_id_created_at RENAME TO idx_settlements_legacy_pk;
+
+  -- 부모 PK (id, created_at)에 연결될 수 있도록 미리 만든 고유 인덱스로 PK 교체 (NOT NULL 컬럼이라 스캔 없음)
+  ALTER TABLE settlements_legacy DROP CONSTRAINT settlements_pkey;
+  ALTER TABLE settlements_legacy ADD CONSTRAINT settlements_legacy_pk PRIMARY KEY USING INDEX idx_settlements_legacy_pk;
+
+  CREATE TABLE settlements (
+    LIKE settlements_legacy INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING COMMENTS
+  ) PARTITION BY RANGE (created_at);
+  ALTER TABLE settlements DROP CONSTRAINT settlements_legacy_range;
+
+  ALTER TABLE settlements ADD CONSTRAINT settlements_pk PRIMARY KEY (id, created_at);
+  ALTER TABLE settlements ADD CONSTRAINT settlements_merchant_id_fkey
+    FOREIGN KEY (merchant_id) REFERENCES merchants(id);
+  ALTER TABLE settlements ADD CONSTRAINT settlements_batch_fk
+    FOREIGN KEY (settlement_batch_id) REFERENCES settlement_batches(id);
+
+  -- 기존 인덱스와 같은 정의 (ATTACH 시 legacy 인덱스가 그대로 하위 인덱스로 연결됨)
+  CREATE INDEX idx_settlements_org_path_gist ON settlements USING GIST(org_path);
+  CREATE INDEX idx_settlements_entity_path_gist ON settlements USING GIST(entity_path);
+  CREATE INDEX idx_settlements_transaction_id ON settlements(transaction_id);
+  CREATE INDEX idx_settlements_entity_id ON settlements(entity_id, entity_type);
+  CREATE INDEX idx_settlements_status ON settlements(status);
+  CREATE INDEX idx_settlements_batch_id ON settlements(settlement_batch_id) WHERE settlement_batch_id IS NOT NULL;
+  CREATE INDEX idx_settlements_transaction_event_id ON settlements(transaction_event_id);
+  CREATE INDEX idx_settlements_updated_at ON settlements(updated_at);
+  CREATE INDEX idx_settlements_unbatched_pending
+    ON settlements (created_at, merchant_id)
+    WHERE settlement_batch_id IS NULL AND status = 'PENDING';
+  CREATE INDEX idx_settlements_resettleable
+    ON settlements (created_at, transaction_event_id)
+    WHERE status IN ('FAILED', 'PENDING_REVIEW');
+
+  -- 검증된 settlements_legacy_range가 파티션 범위를 보장하므로 스캔 없이 연결
+  EXECUTE format(
+    'ALTER TABLE settlements ATTACH PARTITION settlements_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+    v_cutoff
+  );
+  CREATE TABLE settlements_default PARTITION OF settlements DEFAULT;
+
+  PERFORM ensure_settlement_partitions(3);
+
+  -- 뷰는 OID로 테이블을 참조하므로 새 부모 테이블 기준으로 다시 정의
+  CREATE OR REPLACE VIEW settlement_zero_sum_validation AS
+  SELECT
+    te.id AS transaction_event_id,
+    te.transaction_id,
+    te.event_type,
+    te.amount AS event_amount,
+    COALESCE(SUM(s.amount), 0) AS total_settlement_amount,
+    te.amount - COALESCE(SUM(s.amount), 0) AS zero_sum_diff,
+    CASE WHEN te.amount - COALESCE(SUM(s.amount), 0) = 0 THEN TRUE ELSE FALSE END AS is_zero_sum_valid,
+    COUNT(s.id) AS settlement_count
+  FROM transaction_events te
+  LEFT JOIN settlements s ON s.transaction_event_id = te.id
+  GROUP BY te.id, te.transaction_id, te.event_type, te.amount;
+END $$;
+
+COMMENT ON TABLE settlements IS '정산 원장 (복식부기, 월별 파티셔닝)';
+COMMENT ON COLUMN settlements.created_at IS '생성일시 (파티션 키, KST 월 단위)';
+COMMENT ON TABLE settlements_legacy IS '정산 원장 legacy 파티션 (월별 파티셔닝 전환 이전 데이터)';
+COMMENT ON TABLE settlements_default IS '정산 원장 DEFAULT 파티션 (범위 밖 데이터 안전망)';
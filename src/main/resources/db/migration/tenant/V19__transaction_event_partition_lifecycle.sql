@@ -0,0 +1,239 @@
+-- =============================================================================
+-- V19: transaction_events 파티션 수명 주기 관리 (Partition Lifecycle)
+-- =============================================================================
+-- 목적: V1에서 설치 시점 기준으로 한 번만 만든 일 파티션(-7일 ~ +30일) 이후의 이벤트가
+--       DEFAULT 파티션(V5)에 쌓여 파티션 프루닝이 되지 않는 문제 해소
+--
+-- 파티션 정의 (UTC 월 경계, created_at 기준, 기존 일 파티션과 같은 UTC 기준):
+--   - transaction_events_YYYYMMDD: V1 일 파티션 (그대로 유지)
+--   - transaction_events_YYYYMM: 달력 월 전체
+--   - transaction_events_YYYYMMDD_YYYYMMDD: 기존 파티션과 겹치지 않는 월 일부 구간 [시작일, 종료일)
+--
+-- 운영 (TransactionEventPartitionManager가 테넌트별로 주기 실행):
+--   1. ensure_transaction_event_partitions(): 현재 월 ~ N개월 후 파티션 사전 생성,
+--      DEFAULT 파티션에 이미 들어온 구간은 행을 새 파티션으로 옮긴 뒤 연결
+--   2. detach_expired_transaction_event_partitions(): 보존 기간이 지난 파티션을 분리(DETACH)하고
+--      partition_archive에 DETACHED로 기록 (분리된 테이블은 아카이브 후 삭제)
+-- =============================================================================
+
+-- =============================================================================
+-- 1. 파티션 범위 조회 뷰
+-- =============================================================================
+CREATE OR REPLACE VIEW transaction_event_partitions AS
+SELECT
+  c.relname::TEXT AS partition_name,
+  (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \(''([^'']+)''\)'))[1]::TIMESTAMPTZ AS range_start,
+  (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \(''([^'']+)''\)'))[1]::TIMESTAMPTZ AS range_end,
+  pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT' AS is_default
+FROM pg_inherits i
+JOIN pg_class c ON c.oid = i.inhrelid
+WHERE i.inhparent = 'transaction_events'::regclass;
+
+COMMENT ON VIEW transaction_event_partitions IS 'transaction_events 파티션 목록과 범위 (DEFAULT는 범위 NULL)';
+
+-- =============================================================================
+-- 2. 분리된 파티션 카탈로그
+-- =============================================================================
+CREATE TABLE partition_archive (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    parent_table VARCHAR(100) NOT NULL,
+    partition_name VARCHAR(100) NOT NULL,
+    range_start TIMESTAMPTZ NOT NULL,
+    range_end TIMESTAMPTZ NOT NULL,
+    row_count BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'DETACHED',
+    detached_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT partition_archive_status_check CHECK (status IN ('DETACHED', 'ARCHIVED', 'DROPPED')),
+    CONSTRAINT partition_archive_range_check CHECK (range_start < range_end)
+);
+
+CREATE UNIQUE INDEX uq_partition_archive_partition ON partition_archive (parent_table, partition_name);
+CREATE INDEX idx_partition_archive_status ON partition_archive (status) WHERE status <> 'DROPPED';
+
+COMMENT ON TABLE partition_archive IS '보존 기간 경과로 분리된 파티션 카탈로그';
+COMMENT ON COLUMN partition_archive.parent_table IS '원래 부모 테이블';
+COMMENT ON COLUMN partition_archive.partition_name IS '분리된 파티션 테이블 이름';
+COMMENT ON COLUMN partition_archive.range_start IS '파티션 범위 시작 (포함)';
+COMMENT ON COLUMN partition_archive.range_end IS '파티션 범위 끝 (미포함)';
+COMMENT ON COLUMN partition_archive.row_count IS '분리 시점 행 수';
+COMMENT ON COLUMN partition_archive.status IS '상태 (DETACHED: 분리됨, ARCHIVED: 아카이브 완료, DROPPED: 테이블 삭제)';
+
+-- =============================================================================
+-- 3. 파티션 생성 (DEFAULT 행 분리 포함)
+-- =============================================================================
+-- [p_start, p_end) 파티션을 만들고 DEFAULT 파티션에서 옮긴 행 수를 반환한다.
+-- DEFAULT에 해당 구간 행이 있으면 CREATE ... PARTITION OF가 실패하므로, 독립 테이블로 만든 뒤
+-- 행을 옮기고 ATTACH한다. p_only_if_rows가 true면 DEFAULT에 행이 없는 구간은 만들지 않는다 (-1 반환).
+CREATE OR REPLACE FUNCTION create_transaction_event_partition(
+  p_start TIMESTAMPTZ,
+  p_end TIMESTAMPTZ,
+  p_only_if_rows BOOLEAN
+)
+RETURNS BIGINT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_start_utc TIMESTAMP := p_start AT TIME ZONE 'UTC';
+  v_end_utc TIMESTAMP := p_end AT TIME ZONE 'UTC';
+  v_name TEXT;
+  v_moved BIGINT;
+BEGIN
+  IF v_start_utc = date_trunc('month', v_start_utc) AND v_end_utc = v_start_utc + INTERVAL '1 month' THEN
+    v_name := 'transaction_events_' || to_char(v_start_utc, 'YYYYMM');
+  ELSE
+    v_name := 'transaction_events_' || to_char(v_start_utc, 'YYYYMMDD') || '_' || to_char(v_end_utc, 'YYYYMMDD');
+  END IF;
+
+  IF NOT EXISTS (SELECT 1 FROM transaction_events_default WHERE created_at >= p_start AND created_at < p_end) THEN
+    IF p_only_if_rows THEN
+      RETURN -1;
+    END IF;
+    EXECUTE format(
+      'CREATE TABLE %I PARTITION OF transaction_events FOR VALUES FROM (%L) TO (%L)',
+      v_name, p_start, p_end
+    );
+    RETURN 0;
+  END IF;
+
+  -- 옮기는 동안 같은 구간 행이 DEFAULT에 새로 들어오지 않도록 잠금 (다른 파티션 삽입은 영향 없음)
+  LOCK TABLE transaction_events_default IN ACCESS EXCLUSIVE MODE;
+
+  EXECUTE format(
+    'CREATE TABLE %I (LIKE transaction_events INCLUDING DEFAULTS INCLUDING CONSTRAINTS)',
+    v_name
+  );
+  EXECUTE format(
+    'WITH moved AS (
+       DELETE FROM transaction_events_default WHERE created_at >= %L AND created_at < %L RETURNING *
+     )
+     INSERT INTO %I SELECT * FROM moved',
+    p_start, p_end, v_name
+  );
+  GET DIAGNOSTICS v_moved = ROW_COUNT;
+
+  -- 인덱스는 ATTACH 시 부모 인덱스 정의대로 생성된다
+  EXECUTE format(
+    'ALTER TABLE transaction_events ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+    v_name, p_start, p_end
+  );
+  RETURN v_moved;
+END $$;
+
+-- =============================================================================
+-- 4. 월 파티션 사전 생성
+-- =============================================================================
+-- 현재 UTC 월부터 p_months_ahead개월 뒤까지, 기존 파티션이 덮지 않는 구간마다 파티션을 만든다.
+-- DEFAULT에 과거 월 행이 남아 있으면 그 월부터 확인하되, 과거 구간은 DEFAULT에 행이 있을 때만 만든다.
+CREATE OR REPLACE FUNCTION ensure_transaction_event_partitions(p_months_ahead INTEGER)
+RETURNS TABLE (partitions_created INTEGER, rows_moved BIGINT)
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_current TIMESTAMPTZ := date_trunc('month', now() AT TIME ZONE 'UTC') AT TIME ZONE 'UTC';
+  v_first TIMESTAMPTZ;
+  v_last TIMESTAMPTZ := v_current + make_interval(months => p_months_ahead);
+  v_month TIMESTAMPTZ;
+  v_month_end TIMESTAMPTZ;
+  v_cursor TIMESTAMPTZ;
+  v_result BIGINT;
+  r RECORD;
+BEGIN
+  partitions_created := 0;
+  rows_moved := 0;
+
+  SELECT LEAST(v_current, date_trunc('month', MIN(created_at) AT TIME ZONE 'UTC') AT TIME ZONE 'UTC')
+  INTO v_first
+  FROM transaction_events_default;
+  v_first := COALESCE(v_first, v_current);
+
+  v_month := v_first;
+  WHILE v_month <= v_last LOOP
+    v_month_end := ((v_month AT TIME ZONE 'UTC') + INTERVAL '1 month') AT TIME ZONE 'UTC';
+    v_cursor := v_month;
+
+    FOR r IN
+      SELECT p.range_start, p.range_end
+      FROM transaction_event_partitions p
+      WHERE NOT p.is_default AND p.range_start < v_month_end AND p.range_end > v_month
+      ORDER BY p.range_start
+    LOOP
+      IF r.range_start > v_cursor THEN
+        v_result := create_transaction_event_partition(v_cursor, r.range_start, v_month < v_current);
+        IF v_result >= 0 THEN
+          partitions_created := partitions_created + 1;
+          rows_moved := rows_moved + v_result;
+        END IF;
+      END IF;
+      v_cursor := GREATEST(v_cursor, r.range_end);
+    END LOOP;
+
+    IF v_cursor < v_month_end THEN
+      v_result := create_transaction_event_partition(v_cursor, v_month_end, v_month < v_current);
+      IF v_result >= 0 THEN
+        partitions_created := partitions_created + 1;
+        rows_moved := rows_moved + v_result;
+      END IF;
+    END IF;
+
+    v_month := v_month_end;
+  END LOOP;
+
+  RETURN NEXT;
+END $$;
+
+COMMENT ON FUNCTION ensure_transaction_event_partitions(INTEGER) IS 'transaction_events 월 파티션 사전 생성 및 DEFAULT 행 분리 (현재 UTC 월 ~ N개월 후)';
+
+-- =============================================================================
+-- 5. 보존 기간 경과 파티션 분리
+-- =============================================================================
+-- 범위 끝이 (현재 UTC 월 - p_retention_months) 이전인 파티션을 분리하고 partition_archive에 기록한다.
+-- DETACH ... CONCURRENTLY는 DEFAULT 파티션이 있으면 쓸 수 없으므로 짧은 잠금 제한을 두고 일반 DETACH를 쓴다.
+CREATE OR REPLACE FUNCTION detach_expired_transaction_event_partitions(p_retention_months INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_cutoff TIMESTAMPTZ := (date_trunc('month', now() AT TIME ZONE 'UTC') - make_interval(months => p_retention_months))
+                          AT TIME ZONE 'UTC';
+  v_rows BIGINT;
+  v_detached INTEGER := 0;
+  r RECORD;
+BEGIN
+  IF p_retention_months IS NULL OR p_retention_months < 1 THEN
+    RAISE EXCEPTION 'retention months must be positive: %', p_retention_months;
+  END IF;
+
+  PERFORM set_config('lock_timeout', '5s', true);
+
+  FOR r IN
+    SELECT p.partition_name, p.range_start, p.range_end
+    FROM transaction_event_partitions p
+    WHERE NOT p.is_default AND p.range_end <= v_cutoff
+    ORDER BY p.range_start
+  LOOP
+    EXECUTE format('ALTER TABLE transaction_events DETACH PARTITION %I', r.partition_name);
+    EXECUTE format('SELECT count(*) FROM %I', r.partition_name) INTO v_rows;
+
+    INSERT INTO partition_archive (parent_table, partition_name, range_start, range_end, row_count)
+    VALUES ('transaction_events', r.partition_name, r.range_start, r.range_end, v_rows)
+    ON CONFLICT (parent_table, partition_name) DO UPDATE SET
+      range_start = EXCLUDED.range_start,
+      range_end = EXCLUDED.range_end,
+      row_count = EXCLUDED.row_count,
+      status = 'DETACHED',
+      detached_at = CURRENT_TIMESTAMP,
+      updated_at = CURRENT_TIMESTAMP;
+
+    EXECUTE format('COMMENT ON TABLE %I IS %L', r.partition_name,
+                   'transaction_events 분리 파티션 (보존 기간 경과, 아카이브 대기)');
+    v_detached := v_detached + 1;
+  END LOOP;
+
+  RETURN v_detached;
+END $$;
+
+COMMENT ON FUNCTION detach_expired_transaction_event_partitions(INTEGER) IS 'transaction_events 보존 기간 경과 파티션 분리 (partition_archive 기록)';
+
+-- 설치 시점 공백 해소 (V1 일 파티션 이후 구간과 DEFAULT에 쌓인 행)
+SELECT * FROM ensure_transaction_event_partitions(3);
@@ -0,0 +1,123 @@
+-- =============================================================================
+-- V20: 분리 파티션 콜드 스토리지 아카이브 (Partition Cold-Storage Archive)
+-- =============================================================================
+-- 목적: 보존 기간이 지난 원장 파티션(transaction_events, settlements)을 압축 컬럼형 파일로 내보낸 뒤
+--       DB에서 삭제하여 저장 공간과 VACUUM 비용을 줄이고, 드문 과거 명세 조회는 파일에서 처리
+--
+-- 흐름 (partition_archive.status):
+--   DETACHED → (파일 기록, 행 수/체크섬 검증) → ARCHIVED → (테이블 삭제) → DROPPED
+--
+-- 변경 사항:
+--   1. partition_ranges(): 부모 테이블의 파티션 범위 조회 (MINVALUE는 -infinity)
+--   2. detach_expired_partitions(): 범위 끝이 기준 시각 이전인 파티션 분리 (V19 함수를 일반화)
+--   3. partition_archive에 아카이브 파일 정보 컬럼 추가
+--
+-- webhook_logs는 파티션 테이블이 아니므로 대상에서 제외 (파티셔닝 전환 후 같은 경로로 추가)
+-- =============================================================================
+
+-- =============================================================================
+-- 1. 파티션 범위 조회
+-- =============================================================================
+CREATE OR REPLACE FUNCTION partition_ranges(p_parent REGCLASS)
+RETURNS TABLE (partition_name TEXT, range_start TIMESTAMPTZ, range_end TIMESTAMPTZ, is_default BOOLEAN)
+LANGUAGE sql
+STABLE
+AS $$
+  SELECT
+    c.relname::TEXT,
+    CASE WHEN pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT' THEN NULL
+         ELSE COALESCE((regexp_match(pg_get_expr(c.relpartbound, c.oid), 'FROM \(''([^'']+)''\)'))[1]::TIMESTAMPTZ,
+                       '-infinity'::TIMESTAMPTZ)
+    END,
+    (regexp_match(pg_get_expr(c.relpartbound, c.oid), 'TO \(''([^'']+)''\)'))[1]::TIMESTAMPTZ,
+    pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT'
+  FROM pg_inherits i
+  JOIN pg_class c ON c.oid = i.inhrelid
+  WHERE i.inhparent = p_parent
+$$;
+
+COMMENT ON FUNCTION partition_ranges(REGCLASS) IS '파티션 목록과 범위 (DEFAULT는 범위 NULL, MINVALUE는 -infinity)';
+
+-- =============================================================================
+-- 2. 보존 기간 경과 파티션 분리 (일반화)
+-- =============================================================================
+-- 범위 끝이 p_cutoff 이전인 p_parent의 파티션을 분리하고 partition_archive에 DETACHED로 기록한다.
+-- DETACH ... CONCURRENTLY는 DEFAULT 파티션이 있으면 쓸 수 없으므로 짧은 잠금 제한을 두고 일반 DETACH를 쓴다.
+CREATE OR REPLACE FUNCTION detach_expired_partitions(p_parent TEXT, p_cutoff TIMESTAMPTZ)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_rows BIGINT;
+  v_detached INTEGER := 0;
+  r RECORD;
+BEGIN
+  PERFORM set_config('lock_timeout', '5s', true);
+
+  FOR r IN
+    SELECT p.partition_name, p.range_start, p.range_end
+    FROM partition_ranges(p_parent::REGCLASS) p
+    WHERE NOT p.is_default AND p.range_end <= p_cutoff
+    ORDER BY p.range_start
+  LOOP
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_parent, r.partition_name);
+    EXECUTE format('SELECT count(*) FROM %I', r.partition_name) INTO v_rows;
+
+    INSERT INTO partition_archive (parent_table, partition_name, range_start, range_end, row_count)
+    VALUES (p_parent, r.partition_name, r.range_start, r.range_end, v_rows)
+    ON CONFLICT (parent_table, partition_name) DO UPDATE SET
+      range_start = EXCLUDED.range_start,
+      range_end = EXCLUDED.range_end,
+      row_count = EXCLUDED.row_count,
+      status = 'DETACHED',
+      file_path = NULL,
+      file_bytes = NULL,
+      content_checksum = NULL,
+      archived_at = NULL,
+      detached_at = CURRENT_TIMESTAMP,
+      updated_at = CURRENT_TIMESTAMP;
+
+    EXECUTE format('COMMENT ON TABLE %I IS %L', r.partition_name,
+                   p_parent || ' 분리 파티션 (보존 기간 경과, 아카이브 대기)');
+    v_detached := v_detached + 1;
+  END LOOP;
+
+  RETURN v_detached;
+END $$;
+
+COMMENT ON FUNCTION detach_expired_partitions(TEXT, TIMESTAMPTZ) IS '보존 기간 경과 파티션 분리 (partition_archive 기록)';
+
+-- =============================================================================
+-- 3. 아카이브 파일 정보
+-- =============================================================================
+ALTER TABLE partition_archive
+    ADD COLUMN file_path TEXT,
+    ADD COLUMN file_bytes BIGINT,
+    ADD COLUMN content_checksum VARCHAR(64),
+    ADD COLUMN archived_at TIMESTAMPTZ,
+    ADD CONSTRAINT partition_archive_file_check
+        CHECK (status = 'DETACHED' OR (file_path IS NOT NULL AND content_checksum IS NOT NULL));
+
+-- 과거 명세 조회 시 기간이 겹치는 아카이브 파일 검색
+CREATE INDEX idx_partition_archive_range ON partition_archive (parent_table, range_start, range_end)
+    WHERE status <> 'DETACHED';
+
+COMMENT ON COLUMN partition_archive.file_path IS '아카이브 파일 경로';
+COMMENT ON COLUMN partition_archive.file_bytes IS '아카이브 파일 크기 (byte)';
+COMMENT ON COLUMN partition_archive.content_checksum IS '행 데이터 SHA-256 (파일 재판독으로 검증한 값)';
+COMMENT ON COLUMN partition_archive.archived_at IS '아카이브 검증 완료일시';
+
+-- V19 transaction_events 전용 함수는 일반화된 함수로 위임
+CREATE OR REPLACE FUNCTION detach_expired_transaction_event_partitions(p_retention_months INTEGER)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+BEGIN
+  IF p_retention_months IS NULL OR p_retention_months < 1 THEN
+    RAISE EXCEPTION 'retention months must be positive: %', p_retention_months;
+  END IF;
+  RETURN detach_expired_partitions(
+    'transaction_events',
+    (date_trunc('month', now() AT TIME ZONE 'UTC') - make_interval(months => p_retention_months)) AT TIME ZONE 'UTC'
+  );
+END $$;
@@ -0,0 +1,16 @@
+-- =============================================================================
+-- V21: 거래 검색 keyset 페이지 인덱스 (Transaction Search Keyset Indexes)
+-- =============================================================================
+-- 목적: 거래 목록 검색을 SQL로 처리하면서 기본 정렬(created_at, id)과 keyset 커서 조건
+--       (created_at, id) < (?, ?)을 인덱스 범위 조회로 처리
+--
+-- 변경 사항:
+--   1. (created_at, id): 전체/조직 범위 목록의 정렬과 커서 조회 (역방향 스캔으로 DESC도 처리)
+--   2. (merchant_id, created_at, id): 가맹점 필터 목록의 정렬과 커서 조회
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_transactions_created_id
+    ON transactions(created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_merchant_created_id
+    ON transactions(merchant_id, created_at, id);
@@ -0,0 +1,23 @@
+-- =============================================================================
+-- V22: 거래 식별자 부분 일치 검색 인덱스 (Transaction Trigram Search)
+-- =============================================================================
+-- 목적: 운영자가 거래 ID, PG 거래 ID, 승인번호, CAT ID의 일부로 검색할 때
+--       ILIKE '%...%'를 전체 스캔 없이 trigram GIN 인덱스로 처리
+--
+-- 사전 조건: public 스키마의 pg_trgm 확장 (public V5)
+--
+-- 비고: trigram 인덱스는 3자 이상의 검색어에서만 효과가 있으므로 통합 검색은 3자 미만을 거부한다.
+--       cat_id의 기존 B-tree 인덱스는 일치 조회용으로 유지한다.
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_transactions_transaction_id_trgm
+    ON transactions USING GIN (transaction_id public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_pg_transaction_id_trgm
+    ON transactions USING GIN (pg_transaction_id public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_approval_number_trgm
+    ON transactions USING GIN (approval_number public.gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_cat_id_trgm
+    ON transactions USING GIN (cat_id public.gin_trgm_ops);
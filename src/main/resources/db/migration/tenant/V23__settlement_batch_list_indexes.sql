@@ -0,0 +1,16 @@
+-- =============================================================================
+-- V23: 정산 배치 목록 인덱스 (Settlement Batch List Indexes)
+-- =============================================================================
+-- 목적: 배치 목록 조회(정산일 범위/상태 필터, 정산일 내림차순 keyset 페이지)를
+--       전체 테이블 읽기 없이 인덱스 범위 조회로 처리
+--
+-- 변경 사항:
+--   1. (settlement_date, status, id): 정산일 범위 + 상태 필터, (settlement_date, id) 커서 조건
+--   2. (status, settlement_date, id): 상태만 지정한 목록의 정렬과 커서 조회
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_settlement_batches_date_status
+    ON settlement_batches(settlement_date, status, id);
+
+CREATE INDEX IF NOT EXISTS idx_settlement_batches_status_date
+    ON settlement_batches(status, settlement_date, id);
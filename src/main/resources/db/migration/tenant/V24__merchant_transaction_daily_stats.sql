@@ -0,0 +1,41 @@
+-- =============================================================================
+-- V24: 가맹점 거래 일별 통계 (Merchant Transaction Daily Stats)
+-- =============================================================================
+-- 목적: 가맹점 통계 조회 시 가맹점의 거래 전체를 읽지 않도록
+--       (가맹점, 거래일, 상태) 단위 건수/금액을 미리 유지
+--
+-- 유지 방식:
+--   - 거래 생성 시 해당 거래일/상태에 가산(UPSERT)
+--   - 취소/부분취소로 상태나 금액이 바뀌면 같은 거래 트랜잭션에서
+--     이전 상태에서 차감하고 새 상태에 가산
+--
+-- 거래일은 created_at의 KST 날짜 (상태가 바뀌어도 거래일은 유지)
+-- =============================================================================
+
+CREATE TABLE merchant_transaction_daily_stats (
+    merchant_id UUID NOT NULL,
+    stat_date DATE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    amount BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (merchant_id, stat_date, status)
+);
+
+COMMENT ON TABLE merchant_transaction_daily_stats IS '가맹점 거래 일별 통계 (거래 생성/취소 시 증분 유지)';
+COMMENT ON COLUMN merchant_transaction_daily_stats.merchant_id IS '가맹점 ID';
+COMMENT ON COLUMN merchant_transaction_daily_stats.stat_date IS '거래일 (created_at, KST)';
+COMMENT ON COLUMN merchant_transaction_daily_stats.status IS '거래 상태';
+COMMENT ON COLUMN merchant_transaction_daily_stats.transaction_count IS '거래 건수';
+COMMENT ON COLUMN merchant_transaction_daily_stats.amount IS '거래 금액 합계 (부분취소는 잔액 기준)';
+
+-- 기존 거래 초기 적재
+INSERT INTO merchant_transaction_daily_stats (merchant_id, stat_date, status, transaction_count, amount)
+SELECT
+    merchant_id,
+    DATE(created_at AT TIME ZONE 'Asia/Seoul'),
+    status,
+    COUNT(*),
+    COALESCE(SUM(amount), 0)
+FROM transactions
+GROUP BY merchant_id, DATE(created_at AT TIME ZONE 'Asia/Seoul'), status;
@@ -0,0 +1,21 @@
+-- =============================================================================
+-- V25: 접근 범위 목록 정렬 인덱스 (Access Scoped List Indexes)
+-- =============================================================================
+-- 목적: 사용자/조직/단말기 목록의 접근 범위 조건과 정렬, 페이지를 SQL로 처리하면서
+--       기본 정렬(created_at DESC, id DESC)의 첫 페이지를 인덱스 역방향 스캔으로 바로 읽도록 함
+--       (하위 트리 조건은 기존 org_path/path GiST 인덱스가 처리)
+--
+-- 변경 사항:
+--   1. users(created_at, id): 삭제되지 않은 사용자만 (목록 조건과 동일한 부분 인덱스)
+--   2. organizations(created_at, id)
+--   3. terminals(created_at, id)
+-- =============================================================================
+
+CREATE INDEX IF NOT EXISTS idx_users_created_id
+    ON users(created_at, id) WHERE deleted_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_organizations_created_id
+    ON organizations(created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_terminals_created_id
+    ON terminals(created_at, id);
@@ -0,0 +1,86 @@
+-- =============================================================================
+-- V26: 대시보드 카운터 (Dashboard Counters)
+-- =============================================================================
+-- 목적: 대시보드 조회 시 transactions를 조직 경로 조건으로 매번 집계하지 않도록
+--       조직 노드별 일 매출/거래 건수와 월 가맹점 매출 순위를 미리 유지
+--
+-- 유지 방식:
+--   - 거래 생성/취소와 같은 트랜잭션에서 거래 경로(transactions.org_path)의
+--     모든 상위 경로(자신 포함)에 변화량을 가산 (루트부터 순서대로 갱신하여 교착 방지)
+--   - 조회는 사용자 조직 경로 한 노드의 행만 읽음 (하위 트리 스캔 없음)
+--   - 일자/월은 created_at의 KST 기준, 매출은 현재 상태가 APPROVED인 거래 금액
+--
+-- 1. org_dashboard_counters: 노드별 일 카운터 (분할 카운터, 루트 노드 행 잠금 경합 분산)
+-- 2. org_merchant_monthly_sales: 노드별 월 가맹점 매출 ((노드, 월, 매출 DESC) 인덱스로 상위 K개 조회)
+--
+-- 보존: 전월 이전 행은 DashboardCounterMaintainer가 삭제
+-- =============================================================================
+
+CREATE TABLE org_dashboard_counters (
+    org_path public.ltree NOT NULL,
+    stat_date DATE NOT NULL,
+    stripe SMALLINT NOT NULL,
+    approved_amount BIGINT NOT NULL DEFAULT 0,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    transaction_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (org_path, stat_date, stripe),
+    CONSTRAINT org_dashboard_counters_stripe_check CHECK (stripe >= 0)
+);
+
+COMMENT ON TABLE org_dashboard_counters IS '조직 노드별 대시보드 일 카운터 (하위 조직 거래 포함, 분할 카운터)';
+COMMENT ON COLUMN org_dashboard_counters.org_path IS '조직 경로 (거래 경로의 상위 경로)';
+COMMENT ON COLUMN org_dashboard_counters.stat_date IS '거래일 (created_at, KST)';
+COMMENT ON COLUMN org_dashboard_counters.stripe IS '분할 카운터 번호';
+COMMENT ON COLUMN org_dashboard_counters.approved_amount IS '승인 거래 금액 합계';
+COMMENT ON COLUMN org_dashboard_counters.approved_count IS '승인 거래 건수';
+COMMENT ON COLUMN org_dashboard_counters.transaction_count IS '전체 거래 건수 (상태 무관)';
+
+CREATE TABLE org_merchant_monthly_sales (
+    org_path public.ltree NOT NULL,
+    sales_month DATE NOT NULL,
+    merchant_id UUID NOT NULL,
+    approved_amount BIGINT NOT NULL DEFAULT 0,
+    approved_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (org_path, sales_month, merchant_id)
+);
+
+-- 노드별 월 매출 상위 가맹점 조회용
+CREATE INDEX idx_org_merchant_monthly_sales_ranking
+    ON org_merchant_monthly_sales (org_path, sales_month, approved_amount DESC);
+
+COMMENT ON TABLE org_merchant_monthly_sales IS '조직 노드별 월 가맹점 승인 매출 (하위 조직 거래 포함)';
+COMMENT ON COLUMN org_merchant_monthly_sales.org_path IS '조직 경로 (거래 경로의 상위 경로)';
+COMMENT ON COLUMN org_merchant_monthly_sales.sales_month IS '거래월 (KST, 월 1일)';
+COMMENT ON COLUMN org_merchant_monthly_sales.merchant_id IS '가맹점 ID';
+COMMENT ON COLUMN org_merchant_monthly_sales.approved_amount IS '승인 거래 금액 합계';
+COMMENT ON COLUMN org_merchant_monthly_sales.approved_count IS '승인 거래 건수';
+
+-- 이번 달(KST) 거래 초기 적재 (stripe 0)
+INSERT INTO org_dashboard_counters (org_path, stat_date, stripe, approved_amount, approved_count, transaction_count)
+SELECT
+    public.subpath(t.org_path, 0, n),
+    DATE(t.created_at AT TIME ZONE 'Asia/Seoul'),
+    0,
+    COALESCE(SUM(t.amount) FILTER (WHERE t.status = 'APPROVED'), 0),
+    COUNT(*) FILTER (WHERE t.status = 'APPROVED'),
+    COUNT(*)
+FROM transactions t
+CROSS JOIN LATERAL generate_series(1, public.nlevel(t.org_path)) n
+WHERE t.created_at >= date_trunc('month', now() AT TIME ZONE 'Asia/Seoul') AT TIME ZONE 'Asia/Seoul'
+GROUP BY public.subpath(t.org_path, 0, n), DATE(t.created_at AT TIME ZONE 'Asia/Seoul');
+
+INSERT INTO org_merchant_monthly_sales (org_path, sales_month, merchant_id, approved_amount, approved_count)
+SELECT
+    public.subpath(t.org_path, 0, n),
+    CAST(date_trunc('month', t.created_at AT TIME ZONE 'Asia/Seoul') AS DATE),
+    t.merchant_id,
+    SUM(t.amount),
+    COUNT(*)
+FROM transactions t
+CROSS JOIN LATERAL generate_series(1, public.nlevel(t.org_path)) n
+WHERE t.created_at >= date_trunc('month', now() AT TIME ZONE 'Asia/Seoul') AT TIME ZONE 'Asia/Seoul'
+  AND t.status = 'APPROVED'
+GROUP BY public.subpath(t.org_path, 0, n), CAST(date_trunc('month', t.created_at AT TIME ZONE 'Asia/Seoul') AS DATE),
+         t.merchant_id;
@@ -0,0 +1,142 @@
+-- =============================================================================
+-- V27: 분리된 정산 파티션의 잔액 기준값 (Settlement Archived Balance Baseline)
+-- =============================================================================
+-- 목적: 보존 기간이 지난 settlements 파티션을 분리(DETACH)하면 그 행이 원장에서 빠지지만
+--       settlement_entity_balances에는 그대로 남아, 잔액 대사(SettlementBalanceReconciler)가
+--       분리된 행만큼 불일치로 보고하는 문제 해소
+--
+-- 방식:
+--   - 파티션 분리와 같은 트랜잭션에서 분리되는 파티션의 엔티티별 상태 합계를
+--     settlement_archived_totals에 이월 (상태 구분과 금액 기준은 V12와 동일)
+--   - 잔액 대사는 부착된 파티션 합계에 이월값을 더해 비교
+--   - 분리된 행은 더 이상 갱신되지 않으므로 이월값은 고정 (다시 붙였다가 분리하면 파티션 단위로 교체)
+-- =============================================================================
+
+CREATE TABLE settlement_archived_totals (
+    partition_name VARCHAR(100) NOT NULL,
+    entity_id UUID NOT NULL,
+    pending_amount BIGINT NOT NULL DEFAULT 0,
+    pending_count BIGINT NOT NULL DEFAULT 0,
+    completed_amount BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    failed_amount BIGINT NOT NULL DEFAULT 0,
+    failed_count BIGINT NOT NULL DEFAULT 0,
+    created_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (partition_name, entity_id)
+);
+
+CREATE INDEX idx_settlement_archived_totals_entity ON settlement_archived_totals (entity_id);
+
+COMMENT ON TABLE settlement_archived_totals IS '분리된 settlements 파티션의 엔티티별 상태 합계 (잔액 대사 이월값)';
+COMMENT ON COLUMN settlement_archived_totals.partition_name IS '분리된 파티션 테이블 이름';
+COMMENT ON COLUMN settlement_archived_totals.entity_id IS '정산 대상 엔티티 ID';
+COMMENT ON COLUMN settlement_archived_totals.pending_amount IS '대기 순정산금액 합계';
+COMMENT ON COLUMN settlement_archived_totals.pending_count IS '대기 정산 건수';
+COMMENT ON COLUMN settlement_archived_totals.completed_amount IS '완료 순정산금액 합계';
+COMMENT ON COLUMN settlement_archived_totals.completed_count IS '완료 정산 건수';
+COMMENT ON COLUMN settlement_archived_totals.failed_amount IS '실패/검토대기 순정산금액 합계';
+COMMENT ON COLUMN settlement_archived_totals.failed_count IS '실패/검토대기 정산 건수';
+
+-- =============================================================================
+-- 파티션 분리 시 settlements 합계 이월 (V20 함수 교체)
+-- =============================================================================
+CREATE OR REPLACE FUNCTION detach_expired_partitions(p_parent TEXT, p_cutoff TIMESTAMPTZ)
+RETURNS INTEGER
+LANGUAGE plpgsql
+AS $$
+DECLARE
+  v_rows BIGINT;
+  v_detached INTEGER := 0;
+  r RECORD;
+BEGIN
+  PERFORM set_config('lock_timeout', '5s', true);
+
+  FOR r IN
+    SELECT p.partition_name, p.range_start, p.range_end
+    FROM partition_ranges(p_parent::REGCLASS) p
+    WHERE NOT p.is_default AND p.range_end <= p_cutoff
+    ORDER BY p.range_start
+  LOOP
+    EXECUTE format('ALTER TABLE %I DETACH PARTITION %I', p_parent, r.partition_name);
+    EXECUTE format('SELECT count(*) FROM %I', r.partition_name) INTO v_rows;
+
+    IF p_parent = 'settlements' THEN
+      DELETE FROM settlement_archived_totals WHERE partition_name = r.partition_name;
+      EXECUTE format(
+        'INSERT INTO settlement_archived_totals (
+           partition_name, entity_id,
+           pending_amount, pending_count, completed_amount, completed_count, failed_amount, failed_count
+         )
+         SELECT
+           %L,
+           s.entity_id,
+           COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = ''PENDING''), 0),
+           COUNT(*) FILTER (WHERE s.status = ''PENDING''),
+           COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = ''COMPLETED''), 0),
+           COUNT(*) FILTER (WHERE s.status = ''COMPLETED''),
+           COALESCE(SUM(s.net_amount) FILTER (WHERE s.status IN (''FAILED'', ''PENDING_REVIEW'')), 0),
+           COUNT(*) FILTER (WHERE s.status IN (''FAILED'', ''PENDING_REVIEW''))
+         FROM %I s
+         GROUP BY s.entity_id',
+        r.partition_name, r.partition_name
+      );
+    END IF;
+
+    INSERT INTO partition_archive (parent_table, partition_name, range_start, range_end, row_count)
+    VALUES (p_parent, r.partition_name, r.range_start, r.range_end, v_rows)
+    ON CONFLICT (parent_table, partition_name) DO UPDATE SET
+      range_start = EXCLUDED.range_start,
+      range_end = EXCLUDED.range_end,
+      row_count = EXCLUDED.row_count,
+      status = 'DETACHED',
+      file_path = NULL,
+      file_bytes = NULL,
+      content_checksum = NULL,
+      archived_at = NULL,
+      detached_at = CURRENT_TIMESTAMP,
+      updated_at = CURRENT_TIMESTAMP;
+
+    EXECUTE format('COMMENT ON TABLE %I IS %L', r.partition_name,
+                   p_parent || ' 분리 파티션 (보존 기간 경과, 아카이브 대기)');
+    v_detached := v_detached + 1;
+  END LOOP;
+
+  RETURN v_detached;
+END $$;
+
+COMMENT ON FUNCTION detach_expired_partitions(TEXT, TIMESTAMPTZ) IS '보존 기간 경과 파티션 분리 (partition_archive 기록, settlements는 잔액 이월값 기록)';
+
+-- 이미 분리된 settlements 파티션 중 테이블이 남아 있는 것은 이월값을 채운다
+-- (DROPPED 파티션은 원본이 없으므로 아카이브 파일에서 별도로 보정해야 한다)
+DO $$
+DECLARE
+  r RECORD;
+BEGIN
+  FOR r IN
+    SELECT a.partition_name
+    FROM partition_archive a
+    WHERE a.parent_table = 'settlements'
+      AND a.status IN ('DETACHED', 'ARCHIVED')
+      AND to_regclass(quote_ident(a.partition_name)) IS NOT NULL
+  LOOP
+    EXECUTE format(
+      'INSERT INTO settlement_archived_totals (
+         partition_name, entity_id,
+         pending_amount, pending_count, completed_amount, completed_count, failed_amount, failed_count
+       )
+       SELECT
+         %L,
+         s.entity_id,
+         COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = ''PENDING''), 0),
+         COUNT(*) FILTER (WHERE s.status = ''PENDING''),
+         COALESCE(SUM(s.net_amount) FILTER (WHERE s.status = ''COMPLETED''), 0),
+         COUNT(*) FILTER (WHERE s.status = ''COMPLETED''),
+         COALESCE(SUM(s.net_amount) FILTER (WHERE s.status IN (''FAILED'', ''PENDING_REVIEW'')), 0),
+         COUNT(*) FILTER (WHERE s.status IN (''FAILED'', ''PENDING_REVIEW''))
+       FROM %I s
+       GROUP BY s.entity_id
+       ON CONFLICT (partition_name, entity_id) DO NOTHING',
+      r.partition_name, r.partition_name
+    );
+  END LOOP;
+END $$;
@@ -0,0 +1,61 @@
+-- =============================================================================
+-- V9: 미배치 정산 백필(Backfill) 작업 체크포인트
+-- =============================================================================
+-- 목적:
+--  1. settlement_backfill_jobs: 백필 진행 상황을 (거래일, 정산주기) 단위로 기록하여
+--     중단 후 재실행 시 마지막 체크포인트부터 이어서 처리
+--  2. 미배치 PENDING 정산 부분 인덱스: (거래일, 정산주기) 그룹 조회 및 배치 생성 가속
+-- =============================================================================
+
+-- =============================================================================
+-- 1. settlement_backfill_jobs 테이블
+-- =============================================================================
+-- 상태:
+--   - RUNNING: 진행 중 (중단된 경우 다음 실행 시 재개)
+--   - COMPLETED: 모든 (거래일, 정산주기) 처리 완료
+--   - FAILED: 작업 자체가 실패 (체크포인트부터 재개 가능)
+CREATE TABLE settlement_backfill_jobs (
+    id UUID PRIMARY KEY DEFAULT uuidv7(),
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_transaction_date DATE,
+    last_cycle VARCHAR(20),
+    processed_pairs INTEGER NOT NULL DEFAULT 0,
+    created_batches INTEGER NOT NULL DEFAULT 0,
+    failed_pairs INTEGER NOT NULL DEFAULT 0,
+    error_message TEXT,
+    started_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMPTZ,
+    updated_at TIMESTAMPTZ NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT settlement_backfill_jobs_status_check CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED')),
+    CONSTRAINT settlement_backfill_jobs_cycle_check CHECK (
+        last_cycle IS NULL OR last_cycle IN ('D_PLUS_1', 'D_PLUS_3', 'REALTIME')
+    ),
+    CONSTRAINT settlement_backfill_jobs_completed_at_required CHECK (
+        (status = 'COMPLETED' AND completed_at IS NOT NULL) OR status <> 'COMPLETED'
+    )
+);
+
+-- 테넌트당 동시에 하나의 RUNNING 작업만 허용
+CREATE UNIQUE INDEX idx_settlement_backfill_jobs_single_running
+    ON settlement_backfill_jobs ((status)) WHERE status = 'RUNNING';
+CREATE INDEX idx_settlement_backfill_jobs_started ON settlement_backfill_jobs (started_at DESC);
+
+COMMENT ON TABLE settlement_backfill_jobs IS '미배치 정산 백필 작업 (재개 가능한 체크포인트)';
+COMMENT ON COLUMN settlement_backfill_jobs.id IS '작업 고유 ID (UUID v7)';
+COMMENT ON COLUMN settlement_backfill_jobs.status IS '작업 상태 (RUNNING, COMPLETED, FAILED)';
+COMMENT ON COLUMN settlement_backfill_jobs.last_transaction_date IS '마지막으로 처리한 거래일 (KST, 체크포인트)';
+COMMENT ON COLUMN settlement_backfill_jobs.last_cycle IS '마지막으로 처리한 정산주기 (체크포인트)';
+COMMENT ON COLUMN settlement_backfill_jobs.processed_pairs IS '처리한 (거래일, 정산주기) 수';
+COMMENT ON COLUMN settlement_backfill_jobs.created_batches IS '생성된 배치 수';
+COMMENT ON COLUMN settlement_backfill_jobs.failed_pairs IS '처리 실패한 (거래일, 정산주기) 수';
+COMMENT ON COLUMN settlement_backfill_jobs.error_message IS '마지막 오류 메시지';
+COMMENT ON COLUMN settlement_backfill_jobs.started_at IS '작업 시작일시';
+COMMENT ON COLUMN settlement_backfill_jobs.completed_at IS '작업 완료일시';
+COMMENT ON COLUMN settlement_backfill_jobs.updated_at IS '체크포인트 갱신일시';
+
+-- =============================================================================
+-- 2. 미배치 PENDING 정산 부분 인덱스
+-- =============================================================================
+CREATE INDEX idx_settlements_unbatched_pending
+    ON settlements (created_at, merchant_id)
+    WHERE settlement_batch_id IS NULL AND status = 'PENDING';
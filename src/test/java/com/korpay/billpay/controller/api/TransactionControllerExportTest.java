@@ -0,0 +1,150 @@
+package com.korpay.billpay.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.config.tenant.TenantContextHolder;
+import com.korpay.billpay.domain.entity.User;
+import com.korpay.billpay.exception.handler.GlobalExceptionHandler;
+import com.korpay.billpay.service.auth.UserContextHolder;
+import com.korpay.billpay.service.export.DataExportService;
+import com.korpay.billpay.service.export.ExportPermit;
+import com.korpay.billpay.service.export.ExportQuery;
+import com.korpay.billpay.service.transaction.TransactionQueryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionController 내보내기 테스트")
+class TransactionControllerExportTest {
+
+    private static final String EXPORT_URL = "/v1/transactions/export";
+    private static final String TENANT_ID = "tenant_test";
+    private static final ExportQuery QUERY = new ExportQuery("SELECT transaction_id, amount FROM transactions", new Object[0]);
+
+    @Mock
+    private TransactionQueryService transactionQueryService;
+
+    @Mock
+    private UserContextHolder userContextHolder;
+
+    @Mock
+    private User user;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Mock
+    private ResultSetMetaData metaData;
+
+    private DataExportService dataExportService;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        dataExportService = new DataExportService(dataSource, transactionManager, new ObjectMapper(), 100, 1);
+        TransactionController controller =
+                new TransactionController(transactionQueryService, dataExportService, userContextHolder);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+
+        when(userContextHolder.getCurrentUser()).thenReturn(user);
+        when(transactionQueryService.transactionExportQuery(eq(user), any(), eq("createdAt"), eq(Sort.Direction.DESC)))
+                .thenReturn(QUERY);
+    }
+
+    @Test
+    @DisplayName("커서에서 읽은 행을 NDJSON 파일로 내려주고 rowCount trailer로 끝낸 뒤 실행 권한을 반납한다")
+    void exportTransactions_streamsFileWithTrailer() throws Exception {
+        // given
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(2);
+        when(metaData.getColumnLabel(1)).thenReturn("transaction_id");
+        when(metaData.getColumnType(1)).thenReturn(Types.VARCHAR);
+        when(metaData.getColumnLabel(2)).thenReturn("amount");
+        when(metaData.getColumnType(2)).thenReturn(Types.BIGINT);
+        when(resultSet.next()).thenReturn(true, true, false);
+        when(resultSet.getString(1)).thenReturn("TX-1", "TX-2");
+        when(resultSet.getLong(2)).thenReturn(15000L, 2500L);
+
+        // when
+        MvcResult started = TenantContextHolder.runInTenant(TENANT_ID,
+                (ScopedValue.CallableOp<MvcResult, Exception>) () -> mockMvc.perform(get(EXPORT_URL)
+                                .param("format", "NDJSON"))
+                        .andExpect(request().asyncStarted())
+                        .andReturn());
+
+        // then
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString("transactions-")))
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("""
+                        {"transaction_id":"TX-1","amount":15000}
+                        {"transaction_id":"TX-2","amount":2500}
+                        {"rowCount":2}
+                        """));
+
+        verify(statement).setFetchSize(100);
+        assertThatCode(() -> dataExportService.acquire().release()).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("동시 실행 한도를 넘으면 429 EXPORT_BUSY를 반환한다")
+    void exportTransactions_busy() throws Exception {
+        // given
+        ExportPermit running = dataExportService.acquire();
+
+        // when & then
+        mockMvc.perform(get(EXPORT_URL))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.error.code").value("EXPORT_BUSY"));
+
+        running.release();
+        assertThatCode(() -> dataExportService.acquire().release()).doesNotThrowAnyException();
+    }
+}
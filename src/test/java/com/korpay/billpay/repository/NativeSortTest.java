@@ -0,0 +1,47 @@
+package com.korpay.billpay.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NativeSort 테스트")
+class NativeSortTest {
+
+    private static final Map<String, String> COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "fullName", "full_name");
+
+    @Test
+    @DisplayName("속성명을 컬럼명으로 바꾸고 같은 방향의 id를 보조 키로 붙인다")
+    void mapsPropertiesToColumns() {
+        Pageable pageable = NativeSort.toColumns(
+                PageRequest.of(2, 20, Sort.by(Sort.Direction.ASC, "fullName")), COLUMNS);
+
+        assertThat(pageable.getPageNumber()).isEqualTo(2);
+        assertThat(pageable.getPageSize()).isEqualTo(20);
+        assertThat(pageable.getSort()).containsExactly(Sort.Order.asc("full_name"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    @DisplayName("정렬이 없으면 created_at 내림차순이다")
+    void defaultsToCreatedAtDescending() {
+        Pageable pageable = NativeSort.toColumns(PageRequest.of(0, 20), COLUMNS);
+
+        assertThat(pageable.getSort()).containsExactly(Sort.Order.desc("created_at"), Sort.Order.desc("id"));
+    }
+
+    @Test
+    @DisplayName("허용 목록에 없는 속성은 IllegalArgumentException으로 거부한다")
+    void rejectsUnknownProperty() {
+        assertThatThrownBy(() -> NativeSort.toColumns(
+                PageRequest.of(0, 20, Sort.by("passwordHash")), COLUMNS))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.korpay.billpay.service.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.domain.enums.ExportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExportWriter 테스트")
+class ExportWriterTest {
+
+    private static final OffsetDateTime CREATED_AT = OffsetDateTime.of(2026, 3, 1, 9, 30, 0, 0, ZoneOffset.ofHours(9));
+
+    @Test
+    @DisplayName("CSV는 BOM과 헤더로 시작하고 특수문자를 이스케이프하며 rowCount trailer로 끝난다")
+    void writesCsv() throws IOException {
+        String csv = write(ExportFormat.CSV);
+
+        assertThat(csv).startsWith("\uFEFF");
+        assertThat(csv.substring(1).split("\r\n")).containsExactly(
+                "id,merchant_name,amount,fee_rate,settled,created_at",
+                "tx-1,\"가맹점, 본점\",15000,0.025000,true,2026-03-01T09:30:00+09:00",
+                "tx-2,\"say \"\"hi\"\"\",-300,,,",
+                "#rowCount,2");
+    }
+
+    @Test
+    @DisplayName("NDJSON은 행마다 JSON 객체 한 줄을 쓰고 숫자와 null을 타입대로 기록한다")
+    void writesNdjson() throws IOException {
+        String ndjson = write(ExportFormat.NDJSON);
+
+        assertThat(ndjson.split("\n")).containsExactly(
+                "{\"id\":\"tx-1\",\"merchant_name\":\"가맹점, 본점\",\"amount\":15000,\"fee_rate\":0.025000,"
+                        + "\"settled\":true,\"created_at\":\"2026-03-01T09:30:00+09:00\"}",
+                "{\"id\":\"tx-2\",\"merchant_name\":\"say \\\"hi\\\"\",\"amount\":-300,\"fee_rate\":null,"
+                        + "\"settled\":null,\"created_at\":null}",
+                "{\"rowCount\":2}");
+        assertThat(ndjson).endsWith("\n");
+    }
+
+    @Test
+    @DisplayName("행이 없어도 trailer는 기록된다")
+    void writesTrailerForEmptyExport() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = ExportWriter.of(ExportFormat.NDJSON, out, new ObjectMapper().getFactory());
+
+        writer.writeHeader(List.of("id"));
+        writer.writeTrailer(0);
+        writer.flush();
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("{\"rowCount\":0}\n");
+    }
+
+    private static String write(ExportFormat format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter writer = ExportWriter.of(format, out, new ObjectMapper().getFactory());
+
+        writer.writeHeader(List.of("id", "merchant_name", "amount", "fee_rate", "settled", "created_at"));
+        writer.writeRow(new Object[]{"tx-1", "가맹점, 본점", 15000L, new BigDecimal("0.025000"), true, CREATED_AT});
+        writer.writeRow(new Object[]{"tx-2", "say \"hi\"", -300L, null, null, null});
+        writer.writeTrailer(2);
+        writer.flush();
+
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
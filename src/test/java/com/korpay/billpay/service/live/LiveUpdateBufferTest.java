@@ -0,0 +1,98 @@
+package com.korpay.billpay.service.live;
+
+import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.response.LiveUpdateDto;
+import com.korpay.billpay.dto.response.TransactionDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LiveUpdateBuffer 테스트")
+class LiveUpdateBufferTest {
+
+    @Test
+    @DisplayName("같은 거래는 처음 순서를 유지한 채 마지막 상태 하나만 남긴다")
+    void coalescesSameTransaction() {
+        LiveUpdateBuffer buffer = new LiveUpdateBuffer(10);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        buffer.addTransaction(transaction(first, TransactionStatus.APPROVED));
+        buffer.addTransaction(transaction(second, TransactionStatus.APPROVED));
+        buffer.addTransaction(transaction(first, TransactionStatus.CANCELLED));
+
+        LiveUpdateDto update = buffer.drain();
+
+        assertThat(update.transactions()).extracting(TransactionDto::getId).containsExactly(first, second);
+        assertThat(update.transactions().getFirst().getStatus()).isEqualTo(TransactionStatus.CANCELLED);
+        assertThat(update.transactionsTruncated()).isFalse();
+    }
+
+    @Test
+    @DisplayName("한도를 넘는 새 거래는 버리고 생략 표시를 한다")
+    void truncatesBeyondLimit() {
+        LiveUpdateBuffer buffer = new LiveUpdateBuffer(1);
+        UUID kept = UUID.randomUUID();
+
+        buffer.addTransaction(transaction(kept, TransactionStatus.APPROVED));
+        buffer.addTransaction(transaction(UUID.randomUUID(), TransactionStatus.APPROVED));
+        buffer.addTransaction(transaction(kept, TransactionStatus.CANCELLED));
+
+        LiveUpdateDto update = buffer.drain();
+
+        assertThat(update.transactions()).extracting(TransactionDto::getStatus)
+                .containsExactly(TransactionStatus.CANCELLED);
+        assertThat(update.transactionsTruncated()).isTrue();
+    }
+
+    @Test
+    @DisplayName("대시보드 변화량은 거래일별로, 정산 변화량은 하나로 합산한다")
+    void sumsDeltas() {
+        LiveUpdateBuffer buffer = new LiveUpdateBuffer(10);
+        LocalDate today = LocalDate.of(2026, 10, 19);
+        LocalDate yesterday = today.minusDays(1);
+
+        buffer.addDashboard(today, 10_000, 1, 1);
+        buffer.addDashboard(yesterday, -5_000, -1, 0);
+        buffer.addDashboard(today, 20_000, 1, 1);
+        buffer.addSettlements(9_700, 1, 0, 0, 0, 0);
+        buffer.addSettlements(-9_700, -1, 9_700, 1, 0, 0);
+
+        LiveUpdateDto update = buffer.drain();
+
+        assertThat(update.dashboard()).containsExactly(
+                new LiveUpdateDto.DashboardDelta(yesterday, -5_000, -1, 0),
+                new LiveUpdateDto.DashboardDelta(today, 30_000, 2, 2));
+        assertThat(update.settlements()).isEqualTo(new LiveUpdateDto.SettlementDelta(0, 0, 9_700, 1, 0, 0));
+    }
+
+    @Test
+    @DisplayName("꺼낸 뒤에는 비어 있고, 변경이 없으면 null이다")
+    void drainResets() {
+        LiveUpdateBuffer buffer = new LiveUpdateBuffer(10);
+        assertThat(buffer.drain()).isNull();
+
+        buffer.addSettlements(1, 1, 0, 0, 0, 0);
+        assertThat(buffer.drain()).isNotNull();
+
+        assertThat(buffer.isEmpty()).isTrue();
+        assertThat(buffer.drain()).isNull();
+    }
+
+    @Test
+    @DisplayName("토픽 경로는 마스터 관리자 경로와 모든 상위 경로를 포함한다")
+    void topicPathsIncludeAncestors() {
+        assertThat(LiveUpdateHub.topicPaths("dist_01.agcy_02.dlr_03"))
+                .containsExactly("", "dist_01", "dist_01.agcy_02", "dist_01.agcy_02.dlr_03");
+        assertThat(LiveUpdateHub.topicPaths("dist_01")).containsExactly("", "dist_01");
+        assertThat(LiveUpdateHub.topicPaths("")).containsExactly("");
+    }
+
+    private static TransactionDto transaction(UUID id, TransactionStatus status) {
+        return TransactionDto.builder().id(id).status(status).amount(10_000L).build();
+    }
+}
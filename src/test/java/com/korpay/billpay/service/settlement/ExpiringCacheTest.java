@@ -0,0 +1,44 @@
+package com.korpay.billpay.service.settlement;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ExpiringCache 테스트")
+class ExpiringCacheTest {
+
+    @Test
+    @DisplayName("TTL 안에서는 같은 키의 loader를 다시 호출하지 않는다")
+    void reusesUntilExpired() throws InterruptedException {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("a", 60_000, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("a", 60_000, loads::incrementAndGet)).isEqualTo(1);
+        assertThat(cache.get("b", 60_000, loads::incrementAndGet)).isEqualTo(2);
+
+        assertThat(cache.get("c", 1, loads::incrementAndGet)).isEqualTo(3);
+        Thread.sleep(5);
+        assertThat(cache.get("c", 1, loads::incrementAndGet)).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("TTL이 0이면 캐시하지 않고, 가득 차면 새 항목은 보관하지 않는다")
+    void disabledAndBounded() {
+        ExpiringCache<String, Integer> cache = new ExpiringCache<>(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("a", 0, loads::incrementAndGet);
+        cache.get("a", 0, loads::incrementAndGet);
+        assertThat(loads).hasValue(2);
+
+        cache.get("a", 60_000, loads::incrementAndGet);
+        cache.get("b", 60_000, loads::incrementAndGet);
+        cache.get("b", 60_000, loads::incrementAndGet);
+        assertThat(loads).hasValue(5);
+        assertThat(cache.get("a", 60_000, loads::incrementAndGet)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,129 @@
+package com.korpay.billpay.service.settlement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.korpay.billpay.service.settlement.rollup.SettlementRollupService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SettlementBulkResettlementService 청크 처리 테스트")
+class SettlementBulkResettlementServiceTest {
+
+    private static final LocalDate SETTLEMENT_DATE = LocalDate.of(2026, 10, 1);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SettlementResettlementService settlementResettlementService;
+
+    @Mock
+    private SettlementRollupService settlementRollupService;
+
+    @Mock
+    private FeeConfigResolver feeConfigResolver;
+
+    @Mock
+    private ObjectMapper objectMapper;
+
+    private SettlementBulkResettlementService service;
+
+    private final UUID jobId = UUID.randomUUID();
+    private final UUID first = UUID.randomUUID();
+    private final UUID second = UUID.randomUUID();
+    private final UUID third = UUID.randomUUID();
+    private final FeeRateSnapshot snapshot = new FeeRateSnapshot(Map.of(), Map.of());
+
+    @BeforeEach
+    void setUp() {
+        service = new SettlementBulkResettlementService(jdbcTemplate, dataSource, transactionManager,
+                settlementResettlementService, settlementRollupService, feeConfigResolver, objectMapper, 1000);
+        when(feeConfigResolver.withSnapshot(eq(snapshot), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+    }
+
+    @Test
+    @DisplayName("청크가 성공하면 한 트랜잭션으로 처리하고 진행 건수를 한 번에 누적한다")
+    void processesChunkInOneTransaction() {
+        when(settlementResettlementService.resettleChunk(List.of(first, second, third)))
+                .thenReturn(new SettlementResettlementService.ChunkResult(2, Set.of(SETTLEMENT_DATE)));
+
+        service.processChunk(jobId, List.of(first, second, third), snapshot);
+
+        verify(settlementResettlementService, times(1)).resettleChunk(any());
+        verify(transactionManager, times(1)).commit(any());
+        verify(transactionManager, never()).rollback(any());
+        assertThat(updates("processed_events = processed_events + ?"))
+                .containsExactly(List.<Object>of(3, 2, 1, 0, "{2026-10-01}", jobId));
+        assertThat(updates("settlement_resettlement_failures")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("청크가 실패하면 이벤트별 트랜잭션으로 다시 처리하고 실패한 이벤트만 기록한다")
+    void replaysFailedChunkPerEvent() {
+        when(settlementResettlementService.resettleChunk(List.of(first, second, third)))
+                .thenThrow(new IllegalStateException("수수료 설정이 없습니다"));
+        when(settlementResettlementService.resettleChunk(List.of(first)))
+                .thenReturn(new SettlementResettlementService.ChunkResult(1, Set.of(SETTLEMENT_DATE)));
+        when(settlementResettlementService.resettleChunk(List.of(second)))
+                .thenThrow(new IllegalStateException("수수료 설정이 없습니다"));
+        when(settlementResettlementService.resettleChunk(List.of(third)))
+                .thenReturn(new SettlementResettlementService.ChunkResult(0, Set.of()));
+
+        service.processChunk(jobId, List.of(first, second, third), snapshot);
+
+        // 전체 청크와 실패 이벤트의 트랜잭션만 롤백되고, 성공 이벤트와 실패 기록은 각각 커밋된다
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager, times(3)).commit(any());
+        assertThat(updates("settlement_resettlement_failures"))
+                .containsExactly(List.<Object>of(jobId, second, "수수료 설정이 없습니다"));
+        assertThat(updates("processed_events = processed_events + ?")).containsExactly(
+                List.<Object>of(1, 1, 0, 0, "{2026-10-01}", jobId),
+                List.<Object>of(1, 0, 0, 1, "{}", jobId),
+                List.<Object>of(1, 0, 1, 0, "{}", jobId));
+    }
+
+    /**
+     * SQL에 fragment가 포함된 update 호출의 바인딩 값 (호출 순서).
+     */
+    private List<List<Object>> updates(String fragment) {
+        return mockingDetails(jdbcTemplate).getInvocations().stream()
+                .filter(invocation -> invocation.getMethod().getName().equals("update"))
+                .filter(invocation -> invocation.getArgument(0) instanceof String sql && sql.contains(fragment))
+                .map(invocation -> {
+                    Object[] arguments = invocation.getArguments();
+                    return Arrays.asList(Arrays.copyOfRange(arguments, 1, arguments.length));
+                })
+                .toList();
+    }
+}
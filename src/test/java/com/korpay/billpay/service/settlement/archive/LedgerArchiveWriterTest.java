@@ -0,0 +1,152 @@
+package com.korpay.billpay.service.settlement.archive;
+
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Column;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.ColumnType;
+import com.korpay.billpay.service.settlement.archive.LedgerArchiveFormat.Range;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("LedgerArchiveWriter / LedgerArchiveReader 테스트")
+class LedgerArchiveWriterTest {
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", ColumnType.UUID, "uuid"),
+            new Column("merchant_id", ColumnType.UUID, "uuid"),
+            new Column("amount", ColumnType.LONG, "int8"),
+            new Column("approved", ColumnType.BOOLEAN, "bool"),
+            new Column("memo", ColumnType.TEXT, "varchar"),
+            new Column("created_at", ColumnType.TIMESTAMP, "timestamptz"));
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final UUID MERCHANT_A = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+    private static final UUID MERCHANT_B = UUID.fromString("00000000-0000-0000-0000-00000000000b");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("기록한 값과 NULL이 그대로 해독되고 재계산한 체크섬이 기록 시 체크섬과 같다")
+    void roundTrip() throws IOException {
+        Path file = dir.resolve("events.kpla");
+        LedgerArchiveWriter.Result written = write(file, 1000, 300);
+
+        assertThat(written.rows()).isEqualTo(1000);
+        assertThat(written.blocks()).isEqualTo(4);
+
+        try (LedgerArchiveReader reader = LedgerArchiveReader.open(file)) {
+            assertThat(reader.parentTable()).isEqualTo("transaction_events");
+            assertThat(reader.partitionName()).isEqualTo("transaction_events_202401");
+            assertThat(reader.columns()).isEqualTo(COLUMNS);
+            assertThat(reader.rowCount()).isEqualTo(1000);
+            assertThat(reader.checksum()).isEqualTo(written.checksum());
+
+            LedgerArchiveReader.VerifyResult verified = reader.verify();
+            assertThat(verified.rows()).isEqualTo(1000);
+            assertThat(verified.checksum()).isEqualTo(written.checksum());
+
+            List<Object[]> rows = new ArrayList<>();
+            reader.scan(null, List.of(), Map.of(), rows::add);
+            assertThat(rows).hasSize(1000);
+            for (int i = 0; i < rows.size(); i++) {
+                Object[] expected = row(i);
+                expected[5] = START.plusMinutes(i);
+                assertThat(rows.get(i)).containsExactly(expected);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("created_at 범위와 겹치지 않는 블록은 해독하지 않고 건너뛴다")
+    void rangePushdown() throws IOException {
+        Path file = dir.resolve("events.kpla");
+        write(file, 1000, 100);
+
+        try (LedgerArchiveReader reader = LedgerArchiveReader.open(file)) {
+            List<Object[]> rows = new ArrayList<>();
+            LedgerArchiveReader.ScanStats stats = reader.scan(List.of("amount", "created_at"),
+                    List.of(Range.between("created_at", START.plusMinutes(250), START.plusMinutes(260))),
+                    Map.of(), rows::add);
+
+            assertThat(stats.blocksRead()).isEqualTo(1);
+            assertThat(stats.blocksSkipped()).isEqualTo(9);
+            assertThat(rows).hasSize(10);
+            assertThat(rows.getFirst()).containsExactly(amount(250), START.plusMinutes(250));
+        }
+    }
+
+    @Test
+    @DisplayName("일치 조건은 행 단위로 거르고 false를 반환하면 조회를 멈춘다")
+    void equalityAndStop() throws IOException {
+        Path file = dir.resolve("events.kpla");
+        write(file, 1000, 100);
+
+        try (LedgerArchiveReader reader = LedgerArchiveReader.open(file)) {
+            List<Object[]> rows = new ArrayList<>();
+            reader.scan(List.of("merchant_id"), List.of(), Map.of("merchant_id", MERCHANT_B), rows::add);
+            assertThat(rows).hasSize(500).allSatisfy(row -> assertThat(row[0]).isEqualTo(MERCHANT_B));
+
+            List<Object[]> limited = new ArrayList<>();
+            LedgerArchiveReader.ScanStats stats = reader.scan(List.of("id"), List.of(), Map.of(),
+                    row -> limited.add(row) && limited.size() < 5);
+            assertThat(limited).hasSize(5);
+            assertThat(stats.rowsMatched()).isEqualTo(5);
+        }
+    }
+
+    @Test
+    @DisplayName("손상된 청크는 CRC 검증에서 실패한다")
+    void corruptedChunk() throws IOException {
+        Path file = dir.resolve("events.kpla");
+        write(file, 1000, 1000);
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[200] ^= 0x5A;
+        Files.write(file, bytes);
+
+        try (LedgerArchiveReader reader = LedgerArchiveReader.open(file)) {
+            assertThatThrownBy(reader::verify).isInstanceOf(IOException.class);
+        }
+    }
+
+    private LedgerArchiveWriter.Result write(Path file, int rows, int blockRows) throws IOException {
+        try (OutputStream out = Files.newOutputStream(file)) {
+            LedgerArchiveWriter writer = new LedgerArchiveWriter(out, "transaction_events",
+                    "transaction_events_202401", COLUMNS, blockRows, 6);
+            for (int i = 0; i < rows; i++) {
+                writer.writeRow(row(i));
+            }
+            return writer.finish();
+        }
+    }
+
+    /** 저장 형식 행 (created_at은 epoch 마이크로초) */
+    private static Object[] row(int i) {
+        return new Object[]{
+                new UUID(0x0190_0000_0000_7000L, i),
+                i % 2 == 0 ? MERCHANT_A : MERCHANT_B,
+                amount(i),
+                i % 7 == 0 ? null : i % 3 != 0,
+                i % 5 == 0 ? null : "정산 메모 " + i,
+                LedgerArchiveFormat.toMicros(START.plusMinutes(i))
+        };
+    }
+
+    private static Long amount(int i) {
+        return i % 4 == 0 ? -(i * 1_000L) : i * 1_500L;
+    }
+}
@@ -0,0 +1,28 @@
+package com.korpay.billpay.service.settlement.balance;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("SettlementBalanceService 엔티티 정렬 테스트")
+class SettlementBalanceOrderTest {
+
+    @Test
+    @DisplayName("entity_id는 DB uuid 정렬과 같이 바이트 단위 부호 없는 순서로 정렬한다")
+    void ordersLikePostgresUuid() {
+        UUID low = UUID.fromString("00000000-0000-7000-8000-000000000001");
+        UUID highBitLow = UUID.fromString("00000000-0000-7000-ffff-000000000001");
+        UUID high = UUID.fromString("80000000-0000-7000-8000-000000000001");
+        UUID highest = UUID.fromString("ffffffff-0000-7000-8000-000000000001");
+
+        List<UUID> ids = new ArrayList<>(List.of(highest, high, highBitLow, low));
+        ids.sort(SettlementBalanceService.ENTITY_ID_ORDER);
+
+        assertThat(ids).containsExactly(low, highBitLow, high, highest);
+    }
+}
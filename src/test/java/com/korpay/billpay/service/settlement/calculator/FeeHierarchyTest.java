@@ -0,0 +1,85 @@
+package com.korpay.billpay.service.settlement.calculator;
+
+import com.korpay.billpay.domain.entity.Organization;
+import com.korpay.billpay.domain.enums.OrganizationType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("FeeHierarchy 테스트")
+class FeeHierarchyTest {
+
+    private final Organization distributor = org(OrganizationType.DISTRIBUTOR, 1, "d");
+    private final Organization agency = org(OrganizationType.AGENCY, 2, "d.a");
+    private final Organization dealer = org(OrganizationType.DEALER, 3, "d.a.b");
+    private final Organization seller = org(OrganizationType.SELLER, 4, "d.a.b.c");
+    private final Organization vendor = org(OrganizationType.VENDOR, 5, "d.a.b.c.v");
+
+    @Test
+    @DisplayName("가맹점 수수료, 영업점 마진, 마스터 잔여금 합계는 거래 금액과 같다")
+    void allocatesFullAmount() {
+        Map<Organization, BigDecimal> rates = Map.of(
+                vendor, new BigDecimal("0.035"),
+                seller, new BigDecimal("0.030"),
+                dealer, new BigDecimal("0.028"),
+                agency, new BigDecimal("0.025"),
+                distributor, new BigDecimal("0.020"));
+
+        FeeHierarchy hierarchy = FeeHierarchy.build(new BigDecimal("0.035"),
+                List.of(vendor, seller, dealer, agency, distributor), rates::get);
+
+        long[] allocation = new long[hierarchy.allocationSize()];
+        hierarchy.allocate(100_000L, allocation);
+
+        // 소속 VENDOR는 마진 0이므로 제외, DISTRIBUTOR는 잔여금으로 처리
+        assertThat(hierarchy.getMarginLevels())
+                .extracting(FeeHierarchy.Level::organization)
+                .containsExactly(seller, dealer, agency);
+        assertThat(allocation).containsExactly(96_500L, 3_500L, 500L, 200L, 300L, 2_500L);
+        assertThat(hierarchy.getDistributor()).isEqualTo(distributor);
+        assertThat(hierarchy.getResidualRate()).isEqualByComparingTo("0.020");
+
+        long distributed = allocation[0] + Arrays.stream(allocation, 2, allocation.length).sum();
+        assertThat(distributed).isEqualTo(100_000L);
+    }
+
+    @Test
+    @DisplayName("상위 요율이 더 높으면 마진 정산을 만들지 않는다")
+    void skipsNonPositiveMargin() {
+        Map<Organization, BigDecimal> rates = Map.of(
+                vendor, new BigDecimal("0.030"),
+                seller, new BigDecimal("0.032"));
+
+        FeeHierarchy hierarchy = FeeHierarchy.build(new BigDecimal("0.030"), List.of(vendor, seller), rates::get);
+
+        long[] allocation = new long[hierarchy.allocationSize()];
+        hierarchy.allocate(10_000L, allocation);
+
+        assertThat(hierarchy.getMarginLevels()).isEmpty();
+        assertThat(hierarchy.getDistributor()).isNull();
+        assertThat(allocation).containsExactly(9_700L, 300L, 300L);
+    }
+
+    @Test
+    @DisplayName("수수료는 원 단위 미만을 버린다")
+    void floorsFee() {
+        assertThat(FeeHierarchy.floorFee(999L, new BigDecimal("0.035"))).isEqualTo(34L);
+        assertThat(FeeHierarchy.floorFee(0L, new BigDecimal("0.035"))).isZero();
+    }
+
+    private static Organization org(OrganizationType type, int level, String path) {
+        return Organization.builder()
+                .id(UUID.randomUUID())
+                .orgType(type)
+                .level(level)
+                .path(path)
+                .build();
+    }
+}
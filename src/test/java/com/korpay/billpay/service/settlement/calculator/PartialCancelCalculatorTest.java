@@ -0,0 +1,73 @@
+package com.korpay.billpay.service.settlement.calculator;
+
+import com.korpay.billpay.domain.entity.Settlement;
+import com.korpay.billpay.domain.entity.TransactionEvent;
+import com.korpay.billpay.domain.enums.EntryType;
+import com.korpay.billpay.domain.enums.OrganizationType;
+import com.korpay.billpay.domain.enums.SettlementStatus;
+import com.korpay.billpay.repository.SettlementRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartialCancelCalculator 테스트")
+class PartialCancelCalculatorTest {
+
+    @Mock
+    private SettlementRepository settlementRepository;
+
+    @InjectMocks
+    private PartialCancelCalculator partialCancelCalculator;
+
+    @Test
+    @DisplayName("부분취소 정산은 id와 created_at 없이 만들어 save 시 새 엔티티(persist)로 처리된다")
+    void createsTransientSettlements() {
+        TransactionEvent approval = TransactionEvent.builder()
+                .id(UUID.randomUUID())
+                .transactionId(UUID.randomUUID())
+                .amount(10_000L)
+                .build();
+        TransactionEvent cancel = TransactionEvent.builder()
+                .id(UUID.randomUUID())
+                .transactionId(approval.getTransactionId())
+                .amount(-3_000L)
+                .build();
+        when(settlementRepository.findByTransactionEventId(approval.getId())).thenReturn(List.of(
+                original(OrganizationType.DISTRIBUTOR, 9_700L),
+                original(OrganizationType.SELLER, 300L)));
+
+        List<Settlement> settlements = partialCancelCalculator.calculateProportional(cancel, approval);
+
+        assertThat(settlements).hasSize(2);
+        assertThat(settlements).allSatisfy(s -> {
+            assertThat(s.getId()).isNull();
+            assertThat(s.getCreatedAt()).isNull();
+            assertThat(s.getEntryType()).isEqualTo(EntryType.DEBIT);
+        });
+        assertThat(settlements).extracting(Settlement::getAmount).containsExactly(-2_910L, -90L);
+    }
+
+    private static Settlement original(OrganizationType entityType, long amount) {
+        return Settlement.builder()
+                .entityId(UUID.randomUUID())
+                .entityType(entityType)
+                .entityPath("root")
+                .entryType(EntryType.CREDIT)
+                .amount(amount)
+                .feeAmount(0L)
+                .netAmount(amount)
+                .currency("KRW")
+                .status(SettlementStatus.PENDING)
+                .build();
+    }
+}
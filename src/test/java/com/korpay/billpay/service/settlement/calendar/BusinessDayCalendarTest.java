@@ -0,0 +1,69 @@
+package com.korpay.billpay.service.settlement.calendar;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("BusinessDayCalendar 테스트")
+class BusinessDayCalendarTest {
+
+    private BusinessDayCalendar calendar;
+
+    @BeforeEach
+    void setUp() {
+        // 2025-10-03(금) 개천절, 2025-10-06(월) 추석, 2025-10-09(목) 한글날
+        calendar = BusinessDayCalendar.of(2025, 2026, List.of(
+                LocalDate.of(2025, 10, 3),
+                LocalDate.of(2025, 10, 6),
+                LocalDate.of(2025, 10, 9),
+                LocalDate.of(2024, 12, 25)));
+    }
+
+    @Test
+    @DisplayName("주말과 공휴일은 영업일이 아니다")
+    void isBusinessDay() {
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 2))).isTrue();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 3))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 4))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 5))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 6))).isFalse();
+        assertThat(calendar.isBusinessDay(LocalDate.of(2025, 10, 7))).isTrue();
+    }
+
+    @Test
+    @DisplayName("N영업일 후 날짜는 주말과 공휴일을 건너뛴다")
+    void addBusinessDays() {
+        LocalDate thursday = LocalDate.of(2025, 10, 2);
+
+        assertThat(calendar.addBusinessDays(thursday, 0)).contains(thursday);
+        assertThat(calendar.addBusinessDays(thursday, 1)).contains(LocalDate.of(2025, 10, 7));
+        assertThat(calendar.addBusinessDays(thursday, 3)).contains(LocalDate.of(2025, 10, 10));
+        // 공휴일에서 시작해도 다음 영업일부터 센다
+        assertThat(calendar.addBusinessDays(LocalDate.of(2025, 10, 3), 1)).contains(LocalDate.of(2025, 10, 7));
+    }
+
+    @Test
+    @DisplayName("연도 경계를 넘어 계산한다")
+    void addBusinessDaysAcrossYears() {
+        // 2025-12-31(수) + 1영업일 = 2026-01-01(목)
+        assertThat(calendar.addBusinessDays(LocalDate.of(2025, 12, 31), 1)).contains(LocalDate.of(2026, 1, 1));
+        assertThat(calendar.businessDaysBetween(LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 5))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("로딩 범위를 벗어나면 빈 값을 반환하거나 예외를 던진다")
+    void outsideLoadedRange() {
+        assertThat(calendar.covers(LocalDate.of(2024, 12, 31))).isFalse();
+        assertThat(calendar.addBusinessDays(LocalDate.of(2024, 12, 31), 1)).isEqualTo(Optional.empty());
+        assertThat(calendar.addBusinessDays(LocalDate.of(2026, 12, 31), 1)).isEqualTo(Optional.empty());
+        assertThatThrownBy(() -> calendar.isBusinessDay(LocalDate.of(2027, 1, 4)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
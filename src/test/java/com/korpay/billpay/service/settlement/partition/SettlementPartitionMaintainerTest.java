@@ -0,0 +1,83 @@
+package com.korpay.billpay.service.settlement.partition;
+
+import com.korpay.billpay.config.tenant.TenantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SettlementPartitionMaintainer 테스트")
+class SettlementPartitionMaintainerTest {
+
+    @Mock
+    private TenantService tenantService;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private SettlementPartitionMaintainer maintainer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(maintainer, "monthsAhead", 3);
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 60);
+        ReflectionTestUtils.setField(maintainer, "detachEnabled", false);
+    }
+
+    @Test
+    @DisplayName("한 테넌트가 실패해도 나머지 테넌트의 파티션을 만든다")
+    void continuesAfterTenantFailure() {
+        when(tenantService.getAllActiveTenants()).thenReturn(List.of("tenant_a", "tenant_b"));
+        when(jdbcTemplate.queryForObject(eq("SELECT ensure_settlement_partitions(?)"), eq(Integer.class), eq(3)))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(2);
+
+        maintainer.ensureAllTenants();
+
+        verify(jdbcTemplate, times(2))
+                .queryForObject(eq("SELECT ensure_settlement_partitions(?)"), eq(Integer.class), eq(3));
+        verify(jdbcTemplate, never()).queryForObject(contains("detach_expired_partitions"), eq(Integer.class), eq(60));
+    }
+
+    @Test
+    @DisplayName("분리가 켜져 있으면 보존 기간을 넘긴 파티션을 분리한다")
+    void detachesWhenEnabled() {
+        ReflectionTestUtils.setField(maintainer, "detachEnabled", true);
+        when(tenantService.getAllActiveTenants()).thenReturn(List.of("tenant_a"));
+        when(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq(3))).thenReturn(0);
+        when(jdbcTemplate.queryForObject(contains("detach_expired_partitions"), eq(Integer.class), eq(60)))
+                .thenReturn(1);
+
+        maintainer.ensureAllTenants();
+
+        verify(jdbcTemplate).queryForObject(contains("detach_expired_partitions"), eq(Integer.class), eq(60));
+    }
+
+    @Test
+    @DisplayName("보존 기간이 1개월 미만이면 분리하지 않고 실패한다")
+    void rejectsNonPositiveRetention() {
+        ReflectionTestUtils.setField(maintainer, "retentionMonths", 0);
+
+        assertThatThrownBy(() -> maintainer.detachExpiredCurrentTenant())
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package com.korpay.billpay.service.settlement.payout;
+
+import com.korpay.billpay.domain.enums.PayoutFileFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PayoutFileWriter 테스트")
+class PayoutFileWriterTest {
+
+    private static final PayoutFileWriter.Header HEADER = new PayoutFileWriter.Header(
+            "20260115", "004", "12345678901234", "코페이", "BATCH-D1-20260115-001");
+
+    @Test
+    @DisplayName("고정길이 레코드는 MS949 byte 기준 100byte + CRLF이며 한글 경계에서 자른다")
+    void fixedWidth() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayoutFileWriter writer = PayoutFileWriter.of(PayoutFileFormat.FIXED_WIDTH, out);
+
+        writer.writeHeader(HEADER);
+        writer.writeRecord(1, "088", "110123456789", "가나다라마바사아자차카", 150_000L, "정산금");
+        writer.writeTrailer(1, 150_000L);
+
+        byte[] bytes = out.toByteArray();
+        assertThat(bytes).hasSize(3 * 102);
+
+        byte[] data = Arrays.copyOfRange(bytes, 102, 204);
+        assertThat(data[100]).isEqualTo((byte) '\r');
+        assertThat(data[101]).isEqualTo((byte) '\n');
+        assertThat(ascii(data, 0, 10)).isEqualTo("D000001088");
+        assertThat(ascii(data, 10, 16)).isEqualTo("110123456789    ");
+        assertThat(ascii(data, 26, 13)).isEqualTo("0000000150000");
+        // 11글자(22byte)는 20byte에 10글자만 들어가고 남는 byte 없이 끝난다
+        assertThat(new String(data, 39, 20, PayoutFileWriter.CHARSET)).isEqualTo("가나다라마바사아자차");
+        assertThat(new String(data, 59, 20, PayoutFileWriter.CHARSET)).isEqualTo("정산금" + " ".repeat(14));
+
+        byte[] trailer = Arrays.copyOfRange(bytes, 204, 306);
+        assertThat(ascii(trailer, 0, 22)).isEqualTo("E000001000000000150000");
+    }
+
+    @Test
+    @DisplayName("한글이 홀수 byte 경계에 걸리면 공백으로 채운다")
+    void fixedWidthMultibyteBoundary() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayoutFileWriter writer = PayoutFileWriter.of(PayoutFileFormat.FIXED_WIDTH, out);
+
+        writer.writeRecord(1, "088", "1", "A가나다라마바사아자차", 1L, null);
+
+        byte[] record = out.toByteArray();
+        assertThat(new String(record, 39, 20, PayoutFileWriter.CHARSET)).isEqualTo("A가나다라마바사아자 ");
+        assertThat(record).hasSize(102);
+    }
+
+    @Test
+    @DisplayName("금액이 필드 자리수를 넘으면 실패한다")
+    void fixedWidthOverflow() {
+        PayoutFileWriter writer = PayoutFileWriter.of(PayoutFileFormat.FIXED_WIDTH, new ByteArrayOutputStream());
+
+        assertThatThrownBy(() -> writer.writeRecord(1, "088", "1", "홍길동", 10_000_000_000_000L, "정산금"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("CSV는 헤더 1행과 CRLF 구분, 쉼표가 있는 값은 따옴표로 감싼다")
+    void csv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PayoutFileWriter writer = PayoutFileWriter.of(PayoutFileFormat.CSV, out);
+
+        writer.writeHeader(HEADER);
+        writer.writeRecord(1, "088", "110123456789", "(주)가나,다", 150_000L, "정산금");
+        writer.writeTrailer(1, 150_000L);
+
+        assertThat(new String(out.toByteArray(), PayoutFileWriter.CHARSET)).isEqualTo(
+                "은행코드,계좌번호,예금주,이체금액,적요\r\n"
+                        + "088,110123456789,\"(주)가나,다\",150000,정산금\r\n");
+    }
+
+    private static String ascii(byte[] bytes, int offset, int length) {
+        return new String(bytes, offset, length, PayoutFileWriter.CHARSET);
+    }
+}
@@ -0,0 +1,142 @@
+package com.korpay.billpay.service.settlement.reconciliation;
+
+import com.korpay.billpay.service.settlement.reconciliation.PgSettlementFileParser.Segment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PgSettlementFileParser / PgTidTable 테스트")
+class PgSettlementFileParserTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("CSV 레코드의 취소 여부와 따옴표, 천 단위 구분자를 처리한다")
+    void parseCsv() throws IOException {
+        Path file = write("""
+                tid,cancelYN,amt
+                T0001,N,10000
+                "T0002",N,"1,500"
+                T0001,Y,3000
+                ,N,100
+                T0003,N,-200
+                """);
+
+        Map<String, Long> amounts = parseAll(file, PgFileLayout.KORPAY_CSV, 1);
+
+        assertThat(amounts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "T0001", 7000L,
+                "T0002", 1500L,
+                "T0003", -200L));
+    }
+
+    @Test
+    @DisplayName("고정길이 파일은 데이터 레코드만 읽는다")
+    void parseFixedWidth() throws IOException {
+        Path file = write("H20251001KORPAY\r\n"
+                + "D" + pad("T0001", 30) + "N" + pad0(10000, 12) + "\r\n"
+                + "D" + pad("T0002", 30) + "Y" + pad0(2500, 12) + "\r\n"
+                + "T000002\r\n");
+
+        Map<String, Long> amounts = parseAll(file, PgFileLayout.KORPAY_FIXED_WIDTH, 1);
+
+        assertThat(amounts).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "T0001", 10000L,
+                "T0002", -2500L));
+    }
+
+    @Test
+    @DisplayName("여러 세그먼트로 나눠도 같은 TID는 한 슬롯에 합산되고 줄 번호는 파일 기준이다")
+    void segmentsAndTable() throws IOException {
+        StringBuilder content = new StringBuilder("tid,cancelYN,amt\n");
+        for (int i = 0; i < 1000; i++) {
+            content.append("T").append(i % 100).append(",N,").append(100).append('\n');
+        }
+        Path file = write(content.toString());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<Segment> segments = PgSettlementFileParser.map(channel, 7);
+            assertThat(segments).hasSizeGreaterThan(1);
+
+            long[] lineBase = new long[segments.size()];
+            long lines = 0;
+            for (Segment segment : segments) {
+                lineBase[segment.index()] = lines;
+                lines += PgSettlementFileParser.countLines(segment);
+            }
+            assertThat(lines).isEqualTo(1001);
+
+            PgTidTable table = new PgTidTable(segments, 10);
+            long records = 0;
+            for (Segment segment : segments) {
+                records += PgSettlementFileParser.parse(segment, PgFileLayout.KORPAY_CSV,
+                        (hash, offset, length, amount, line) ->
+                                table.add(hash, segment.index(), offset, length, amount, lineBase[segment.index()] + line + 1));
+            }
+
+            assertThat(records).isEqualTo(1000);
+            assertThat(table.size()).isEqualTo(100);
+
+            byte[] tid = PgSettlementFileParser.tidBytes("T42");
+            long handle = table.find(PgSettlementFileParser.hash(tid), tid);
+            assertThat(handle).isNotNegative();
+            assertThat(table.amount(handle)).isEqualTo(1000);
+            assertThat(table.line(handle)).isEqualTo(44);
+
+            table.markMatched(handle);
+            List<String> unmatched = new ArrayList<>();
+            table.forEachUnmatched((unmatchedTid, amount, line) -> unmatched.add(unmatchedTid));
+            assertThat(unmatched).hasSize(99).doesNotContain("T42");
+
+            byte[] missing = PgSettlementFileParser.tidBytes("T100");
+            assertThat(table.find(PgSettlementFileParser.hash(missing), missing)).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    @DisplayName("금액 형식이 올바르지 않으면 예외가 발생한다")
+    void invalidAmount() throws IOException {
+        Path file = write("tid,cancelYN,amt\nT0001,N,12A4\n");
+
+        assertThatThrownBy(() -> parseAll(file, PgFileLayout.KORPAY_CSV, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Map<String, Long> parseAll(Path file, PgFileLayout layout, int segmentCount) throws IOException {
+        Map<String, Long> amounts = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (Segment segment : PgSettlementFileParser.map(channel, segmentCount)) {
+                PgSettlementFileParser.parse(segment, layout, (hash, offset, length, amount, line) ->
+                        amounts.merge(PgSettlementFileParser.readTid(segment, offset, length), amount, Long::sum));
+            }
+        }
+        return amounts;
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(tempDir.resolve("pg-file.dat"), content, StandardCharsets.UTF_8);
+    }
+
+    private static String pad(String value, int length) {
+        return String.format("%-" + length + "s", value);
+    }
+
+    private static String pad0(long value, int length) {
+        return String.format("%0" + length + "d", value);
+    }
+}
@@ -0,0 +1,112 @@
+package com.korpay.billpay.service.transaction;
+
+import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.response.TransactionDto;
+import com.korpay.billpay.service.transaction.TransactionSearchQuery.Cursor;
+import com.korpay.billpay.service.transaction.TransactionSearchQuery.SortField;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TransactionSearchQuery 테스트")
+class TransactionSearchQueryTest {
+
+    private static final UUID MERCHANT_ID = UUID.fromString("00000000-0000-0000-0000-00000000000a");
+
+    @Test
+    @DisplayName("지정한 조건만 WHERE 절과 바인드 인자로 만든다")
+    void buildsOnlyGivenConditions() {
+        OffsetDateTime start = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+        TransactionSearchCriteria criteria = new TransactionSearchCriteria(
+                MERCHANT_ID, TransactionStatus.APPROVED, start, null,
+                null, null, null, null,
+                "approved", " 50%_off ", null, "  ");
+
+        TransactionSearchQuery query = TransactionSearchQuery.of(criteria, "dist_01.agency_02");
+
+        assertThat(query.where()).isEqualTo("TRUE"
+                + " AND t.org_path <@ CAST(? AS ltree)"
+                + " AND t.merchant_id = ?"
+                + " AND t.status = ?"
+                + " AND t.created_at >= ?"
+                + " AND t.approved_at IS NOT NULL"
+                + " AND t.transaction_id ILIKE ? ESCAPE '\\'");
+        assertThat(query.args()).containsExactly(
+                "dist_01.agency_02", MERCHANT_ID, "APPROVED", start, "%50\\%\\_off%");
+    }
+
+    @Test
+    @DisplayName("마스터 관리자는 접근 범위 조건이 없다")
+    void noAccessPredicateForMaster() {
+        TransactionSearchQuery query = TransactionSearchQuery.of(emptyCriteria(), null);
+
+        assertThat(query.where()).isEqualTo("TRUE");
+        assertThat(query.args()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("정렬은 id를 보조 키로 붙이고 nullable 컬럼은 NULL을 마지막에 둔다")
+    void orderByWithTiebreaker() {
+        assertThat(TransactionSearchQuery.orderBy(SortField.CREATED_AT, Sort.Direction.DESC))
+                .isEqualTo("t.created_at DESC, t.id DESC");
+        assertThat(TransactionSearchQuery.orderBy(SortField.APPROVED_AT, Sort.Direction.ASC))
+                .isEqualTo("t.approved_at ASC NULLS LAST, t.id ASC");
+        assertThatThrownBy(() -> SortField.of("merchant.name")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("커서는 마이크로초 단위 시각과 id를 그대로 복원하고 행 비교 조건을 만든다")
+    void cursorRoundTrip() {
+        TransactionDto last = TransactionDto.builder()
+                .id(UUID.fromString("0190a5b2-0000-7000-8000-000000000001"))
+                .transactionId("TXN|0001")
+                .createdAt(OffsetDateTime.of(2024, 3, 5, 10, 20, 30, 123_456_000, ZoneOffset.ofHours(9)))
+                .build();
+
+        Cursor cursor = Cursor.decode(Cursor.after(last, SortField.CREATED_AT, Sort.Direction.DESC).encode());
+        assertThat(cursor.field()).isEqualTo(SortField.CREATED_AT);
+        assertThat(cursor.direction()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.id()).isEqualTo(last.getId());
+        assertThat(((OffsetDateTime) cursor.value()).isEqual(last.getCreatedAt())).isTrue();
+
+        Cursor textCursor = Cursor.decode(Cursor.after(last, SortField.TRANSACTION_ID, Sort.Direction.ASC).encode());
+        assertThat(textCursor.value()).isEqualTo("TXN|0001");
+
+        TransactionSearchQuery query = TransactionSearchQuery.of(emptyCriteria(), null).after(cursor);
+        assertThat(query.where()).isEqualTo("TRUE AND (t.created_at, t.id) < (?, ?)");
+        assertThat(query.args()).hasSize(2).endsWith(last.getId());
+    }
+
+    @Test
+    @DisplayName("통합 검색은 네 식별자 컬럼을 OR로 묶고 관련도 식에 같은 검색어를 바인딩한다")
+    void keywordMatching() {
+        TransactionSearchQuery query = TransactionSearchQuery.of(emptyCriteria(), null).matching(" A1_2 ");
+
+        assertThat(query.where()).isEqualTo("TRUE AND ("
+                + "t.transaction_id ILIKE ? ESCAPE '\\' OR t.pg_transaction_id ILIKE ? ESCAPE '\\'"
+                + " OR t.approval_number ILIKE ? ESCAPE '\\' OR t.cat_id ILIKE ? ESCAPE '\\')");
+        assertThat(query.args()).containsExactly("%A1\\_2%", "%A1\\_2%", "%A1\\_2%", "%A1\\_2%");
+        assertThat(TransactionSearchQuery.relevance()).isEqualTo("GREATEST("
+                + "word_similarity(?, t.transaction_id), word_similarity(?, t.pg_transaction_id),"
+                + " word_similarity(?, t.approval_number), word_similarity(?, t.cat_id))");
+        assertThat(TransactionSearchQuery.relevanceArgs(" A1_2 ")).containsOnly("A1_2").hasSize(4);
+    }
+
+    @Test
+    @DisplayName("손상된 커서는 IllegalArgumentException으로 거부한다")
+    void rejectsMalformedCursor() {
+        assertThatThrownBy(() -> Cursor.decode("not-a-cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Cursor.decode("@@@")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TransactionSearchCriteria emptyCriteria() {
+        return new TransactionSearchCriteria(null, null, null, null, null, null, null, null, null, null, null, null);
+    }
+}
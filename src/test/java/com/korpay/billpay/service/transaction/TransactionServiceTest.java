@@ -0,0 +1,123 @@
+package com.korpay.billpay.service.transaction;
+
+import com.korpay.billpay.domain.entity.MerchantPgMapping;
+import com.korpay.billpay.domain.entity.Transaction;
+import com.korpay.billpay.domain.enums.EventType;
+import com.korpay.billpay.domain.enums.TransactionStatus;
+import com.korpay.billpay.dto.webhook.TransactionDto;
+import com.korpay.billpay.repository.CardCompanyRepository;
+import com.korpay.billpay.repository.PaymentMethodRepository;
+import com.korpay.billpay.repository.TransactionEventRepository;
+import com.korpay.billpay.repository.TransactionRepository;
+import com.korpay.billpay.service.dashboard.DashboardCounterService;
+import com.korpay.billpay.service.live.LiveUpdateHub;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TransactionService 테스트")
+class TransactionServiceTest {
+
+    private static final long PG_CONNECTION_ID = 7L;
+    private static final String ORIGINAL_TID = "T-ORIGINAL";
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionEventRepository transactionEventRepository;
+
+    @Mock
+    private PaymentMethodRepository paymentMethodRepository;
+
+    @Mock
+    private CardCompanyRepository cardCompanyRepository;
+
+    @Mock
+    private MerchantTransactionStatsService merchantTransactionStatsService;
+
+    @Mock
+    private DashboardCounterService dashboardCounterService;
+
+    @Mock
+    private LiveUpdateHub liveUpdateHub;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Test
+    @DisplayName("취소는 원거래 행을 잠그고 읽은 변경 전 상태로 가맹점 통계를 갱신한다")
+    void cancelLocksOriginalBeforeUpdatingStats() {
+        Transaction original = approvedOriginal();
+        when(transactionRepository.findByPgConnectionIdAndPgTransactionIdForUpdate(PG_CONNECTION_ID, ORIGINAL_TID))
+                .thenReturn(Optional.of(original));
+        when(transactionRepository.save(original)).thenReturn(original);
+
+        Transaction result = transactionService.createOrUpdateFromWebhook(cancel(), mapping());
+
+        assertThat(result.getStatus()).isEqualTo(TransactionStatus.CANCELLED);
+        verify(transactionRepository, never()).findByPgConnectionIdAndPgTransactionId(anyLong(), anyString());
+        InOrder order = inOrder(transactionRepository, merchantTransactionStatsService);
+        order.verify(transactionRepository).findByPgConnectionIdAndPgTransactionIdForUpdate(
+                PG_CONNECTION_ID, ORIGINAL_TID);
+        order.verify(merchantTransactionStatsService).recordChanged(original, TransactionStatus.APPROVED, 10_000L);
+    }
+
+    @Test
+    @DisplayName("취소는 원거래 행을 잠그고 읽은 변경 전 상태로 대시보드 카운터를 갱신한다")
+    void cancelLocksOriginalBeforeUpdatingDashboardCounters() {
+        Transaction original = approvedOriginal();
+        when(transactionRepository.findByPgConnectionIdAndPgTransactionIdForUpdate(PG_CONNECTION_ID, ORIGINAL_TID))
+                .thenReturn(Optional.of(original));
+        when(transactionRepository.save(original)).thenReturn(original);
+
+        transactionService.createOrUpdateFromWebhook(cancel(), mapping());
+
+        InOrder order = inOrder(transactionRepository, dashboardCounterService);
+        order.verify(transactionRepository).findByPgConnectionIdAndPgTransactionIdForUpdate(
+                PG_CONNECTION_ID, ORIGINAL_TID);
+        order.verify(dashboardCounterService).recordChanged(original, TransactionStatus.APPROVED, 10_000L);
+    }
+
+    private static Transaction approvedOriginal() {
+        return Transaction.builder()
+                .transactionId("TX-1")
+                .pgConnectionId(PG_CONNECTION_ID)
+                .pgTransactionId(ORIGINAL_TID)
+                .amount(10_000L)
+                .status(TransactionStatus.APPROVED)
+                .build();
+    }
+
+    private static TransactionDto cancel() {
+        return TransactionDto.builder()
+                .pgTid("T-CANCEL")
+                .pgOtid(ORIGINAL_TID)
+                .amount(-10_000L)
+                .eventType(EventType.CANCEL)
+                .canceledAt(OffsetDateTime.now())
+                .build();
+    }
+
+    private static MerchantPgMapping mapping() {
+        return MerchantPgMapping.builder()
+                .pgConnectionId(PG_CONNECTION_ID)
+                .build();
+    }
+}